@@ -3,7 +3,9 @@ package com.seuprojeto.gerenciadordeacessos.api.advice;
 import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoNaoAutorizado;
 import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoNaoEncontrado;
 import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoNegocio;
+import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoServicoIndisponivel;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -69,6 +71,17 @@ public class TratadorGlobalExcecoes {
         return criarRespostaDeErro(HttpStatus.FORBIDDEN, "Acesso Negado", ex.getMessage());
     }
 
+    /**
+     * Trata ExcecaoServicoIndisponivel (503 Service Unavailable), sinalizando ao cliente quando tentar novamente.
+     */
+    @ExceptionHandler(ExcecaoServicoIndisponivel.class)
+    public ResponseEntity<Map<String, Object>> handleExcecaoServicoIndisponivel(ExcecaoServicoIndisponivel ex) {
+        ResponseEntity<Map<String, Object>> resposta = criarRespostaDeErro(HttpStatus.SERVICE_UNAVAILABLE, "Serviço Indisponível", ex.getMessage());
+        return ResponseEntity.status(resposta.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(resposta.getBody());
+    }
+
     /**
      * Trata AccessDeniedException (403 Forbidden - Spring Security).
      */
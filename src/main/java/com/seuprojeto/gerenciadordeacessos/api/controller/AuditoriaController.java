@@ -0,0 +1,43 @@
+package com.seuprojeto.gerenciadordeacessos.api.controller;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.PaginaDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.auditoria.dto.RegistroAuditoriaDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.auditoria.servico.AuditoriaServico;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+/**
+ * Controller para consulta do log de auditoria.
+ * Responsabilidade Única: Mapear as consultas de auditoria para o serviço de auditoria.
+ */
+@RestController
+@RequestMapping("/api/auditoria")
+@RequiredArgsConstructor
+@Tag(name = "Auditoria", description = "Consulta do log de auditoria das credenciais (ADMIN)")
+@PreAuthorize("hasRole('ADMIN')")
+public class AuditoriaController {
+
+    private final AuditoriaServico auditoriaServico;
+
+    @Operation(summary = "Lista os registros de auditoria em ordem de gravação, filtrando por usuário, entrada e período")
+    @GetMapping
+    public ResponseEntity<PaginaDto<RegistroAuditoriaDto>> consultar(
+            @RequestParam(required = false) Long usuario,
+            @RequestParam(required = false) Long entrada,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(auditoriaServico.consultar(usuario, entrada, desde, ate, cursor, tamanho));
+    }
+}
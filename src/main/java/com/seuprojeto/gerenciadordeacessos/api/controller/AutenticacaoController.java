@@ -35,6 +35,14 @@ public class AutenticacaoController {
         return ResponseEntity.ok(resposta);
     }
 
+    @Operation(summary = "Encerra a sessão, revogando o token JWT atual")
+    @PostMapping("/logout")
+    @PreAuthorize("isAuthenticated()")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(@RequestHeader("Authorization") String authorization) {
+        autenticacaoServico.logout(authorization.substring(7));
+    }
+
     @Operation(summary = "Registra um novo usuário (Apenas ADMIN)")
     @PostMapping("/registrar")
     @PreAuthorize("hasRole('ADMIN')") // Regra de negócio: Apenas ADMIN pode criar novos usuários
@@ -0,0 +1,81 @@
+package com.seuprojeto.gerenciadordeacessos.api.controller;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.backup.dto.ArquivoBackupDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.backup.dto.ResultadoBackupDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.backup.dto.ResultadoRestauracaoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.backup.servico.BackupAcessosServico;
+import com.seuprojeto.gerenciadordeacessos.infraestrutura.web.EnvioArquivos;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Controller para backup e restauração do cofre.
+ * Responsabilidade Única: Mapear requisições de backup para o serviço de backup.
+ *
+ * A exportação pode ser baixada diretamente (gerada em stream durante o download) ou gravada em um arquivo
+ * local, baixado depois sem passar pelo heap. A restauração lê o corpo da requisição em stream.
+ */
+@RestController
+@RequestMapping("/api/backup")
+@RequiredArgsConstructor
+@Tag(name = "Backup", description = "Endpoints de exportação e restauração do cofre (ADMIN)")
+@PreAuthorize("hasRole('ADMIN')")
+public class BackupController {
+
+    private final BackupAcessosServico backupServico;
+    private final EnvioArquivos envioArquivos;
+
+    @Operation(summary = "Exporta todas as entradas ativas, gerando o arquivo durante o download")
+    @GetMapping(value = "/exportacao", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "false") boolean chaveBackup) {
+        backupServico.verificarCifragem(chaveBackup);
+        StreamingResponseBody corpo = saida -> backupServico.exportar(saida, chaveBackup);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + backupServico.novoNomeArquivo() + "\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(corpo);
+    }
+
+    @Operation(summary = "Grava um backup no diretório de backups do servidor")
+    @PostMapping("/arquivos")
+    public ResponseEntity<ResultadoBackupDto> gravarArquivo(@RequestParam(defaultValue = "false") boolean chaveBackup) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(backupServico.exportarParaArquivo(chaveBackup));
+    }
+
+    @Operation(summary = "Lista os backups gravados no servidor")
+    @GetMapping("/arquivos")
+    public ResponseEntity<List<ArquivoBackupDto>> listarArquivos() {
+        return ResponseEntity.ok(backupServico.listarArquivos());
+    }
+
+    @Operation(summary = "Baixa um backup gravado no servidor")
+    @GetMapping("/arquivos/{nome}")
+    public void baixarArquivo(@PathVariable String nome, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        envioArquivos.enviar(backupServico.arquivo(nome), MediaType.APPLICATION_OCTET_STREAM_VALUE, request, response);
+    }
+
+    @Operation(summary = "Restaura um backup enviado no corpo da requisição (application/octet-stream)")
+    @PostMapping(value = "/restauracao", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ResultadoRestauracaoDto> restaurar(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(backupServico.restaurar(request.getInputStream()));
+    }
+
+    @Operation(summary = "Restaura um backup gravado no servidor")
+    @PostMapping("/arquivos/{nome}/restauracao")
+    public ResponseEntity<ResultadoRestauracaoDto> restaurarArquivo(@PathVariable String nome) {
+        return ResponseEntity.ok(backupServico.restaurarArquivo(nome));
+    }
+}
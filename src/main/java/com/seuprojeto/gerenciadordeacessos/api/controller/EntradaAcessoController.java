@@ -1,21 +1,36 @@
 package com.seuprojeto.gerenciadordeacessos.api.controller;
 
 import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.AtualizarEntradaAcessoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.AutopreenchimentoDto;
 import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.CriarEntradaAcessoDto;
 import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.EntradaAcessoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.ItemAtualizacaoLoteDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.PaginaDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.ResultadoLoteDto;
 import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.RevelarSenhaDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico.EntradaAcessoLoteServico;
 import com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico.EntradaAcessoServico;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.UsuarioAutenticado;
+import com.seuprojeto.gerenciadordeacessos.infraestrutura.web.RespostasCondicionais;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Controller para gerenciamento de entradas de acesso (credenciais).
@@ -28,62 +43,141 @@ import java.util.List;
 @PreAuthorize("isAuthenticated()") // Garante que todos os métodos aqui exijam autenticação
 public class EntradaAcessoController {
 
+    private static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+    private static final int LINHAS_POR_FLUSH = 500;
+
     private final EntradaAcessoServico acessoServico;
+    private final EntradaAcessoLoteServico acessoLoteServico;
+    private final ObjectMapper objectMapper;
+    private final RespostasCondicionais respostasCondicionais;
 
     @Operation(summary = "Cria uma nova entrada de acesso")
     @PostMapping
-    public ResponseEntity<EntradaAcessoDto> criar(@RequestBody @Valid CriarEntradaAcessoDto dto, Authentication authentication) {
-        EntradaAcessoDto novoAcesso = acessoServico.criar(dto, authentication.getName());
+    public ResponseEntity<EntradaAcessoDto> criar(@RequestBody @Valid CriarEntradaAcessoDto dto, @AuthenticationPrincipal UsuarioAutenticado usuario) {
+        EntradaAcessoDto novoAcesso = acessoServico.criar(dto, usuario);
         return ResponseEntity.status(HttpStatus.CREATED).body(novoAcesso);
     }
 
     @Operation(summary = "Atualiza uma entrada de acesso existente")
     @PutMapping("/{id}")
-    public ResponseEntity<EntradaAcessoDto> atualizar(@PathVariable Long id, @RequestBody @Valid AtualizarEntradaAcessoDto dto, Authentication authentication) {
-        EntradaAcessoDto acessoAtualizado = acessoServico.atualizar(id, dto, authentication.getName());
+    public ResponseEntity<EntradaAcessoDto> atualizar(@PathVariable Long id, @RequestBody @Valid AtualizarEntradaAcessoDto dto, @AuthenticationPrincipal UsuarioAutenticado usuario) {
+        EntradaAcessoDto acessoAtualizado = acessoServico.atualizar(id, dto, usuario);
         return ResponseEntity.ok(acessoAtualizado);
     }
 
+    @Operation(summary = "Cria várias entradas de acesso em uma única transação, com resultado por item")
+    @PostMapping("/lote")
+    public ResponseEntity<ResultadoLoteDto> criarLote(@RequestBody List<CriarEntradaAcessoDto> dtos, @AuthenticationPrincipal UsuarioAutenticado usuario) {
+        return ResponseEntity.ok(acessoLoteServico.criar(dtos, usuario));
+    }
+
+    @Operation(summary = "Atualiza várias entradas de acesso em uma única transação, com resultado por item")
+    @PutMapping("/lote")
+    public ResponseEntity<ResultadoLoteDto> atualizarLote(@RequestBody List<ItemAtualizacaoLoteDto> itens, @AuthenticationPrincipal UsuarioAutenticado usuario) {
+        return ResponseEntity.ok(acessoLoteServico.atualizar(itens, usuario));
+    }
+
+    @Operation(summary = "Exclui (soft delete) várias entradas de acesso em uma única transação, com resultado por item")
+    @DeleteMapping("/lote")
+    public ResponseEntity<ResultadoLoteDto> excluirLote(@RequestBody List<Long> ids, @AuthenticationPrincipal UsuarioAutenticado usuario) {
+        return ResponseEntity.ok(acessoLoteServico.excluir(ids, usuario));
+    }
+
     @Operation(summary = "Busca uma entrada de acesso pelo ID")
     @GetMapping("/{id}")
-    public ResponseEntity<EntradaAcessoDto> buscarPorId(@PathVariable Long id, Authentication authentication) {
-        return ResponseEntity.ok(acessoServico.buscarPorId(id, authentication.getName()));
+    public ResponseEntity<EntradaAcessoDto> buscarPorId(@PathVariable Long id, @AuthenticationPrincipal UsuarioAutenticado usuario) {
+        return ResponseEntity.ok(acessoServico.buscarPorId(id, usuario));
     }
 
-    @Operation(summary = "Lista todos os acessos visíveis para o usuário (Pessoais + Compartilhados)")
+    @Operation(summary = "Lista os acessos visíveis para o usuário (Pessoais + Compartilhados), paginados por cursor")
     @GetMapping
-    public ResponseEntity<List<EntradaAcessoDto>> listarTodosVisiveis(Authentication authentication) {
-        return ResponseEntity.ok(acessoServico.listarVisiveisPara(authentication.getName()));
+    public ResponseEntity<PaginaDto<EntradaAcessoDto>> listarTodosVisiveis(@RequestParam(required = false) Long cursor, @RequestParam(required = false) Integer tamanho, @AuthenticationPrincipal UsuarioAutenticado usuario, WebRequest request) {
+        return respostasCondicionais.responder("acessos", request,
+                () -> acessoServico.versaoVisiveisPara(usuario),
+                () -> acessoServico.listarVisiveisPara(usuario, cursor, tamanho));
     }
 
-    @Operation(summary = "Lista apenas os acessos compartilhados (visíveis para todos)")
+    @Operation(summary = "Lista apenas os acessos compartilhados (visíveis para todos), paginados por cursor")
     @GetMapping("/compartilhados")
-    public ResponseEntity<List<EntradaAcessoDto>> listarCompartilhados() {
-        return ResponseEntity.ok(acessoServico.listarCompartilhadas());
+    public ResponseEntity<PaginaDto<EntradaAcessoDto>> listarCompartilhados(@RequestParam(required = false) Long cursor, @RequestParam(required = false) Integer tamanho, WebRequest request) {
+        return respostasCondicionais.responder("acessos-compartilhados", request,
+                acessoServico::versaoCompartilhadas,
+                () -> acessoServico.listarCompartilhadas(cursor, tamanho));
     }
 
-    @Operation(summary = "Lista apenas os acessos pessoais do usuário logado")
+    @Operation(summary = "Lista apenas os acessos pessoais do usuário logado, paginados por cursor")
     @GetMapping("/pessoais")
-    public ResponseEntity<List<EntradaAcessoDto>> listarPessoais(Authentication authentication) {
-        return ResponseEntity.ok(acessoServico.listarPessoais(authentication.getName()));
+    public ResponseEntity<PaginaDto<EntradaAcessoDto>> listarPessoais(@RequestParam(required = false) Long cursor, @RequestParam(required = false) Integer tamanho, @AuthenticationPrincipal UsuarioAutenticado usuario, WebRequest request) {
+        return respostasCondicionais.responder("acessos-pessoais", request,
+                () -> acessoServico.versaoPessoais(usuario),
+                () -> acessoServico.listarPessoais(usuario, cursor, tamanho));
+    }
+
+    @Operation(summary = "Transmite todos os acessos visíveis para o usuário em NDJSON (um objeto JSON por linha)")
+    @GetMapping(value = "/stream", produces = MEDIA_TYPE_NDJSON)
+    public ResponseEntity<StreamingResponseBody> transmitirTodosVisiveis(@AuthenticationPrincipal UsuarioAutenticado usuario) {
+        return ndjson(consumidor -> acessoServico.percorrerVisiveisPara(usuario, consumidor));
     }
 
-    @Operation(summary = "Busca acessos por título (busca parcial)")
+    @Operation(summary = "Transmite todos os acessos compartilhados em NDJSON")
+    @GetMapping(value = "/compartilhados/stream", produces = MEDIA_TYPE_NDJSON)
+    public ResponseEntity<StreamingResponseBody> transmitirCompartilhados() {
+        return ndjson(acessoServico::percorrerCompartilhadas);
+    }
+
+    @Operation(summary = "Transmite todos os acessos pessoais do usuário logado em NDJSON")
+    @GetMapping(value = "/pessoais/stream", produces = MEDIA_TYPE_NDJSON)
+    public ResponseEntity<StreamingResponseBody> transmitirPessoais(@AuthenticationPrincipal UsuarioAutenticado usuario) {
+        return ndjson(consumidor -> acessoServico.percorrerPessoais(usuario, consumidor));
+    }
+
+    @Operation(summary = "Busca acessos por texto parcial no título, URL, login ou descrição, ordenados por similaridade")
     @GetMapping("/buscar")
-    public ResponseEntity<List<EntradaAcessoDto>> buscarPorTitulo(@RequestParam String titulo, Authentication authentication) {
-        return ResponseEntity.ok(acessoServico.buscarPorTitulo(titulo, authentication.getName()));
+    public ResponseEntity<List<EntradaAcessoDto>> buscarPorTitulo(@RequestParam String titulo, @AuthenticationPrincipal UsuarioAutenticado usuario) {
+        return ResponseEntity.ok(acessoServico.buscarPorTexto(titulo, usuario));
+    }
+
+    @Operation(summary = "Lista as credenciais que correspondem à URL de uma página (mesmo host primeiro, depois mesmo domínio)")
+    @GetMapping("/autopreenchimento")
+    public ResponseEntity<List<AutopreenchimentoDto>> buscarParaAutopreenchimento(@RequestParam String url, @AuthenticationPrincipal UsuarioAutenticado usuario) {
+        return ResponseEntity.ok(acessoServico.buscarParaAutopreenchimento(url, usuario));
     }
 
     @Operation(summary = "Revela a senha descriptografada (operação auditada)")
     @GetMapping("/{id}/revelar")
-    public ResponseEntity<RevelarSenhaDto> revelarSenha(@PathVariable Long id, Authentication authentication) {
-        return ResponseEntity.ok(acessoServico.revelarSenha(id, authentication.getName()));
+    public ResponseEntity<RevelarSenhaDto> revelarSenha(@PathVariable Long id, @AuthenticationPrincipal UsuarioAutenticado usuario) {
+        return ResponseEntity.ok(acessoServico.revelarSenha(id, usuario));
     }
 
     @Operation(summary = "Exclui (soft delete) uma entrada de acesso")
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void excluir(@PathVariable Long id, Authentication authentication) {
-        acessoServico.excluir(id, authentication.getName());
+    public void excluir(@PathVariable Long id, @AuthenticationPrincipal UsuarioAutenticado usuario) {
+        acessoServico.excluir(id, usuario);
+    }
+
+    /**
+     * Escreve cada DTO entregue pela fonte como uma linha JSON, diretamente na resposta, sem acumular a lista.
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<EntradaAcessoDto>> fonte) {
+        StreamingResponseBody corpo = saida -> {
+            try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+                gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                gerador.setRootValueSeparator(null); // O separador entre objetos é a quebra de linha
+                int[] escritos = {0};
+                fonte.accept(dto -> {
+                    try {
+                        gerador.writeObject(dto);
+                        gerador.writeRaw('\n');
+                        if (++escritos[0] % LINHAS_POR_FLUSH == 0) {
+                            gerador.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(MEDIA_TYPE_NDJSON)).body(corpo);
     }
 }
@@ -0,0 +1,69 @@
+package com.seuprojeto.gerenciadordeacessos.api.controller;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.importacao.dto.ProgressoImportacaoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.importacao.servico.ImportacaoAcessosServico;
+import com.seuprojeto.gerenciadordeacessos.dominio.importacao.servico.ImportacaoAcessosServico.Formato;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Controller para importação de acessos a partir de arquivos CSV ou JSON.
+ * Responsabilidade Única: Mapear requisições de importação para o serviço de importação.
+ *
+ * Fluxo: POST cria a importação e devolve o ID; PUT envia o arquivo como corpo da requisição (lido em stream,
+ * sem upload multipart) e responde ao terminar; GET acompanha o progresso durante o envio.
+ */
+@RestController
+@RequestMapping("/api/acessos/importacoes")
+@RequiredArgsConstructor
+@Tag(name = "Importação", description = "Endpoints para importar credenciais de arquivos CSV ou JSON")
+@PreAuthorize("isAuthenticated()")
+public class ImportacaoController {
+
+    private static final String MEDIA_TYPE_CSV = "text/csv";
+    private static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+
+    private final ImportacaoAcessosServico importacaoServico;
+
+    @Operation(summary = "Cria uma importação aguardando o arquivo")
+    @PostMapping
+    public ResponseEntity<ProgressoImportacaoDto> criar(Authentication authentication) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(importacaoServico.criar(authentication.getName()));
+    }
+
+    @Operation(summary = "Envia o arquivo da importação (text/csv, application/json ou application/x-ndjson) e aguarda o processamento")
+    @PutMapping(value = "/{id}", consumes = {MEDIA_TYPE_CSV, MediaType.APPLICATION_JSON_VALUE, MEDIA_TYPE_NDJSON})
+    public ResponseEntity<ProgressoImportacaoDto> importar(@PathVariable String id, HttpServletRequest request, Authentication authentication) throws IOException {
+        Formato formato = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(MEDIA_TYPE_CSV))
+                ? Formato.CSV
+                : Formato.JSON;
+        return ResponseEntity.ok(importacaoServico.importar(id, authentication.getName(), formato, request.getInputStream()));
+    }
+
+    @Operation(summary = "Consulta o progresso de uma importação")
+    @GetMapping("/{id}")
+    public ResponseEntity<ProgressoImportacaoDto> consultar(@PathVariable String id, Authentication authentication) {
+        return ResponseEntity.ok(importacaoServico.consultar(id, authentication.getName()));
+    }
+
+    @Operation(summary = "Baixa o arquivo de erros (CSV linha,erro) de uma importação terminada")
+    @GetMapping(value = "/{id}/erros", produces = MEDIA_TYPE_CSV)
+    public ResponseEntity<Resource> baixarErros(@PathVariable String id, Authentication authentication) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"importacao-" + id + "-erros.csv\"")
+                .body(new FileSystemResource(importacaoServico.arquivoErros(id, authentication.getName())));
+    }
+}
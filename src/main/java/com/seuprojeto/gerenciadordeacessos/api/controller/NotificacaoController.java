@@ -2,6 +2,7 @@ package com.seuprojeto.gerenciadordeacessos.api.controller;
 
 import com.seuprojeto.gerenciadordeacessos.dominio.notificacao.dto.NotificacaoDto;
 import com.seuprojeto.gerenciadordeacessos.dominio.notificacao.servico.NotificacaoServico;
+import com.seuprojeto.gerenciadordeacessos.infraestrutura.web.RespostasCondicionais;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +11,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -25,10 +27,13 @@ import java.util.List;
 public class NotificacaoController {
 
     private final NotificacaoServico notificacaoServico;
+    private final RespostasCondicionais respostasCondicionais;
 
     @Operation(summary = "Lista todas as notificações ativas (expiração de senha)")
     @GetMapping
-    public ResponseEntity<List<NotificacaoDto>> listarTodas() {
-        return ResponseEntity.ok(notificacaoServico.listarTodas());
+    public ResponseEntity<List<NotificacaoDto>> listarTodas(WebRequest request) {
+        return respostasCondicionais.responder("notificacoes", request,
+                notificacaoServico::getVersao,
+                notificacaoServico::listarTodas);
     }
 }
@@ -5,11 +5,14 @@ import com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico.UsuarioServic
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -38,4 +41,11 @@ public class UsuarioController {
     public ResponseEntity<UsuarioDto> buscarPorId(@PathVariable Long id) {
         return ResponseEntity.ok(usuarioServico.buscarPorId(id));
     }
+
+    @Operation(summary = "Revoga todos os tokens já emitidos para o usuário")
+    @PostMapping("/{id}/revogar-tokens")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void revogarTokens(@PathVariable Long id) {
+        usuarioServico.revogarTokens(id);
+    }
 }
@@ -0,0 +1,94 @@
+package com.seuprojeto.gerenciadordeacessos.config;
+
+import com.seuprojeto.gerenciadordeacessos.infraestrutura.banco.FonteDadosRoteada;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuração da separação entre leitura e escrita no banco (ativa com replica.habilitada=true).
+ * Responsabilidade Única: Montar os pools do primário e da réplica e o DataSource que roteia entre eles.
+ *
+ * Cada pool é um bean próprio, com nome e métricas (hikaricp.connections{pool=...}) separados. Sem a réplica,
+ * vale a configuração padrão do Spring Boot, com um único pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "replica", name = "habilitada", havingValue = "true")
+public class ConfiguracaoFonteDados {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource fonteDadosPrimaria(DataSourceProperties propriedades) {
+        HikariDataSource fonteDados = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        fonteDados.setPoolName("primario");
+        return fonteDados;
+    }
+
+    @Bean
+    @ConfigurationProperties("replica.hikari")
+    public HikariDataSource fonteDadosReplica(
+            DataSourceProperties propriedades,
+            @Value("${replica.url:}") String url,
+            @Value("${replica.username:#{null}}") String usuario,
+            @Value("${replica.password:#{null}}") String senha
+    ) {
+        if (url.isBlank()) {
+            throw new IllegalStateException("replica.habilitada=true exige replica.url (REPLICA_DB_URL).");
+        }
+        HikariDataSource fonteDados = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(usuario != null ? usuario : propriedades.determineUsername())
+                .password(senha != null ? senha : propriedades.determinePassword())
+                .build();
+        fonteDados.setPoolName("replica");
+        fonteDados.setReadOnly(true);
+        return fonteDados;
+    }
+
+    /**
+     * DataSource usado pela aplicação (JPA, JdbcTemplate). O proxy adia a obtenção da conexão física até o
+     * primeiro comando, para que o roteamento já enxergue o readOnly da transação.
+     */
+    @Bean
+    @Primary
+    public DataSource fonteDados(
+            @Qualifier("fonteDadosPrimaria") DataSource primaria,
+            @Qualifier("fonteDadosReplica") DataSource replica,
+            @Value("${replica.janela-leitura-propria:PT5S}") Duration janelaLeituraPropria,
+            MeterRegistry meterRegistry
+    ) {
+        FonteDadosRoteada roteada = new FonteDadosRoteada(primaria, replica, janelaLeituraPropria, meterRegistry);
+        roteada.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteada);
+    }
+
+    /**
+     * Aplica as migrações também na réplica. Apenas para testes locais com dois bancos independentes: em produção
+     * a réplica recebe o esquema pela própria replicação.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "replica", name = "migrar-esquema", havingValue = "true")
+    public FlywayMigrationStrategy migracaoComReplica(@Qualifier("fonteDadosReplica") DataSource replica) {
+        return flyway -> {
+            flyway.migrate();
+            Flyway.configure().configuration(flyway.getConfiguration()).dataSource(replica).load().migrate();
+        };
+    }
+}
@@ -1,38 +1,147 @@
 package com.seuprojeto.gerenciadordeacessos.config;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.BucketConfiguration;
-import io.github.bucket4j.Refill;
+import com.seuprojeto.gerenciadordeacessos.infraestrutura.ratelimit.ArmazenamentoBuckets;
+import com.seuprojeto.gerenciadordeacessos.infraestrutura.ratelimit.ConsumoRateLimit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
- * Configuração do Rate Limiting (Limitação de Taxa) usando Bucket4j.
- * Responsabilidade Única: Definir a política de limitação e gerenciar os buckets por IP.
+ * Configuração do Rate Limiting (Limitação de Taxa).
+ * Responsabilidade Única: Compilar as políticas configuradas e consumir os buckets por política e chave
+ * no armazenamento escolhido (local ou distribuído).
  */
 @Configuration
 public class ConfiguracaoRateLimiting {
 
-    // Cache para armazenar os buckets por IP
-    private final Map<String, Bucket> cacheBuckets = new ConcurrentHashMap<>();
+    private final List<PathPattern> rotasIgnoradas;
+    private final List<Politica> politicas;
 
-    // Política de Limitação: 10 requisições a cada 1 minuto
-    private final BucketConfiguration configuracaoBucket = BucketConfiguration.builder()
-            .addLimit(Bandwidth.classic(10, Refill.intervally(10, Duration.ofMinutes(1))))
-            .build();
+    private final ArmazenamentoBuckets armazenamentoBuckets;
+
+    private final Counter rejeicoes;
+
+    public ConfiguracaoRateLimiting(
+            PropriedadesRateLimiting propriedades,
+            ArmazenamentoBuckets armazenamentoBuckets,
+            MeterRegistry meterRegistry
+    ) {
+        // Os padrões são compilados uma única vez; a requisição só percorre as listas prontas
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        this.rotasIgnoradas = propriedades.getRotasIgnoradas().stream().map(parser::parse).toList();
+        this.politicas = propriedades.getPoliticas().stream().map(politica -> compilar(politica, parser)).toList();
+        this.armazenamentoBuckets = armazenamentoBuckets;
+
+        this.rejeicoes = Counter.builder("rate-limit.rejeicoes")
+                .description("Requisições rejeitadas pelo rate limiting")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifica se a rota está fora da limitação (documentação, console, arquivos estáticos).
+     */
+    public boolean isIgnorada(PathContainer rota) {
+        for (PathPattern padrao : rotasIgnoradas) {
+            if (padrao.matches(rota)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resolve a primeira política aplicável à requisição, ou null se nenhuma se aplica.
+     */
+    public Politica resolverPolitica(PathContainer rota, String metodo, Authentication autenticacao) {
+        for (Politica politica : politicas) {
+            if (politica.aplicaA(rota, metodo, autenticacao)) {
+                return politica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Consome um token do bucket da política para uma chave (usuário ou IP).
+     */
+    public ConsumoRateLimit consumir(Politica politica, String chave) {
+        return armazenamentoBuckets.consumir(politica, chave);
+    }
 
     /**
-     * Resolve o Bucket para um determinado IP. Se não existir, cria um novo.
+     * Contabiliza uma requisição rejeitada por excesso de taxa.
      */
-    public Bucket resolverBucket(String ip) {
-        return cacheBuckets.computeIfAbsent(ip, this::criarNovoBucket);
+    public void registrarRejeicao() {
+        rejeicoes.increment();
     }
 
-    private Bucket criarNovoBucket(String ip) {
-        return Bucket.builder().addLimit(Bandwidth.classic(10, Refill.intervally(10, Duration.ofMinutes(1)))).build();
+    private static Politica compilar(PropriedadesRateLimiting.Politica politica, PathPatternParser parser) {
+        if (politica.getNome() == null || politica.getNome().isBlank()) {
+            throw new IllegalStateException("Toda política de rate limiting precisa de um nome.");
+        }
+        if (politica.getCapacidade() <= 0 || politica.getPeriodo() == null || politica.getPeriodo().isNegative() || politica.getPeriodo().isZero()) {
+            throw new IllegalStateException("A política de rate limiting '" + politica.getNome() + "' precisa de capacidade e período positivos.");
+        }
+        return new Politica(
+                politica.getNome(),
+                politica.getRotas().stream().map(parser::parse).toList(),
+                politica.getMetodos().stream().map(metodo -> metodo.toUpperCase(Locale.ROOT)).collect(Collectors.toUnmodifiableSet()),
+                Set.copyOf(politica.getRoles()),
+                politica.getChave() == PropriedadesRateLimiting.Chave.USUARIO,
+                politica.getCapacidade(),
+                politica.getPeriodo()
+        );
+    }
+
+    /**
+     * Política de limitação já compilada.
+     */
+    public record Politica(
+            String nome,
+            List<PathPattern> rotas,
+            Set<String> metodos,
+            Set<String> roles,
+            boolean porUsuario,
+            long capacidade,
+            Duration periodo
+    ) {
+
+        boolean aplicaA(PathContainer rota, String metodo, Authentication autenticacao) {
+            if (!metodos.isEmpty() && !metodos.contains(metodo)) {
+                return false;
+            }
+            if (!roles.isEmpty() && !possuiRole(autenticacao)) {
+                return false;
+            }
+            for (PathPattern padrao : rotas) {
+                if (padrao.matches(rota)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean possuiRole(Authentication autenticacao) {
+            if (autenticacao == null || !autenticacao.isAuthenticated()) {
+                return false;
+            }
+            for (GrantedAuthority authority : autenticacao.getAuthorities()) {
+                if (roles.contains(authority.getAuthority())) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 }
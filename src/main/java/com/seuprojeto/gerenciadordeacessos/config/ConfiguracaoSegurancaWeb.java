@@ -2,19 +2,16 @@ package com.seuprojeto.gerenciadordeacessos.config;
 
 import com.seuprojeto.gerenciadordeacessos.infraestrutura.seguranca.FiltroJwt;
 import com.seuprojeto.gerenciadordeacessos.infraestrutura.seguranca.FiltroRateLimiting;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.AuthenticationProvider;
-import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -32,7 +29,9 @@ public class ConfiguracaoSegurancaWeb {
 
     private final FiltroJwt filtroJwt;
     private final FiltroRateLimiting filtroRateLimiting;
-    private final UserDetailsService userDetailsService;
+
+    @Value("${seguranca.bcrypt.custo:10}")
+    private int custoBcrypt;
 
     private static final String[] ENDPOINTS_PUBLICOS = {
             "/api/auth/login",
@@ -53,6 +52,9 @@ public class ConfiguracaoSegurancaWeb {
 
                 // Configura as permissões de requisição
                 .authorizeHttpRequests(auth -> auth
+                        // O despacho assíncrono que conclui respostas transmitidas (StreamingResponseBody)
+                        // pertence a uma requisição já autorizada; os filtros não o autenticam novamente
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(ENDPOINTS_PUBLICOS).permitAll()
                         .anyRequest().authenticated()
                 )
@@ -62,36 +64,24 @@ public class ConfiguracaoSegurancaWeb {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
 
-                // Adiciona o provedor de autenticação
-                .authenticationProvider(authenticationProvider())
-
-                // Adiciona o filtro de Rate Limiting ANTES do filtro JWT
-                .addFilterBefore(filtroRateLimiting, UsernamePasswordAuthenticationFilter.class)
-
                 // Adiciona o filtro JWT ANTES do filtro de autenticação padrão
                 .addFilterBefore(filtroJwt, UsernamePasswordAuthenticationFilter.class)
 
+                // Adiciona o filtro de Rate Limiting APÓS o filtro JWT (as políticas dependem do usuário)
+                .addFilterAfter(filtroRateLimiting, FiltroJwt.class)
+
                 // Permite o uso do console H2 (apenas para perfil dev)
                 .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()));
 
         return http.build();
     }
 
-    @Bean
-    public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
-        return authProvider;
-    }
-
-    @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
-        return config.getAuthenticationManager();
-    }
-
+    /**
+     * Usado pelo HashSenha, que verifica as senhas do login em um pool dedicado (AutenticacaoServico).
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // Hashes com custo menor que o configurado são atualizados no próximo login bem-sucedido
+        return new BCryptPasswordEncoder(custoBcrypt);
     }
 }
@@ -0,0 +1,37 @@
+package com.seuprojeto.gerenciadordeacessos.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Propriedades do chaveiro de criptografia.
+ * Responsabilidade Única: Expor as chaves versionadas e a versão usada para novas cifragens.
+ * A versão 0 é reservada para a chave legada derivada de jwt.secret.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "criptografia")
+public class PropriedadesCriptografia {
+
+    /**
+     * Chaves adicionais por versão (1 a 255). Cada valor deve ter 32 bytes em UTF-8 ou em Base64.
+     */
+    private Map<Integer, String> chaves = new HashMap<>();
+
+    /**
+     * Versão usada para novas cifragens. Quando ausente, usa a maior versão configurada.
+     */
+    private Integer versaoAtiva;
+
+    /**
+     * Chave usada para reenvolver as senhas em backups (opcional), independente do chaveiro.
+     * Deve ter 32 bytes em UTF-8 ou em Base64.
+     */
+    private String chaveBackup;
+}
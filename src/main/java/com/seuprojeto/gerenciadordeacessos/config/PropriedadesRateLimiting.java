@@ -0,0 +1,82 @@
+package com.seuprojeto.gerenciadordeacessos.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Propriedades das políticas de Rate Limiting.
+ * Responsabilidade Única: Expor, a partir da configuração externa, as rotas ignoradas e as políticas
+ * de limitação por rota, método, role e chave (usuário autenticado ou IP).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class PropriedadesRateLimiting {
+
+    /**
+     * Padrões de rota (sintaxe PathPattern) que nunca são limitados.
+     */
+    private List<String> rotasIgnoradas = new ArrayList<>();
+
+    /**
+     * Políticas avaliadas na ordem declarada; a primeira que corresponder à requisição é aplicada.
+     * Requisições sem política correspondente não são limitadas.
+     */
+    private List<Politica> politicas = new ArrayList<>();
+
+    /**
+     * Maior período entre as políticas configuradas (zero se não houver políticas).
+     */
+    public Duration maiorPeriodo() {
+        return politicas.stream()
+                .map(Politica::getPeriodo)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(Duration.ZERO);
+    }
+
+    @Getter
+    @Setter
+    public static class Politica {
+
+        private String nome;
+
+        /**
+         * Padrões de rota (sintaxe PathPattern, ex: /api/acessos/{id}/revelar).
+         */
+        private List<String> rotas = new ArrayList<>();
+
+        /**
+         * Métodos HTTP atendidos. Vazio atende todos.
+         */
+        private List<String> metodos = new ArrayList<>();
+
+        /**
+         * Roles atendidas (ex: ROLE_ADMIN). Vazio atende qualquer requisição, inclusive anônima.
+         */
+        private List<String> roles = new ArrayList<>();
+
+        /**
+         * Chave do bucket. Com USUARIO, requisições anônimas usam o IP.
+         */
+        private Chave chave = Chave.USUARIO;
+
+        private long capacidade = 10;
+
+        private Duration periodo = Duration.ofMinutes(1);
+    }
+
+    public enum Chave {
+        USUARIO,
+        IP
+    }
+}
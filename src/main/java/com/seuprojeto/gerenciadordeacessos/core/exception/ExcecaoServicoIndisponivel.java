@@ -0,0 +1,15 @@
+package com.seuprojeto.gerenciadordeacessos.core.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção de Serviço Indisponível. Deve ser lançada quando um recurso limitado está saturado.
+ * Mapeada para o status HTTP 503 (Service Unavailable).
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ExcecaoServicoIndisponivel extends RuntimeException {
+    public ExcecaoServicoIndisponivel(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,91 @@
+package com.seuprojeto.gerenciadordeacessos.core.seguranca;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de Claims de tokens JWT já verificados.
+ * Responsabilidade Única: Evitar que o mesmo token seja decodificado e tenha a assinatura verificada a cada requisição.
+ * A chave é o SHA-256 do token (o token em si não fica em memória) e cada entrada expira, no máximo, junto com o token.
+ */
+@Component
+public class CacheTokensVerificados {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível.", e);
+        }
+    });
+
+    private final Cache<String, Claims> cache;
+
+    public CacheTokensVerificados(
+            @Value("${jwt.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new ExpiraJuntoComToken())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verificados");
+    }
+
+    /**
+     * Busca as Claims de um token previamente verificado.
+     * @return As Claims, ou null se o token não estiver no cache (ou já tiver expirado).
+     */
+    public Claims buscar(String token) {
+        return cache.getIfPresent(digest(token));
+    }
+
+    /**
+     * Armazena as Claims de um token cuja assinatura e validade acabaram de ser verificadas.
+     */
+    public void armazenar(String token, Claims claims) {
+        if (claims.getExpiration() != null) {
+            cache.put(digest(token), claims);
+        }
+    }
+
+    private String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    /**
+     * Política de expiração por entrada: o tempo restante até a claim "exp" do token.
+     */
+    private static final class ExpiraJuntoComToken implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String chave, Claims claims, long tempoAtual) {
+            long restanteMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(restanteMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, Claims claims, long tempoAtual, long duracaoAtual) {
+            return expireAfterCreate(chave, claims, tempoAtual);
+        }
+
+        @Override
+        public long expireAfterRead(String chave, Claims claims, long tempoAtual, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
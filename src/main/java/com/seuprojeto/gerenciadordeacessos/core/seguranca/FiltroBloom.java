@@ -0,0 +1,78 @@
+package com.seuprojeto.gerenciadordeacessos.core.seguranca;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de tamanho fixo para Strings.
+ * Responsabilidade Única: Responder "certamente ausente" ou "possivelmente presente" com poucos bytes por elemento.
+ * Inserções e consultas são thread-safe e sem bloqueio.
+ */
+public class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long quantidadeBits;
+    private final int quantidadeHashes;
+
+    /**
+     * @param capacidadeEsperada Quantidade de elementos para a qual o filtro é dimensionado.
+     * @param taxaFalsoPositivo Taxa de falso positivo desejada na capacidade esperada (ex: 0.01).
+     */
+    public FiltroBloom(long capacidadeEsperada, double taxaFalsoPositivo) {
+        long capacidade = Math.max(1, capacidadeEsperada);
+        long bitsNecessarios = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        int palavras = (int) Math.max(1, (bitsNecessarios + 63) / 64);
+        this.bits = new AtomicLongArray(palavras);
+        this.quantidadeBits = (long) palavras * 64;
+        this.quantidadeHashes = Math.max(1, (int) Math.round((double) quantidadeBits / capacidade * Math.log(2)));
+    }
+
+    public void adicionar(String valor) {
+        long hash1 = hash(valor, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(valor, 0xC2B2AE3D27D4EB4FL);
+        for (int i = 0; i < quantidadeHashes; i++) {
+            long posicao = Math.floorMod(hash1 + i * hash2, quantidadeBits);
+            int palavra = (int) (posicao >>> 6);
+            long mascara = 1L << (posicao & 63);
+            long atual;
+            do {
+                atual = bits.get(palavra);
+                if ((atual & mascara) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(palavra, atual, atual | mascara));
+        }
+    }
+
+    /**
+     * @return false se o valor certamente não foi adicionado; true se possivelmente foi.
+     */
+    public boolean possivelmenteContem(String valor) {
+        long hash1 = hash(valor, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(valor, 0xC2B2AE3D27D4EB4FL);
+        for (int i = 0; i < quantidadeHashes; i++) {
+            long posicao = Math.floorMod(hash1 + i * hash2, quantidadeBits);
+            if ((bits.get((int) (posicao >>> 6)) & (1L << (posicao & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a de 64 bits com semente, seguido de uma mistura final (fmix64) para espalhar os bits.
+     */
+    private static long hash(String valor, long semente) {
+        long hash = 0xCBF29CE484222325L ^ semente;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -1,12 +1,29 @@
 package com.seuprojeto.gerenciadordeacessos.core.seguranca;
 
+import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoServicoIndisponivel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Serviço de Hash de Senha.
  * Responsabilidade Única: Gerenciar o hash e a verificação de senhas de usuário.
+ *
+ * As operações do login rodam em um pool dedicado e limitado: uma rajada de logins ocupa no máximo
+ * as threads desse pool (e não as threads do Tomcat); quando a fila enche, a requisição é rejeitada imediatamente.
  */
 @Service
 @RequiredArgsConstructor
@@ -14,6 +31,43 @@ public class HashSenha {
 
     private final PasswordEncoder passwordEncoder;
 
+    @Value("${seguranca.login.threads:0}") // 0 = número de processadores disponíveis
+    private int threadsLogin;
+
+    @Value("${seguranca.login.fila:64}")
+    private int tamanhoFilaLogin;
+
+    @Value("${seguranca.login.timeout-ms:5000}")
+    private long timeoutLoginMs;
+
+    private ThreadPoolExecutor executorLogin;
+
+    // Hash usado quando o usuário não existe, para que a resposta leve o mesmo tempo (evita enumeração de emails)
+    private String hashFicticio;
+
+    @PostConstruct
+    void inicializar() {
+        int threads = threadsLogin > 0 ? threadsLogin : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        this.executorLogin = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, tamanhoFilaLogin)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "hash-senha-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.hashFicticio = passwordEncoder.encode("senha-ficticia-para-tempo-constante");
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executorLogin.shutdown();
+    }
+
     /**
      * Gera o hash BCrypt de uma senha.
      * @param senha Senha em texto plano.
@@ -32,4 +86,55 @@ public class HashSenha {
     public boolean verificar(String senha, String hash) {
         return passwordEncoder.matches(senha, hash);
     }
+
+    /**
+     * Verifica a senha no pool limitado de login.
+     * @param senha Senha em texto plano.
+     * @param hash Hash BCrypt, ou null quando o usuário não existe (a verificação ocorre mesmo assim e retorna false).
+     * @return true se corresponder, false caso contrário.
+     * @throws ExcecaoServicoIndisponivel se o pool estiver saturado.
+     */
+    public boolean verificarNoPoolDeLogin(String senha, String hash) {
+        if (hash == null) {
+            executarNoPoolDeLogin(() -> passwordEncoder.matches(senha, hashFicticio));
+            return false;
+        }
+        return executarNoPoolDeLogin(() -> passwordEncoder.matches(senha, hash));
+    }
+
+    /**
+     * Gera o hash no pool limitado de login (usado para atualizar hashes com custo defasado).
+     * @throws ExcecaoServicoIndisponivel se o pool estiver saturado.
+     */
+    public String gerarHashNoPoolDeLogin(String senha) {
+        return executarNoPoolDeLogin(() -> passwordEncoder.encode(senha));
+    }
+
+    /**
+     * Indica se o hash foi gerado com parâmetros mais fracos que os configurados (ex: custo BCrypt menor).
+     */
+    public boolean precisaAtualizar(String hash) {
+        return passwordEncoder.upgradeEncoding(hash);
+    }
+
+    private <T> T executarNoPoolDeLogin(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executorLogin.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            throw new ExcecaoServicoIndisponivel("Muitas tentativas de login simultâneas. Tente novamente em instantes.");
+        }
+
+        try {
+            return futuro.get(timeoutLoginMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            throw new ExcecaoServicoIndisponivel("Muitas tentativas de login simultâneas. Tente novamente em instantes.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcecaoServicoIndisponivel("Login interrompido. Tente novamente.");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erro ao verificar a senha.", e.getCause());
+        }
+    }
 }
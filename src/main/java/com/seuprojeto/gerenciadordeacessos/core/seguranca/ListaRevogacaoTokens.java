@@ -0,0 +1,223 @@
+package com.seuprojeto.gerenciadordeacessos.core.seguranca;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de revogação de tokens JWT.
+ * Responsabilidade Única: Registrar e consultar tokens revogados antes da sua expiração natural.
+ *
+ * Suporta revogação por token (claim "jti") e de todos os tokens de um usuário emitidos até um instante.
+ * A consulta por jti passa primeiro por um filtro de Bloom: tokens não revogados (o caso comum) são
+ * descartados sem acessar o conjunto exato. Entradas são removidas quando o token expiraria naturalmente,
+ * então a memória é proporcional apenas aos tokens revogados e ainda válidos.
+ *
+ * As revogações são gravadas na tabela tokens_revogados antes de valerem localmente: sobrevivem a reinícios
+ * e chegam às demais instâncias pela sincronização periódica (jwt.revogacao.intervalo-sincronizacao-ms).
+ * A consulta por requisição continua apenas em memória.
+ */
+@Service
+@Slf4j
+public class ListaRevogacaoTokens implements SmartInitializingSingleton {
+
+    private static final String TIPO_TOKEN = "TOKEN";
+    private static final String TIPO_USUARIO = "USUARIO";
+
+    // Revogações gravadas por outras instâncias pouco antes da última sincronização (relógios e transações
+    // ainda abertas) são relidas nesta janela; reaplicar uma revogação não tem efeito
+    private static final long MARGEM_SINCRONIZACAO_MS = 30_000;
+
+    // jti -> instante (ms) em que o token expira
+    private final Map<String, Long> tokensRevogados = new ConcurrentHashMap<>();
+
+    // email -> instante (ms) até o qual todos os tokens emitidos estão revogados
+    private final Map<String, Long> usuariosRevogados = new ConcurrentHashMap<>();
+
+    private final Object travaFiltro = new Object();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long capacidadeFiltro;
+    private final double taxaFalsoPositivo;
+    private final long validadeToken;
+
+    private volatile FiltroBloom filtro;
+
+    // Instante (relógio desta instância) da última sincronização bem-sucedida com a tabela
+    private volatile long ultimaSincronizacao;
+
+    public ListaRevogacaoTokens(
+            JdbcTemplate jdbcTemplate,
+            @Value("${jwt.revogacao.capacidade-filtro:100000}") long capacidadeFiltro,
+            @Value("${jwt.revogacao.taxa-falso-positivo:0.01}") double taxaFalsoPositivo,
+            @Value("${jwt.expiration}") long validadeToken,
+            MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacidadeFiltro = capacidadeFiltro;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.validadeToken = validadeToken;
+        this.filtro = new FiltroBloom(capacidadeFiltro, taxaFalsoPositivo);
+
+        Gauge.builder("jwt.revogacao.tokens", tokensRevogados, Map::size)
+                .description("Tokens revogados ainda não expirados")
+                .register(meterRegistry);
+        Gauge.builder("jwt.revogacao.usuarios", usuariosRevogados, Map::size)
+                .description("Usuários com revogação em massa ainda vigente")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carrega as revogações vigentes depois que o esquema foi migrado e antes de o servidor aceitar requisições.
+     * Uma falha aqui impede a inicialização: sem a lista, tokens revogados voltariam a ser aceitos.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long inicio = System.currentTimeMillis();
+        aplicarRegistrosDesde(0, inicio);
+        reconstruirFiltro();
+        this.ultimaSincronizacao = inicio;
+        log.info("Lista de revogação carregada: {} tokens e {} usuários.", tokensRevogados.size(), usuariosRevogados.size());
+    }
+
+    /**
+     * Revoga um único token até a sua expiração natural.
+     */
+    public void revogarToken(String jti, Date expiracao) {
+        long agora = System.currentTimeMillis();
+        if (jti == null || expiracao == null || expiracao.getTime() <= agora) {
+            return;
+        }
+        gravar(TIPO_TOKEN, jti, null, expiracao.getTime(), agora);
+        aplicarToken(jti, expiracao.getTime());
+    }
+
+    /**
+     * Revoga todos os tokens do usuário emitidos até o instante informado.
+     * A claim "iat" tem precisão de segundos; tokens emitidos no mesmo segundo também são revogados.
+     */
+    public void revogarTodosDoUsuario(String email, long emitidosAteMs) {
+        gravar(TIPO_USUARIO, email, emitidosAteMs, emitidosAteMs + validadeToken, System.currentTimeMillis());
+        usuariosRevogados.merge(email, emitidosAteMs, Math::max);
+        log.info("Tokens do usuário {} emitidos até {} foram revogados.", email, new Date(emitidosAteMs));
+    }
+
+    /**
+     * Verifica se as Claims (já verificadas) pertencem a um token revogado.
+     */
+    public boolean revogado(Claims claims) {
+        if (!usuariosRevogados.isEmpty()) {
+            Long revogadoAte = usuariosRevogados.get(claims.getSubject());
+            Date emitidoEm = claims.getIssuedAt();
+            if (revogadoAte != null && emitidoEm != null && emitidoEm.getTime() <= revogadoAte) {
+                return true;
+            }
+        }
+
+        String jti = claims.getId();
+        return jti != null && filtro.possivelmenteContem(jti) && tokensRevogados.containsKey(jti);
+    }
+
+    /**
+     * Aplica as revogações gravadas (por qualquer instância) desde a última sincronização.
+     * Em caso de falha, mantém o estado atual e tenta de novo no próximo ciclo, desde o mesmo ponto.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revogacao.intervalo-sincronizacao-ms:5000}", initialDelayString = "${jwt.revogacao.intervalo-sincronizacao-ms:5000}")
+    public void sincronizar() {
+        long inicio = System.currentTimeMillis();
+        try {
+            aplicarRegistrosDesde(ultimaSincronizacao - MARGEM_SINCRONIZACAO_MS, inicio);
+            this.ultimaSincronizacao = inicio;
+        } catch (DataAccessException e) {
+            log.warn("Falha ao sincronizar a lista de revogação de tokens: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Remove revogações de tokens que já expiraram naturalmente (na memória e na tabela) e reconstrói o
+     * filtro de Bloom, descartando os bits dos elementos removidos.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revogacao.intervalo-limpeza-ms:60000}")
+    public void limparExpirados() {
+        long agora = System.currentTimeMillis();
+        usuariosRevogados.values().removeIf(revogadoAte -> revogadoAte + validadeToken < agora);
+
+        if (tokensRevogados.values().removeIf(expiracao -> expiracao < agora)) {
+            reconstruirFiltro();
+        }
+
+        try {
+            // Idempotente: várias instâncias podem limpar ao mesmo tempo
+            int removidos = jdbcTemplate.update("DELETE FROM tokens_revogados WHERE expira_em < ?", agora);
+            log.debug("Lista de revogação: {} registros expirados removidos da tabela.", removidos);
+        } catch (DataAccessException e) {
+            log.warn("Falha ao remover revogações expiradas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Grava a revogação na tabela. Uma revogação repetida apenas estende o instante e a validade já gravados.
+     */
+    private void gravar(String tipo, String chave, Long revogadoAte, long expiraEm, long agora) {
+        int atualizados = revogadoAte == null
+                ? jdbcTemplate.update(
+                        "UPDATE tokens_revogados SET expira_em = GREATEST(expira_em, ?), registrado_em = ? WHERE tipo = ? AND chave = ?",
+                        expiraEm, agora, tipo, chave)
+                : jdbcTemplate.update(
+                        "UPDATE tokens_revogados SET revogado_ate = GREATEST(revogado_ate, ?), expira_em = GREATEST(expira_em, ?), registrado_em = ? "
+                                + "WHERE tipo = ? AND chave = ?",
+                        revogadoAte, expiraEm, agora, tipo, chave);
+        if (atualizados > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO tokens_revogados (tipo, chave, revogado_ate, expira_em, registrado_em) VALUES (?, ?, ?, ?, ?)",
+                    tipo, chave, revogadoAte, expiraEm, agora);
+        } catch (DuplicateKeyException e) {
+            // Outra instância gravou a mesma revogação entre o UPDATE e o INSERT
+            gravar(tipo, chave, revogadoAte, expiraEm, agora);
+        }
+    }
+
+    private void aplicarRegistrosDesde(long registradoDesde, long agora) {
+        jdbcTemplate.query(
+                "SELECT tipo, chave, revogado_ate, expira_em FROM tokens_revogados WHERE registrado_em >= ? AND expira_em >= ?",
+                rs -> {
+                    if (TIPO_TOKEN.equals(rs.getString(1))) {
+                        aplicarToken(rs.getString(2), rs.getLong(4));
+                    } else {
+                        usuariosRevogados.merge(rs.getString(2), rs.getLong(3), Math::max);
+                    }
+                },
+                registradoDesde, agora);
+    }
+
+    private void aplicarToken(String jti, long expiracao) {
+        // Trava apenas as escritas, para que uma reconstrução do filtro não perca inserções concorrentes
+        synchronized (travaFiltro) {
+            tokensRevogados.put(jti, expiracao);
+            filtro.adicionar(jti);
+        }
+    }
+
+    private void reconstruirFiltro() {
+        synchronized (travaFiltro) {
+            FiltroBloom novoFiltro = new FiltroBloom(Math.max(capacidadeFiltro, tokensRevogados.size() * 2L), taxaFalsoPositivo);
+            tokensRevogados.keySet().forEach(novoFiltro::adicionar);
+            this.filtro = novoFiltro;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.seuprojeto.gerenciadordeacessos.core.seguranca;
+
+/**
+ * Resultado individual de uma operação de criptografia em lote.
+ * @param valor Texto resultante (cifrado ou plano), nulo em caso de erro.
+ * @param erro Erro ocorrido no processamento do item, nulo em caso de sucesso.
+ */
+public record ResultadoCriptografia(
+        String valor,
+        RuntimeException erro
+) {
+    public static ResultadoCriptografia sucesso(String valor) {
+        return new ResultadoCriptografia(valor, null);
+    }
+
+    public static ResultadoCriptografia falha(RuntimeException erro) {
+        return new ResultadoCriptografia(null, erro);
+    }
+
+    public boolean isSucesso() {
+        return erro == null;
+    }
+}
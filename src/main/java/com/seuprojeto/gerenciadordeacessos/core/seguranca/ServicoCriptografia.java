@@ -1,36 +1,122 @@
 package com.seuprojeto.gerenciadordeacessos.core.seguranca;
 
+import com.seuprojeto.gerenciadordeacessos.config.PropriedadesCriptografia;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
-import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
 
 /**
  * Serviço de Criptografia de Nível Sênior (AES-256-GCM).
  * Responsabilidade Única: Criptografar e Descriptografar dados sensíveis (senhas).
+ * As chaves são derivadas uma única vez na inicialização e cada thread reutiliza sua própria instância de Cipher.
+ *
+ * Formato do texto cifrado (envelope versionado): "$" + versão da chave + "$" + Base64(IV + Ciphertext + Tag).
+ * Textos sem cabeçalho são do formato legado e são lidos com a chave de versão 0 (jwt.secret).
  */
 @Service
+@RequiredArgsConstructor
+@Slf4j
 public class ServicoCriptografia {
 
     private static final String ALGORITMO = "AES/GCM/NoPadding";
     private static final int TAG_LENGTH_BIT = 128;
+    private static final int TAG_LENGTH_BYTE = TAG_LENGTH_BIT / 8;
     private static final int IV_LENGTH_BYTE = 12; // GCM exige 12 bytes para o IV
     private static final int AES_KEY_LENGTH = 32; // 256 bits
+    private static final int VERSAO_LEGADA = 0;
+    private static final int VERSAO_MAXIMA = 255; // A versão ocupa 1 byte no envelope binário
+    private static final char DELIMITADOR_VERSAO = '$';
 
-    @Value("${jwt.secret}") // Reutiliza a chave JWT para a chave de criptografia
+    // SecureRandom é thread-safe; uma única instância evita o custo de semear um gerador por chamada
+    private static final SecureRandom GERADOR_IV = new SecureRandom();
+
+    // Cipher não é thread-safe, mas pode ser reinicializado: uma instância por thread elimina o Cipher.getInstance por chamada
+    private static final ThreadLocal<Cipher> CIPHER_POR_THREAD = ThreadLocal.withInitial(ServicoCriptografia::novoCipher);
+
+    private final PropriedadesCriptografia propriedades;
+
+    @Value("${jwt.secret}") // A chave JWT permanece como chave de versão 0 (legada)
     private String chaveSecreta;
 
-    private SecretKeySpec getSecretKeySpec() {
+    @Value("${criptografia.lote.threads:0}") // 0 = número de processadores disponíveis
+    private int threadsLote;
+
+    @Value("${criptografia.lote.tamanho-bloco:256}")
+    private int tamanhoBlocoLote;
+
+    // Chaveiro indexado pela versão; posições nulas são versões não configuradas
+    private final SecretKeySpec[] chaves = new SecretKeySpec[VERSAO_MAXIMA + 1];
+
+    private int versaoAtiva;
+
+    // Chave de backup (opcional): nunca usada para as senhas armazenadas, apenas para arquivos de backup
+    private SecretKeySpec chaveBackup;
+
+    private ThreadPoolExecutor executorLote;
+
+    /**
+     * Deriva todas as chaves uma única vez, falhando na inicialização caso alguma seja inválida.
+     */
+    @PostConstruct
+    void inicializarChaves() {
+        // A chave legada pode ser inválida para AES quando jwt.secret só atende ao JWT; nesse caso
+        // ela só falha se for efetivamente usada, como acontecia antes do chaveiro versionado.
+        try {
+            chaves[VERSAO_LEGADA] = derivarChave(chaveSecreta);
+        } catch (IllegalArgumentException e) {
+            log.warn("jwt.secret não é uma chave AES-256 válida; a chave de criptografia versão 0 ficará indisponível.");
+        }
+
+        int maiorVersao = VERSAO_LEGADA;
+        for (Map.Entry<Integer, String> chave : propriedades.getChaves().entrySet()) {
+            int versao = chave.getKey();
+            if (versao <= VERSAO_LEGADA || versao > VERSAO_MAXIMA) {
+                throw new IllegalArgumentException("Versão de chave inválida: " + versao + ". Use valores entre 1 e " + VERSAO_MAXIMA + ".");
+            }
+            chaves[versao] = derivarChave(chave.getValue());
+            maiorVersao = Math.max(maiorVersao, versao);
+        }
+
+        this.versaoAtiva = propriedades.getVersaoAtiva() != null ? propriedades.getVersaoAtiva() : maiorVersao;
+        if (propriedades.getChaveBackup() != null && !propriedades.getChaveBackup().isBlank()) {
+            this.chaveBackup = derivarChave(propriedades.getChaveBackup());
+        }
+        if (versaoAtiva < VERSAO_LEGADA || versaoAtiva > VERSAO_MAXIMA
+                || (versaoAtiva != VERSAO_LEGADA && chaves[versaoAtiva] == null)) {
+            throw new IllegalArgumentException("A versão de chave ativa " + versaoAtiva + " não está configurada.");
+        }
+    }
+
+    private SecretKeySpec derivarChave(String segredo) {
         // Garante que a chave tenha 32 bytes (256 bits)
-        byte[] keyBytes = chaveSecreta.getBytes(StandardCharsets.UTF_8);
+        byte[] keyBytes = segredo.getBytes(StandardCharsets.UTF_8);
         if (keyBytes.length < AES_KEY_LENGTH) {
-            keyBytes = Base64.getDecoder().decode(chaveSecreta);
+            keyBytes = Base64.getDecoder().decode(segredo);
         }
         if (keyBytes.length != AES_KEY_LENGTH) {
             throw new IllegalArgumentException("A chave secreta deve ter 32 bytes (256 bits) para AES-256.");
@@ -39,64 +125,310 @@ public class ServicoCriptografia {
     }
 
     /**
-     * Criptografa o texto usando AES-256-GCM.
-     * O resultado inclui IV, Ciphertext e Tag, separados por um delimitador.
+     * Cria o pool limitado usado pelas operações em lote.
+     * A fila é curta e, quando cheia, a própria thread chamadora processa o bloco (backpressure).
+     */
+    @PostConstruct
+    void inicializarExecutorLote() {
+        int threads = threadsLote > 0 ? threadsLote : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        this.executorLote = new ThreadPoolExecutor(
+                threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "criptografia-lote-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.executorLote.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void encerrarExecutorLote() {
+        executorLote.shutdown();
+    }
+
+    /**
+     * Retorna a versão da chave usada para novas cifragens.
+     */
+    public int getVersaoAtiva() {
+        return versaoAtiva;
+    }
+
+    /**
+     * Criptografa o texto usando AES-256-GCM com a chave ativa.
      * @param textoPlano O texto a ser criptografado (a senha).
-     * @return O texto criptografado em formato Base64.
+     * @return O envelope versionado, com IV, Ciphertext e Tag em Base64.
      */
     public String criptografar(String textoPlano) {
+        byte[] cifrado = cifrar(chaveAtiva(), textoPlano.getBytes(StandardCharsets.UTF_8), 0);
+        return DELIMITADOR_VERSAO + Integer.toString(versaoAtiva) + DELIMITADOR_VERSAO
+                + Base64.getEncoder().encodeToString(cifrado);
+    }
+
+    /**
+     * Descriptografa o texto usando AES-256-GCM com a chave indicada no envelope (ou a legada).
+     * @param textoCifrado O envelope versionado ou o texto legado em Base64.
+     * @return O texto plano (a senha).
+     */
+    public String descriptografar(String textoCifrado) {
+        int versao = versaoDe(textoCifrado);
+        byte[] decoded;
         try {
-            byte[] iv = new byte[IV_LENGTH_BYTE];
-            new SecureRandom().nextBytes(iv);
+            String conteudo = textoCifrado.charAt(0) == DELIMITADOR_VERSAO
+                    ? textoCifrado.substring(textoCifrado.indexOf(DELIMITADOR_VERSAO, 1) + 1)
+                    : textoCifrado;
+            decoded = Base64.getDecoder().decode(conteudo);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new RuntimeException("Erro ao descriptografar a senha. Chave inválida ou dado corrompido.", e);
+        }
+        return new String(decifrar(chaveDaVersao(versao), decoded, 0), StandardCharsets.UTF_8);
+    }
 
-            Cipher cipher = Cipher.getInstance(ALGORITMO);
-            cipher.init(Cipher.ENCRYPT_MODE, getSecretKeySpec(), new GCMParameterSpec(TAG_LENGTH_BIT, iv));
+    /**
+     * Criptografa bytes usando AES-256-GCM com a chave ativa, sem a etapa de Base64.
+     * @param textoPlano Os bytes a serem criptografados.
+     * @return Versão da chave (1 byte) + IV + Ciphertext + Tag em um único array.
+     */
+    public byte[] criptografar(byte[] textoPlano) {
+        byte[] saida = cifrar(chaveAtiva(), textoPlano, 1);
+        saida[0] = (byte) versaoAtiva;
+        return saida;
+    }
 
-            byte[] cipherText = cipher.doFinal(textoPlano.getBytes(StandardCharsets.UTF_8));
+    /**
+     * Descriptografa bytes no formato Versão (1 byte) + IV + Ciphertext + Tag usando AES-256-GCM.
+     * @param textoCifrado Os bytes criptografados.
+     * @return Os bytes do texto plano.
+     */
+    public byte[] descriptografar(byte[] textoCifrado) {
+        if (textoCifrado.length == 0) {
+            throw new RuntimeException("Erro ao descriptografar a senha. Chave inválida ou dado corrompido.",
+                    new IllegalArgumentException("Texto cifrado inválido ou corrompido."));
+        }
+        return decifrar(chaveDaVersao(textoCifrado[0] & 0xFF), textoCifrado, 1);
+    }
 
-            // Concatena IV e Ciphertext+Tag
-            ByteBuffer byteBuffer = ByteBuffer.allocate(IV_LENGTH_BYTE + cipherText.length);
-            byteBuffer.put(iv);
-            byteBuffer.put(cipherText);
+    /**
+     * Identifica a versão da chave usada em um texto cifrado.
+     * @param textoCifrado O envelope versionado ou o texto legado em Base64.
+     * @return A versão da chave (0 para o formato legado).
+     */
+    public int versaoDe(String textoCifrado) {
+        if (textoCifrado == null || textoCifrado.isEmpty() || textoCifrado.charAt(0) != DELIMITADOR_VERSAO) {
+            return VERSAO_LEGADA;
+        }
+        int fimVersao = textoCifrado.indexOf(DELIMITADOR_VERSAO, 1);
+        if (fimVersao < 0) {
+            throw new RuntimeException("Erro ao descriptografar a senha. Chave inválida ou dado corrompido.",
+                    new IllegalArgumentException("Cabeçalho de versão inválido."));
+        }
+        try {
+            return Integer.parseInt(textoCifrado, 1, fimVersao, 10);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Erro ao descriptografar a senha. Chave inválida ou dado corrompido.", e);
+        }
+    }
 
-            return Base64.getEncoder().encodeToString(byteBuffer.array());
-        } catch (Exception e) {
-            throw new RuntimeException("Erro ao criptografar a senha.", e);
+    /**
+     * Indica se o texto cifrado foi gerado com uma chave diferente da ativa.
+     */
+    public boolean precisaRecriptografar(String textoCifrado) {
+        return versaoDe(textoCifrado) != versaoAtiva;
+    }
+
+    /**
+     * Recriptografa uma lista de textos cifrados com a chave ativa, em paralelo e preservando a ordem.
+     * @param textosCifrados Os textos cifrados com qualquer versão de chave configurada.
+     * @return Um resultado por item, na mesma ordem da entrada.
+     */
+    public List<ResultadoCriptografia> recriptografarLote(List<String> textosCifrados) {
+        return processarLote(textosCifrados, textoCifrado -> criptografar(descriptografar(textoCifrado)));
+    }
+
+    /**
+     * Criptografa uma lista de textos em paralelo, em blocos, preservando a ordem de entrada.
+     * Falhas são reportadas por item, sem interromper o restante do lote.
+     * @param textosPlanos Os textos a serem criptografados.
+     * @return Um resultado por item, na mesma ordem da entrada.
+     */
+    public List<ResultadoCriptografia> criptografarLote(List<String> textosPlanos) {
+        return processarLote(textosPlanos, this::criptografar);
+    }
+
+    /**
+     * Descriptografa uma lista de textos em paralelo, em blocos, preservando a ordem de entrada.
+     * Falhas são reportadas por item, sem interromper o restante do lote.
+     * @param textosCifrados Os textos criptografados em formato Base64.
+     * @return Um resultado por item, na mesma ordem da entrada.
+     */
+    public List<ResultadoCriptografia> descriptografarLote(List<String> textosCifrados) {
+        return processarLote(textosCifrados, this::descriptografar);
+    }
+
+    private List<ResultadoCriptografia> processarLote(List<String> entradas, UnaryOperator<String> operacao) {
+        ResultadoCriptografia[] resultados = new ResultadoCriptografia[entradas.size()];
+        int tamanhoBloco = Math.max(1, tamanhoBlocoLote);
+
+        // Lotes pequenos não compensam o custo de despacho para o pool
+        if (entradas.size() <= tamanhoBloco) {
+            processarBloco(entradas, operacao, resultados, 0, entradas.size());
+            return Arrays.asList(resultados);
         }
+
+        List<Future<?>> blocos = new ArrayList<>();
+        for (int inicio = 0; inicio < entradas.size(); inicio += tamanhoBloco) {
+            final int de = inicio;
+            final int ate = Math.min(inicio + tamanhoBloco, entradas.size());
+            blocos.add(executorLote.submit(() -> processarBloco(entradas, operacao, resultados, de, ate)));
+        }
+
+        for (Future<?> bloco : blocos) {
+            try {
+                bloco.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Processamento em lote interrompido.", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Erro inesperado no processamento em lote.", e.getCause());
+            }
+        }
+        return Arrays.asList(resultados);
     }
 
     /**
-     * Descriptografa o texto usando AES-256-GCM.
-     * @param textoCifrado O texto criptografado em formato Base64.
-     * @return O texto plano (a senha).
+     * Indica se uma chave de backup está configurada (criptografia.chave-backup).
      */
-    public String descriptografar(String textoCifrado) {
+    public boolean possuiChaveBackup() {
+        return chaveBackup != null;
+    }
+
+    /**
+     * Identificador da chave de backup (primeiros 8 bytes do SHA-256 da chave, em hexadecimal), gravado nos
+     * backups para que a restauração detecte uma chave diferente antes de decifrar qualquer senha.
+     */
+    public String impressaoChaveBackup() {
         try {
-            byte[] decoded = Base64.getDecoder().decode(textoCifrado);
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(chaveBackupConfigurada().getEncoded());
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Algoritmo SHA-256 indisponível.", e);
+        }
+    }
+
+    /**
+     * Reenvolve textos cifrados com o chaveiro sob a chave de backup, em paralelo e preservando a ordem.
+     * Cada resultado é Base64(IV + Ciphertext + Tag), sem versão: a chave de backup é única.
+     */
+    public List<ResultadoCriptografia> envolverParaBackupLote(List<String> textosCifrados) {
+        SecretKeySpec chave = chaveBackupConfigurada();
+        return processarLote(textosCifrados, textoCifrado -> Base64.getEncoder().encodeToString(
+                cifrar(chave, descriptografar(textoCifrado).getBytes(StandardCharsets.UTF_8), 0)));
+    }
+
+    /**
+     * Desfaz o envolvimento de backup, criptografando novamente cada senha com a chave ativa do chaveiro.
+     */
+    public List<ResultadoCriptografia> desenvolverDeBackupLote(List<String> textosBackup) {
+        SecretKeySpec chave = chaveBackupConfigurada();
+        return processarLote(textosBackup, textoBackup -> {
+            byte[] decoded;
+            try {
+                decoded = Base64.getDecoder().decode(textoBackup);
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Erro ao descriptografar a senha. Chave inválida ou dado corrompido.", e);
+            }
+            return criptografar(new String(decifrar(chave, decoded, 0), StandardCharsets.UTF_8));
+        });
+    }
+
+    private SecretKeySpec chaveBackupConfigurada() {
+        if (chaveBackup == null) {
+            throw new IllegalStateException("Nenhuma chave de backup configurada (criptografia.chave-backup).");
+        }
+        return chaveBackup;
+    }
 
-            // Verifica o tamanho mínimo (IV + Tag)
-            if (decoded.length < IV_LENGTH_BYTE + (TAG_LENGTH_BIT / 8)) {
-                throw new IllegalArgumentException("Texto cifrado inválido ou corrompido.");
+    private void processarBloco(List<String> entradas, UnaryOperator<String> operacao,
+                                ResultadoCriptografia[] resultados, int de, int ate) {
+        for (int i = de; i < ate; i++) {
+            try {
+                resultados[i] = ResultadoCriptografia.sucesso(operacao.apply(entradas.get(i)));
+            } catch (RuntimeException e) {
+                resultados[i] = ResultadoCriptografia.falha(e);
             }
+        }
+    }
+
+    private SecretKeySpec chaveAtiva() {
+        SecretKeySpec chave = chaves[versaoAtiva];
+        if (chave == null) {
+            throw new RuntimeException("Erro ao criptografar a senha.",
+                    new IllegalArgumentException("A chave secreta deve ter 32 bytes (256 bits) para AES-256."));
+        }
+        return chave;
+    }
+
+    private SecretKeySpec chaveDaVersao(int versao) {
+        SecretKeySpec chave = versao >= VERSAO_LEGADA && versao <= VERSAO_MAXIMA ? chaves[versao] : null;
+        if (chave == null) {
+            throw new RuntimeException("Erro ao descriptografar a senha. Chave inválida ou dado corrompido.",
+                    new IllegalArgumentException("Versão de chave desconhecida: " + versao));
+        }
+        return chave;
+    }
+
+    /**
+     * Cifra os bytes deixando {@code cabecalho} bytes livres no início do array de saída.
+     * IV e Ciphertext+Tag são escritos diretamente no array de saída, sem ByteBuffer intermediário.
+     */
+    private byte[] cifrar(SecretKeySpec chave, byte[] textoPlano, int cabecalho) {
+        try {
+            Cipher cipher = CIPHER_POR_THREAD.get();
 
-            // Extrai IV
-            ByteBuffer byteBuffer = ByteBuffer.wrap(decoded);
             byte[] iv = new byte[IV_LENGTH_BYTE];
-            byteBuffer.get(iv);
+            GERADOR_IV.nextBytes(iv);
 
-            // Extrai Ciphertext + Tag
-            byte[] cipherTextWithTag = new byte[byteBuffer.remaining()];
-            byteBuffer.get(cipherTextWithTag);
+            byte[] saida = new byte[cabecalho + IV_LENGTH_BYTE + textoPlano.length + TAG_LENGTH_BYTE];
+            System.arraycopy(iv, 0, saida, cabecalho, IV_LENGTH_BYTE);
 
-            Cipher cipher = Cipher.getInstance(ALGORITMO);
-            cipher.init(Cipher.DECRYPT_MODE, getSecretKeySpec(), new GCMParameterSpec(TAG_LENGTH_BIT, iv));
+            cipher.init(Cipher.ENCRYPT_MODE, chave, new GCMParameterSpec(TAG_LENGTH_BIT, iv));
+            cipher.doFinal(textoPlano, 0, textoPlano.length, saida, cabecalho + IV_LENGTH_BYTE);
 
-            byte[] textoPlano = cipher.doFinal(cipherTextWithTag);
+            return saida;
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao criptografar a senha.", e);
+        }
+    }
 
-            return new String(textoPlano, StandardCharsets.UTF_8);
+    /**
+     * Decifra IV + Ciphertext + Tag a partir da posição {@code inicio}, lendo diretamente do array de entrada.
+     */
+    private byte[] decifrar(SecretKeySpec chave, byte[] textoCifrado, int inicio) {
+        // Verifica o tamanho mínimo (IV + Tag)
+        if (textoCifrado.length - inicio < IV_LENGTH_BYTE + TAG_LENGTH_BYTE) {
+            throw new RuntimeException("Erro ao descriptografar a senha. Chave inválida ou dado corrompido.",
+                    new IllegalArgumentException("Texto cifrado inválido ou corrompido."));
+        }
+
+        try {
+            Cipher cipher = CIPHER_POR_THREAD.get();
+            cipher.init(Cipher.DECRYPT_MODE, chave, new GCMParameterSpec(TAG_LENGTH_BIT, textoCifrado, inicio, IV_LENGTH_BYTE));
+            return cipher.doFinal(textoCifrado, inicio + IV_LENGTH_BYTE, textoCifrado.length - inicio - IV_LENGTH_BYTE);
         } catch (Exception e) {
             // Em produção, esta exceção deve ser logada e tratada de forma genérica para o usuário.
             throw new RuntimeException("Erro ao descriptografar a senha. Chave inválida ou dado corrompido.", e);
         }
     }
+
+    private static Cipher novoCipher() {
+        try {
+            return Cipher.getInstance(ALGORITMO);
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new IllegalStateException("Algoritmo de criptografia indisponível: " + ALGORITMO, e);
+        }
+    }
 }
@@ -1,33 +1,65 @@
 package com.seuprojeto.gerenciadordeacessos.core.seguranca;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
  * Serviço de Geração e Validação de Tokens JWT.
  * Responsabilidade Única: Gerenciar o ciclo de vida do token JWT.
+ * A chave e o parser são construídos uma única vez; tokens já verificados são servidos pelo CacheTokensVerificados.
  */
 @Service
+@RequiredArgsConstructor
+@Slf4j
 public class ServicoToken {
 
+    // Claims usadas pela autenticação stateless (sem consulta ao banco por requisição)
+    public static final String CLAIM_ID_USUARIO = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_VERSAO_SEGURANCA = "ver";
+
+    private final CacheTokensVerificados cacheTokensVerificados;
+
     @Value("${jwt.secret}")
     private String chaveSecreta;
 
     @Value("${jwt.expiration}")
     private long validadeToken;
 
+    private Key chaveAssinatura;
+
+    private JwtParser parser;
+
+    @PostConstruct
+    void inicializar() {
+        // Um jwt.secret inválido não impede a inicialização; o erro surge ao gerar ou validar tokens
+        try {
+            byte[] keyBytes = Decoders.BASE64.decode(chaveSecreta);
+            this.chaveAssinatura = Keys.hmacShaKeyFor(keyBytes);
+            this.parser = Jwts.parserBuilder()
+                    .setSigningKey(chaveAssinatura)
+                    .build();
+        } catch (RuntimeException e) {
+            log.error("jwt.secret inválido: deve ser uma chave HMAC-SHA256 em Base64 com pelo menos 256 bits.", e);
+        }
+    }
+
     /**
      * Extrai o email (subject) do token.
      */
@@ -39,15 +71,29 @@ public class ServicoToken {
      * Extrai uma claim específica do token.
      */
     public <T> T extrairClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extrairTodasClaims(token);
+        final Claims claims = extrairClaimsVerificadas(token);
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Retorna as Claims de um token com assinatura e validade verificadas.
+     * A verificação criptográfica ocorre apenas na primeira vez que o token é visto.
+     * As Claims retornadas são compartilhadas e não devem ser modificadas.
+     */
+    public Claims extrairClaimsVerificadas(String token) {
+        Claims claims = cacheTokensVerificados.buscar(token);
+        if (claims == null) {
+            claims = getParser().parseClaimsJws(token).getBody();
+            cacheTokensVerificados.armazenar(token, claims);
+        }
+        return claims;
+    }
+
     /**
      * Gera um token JWT para o UserDetails.
      */
     public String gerarToken(UserDetails userDetails) {
-        return gerarToken(new HashMap<>(), userDetails);
+        return gerarToken(Map.of(), userDetails);
     }
 
     /**
@@ -58,6 +104,7 @@ public class ServicoToken {
                 .builder()
                 .setClaims(claims)
                 .setSubject(userDetails.getUsername())
+                .setId(UUID.randomUUID().toString()) // jti: permite revogar o token individualmente
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + validadeToken))
                 .signWith(getChaveAssinatura(), SignatureAlgorithm.HS256)
@@ -68,36 +115,43 @@ public class ServicoToken {
      * Valida se o token é válido (não expirado e corresponde ao usuário).
      */
     public boolean validarToken(String token, UserDetails userDetails) {
-        final String email = extrairEmail(token);
-        return (email.equals(userDetails.getUsername())) && !tokenExpirado(token);
+        return validarClaims(extrairClaimsVerificadas(token), userDetails);
     }
 
     /**
-     * Valida se o token é válido (apenas não expirado).
+     * Valida Claims já verificadas contra o usuário (não expirado e mesmo subject).
      */
-    public boolean validarToken(String token) {
-        return !tokenExpirado(token);
+    public boolean validarClaims(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !expirado(claims);
     }
 
-    private boolean tokenExpirado(String token) {
-        return extrairDataExpiracao(token).before(new Date());
+    /**
+     * Valida Claims já verificadas (apenas não expiradas).
+     */
+    public boolean validarClaims(Claims claims) {
+        return !expirado(claims);
     }
 
-    private Date extrairDataExpiracao(String token) {
-        return extrairClaim(token, Claims::getExpiration);
+    /**
+     * Valida se o token é válido (apenas não expirado).
+     */
+    public boolean validarToken(String token) {
+        return !expirado(extrairClaimsVerificadas(token));
     }
 
-    private Claims extrairTodasClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getChaveAssinatura())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private Key getChaveAssinatura() {
+        if (chaveAssinatura == null) {
+            throw new IllegalStateException("Chave de assinatura JWT indisponível: verifique a propriedade jwt.secret.");
+        }
+        return chaveAssinatura;
     }
 
-    private Key getChaveAssinatura() {
-        byte[] keyBytes = Decoders.BASE64.decode(chaveSecreta);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private JwtParser getParser() {
+        getChaveAssinatura();
+        return parser;
+    }
+
+    private boolean expirado(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 }
@@ -0,0 +1,22 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto;
+
+/**
+ * DTO de uma credencial candidata ao preenchimento automático de uma página.
+ * @param id ID da entrada (usado para revelar a senha).
+ * @param titulo Título.
+ * @param login Login.
+ * @param url URL cadastrada.
+ * @param correspondencia Como a URL da página corresponde à URL cadastrada.
+ */
+public record AutopreenchimentoDto(
+        Long id,
+        String titulo,
+        String login,
+        String url,
+        Correspondencia correspondencia
+) {
+    public enum Correspondencia {
+        HOST,    // Mesmo host (ex: app.exemplo.com)
+        DOMINIO  // Mesmo domínio registrável (ex: outro.exemplo.com)
+    }
+}
@@ -1,6 +1,7 @@
 package com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto;
 
 import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoResumoProjecao;
 
 import java.time.LocalDate;
 
@@ -43,4 +44,19 @@ public record EntradaAcessoDto(
                 proximaExpiracao
         );
     }
+
+    public static EntradaAcessoDto fromProjecao(EntradaAcessoResumoProjecao projecao, boolean expirada, boolean proximaExpiracao) {
+        return new EntradaAcessoDto(
+                projecao.id(),
+                projecao.titulo(),
+                projecao.descricao(),
+                projecao.url(),
+                projecao.login(),
+                projecao.tipoVisibilidade(),
+                projecao.proprietarioNome(),
+                projecao.dataExpiracao(),
+                expirada,
+                proximaExpiracao
+        );
+    }
 }
@@ -0,0 +1,19 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Item de uma atualização em lote.
+ * @param id ID da entrada a ser atualizada.
+ * @param dados Novos dados da entrada (mesmas regras da atualização individual).
+ */
+public record ItemAtualizacaoLoteDto(
+        @NotNull(message = "O ID é obrigatório.")
+        Long id,
+
+        @NotNull(message = "Os dados da entrada são obrigatórios.")
+        @Valid
+        AtualizarEntradaAcessoDto dados
+) {
+}
@@ -0,0 +1,14 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto;
+
+import java.util.List;
+
+/**
+ * DTO de uma página de resultados paginados por cursor (keyset).
+ * @param itens Itens da página.
+ * @param proximoCursor Cursor para solicitar a próxima página, ou null se esta for a última.
+ */
+public record PaginaDto<T>(
+        List<T> itens,
+        Long proximoCursor
+) {
+}
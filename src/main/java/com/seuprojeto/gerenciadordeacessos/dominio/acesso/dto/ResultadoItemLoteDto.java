@@ -0,0 +1,23 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto;
+
+/**
+ * Resultado de um item de uma operação em lote.
+ * @param indice Posição do item na requisição.
+ * @param id ID da entrada (nulo se a criação falhou).
+ * @param sucesso Se o item foi aplicado.
+ * @param erro Motivo da falha, nulo em caso de sucesso.
+ */
+public record ResultadoItemLoteDto(
+        int indice,
+        Long id,
+        boolean sucesso,
+        String erro
+) {
+    public static ResultadoItemLoteDto sucesso(int indice, Long id) {
+        return new ResultadoItemLoteDto(indice, id, true, null);
+    }
+
+    public static ResultadoItemLoteDto falha(int indice, Long id, String erro) {
+        return new ResultadoItemLoteDto(indice, id, false, erro);
+    }
+}
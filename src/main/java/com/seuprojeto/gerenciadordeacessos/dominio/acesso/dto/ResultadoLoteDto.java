@@ -0,0 +1,20 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de uma operação em lote, com um resultado por item na ordem da requisição.
+ * @param sucessos Quantidade de itens aplicados.
+ * @param falhas Quantidade de itens rejeitados.
+ * @param itens Resultado de cada item.
+ */
+public record ResultadoLoteDto(
+        int sucessos,
+        int falhas,
+        List<ResultadoItemLoteDto> itens
+) {
+    public static ResultadoLoteDto de(List<ResultadoItemLoteDto> itens) {
+        int sucessos = (int) itens.stream().filter(ResultadoItemLoteDto::sucesso).count();
+        return new ResultadoLoteDto(sucessos, itens.size() - sucessos, itens);
+    }
+}
@@ -0,0 +1,60 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.evento;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoResumoProjecao;
+
+/**
+ * Evento publicado quando uma entrada de acesso é criada, alterada ou excluída (soft delete).
+ * Consumido após o commit da transação por estruturas em memória derivadas das entradas (ex: índice de busca).
+ * @param id ID da entrada.
+ * @param titulo Título.
+ * @param descricao Descrição.
+ * @param url URL.
+ * @param login Login.
+ * @param tipoVisibilidade Tipo de visibilidade.
+ * @param proprietarioId ID do proprietário.
+ * @param proprietarioEmail Email do proprietário.
+ * @param ativo Indica se a entrada continua ativa.
+ */
+public record EntradaAcessoAlteradaEvento(
+        Long id,
+        String titulo,
+        String descricao,
+        String url,
+        String login,
+        EntradaAcesso.TipoVisibilidade tipoVisibilidade,
+        Long proprietarioId,
+        String proprietarioEmail,
+        boolean ativo
+) {
+    public static EntradaAcessoAlteradaEvento de(EntradaAcesso entrada) {
+        return new EntradaAcessoAlteradaEvento(
+                entrada.getId(),
+                entrada.getTitulo(),
+                entrada.getDescricao(),
+                entrada.getUrl(),
+                entrada.getLogin(),
+                entrada.getTipoVisibilidade(),
+                entrada.getProprietario().getId(),
+                entrada.getProprietario().getEmail(),
+                Boolean.TRUE.equals(entrada.getAtivo())
+        );
+    }
+
+    /**
+     * Estado de uma entrada ativa lida do banco (usado na construção dos índices).
+     */
+    public static EntradaAcessoAlteradaEvento de(EntradaAcessoResumoProjecao entrada) {
+        return new EntradaAcessoAlteradaEvento(
+                entrada.id(),
+                entrada.titulo(),
+                entrada.descricao(),
+                entrada.url(),
+                entrada.login(),
+                entrada.tipoVisibilidade(),
+                entrada.proprietarioId(),
+                entrada.proprietarioEmail(),
+                true
+        );
+    }
+}
@@ -19,8 +19,10 @@ import java.time.LocalDate;
 @AllArgsConstructor
 public class EntradaAcesso extends BaseAuditoria {
 
+    // Sequência com alocação em blocos: IDs atribuídos sem ida ao banco por linha, permitindo inserts em lote (IDENTITY os desabilita)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "entradas_acesso_seq")
+    @SequenceGenerator(name = "entradas_acesso_seq", sequenceName = "entradas_acesso_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
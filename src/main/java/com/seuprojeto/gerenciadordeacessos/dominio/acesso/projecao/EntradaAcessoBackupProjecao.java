@@ -0,0 +1,33 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso.TipoVisibilidade;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção completa de uma entrada de acesso, usada como registro dos arquivos de backup.
+ * @param id ID da entrada na origem (informativo; a restauração gera novos IDs).
+ * @param titulo Título da credencial.
+ * @param descricao Descrição opcional.
+ * @param url URL do site.
+ * @param login Login/Usuário.
+ * @param senhaCriptografada Senha cifrada com o chaveiro, ou reenvolvida sob a chave de backup.
+ * @param tipoVisibilidade Tipo de visibilidade.
+ * @param proprietarioEmail Email do proprietário.
+ * @param dataExpiracao Data de expiração da senha.
+ */
+public record EntradaAcessoBackupProjecao(
+        Long id,
+        String titulo,
+        String descricao,
+        String url,
+        String login,
+        String senhaCriptografada,
+        TipoVisibilidade tipoVisibilidade,
+        String proprietarioEmail,
+        LocalDate dataExpiracao
+) {
+    public EntradaAcessoBackupProjecao comSenha(String senha) {
+        return new EntradaAcessoBackupProjecao(id, titulo, descricao, url, login, senha, tipoVisibilidade, proprietarioEmail, dataExpiracao);
+    }
+}
@@ -0,0 +1,33 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção de leitura de uma entrada de acesso, com os dados do proprietário obtidos na mesma consulta.
+ * Nunca carrega a senha cifrada.
+ * @param id ID da entrada.
+ * @param titulo Título.
+ * @param descricao Descrição.
+ * @param url URL.
+ * @param login Login.
+ * @param tipoVisibilidade Tipo de visibilidade.
+ * @param proprietarioId ID do proprietário (usado nas verificações de permissão).
+ * @param proprietarioEmail Email do proprietário.
+ * @param proprietarioNome Nome do proprietário.
+ * @param dataExpiracao Data de expiração.
+ */
+public record EntradaAcessoResumoProjecao(
+        Long id,
+        String titulo,
+        String descricao,
+        String url,
+        String login,
+        EntradaAcesso.TipoVisibilidade tipoVisibilidade,
+        Long proprietarioId,
+        String proprietarioEmail,
+        String proprietarioNome,
+        LocalDate dataExpiracao
+) {
+}
@@ -0,0 +1,12 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao;
+
+/**
+ * Projeção mínima de uma entrada de acesso, usada por processos que só manipulam a senha cifrada.
+ * @param id ID da entrada.
+ * @param senhaCriptografada Senha cifrada armazenada.
+ */
+public record SenhaCifradaProjecao(
+        Long id,
+        String senhaCriptografada
+) {
+}
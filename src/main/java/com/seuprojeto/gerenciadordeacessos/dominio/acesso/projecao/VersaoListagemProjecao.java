@@ -0,0 +1,15 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção agregada que identifica o estado de um conjunto de entradas sem carregá-las.
+ * Exclusões são lógicas (atualizam a data de alteração), então qualquer escrita muda a projeção.
+ * @param quantidade Quantidade de entradas do conjunto, incluindo as inativas.
+ * @param ultimaAlteracao Data da alteração mais recente (nula se o conjunto estiver vazio).
+ */
+public record VersaoListagemProjecao(
+        Long quantidade,
+        LocalDateTime ultimaAlteracao
+) {
+}
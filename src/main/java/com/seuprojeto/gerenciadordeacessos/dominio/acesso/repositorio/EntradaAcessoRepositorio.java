@@ -1,14 +1,26 @@
 package com.seuprojeto.gerenciadordeacessos.dominio.acesso.repositorio;
 
 import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso;
-import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso.TipoVisibilidade;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoBackupProjecao;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoResumoProjecao;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.SenhaCifradaProjecao;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.VersaoListagemProjecao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório para a entidade EntradaAcesso.
@@ -18,20 +30,94 @@ import java.util.List;
 public interface EntradaAcessoRepositorio extends JpaRepository<EntradaAcesso, Long> {
 
     /**
-     * Busca todas as entradas visíveis para um usuário (PESSOAL dele + COMPARTILHADA).
+     * Busca a próxima página (keyset por ID) das entradas pessoais de um usuário.
+     * O proprietário é filtrado pelo ID da própria entrada, não pela tabela do join: assim o banco
+     * percorre o índice (proprietario_id, id) já na ordem da página.
      */
-    @Query("SELECT e FROM EntradaAcesso e WHERE e.ativo = true AND (e.proprietario.email = :email OR e.tipoVisibilidade = 'COMPARTILHADA')")
-    List<EntradaAcesso> findVisiveisParaUsuario(@Param("email") String email);
+    @Query("SELECT new com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoResumoProjecao(e.id, e.titulo, e.descricao, e.url, e.login, e.tipoVisibilidade, p.id, p.email, p.nome, e.dataExpiracao) FROM EntradaAcesso e JOIN e.proprietario p WHERE e.ativo = true AND e.proprietario.id = :idProprietario AND e.tipoVisibilidade = 'PESSOAL' AND e.id > :cursor ORDER BY e.id")
+    List<EntradaAcessoResumoProjecao> findPessoaisAposId(@Param("idProprietario") Long idProprietario, @Param("cursor") Long cursor, Pageable pageable);
 
     /**
-     * Busca entradas pelo tipo de visibilidade.
+     * Quantidade de linhas trazidas do banco por vez nas consultas em streaming.
      */
-    List<EntradaAcesso> findByTipoVisibilidadeAndAtivoTrue(TipoVisibilidade tipoVisibilidade);
+    String TAMANHO_FETCH_STREAM = "500";
 
     /**
-     * Busca entradas pessoais de um usuário.
+     * Percorre, com um cursor somente-avanço, todas as entradas compartilhadas.
+     * O tipo é um literal (e não um parâmetro) para que o banco possa usar o índice parcial das compartilhadas.
      */
-    List<EntradaAcesso> findByProprietarioEmailAndTipoVisibilidadeAndAtivoTrue(String email, TipoVisibilidade tipoVisibilidade);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANHO_FETCH_STREAM))
+    @Query("SELECT new com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoResumoProjecao(e.id, e.titulo, e.descricao, e.url, e.login, e.tipoVisibilidade, p.id, p.email, p.nome, e.dataExpiracao) FROM EntradaAcesso e JOIN e.proprietario p WHERE e.ativo = true AND e.tipoVisibilidade = 'COMPARTILHADA' ORDER BY e.id")
+    Stream<EntradaAcessoResumoProjecao> streamCompartilhadas();
+
+    /**
+     * Resume o estado das entradas pessoais de um usuário (inclusive inativas) para validar respostas em cache.
+     */
+    @Query("SELECT new com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.VersaoListagemProjecao(COUNT(e), MAX(e.atualizadoEm)) FROM EntradaAcesso e WHERE e.proprietario.id = :idProprietario AND e.tipoVisibilidade = 'PESSOAL'")
+    VersaoListagemProjecao findVersaoPessoais(@Param("idProprietario") Long idProprietario);
+
+    /**
+     * Percorre, com um cursor somente-avanço, todas as entradas pessoais de um usuário.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANHO_FETCH_STREAM))
+    @Query("SELECT new com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoResumoProjecao(e.id, e.titulo, e.descricao, e.url, e.login, e.tipoVisibilidade, p.id, p.email, p.nome, e.dataExpiracao) FROM EntradaAcesso e JOIN e.proprietario p WHERE e.ativo = true AND e.proprietario.id = :idProprietario AND e.tipoVisibilidade = 'PESSOAL' ORDER BY e.id")
+    Stream<EntradaAcessoResumoProjecao> streamPessoais(@Param("idProprietario") Long idProprietario);
+
+    /**
+     * Percorre, com um cursor somente-avanço, todas as entradas ativas (construção do índice de busca).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANHO_FETCH_STREAM))
+    @Query("SELECT new com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoResumoProjecao(e.id, e.titulo, e.descricao, e.url, e.login, e.tipoVisibilidade, p.id, p.email, p.nome, e.dataExpiracao) FROM EntradaAcesso e JOIN e.proprietario p WHERE e.ativo = true ORDER BY e.id")
+    Stream<EntradaAcessoResumoProjecao> streamAtivos();
+
+    /**
+     * Busca as projeções de leitura das entradas ativas com os IDs informados (em qualquer ordem).
+     */
+    @Query("SELECT new com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoResumoProjecao(e.id, e.titulo, e.descricao, e.url, e.login, e.tipoVisibilidade, p.id, p.email, p.nome, e.dataExpiracao) FROM EntradaAcesso e JOIN e.proprietario p WHERE e.id IN :ids AND e.ativo = true")
+    List<EntradaAcessoResumoProjecao> findResumosAtivosByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca todas as entradas compartilhadas ativas (carga completa do cache de compartilhadas).
+     */
+    @Query("SELECT new com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoResumoProjecao(e.id, e.titulo, e.descricao, e.url, e.login, e.tipoVisibilidade, p.id, p.email, p.nome, e.dataExpiracao) FROM EntradaAcesso e JOIN e.proprietario p WHERE e.ativo = true AND e.tipoVisibilidade = 'COMPARTILHADA' ORDER BY e.id")
+    List<EntradaAcessoResumoProjecao> findCompartilhadasAtivas();
+
+    /**
+     * Busca as entradas compartilhadas ativas alteradas a partir do instante informado (carga incremental).
+     */
+    @Query("SELECT new com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoResumoProjecao(e.id, e.titulo, e.descricao, e.url, e.login, e.tipoVisibilidade, p.id, p.email, p.nome, e.dataExpiracao) FROM EntradaAcesso e JOIN e.proprietario p WHERE e.ativo = true AND e.tipoVisibilidade = 'COMPARTILHADA' AND e.atualizadoEm >= :desde")
+    List<EntradaAcessoResumoProjecao> findCompartilhadasAtivasAlteradasDesde(@Param("desde") LocalDateTime desde);
+
+    /**
+     * Busca os IDs das entradas alteradas a partir do instante informado que não são (mais) compartilhadas ativas.
+     */
+    @Query("SELECT e.id FROM EntradaAcesso e WHERE e.atualizadoEm >= :desde AND (e.ativo = false OR e.tipoVisibilidade <> 'COMPARTILHADA')")
+    List<Long> findIdsNaoCompartilhadosAlteradosDesde(@Param("desde") LocalDateTime desde);
+
+    /**
+     * Percorre, com um cursor somente-avanço, todas as entradas ativas com a senha cifrada (backup).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANHO_FETCH_STREAM))
+    @Query("SELECT new com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoBackupProjecao(e.id, e.titulo, e.descricao, e.url, e.login, e.senhaCriptografada, e.tipoVisibilidade, p.email, e.dataExpiracao) FROM EntradaAcesso e JOIN e.proprietario p WHERE e.ativo = true ORDER BY e.id")
+    Stream<EntradaAcessoBackupProjecao> streamBackup();
+
+    /**
+     * Busca as entradas ativas pelos IDs já com o proprietário (verificação de permissão em lote sem N+1).
+     */
+    @Query("SELECT e FROM EntradaAcesso e JOIN FETCH e.proprietario WHERE e.ativo = true AND e.id IN :ids")
+    List<EntradaAcesso> findAtivasComProprietarioByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca uma entrada ativa pelo ID já com o proprietário (verificação de permissão e evento sem consulta extra).
+     */
+    @Query("SELECT e FROM EntradaAcesso e JOIN FETCH e.proprietario WHERE e.id = :id AND e.ativo = true")
+    Optional<EntradaAcesso> findAtivaComProprietarioById(@Param("id") Long id);
+
+    /**
+     * Busca a projeção de leitura de uma entrada ativa pelo ID.
+     */
+    @Query("SELECT new com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoResumoProjecao(e.id, e.titulo, e.descricao, e.url, e.login, e.tipoVisibilidade, p.id, p.email, p.nome, e.dataExpiracao) FROM EntradaAcesso e JOIN e.proprietario p WHERE e.id = :id AND e.ativo = true")
+    Optional<EntradaAcessoResumoProjecao> findResumoAtivoById(@Param("id") Long id);
 
     /**
      * Busca entradas ativas que estão expiradas ou próximas de expirar.
@@ -40,8 +126,24 @@ public interface EntradaAcessoRepositorio extends JpaRepository<EntradaAcesso, L
     List<EntradaAcesso> findExpirandoAte(@Param("dataLimite") LocalDate dataLimite);
 
     /**
-     * Busca entradas por título (busca parcial) visíveis para o usuário.
+     * Busca parcial (LIKE) por título, URL, login ou descrição nas entradas visíveis para o usuário.
+     * O texto não usa índice (apenas a visibilidade); atende só consultas curtas demais para o índice de busca ou
+     * enquanto ele é construído.
+     */
+    @Query("SELECT new com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoResumoProjecao(e.id, e.titulo, e.descricao, e.url, e.login, e.tipoVisibilidade, p.id, p.email, p.nome, e.dataExpiracao) FROM EntradaAcesso e JOIN e.proprietario p WHERE e.ativo = true AND (e.proprietario.id = :idProprietario OR e.tipoVisibilidade = 'COMPARTILHADA') AND (LOWER(e.titulo) LIKE LOWER(CONCAT('%', :texto, '%')) OR LOWER(e.url) LIKE LOWER(CONCAT('%', :texto, '%')) OR LOWER(e.login) LIKE LOWER(CONCAT('%', :texto, '%')) OR LOWER(e.descricao) LIKE LOWER(CONCAT('%', :texto, '%'))) ORDER BY e.id")
+    List<EntradaAcessoResumoProjecao> findByTextoParcialVisivelParaUsuario(@Param("texto") String texto, @Param("idProprietario") Long idProprietario, Pageable pageable);
+
+    /**
+     * Busca a próxima página (keyset por ID) de senhas cifradas, incluindo entradas inativas.
+     */
+    @Query("SELECT new com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.SenhaCifradaProjecao(e.id, e.senhaCriptografada) FROM EntradaAcesso e WHERE e.id > :ultimoId ORDER BY e.id")
+    List<SenhaCifradaProjecao> findSenhasCifradasAposId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    /**
+     * Substitui a senha cifrada apenas se ela não foi alterada desde a leitura (compare-and-swap).
+     * @return Quantidade de linhas alteradas (0 ou 1).
      */
-    @Query("SELECT e FROM EntradaAcesso e WHERE e.ativo = true AND (e.proprietario.email = :email OR e.tipoVisibilidade = 'COMPARTILHADA') AND LOWER(e.titulo) LIKE LOWER(CONCAT('%', :titulo, '%'))")
-    List<EntradaAcesso> findByTituloParcialVisivelParaUsuario(@Param("titulo") String titulo, @Param("email") String email);
+    @Modifying
+    @Query("UPDATE EntradaAcesso e SET e.senhaCriptografada = :novaSenha WHERE e.id = :id AND e.senhaCriptografada = :senhaAtual")
+    int substituirSenhaCriptografada(@Param("id") Long id, @Param("senhaAtual") String senhaAtual, @Param("novaSenha") String novaSenha);
 }
@@ -0,0 +1,185 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.evento.EntradaAcessoAlteradaEvento;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso.TipoVisibilidade;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoResumoProjecao;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.repositorio.EntradaAcessoRepositorio;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache das entradas compartilhadas (visíveis para todos), versionado por um contador.
+ * Responsabilidade Única: Evitar que cada listagem recarregue do banco o mesmo conjunto de entradas compartilhadas.
+ *
+ * Cada alteração confirmada que afeta o conjunto incrementa a versão. A leitura seguinte a uma mudança de
+ * versão (ou ao fim do TTL, que cobre alterações de outras instâncias) atualiza o cache de forma incremental,
+ * buscando apenas as linhas alteradas desde a carga anterior. Leituras concorrentes com o cache desatualizado
+ * aguardam uma única atualização em vez de irem todas ao banco.
+ *
+ * As cargas rodam em uma transação própria, de escrita (REQUIRES_NEW), mesmo quando chamadas de dentro de uma
+ * transação somente leitura: vão sempre ao primário. Lidas da réplica, uma carga atrasada pela replicação
+ * ficaria no cache (e em todas as leituras seguintes) até a próxima mudança de versão ou o fim do TTL.
+ */
+@Service
+@Slf4j
+public class CacheAcessosCompartilhados {
+
+    // Margem para alterações com commit ou relógio atrasados em relação ao início da carga anterior
+    private static final Duration MARGEM_ALTERACOES = Duration.ofSeconds(5);
+
+    private final EntradaAcessoRepositorio acessoRepositorio;
+    private final TransactionTemplate transacaoCarga;
+    private final Duration ttl;
+    private final Duration intervaloRecargaCompleta;
+    private final Counter acertos;
+    private final Counter cargasIncrementais;
+    private final Counter cargasCompletas;
+
+    private final AtomicLong versao = new AtomicLong();
+    private final Object monitorCarga = new Object();
+    private volatile Snapshot snapshot;
+
+    public CacheAcessosCompartilhados(
+            EntradaAcessoRepositorio acessoRepositorio,
+            PlatformTransactionManager transactionManager,
+            @Value("${acessos.cache-compartilhados.ttl:PT1M}") Duration ttl,
+            @Value("${acessos.cache-compartilhados.intervalo-recarga-completa:PT10M}") Duration intervaloRecargaCompleta,
+            MeterRegistry meterRegistry
+    ) {
+        this.acessoRepositorio = acessoRepositorio;
+        this.transacaoCarga = new TransactionTemplate(transactionManager);
+        this.transacaoCarga.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ttl = ttl;
+        this.intervaloRecargaCompleta = intervaloRecargaCompleta;
+        this.acertos = Counter.builder("acessos.compartilhados.cache").tag("resultado", "acerto").register(meterRegistry);
+        this.cargasIncrementais = Counter.builder("acessos.compartilhados.cache").tag("resultado", "carga-incremental").register(meterRegistry);
+        this.cargasCompletas = Counter.builder("acessos.compartilhados.cache").tag("resultado", "carga-completa").register(meterRegistry);
+    }
+
+    /**
+     * Versão atual do conjunto de entradas compartilhadas.
+     */
+    public long getVersao() {
+        return versao.get();
+    }
+
+    /**
+     * Impressão digital do conteúdo em cache: igual entre instâncias com o mesmo conteúdo, diferente após qualquer alteração.
+     */
+    public long getImpressao() {
+        return obter().impressao();
+    }
+
+    /**
+     * Entradas compartilhadas ativas com ID maior que o cursor, em ordem de ID, até o limite.
+     */
+    public List<EntradaAcessoResumoProjecao> listarAposId(long cursor, int limite) {
+        Snapshot atual = obter();
+        int inicio = Arrays.binarySearch(atual.ids(), cursor);
+        inicio = inicio >= 0 ? inicio + 1 : -inicio - 1;
+        return atual.entradas().subList(inicio, Math.min(atual.entradas().size(), inicio + limite));
+    }
+
+    /**
+     * Incrementa a versão quando uma alteração confirmada afeta o conjunto (entrada compartilhada agora ou antes).
+     */
+    @TransactionalEventListener
+    public void aoAlterarEntrada(EntradaAcessoAlteradaEvento evento) {
+        Snapshot atual = snapshot;
+        if (evento.tipoVisibilidade() == TipoVisibilidade.COMPARTILHADA
+                || (atual != null && Arrays.binarySearch(atual.ids(), evento.id()) >= 0)) {
+            versao.incrementAndGet();
+        }
+    }
+
+    private Snapshot obter() {
+        Snapshot atual = snapshot;
+        if (atualizado(atual)) {
+            acertos.increment();
+            return atual;
+        }
+        // Uma única thread atualiza; as demais aguardam e reaproveitam o resultado
+        synchronized (monitorCarga) {
+            atual = snapshot;
+            if (atualizado(atual)) {
+                acertos.increment();
+                return atual;
+            }
+            long versaoCarga = versao.get();
+            LocalDateTime agora = LocalDateTime.now();
+            Snapshot anterior = atual;
+            Snapshot novo = transacaoCarga.execute(status ->
+                    anterior == null || anterior.cargaCompleta().plus(intervaloRecargaCompleta).isBefore(agora)
+                            ? carregarCompleto(versaoCarga, agora)
+                            : carregarIncremental(anterior, versaoCarga, agora));
+            snapshot = novo;
+            return novo;
+        }
+    }
+
+    private boolean atualizado(Snapshot atual) {
+        return atual != null && atual.versao() == versao.get() && atual.carregadoEm().plus(ttl).isAfter(LocalDateTime.now());
+    }
+
+    private Snapshot carregarCompleto(long versaoCarga, LocalDateTime agora) {
+        cargasCompletas.increment();
+        TreeMap<Long, EntradaAcessoResumoProjecao> entradas = new TreeMap<>();
+        acessoRepositorio.findCompartilhadasAtivas().forEach(entrada -> entradas.put(entrada.id(), entrada));
+        log.debug("Cache de acessos compartilhados: carga completa com {} entradas.", entradas.size());
+        return Snapshot.de(entradas, versaoCarga, agora, agora);
+    }
+
+    private Snapshot carregarIncremental(Snapshot anterior, long versaoCarga, LocalDateTime agora) {
+        cargasIncrementais.increment();
+        LocalDateTime desde = anterior.carregadoEm().minus(MARGEM_ALTERACOES);
+
+        TreeMap<Long, EntradaAcessoResumoProjecao> entradas = new TreeMap<>();
+        anterior.entradas().forEach(entrada -> entradas.put(entrada.id(), entrada));
+        List<Long> removidas = acessoRepositorio.findIdsNaoCompartilhadosAlteradosDesde(desde);
+        removidas.forEach(entradas::remove);
+        List<EntradaAcessoResumoProjecao> alteradas = acessoRepositorio.findCompartilhadasAtivasAlteradasDesde(desde);
+        alteradas.forEach(entrada -> entradas.put(entrada.id(), entrada));
+
+        log.debug("Cache de acessos compartilhados: {} entradas alteradas e {} removidas desde {}.", alteradas.size(), removidas.size(), desde);
+        return Snapshot.de(entradas, versaoCarga, agora, anterior.cargaCompleta());
+    }
+
+    /**
+     * Conjunto imutável carregado para uma versão; os IDs ficam em um array ordenado para localizar o cursor.
+     */
+    private record Snapshot(long[] ids, List<EntradaAcessoResumoProjecao> entradas, long impressao, long versao,
+                            LocalDateTime carregadoEm, LocalDateTime cargaCompleta) {
+
+        static Snapshot de(TreeMap<Long, EntradaAcessoResumoProjecao> entradas, long versao,
+                           LocalDateTime carregadoEm, LocalDateTime cargaCompleta) {
+            long[] ids = entradas.keySet().stream().mapToLong(Long::longValue).toArray();
+            long impressao = 1;
+            for (EntradaAcessoResumoProjecao entrada : entradas.values()) {
+                impressao = 1_000_003 * impressao + hashEstavel(entrada);
+            }
+            return new Snapshot(ids, List.copyOf(new ArrayList<>(entradas.values())), impressao, versao, carregadoEm, cargaCompleta);
+        }
+
+        // O hashCode de enums varia entre JVMs; o nome não
+        private static int hashEstavel(EntradaAcessoResumoProjecao entrada) {
+            return Objects.hash(entrada.id(), entrada.titulo(), entrada.descricao(), entrada.url(), entrada.login(),
+                    entrada.tipoVisibilidade().name(), entrada.proprietarioEmail(), entrada.proprietarioNome(), entrada.dataExpiracao());
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico;
+
+import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoNegocio;
+import com.seuprojeto.gerenciadordeacessos.core.seguranca.ResultadoCriptografia;
+import com.seuprojeto.gerenciadordeacessos.core.seguranca.ServicoCriptografia;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.AtualizarEntradaAcessoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.CriarEntradaAcessoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.ItemAtualizacaoLoteDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.ResultadoItemLoteDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.ResultadoLoteDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.evento.EntradaAcessoAlteradaEvento;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso.TipoVisibilidade;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.repositorio.EntradaAcessoRepositorio;
+import com.seuprojeto.gerenciadordeacessos.dominio.auditoria.evento.OperacaoAuditadaEvento;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.UsuarioAutenticado;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico.UsuarioServico;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de operações em lote sobre EntradaAcesso.
+ * Responsabilidade Única: Criar, atualizar e excluir várias entradas em uma única transação, com resultado por item.
+ *
+ * Cada item passa pelas mesmas validações e regras de permissão das operações individuais; itens rejeitados
+ * são reportados sem impedir os demais. As senhas são criptografadas em paralelo e as linhas são gravadas
+ * com statements JDBC em lote (hibernate.jdbc.batch_size).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EntradaAcessoLoteServico {
+
+    private final EntradaAcessoRepositorio acessoRepositorio;
+    private final UsuarioServico usuarioServico;
+    private final ServicoCriptografia servicoCriptografia;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${acessos.lote.tamanho-maximo:10000}")
+    private int tamanhoMaximo;
+
+    /**
+     * Cria as entradas válidas do lote.
+     */
+    @Transactional
+    public ResultadoLoteDto criar(List<CriarEntradaAcessoDto> dtos, UsuarioAutenticado usuario) {
+        validarTamanho(dtos);
+        Usuario proprietario = usuarioServico.buscarEntidadePorEmail(usuario.email());
+        ResultadoItemLoteDto[] resultados = new ResultadoItemLoteDto[dtos.size()];
+
+        List<Integer> aceitos = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            CriarEntradaAcessoDto dto = dtos.get(i);
+            String erro = validar(dto);
+            if (erro == null && dto.tipoVisibilidade() == TipoVisibilidade.COMPARTILHADA && !usuario.isAdmin()) {
+                erro = "Apenas administradores podem criar acessos compartilhados.";
+            }
+            if (erro != null) {
+                resultados[i] = ResultadoItemLoteDto.falha(i, null, erro);
+            } else {
+                aceitos.add(i);
+            }
+        }
+
+        List<ResultadoCriptografia> senhas = servicoCriptografia.criptografarLote(
+                aceitos.stream().map(i -> dtos.get(i).senha()).toList());
+
+        List<EntradaAcesso> entradas = new ArrayList<>(aceitos.size());
+        List<Integer> indices = new ArrayList<>(aceitos.size());
+        for (int k = 0; k < aceitos.size(); k++) {
+            int i = aceitos.get(k);
+            ResultadoCriptografia senha = senhas.get(k);
+            if (!senha.isSucesso()) {
+                log.error("Falha ao criptografar a senha do item {} do lote.", i, senha.erro());
+                resultados[i] = ResultadoItemLoteDto.falha(i, null, "Falha ao criptografar a senha.");
+                continue;
+            }
+            CriarEntradaAcessoDto dto = dtos.get(i);
+            entradas.add(EntradaAcesso.builder()
+                    .titulo(dto.titulo())
+                    .descricao(dto.descricao())
+                    .url(dto.url())
+                    .login(dto.login())
+                    .senhaCriptografada(senha.valor())
+                    .tipoVisibilidade(dto.tipoVisibilidade())
+                    .proprietario(proprietario)
+                    .dataExpiracao(dto.dataExpiracao())
+                    .build());
+            indices.add(i);
+        }
+
+        // Os IDs vêm da sequência já no persist; os inserts são enviados em lote no flush
+        acessoRepositorio.saveAll(entradas);
+        for (int k = 0; k < entradas.size(); k++) {
+            EntradaAcesso entrada = entradas.get(k);
+            resultados[indices.get(k)] = ResultadoItemLoteDto.sucesso(indices.get(k), entrada.getId());
+            eventPublisher.publishEvent(EntradaAcessoAlteradaEvento.de(entrada));
+            eventPublisher.publishEvent(OperacaoAuditadaEvento.de(OperacaoAuditadaEvento.Tipo.ENTRADA_CRIADA, usuario, entrada.getId()));
+        }
+
+        log.info("Lote de criação do usuário {}: {} entradas criadas, {} rejeitadas.", usuario.email(), entradas.size(), dtos.size() - entradas.size());
+        return ResultadoLoteDto.de(Arrays.asList(resultados));
+    }
+
+    /**
+     * Atualiza as entradas válidas do lote.
+     */
+    @Transactional
+    public ResultadoLoteDto atualizar(List<ItemAtualizacaoLoteDto> itens, UsuarioAutenticado usuario) {
+        validarTamanho(itens);
+        Map<Long, EntradaAcesso> entradas = carregar(itens.stream().filter(Objects::nonNull).map(ItemAtualizacaoLoteDto::id).toList());
+        ResultadoItemLoteDto[] resultados = new ResultadoItemLoteDto[itens.size()];
+
+        List<Integer> aceitos = new ArrayList<>();
+        for (int i = 0; i < itens.size(); i++) {
+            ItemAtualizacaoLoteDto item = itens.get(i);
+            String erro = validar(item);
+            if (erro == null) {
+                erro = verificarAtualizacao(item.id(), entradas.get(item.id()), item.dados(), usuario);
+            }
+            if (erro != null) {
+                resultados[i] = ResultadoItemLoteDto.falha(i, item != null ? item.id() : null, erro);
+            } else {
+                aceitos.add(i);
+            }
+        }
+
+        List<Integer> comSenha = aceitos.stream().filter(i -> possuiSenha(itens.get(i).dados())).toList();
+        List<ResultadoCriptografia> senhas = servicoCriptografia.criptografarLote(
+                comSenha.stream().map(i -> itens.get(i).dados().senha()).toList());
+        Map<Integer, ResultadoCriptografia> senhasPorIndice = new HashMap<>();
+        for (int k = 0; k < comSenha.size(); k++) {
+            senhasPorIndice.put(comSenha.get(k), senhas.get(k));
+        }
+
+        int atualizadas = 0;
+        for (int i : aceitos) {
+            ItemAtualizacaoLoteDto item = itens.get(i);
+            ResultadoCriptografia senha = senhasPorIndice.get(i);
+            if (senha != null && !senha.isSucesso()) {
+                log.error("Falha ao criptografar a senha do acesso ID {} no lote.", item.id(), senha.erro());
+                resultados[i] = ResultadoItemLoteDto.falha(i, item.id(), "Falha ao criptografar a senha.");
+                continue;
+            }
+
+            EntradaAcesso entrada = entradas.get(item.id());
+            AtualizarEntradaAcessoDto dados = item.dados();
+            entrada.setTitulo(dados.titulo());
+            entrada.setDescricao(dados.descricao());
+            entrada.setUrl(dados.url());
+            entrada.setLogin(dados.login());
+            if (dados.tipoVisibilidade() != null) {
+                entrada.setTipoVisibilidade(dados.tipoVisibilidade());
+            }
+            entrada.setDataExpiracao(dados.dataExpiracao());
+            if (senha != null) {
+                entrada.setSenhaCriptografada(senha.valor());
+            }
+
+            // Entidades gerenciadas: os updates são enviados em lote no flush, ordenados por entidade
+            resultados[i] = ResultadoItemLoteDto.sucesso(i, entrada.getId());
+            eventPublisher.publishEvent(EntradaAcessoAlteradaEvento.de(entrada));
+            eventPublisher.publishEvent(OperacaoAuditadaEvento.de(OperacaoAuditadaEvento.Tipo.ENTRADA_ATUALIZADA, usuario, entrada.getId()));
+            atualizadas++;
+        }
+
+        log.info("Lote de atualização do usuário {}: {} entradas atualizadas, {} rejeitadas.", usuario.email(), atualizadas, itens.size() - atualizadas);
+        return ResultadoLoteDto.de(Arrays.asList(resultados));
+    }
+
+    /**
+     * Exclui (soft delete) as entradas do lote que o usuário pode excluir.
+     */
+    @Transactional
+    public ResultadoLoteDto excluir(List<Long> ids, UsuarioAutenticado usuario) {
+        validarTamanho(ids);
+        Map<Long, EntradaAcesso> entradas = carregar(ids);
+        ResultadoItemLoteDto[] resultados = new ResultadoItemLoteDto[ids.size()];
+
+        int excluidas = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            EntradaAcesso entrada = id != null ? entradas.get(id) : null;
+            String erro;
+            if (id == null) {
+                erro = "O ID é obrigatório.";
+            } else if (entrada == null || !entrada.getAtivo()) {
+                erro = "Entrada de acesso não encontrada com ID: " + id;
+            } else if (!podeAlterar(entrada, usuario)) {
+                erro = "Você não tem permissão para excluir este acesso.";
+            } else {
+                erro = null;
+            }
+
+            if (erro != null) {
+                resultados[i] = ResultadoItemLoteDto.falha(i, id, erro);
+                continue;
+            }
+            entrada.setAtivo(false); // Soft delete
+            resultados[i] = ResultadoItemLoteDto.sucesso(i, id);
+            eventPublisher.publishEvent(EntradaAcessoAlteradaEvento.de(entrada));
+            eventPublisher.publishEvent(OperacaoAuditadaEvento.de(OperacaoAuditadaEvento.Tipo.ENTRADA_EXCLUIDA, usuario, id));
+            excluidas++;
+        }
+
+        log.info("Lote de exclusão do usuário {}: {} entradas excluídas, {} rejeitadas.", usuario.email(), excluidas, ids.size() - excluidas);
+        return ResultadoLoteDto.de(Arrays.asList(resultados));
+    }
+
+    private void validarTamanho(List<?> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new ExcecaoNegocio("O lote deve conter ao menos um item.");
+        }
+        if (itens.size() > tamanhoMaximo) {
+            throw new ExcecaoNegocio("O lote deve conter no máximo " + tamanhoMaximo + " itens.");
+        }
+    }
+
+    /**
+     * Aplica as mesmas anotações de validação do corpo das operações individuais.
+     * @return As mensagens de erro do item, ou null se for válido.
+     */
+    private String validar(Object item) {
+        if (item == null) {
+            return "O item é obrigatório.";
+        }
+        Set<ConstraintViolation<Object>> violacoes = validator.validate(item);
+        if (violacoes.isEmpty()) {
+            return null;
+        }
+        return violacoes.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(" "));
+    }
+
+    private String verificarAtualizacao(Long id, EntradaAcesso entrada, AtualizarEntradaAcessoDto dados, UsuarioAutenticado usuario) {
+        if (entrada == null) {
+            return "Entrada de acesso não encontrada com ID: " + id;
+        }
+        // ** Regra de Negócio: Apenas proprietário ou ADMIN pode atualizar **
+        if (!podeAlterar(entrada, usuario)) {
+            return "Você não tem permissão para atualizar este acesso.";
+        }
+        // ** Regra de Negócio: Apenas ADMIN pode alterar para COMPARTILHADA **
+        if (dados.tipoVisibilidade() == TipoVisibilidade.COMPARTILHADA && entrada.getTipoVisibilidade() != TipoVisibilidade.COMPARTILHADA && !usuario.isAdmin()) {
+            return "Apenas administradores podem alterar a visibilidade para compartilhada.";
+        }
+        return null;
+    }
+
+    private static boolean podeAlterar(EntradaAcesso entrada, UsuarioAutenticado usuario) {
+        return usuario.isProprietario(entrada.getProprietario().getId()) || usuario.isAdmin();
+    }
+
+    private static boolean possuiSenha(AtualizarEntradaAcessoDto dados) {
+        return dados.senha() != null && !dados.senha().isBlank();
+    }
+
+    /**
+     * Carrega, em uma consulta, as entradas ativas do lote com seus proprietários.
+     */
+    private Map<Long, EntradaAcesso> carregar(List<Long> ids) {
+        List<Long> distintos = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distintos.isEmpty()) {
+            return Map.of();
+        }
+        return acessoRepositorio.findAtivasComProprietarioByIdIn(distintos).stream()
+                .collect(Collectors.toMap(EntradaAcesso::getId, Function.identity()));
+    }
+}
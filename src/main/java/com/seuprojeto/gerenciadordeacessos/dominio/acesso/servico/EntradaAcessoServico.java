@@ -2,23 +2,41 @@ package com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico;
 
 import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoNaoAutorizado;
 import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoNaoEncontrado;
+import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoServicoIndisponivel;
 import com.seuprojeto.gerenciadordeacessos.core.seguranca.ServicoCriptografia;
 import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.*;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.evento.EntradaAcessoAlteradaEvento;
 import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso;
 import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso.TipoVisibilidade;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoResumoProjecao;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.VersaoListagemProjecao;
 import com.seuprojeto.gerenciadordeacessos.dominio.acesso.repositorio.EntradaAcessoRepositorio;
+import com.seuprojeto.gerenciadordeacessos.dominio.auditoria.evento.OperacaoAuditadaEvento;
+import com.seuprojeto.gerenciadordeacessos.dominio.auditoria.servico.AuditoriaServico;
 import com.seuprojeto.gerenciadordeacessos.dominio.notificacao.servico.NotificacaoServico;
 import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.UsuarioAutenticado;
 import com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico.UsuarioServico;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Serviço de Lógica de Negócio para a entidade EntradaAcesso.
@@ -33,24 +51,40 @@ public class EntradaAcessoServico {
     private final UsuarioServico usuarioServico;
     private final ServicoCriptografia servicoCriptografia;
     private final NotificacaoServico notificacaoServico;
+    private final IndiceBuscaAcessos indiceBusca;
+    private final IndiceHostsAcessos indiceHosts;
+    private final CacheAcessosCompartilhados cacheCompartilhados;
+    private final AuditoriaServico auditoriaServico;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${job.expiracao.dias-alerta:7}")
     private int diasAlertaExpiracao;
 
+    @Value("${acessos.busca.limite:50}")
+    private int limiteBusca;
+
+    @Value("${acessos.paginacao.tamanho-padrao:50}")
+    private int tamanhoPaginaPadrao;
+
+    @Value("${acessos.paginacao.tamanho-maximo:200}")
+    private int tamanhoPaginaMaximo;
+
     /**
      * Cria uma nova entrada de acesso.
      */
     @Transactional
-    public EntradaAcessoDto criar(CriarEntradaAcessoDto dto, String emailUsuario) {
+    public EntradaAcessoDto criar(CriarEntradaAcessoDto dto, UsuarioAutenticado usuario) {
         log.info("Criando nova entrada de acesso: {} (tipo: {})", dto.titulo(), dto.tipoVisibilidade());
 
-        Usuario proprietario = usuarioServico.buscarEntidadePorEmail(emailUsuario);
-
         // ** Regra de Negócio: Apenas ADMIN pode criar acessos COMPARTILHADOS **
-        if (dto.tipoVisibilidade() == TipoVisibilidade.COMPARTILHADA && !proprietario.isAdmin()) {
+        if (dto.tipoVisibilidade() == TipoVisibilidade.COMPARTILHADA && !usuario.isAdmin()) {
             throw new ExcecaoNaoAutorizado("Apenas administradores podem criar acessos compartilhados.");
         }
 
+        // Entidade do cache de usuários: o evento e o DTO leem email e nome do proprietário
+        Usuario proprietario = usuarioServico.buscarEntidadePorEmail(usuario.email());
+
         // Criptografa a senha antes de salvar
         String senhaCriptografada = servicoCriptografia.criptografar(dto.senha());
 
@@ -66,6 +100,8 @@ public class EntradaAcessoServico {
                 .build();
 
         EntradaAcesso salvo = acessoRepositorio.save(entrada);
+        eventPublisher.publishEvent(EntradaAcessoAlteradaEvento.de(salvo));
+        eventPublisher.publishEvent(OperacaoAuditadaEvento.de(OperacaoAuditadaEvento.Tipo.ENTRADA_CRIADA, usuario, salvo.getId()));
         return toDto(salvo);
     }
 
@@ -73,12 +109,11 @@ public class EntradaAcessoServico {
      * Atualiza uma entrada de acesso.
      */
     @Transactional
-    public EntradaAcessoDto atualizar(Long id, AtualizarEntradaAcessoDto dto, String emailUsuario) {
-        EntradaAcesso entrada = buscarEntidadePorId(id);
-        Usuario usuario = usuarioServico.buscarEntidadePorEmail(emailUsuario);
+    public EntradaAcessoDto atualizar(Long id, AtualizarEntradaAcessoDto dto, UsuarioAutenticado usuario) {
+        EntradaAcesso entrada = buscarEntidadeComProprietarioPorId(id);
 
         // ** Regra de Negócio: Apenas proprietário ou ADMIN pode atualizar **
-        if (!entrada.getProprietario().getEmail().equals(emailUsuario) && !usuario.isAdmin()) {
+        if (!usuario.isProprietario(entrada.getProprietario().getId()) && !usuario.isAdmin()) {
             throw new ExcecaoNaoAutorizado("Você não tem permissão para atualizar este acesso.");
         }
 
@@ -100,18 +135,21 @@ public class EntradaAcessoServico {
         }
 
         EntradaAcesso salvo = acessoRepositorio.save(entrada);
+        eventPublisher.publishEvent(EntradaAcessoAlteradaEvento.de(salvo));
+        eventPublisher.publishEvent(OperacaoAuditadaEvento.de(OperacaoAuditadaEvento.Tipo.ENTRADA_ATUALIZADA, usuario, salvo.getId()));
         return toDto(salvo);
     }
 
     /**
      * Busca uma entrada por ID, verificando a permissão de visualização.
      */
-    public EntradaAcessoDto buscarPorId(Long id, String emailUsuario) {
-        EntradaAcesso entrada = buscarEntidadePorId(id);
-        Usuario usuario = usuarioServico.buscarEntidadePorEmail(emailUsuario);
+    @Transactional(readOnly = true)
+    public EntradaAcessoDto buscarPorId(Long id, UsuarioAutenticado usuario) {
+        EntradaAcessoResumoProjecao entrada = acessoRepositorio.findResumoAtivoById(id)
+                .orElseThrow(() -> new ExcecaoNaoEncontrado("Entrada de acesso não encontrada com ID: " + id));
 
         // ** Regra de Negócio: Verifica se o usuário pode ver **
-        if (entrada.getTipoVisibilidade() == TipoVisibilidade.PESSOAL && !entrada.getProprietario().getEmail().equals(emailUsuario) && !usuario.isAdmin()) {
+        if (entrada.tipoVisibilidade() == TipoVisibilidade.PESSOAL && !usuario.isProprietario(entrada.proprietarioId()) && !usuario.isAdmin()) {
             throw new ExcecaoNaoAutorizado("Você não tem permissão para visualizar este acesso pessoal.");
         }
 
@@ -119,48 +157,117 @@ public class EntradaAcessoServico {
     }
 
     /**
-     * Lista todas as entradas visíveis para o usuário autenticado.
+     * Lista uma página das entradas visíveis para o usuário autenticado.
      */
-    public List<EntradaAcessoDto> listarVisiveisPara(String emailUsuario) {
-        return acessoRepositorio.findVisiveisParaUsuario(emailUsuario).stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PaginaDto<EntradaAcessoDto> listarVisiveisPara(UsuarioAutenticado usuario, Long cursor, Integer tamanho) {
+        int tamanhoPagina = tamanhoPagina(tamanho);
+        long aposId = cursorInicial(cursor);
+        // Compartilhadas vêm do cache; apenas as pessoais do usuário são consultadas
+        List<EntradaAcessoResumoProjecao> compartilhadas = cacheCompartilhados.listarAposId(aposId, tamanhoPagina + 1);
+        List<EntradaAcessoResumoProjecao> pessoais = acessoRepositorio.findPessoaisAposId(usuario.id(), aposId, PageRequest.of(0, tamanhoPagina + 1));
+        return paginar(intercalarPorId(compartilhadas, pessoais, tamanhoPagina + 1), tamanhoPagina);
     }
 
     /**
-     * Lista apenas as entradas compartilhadas.
+     * Lista uma página das entradas compartilhadas.
      */
-    public List<EntradaAcessoDto> listarCompartilhadas() {
-        return acessoRepositorio.findByTipoVisibilidadeAndAtivoTrue(TipoVisibilidade.COMPARTILHADA).stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+    public PaginaDto<EntradaAcessoDto> listarCompartilhadas(Long cursor, Integer tamanho) {
+        int tamanhoPagina = tamanhoPagina(tamanho);
+        return paginar(cacheCompartilhados.listarAposId(cursorInicial(cursor), tamanhoPagina + 1), tamanhoPagina);
     }
 
     /**
-     * Lista apenas as entradas pessoais do usuário.
+     * Lista uma página das entradas pessoais do usuário.
      */
-    public List<EntradaAcessoDto> listarPessoais(String emailUsuario) {
-        return acessoRepositorio.findByProprietarioEmailAndTipoVisibilidadeAndAtivoTrue(emailUsuario, TipoVisibilidade.PESSOAL).stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PaginaDto<EntradaAcessoDto> listarPessoais(UsuarioAutenticado usuario, Long cursor, Integer tamanho) {
+        int tamanhoPagina = tamanhoPagina(tamanho);
+        return paginar(acessoRepositorio.findPessoaisAposId(usuario.id(), cursorInicial(cursor), PageRequest.of(0, tamanhoPagina + 1)), tamanhoPagina);
+    }
+
+    /**
+     * Versão da listagem de entradas visíveis para o usuário, calculada sem carregar as entradas.
+     * Inclui a data atual porque os indicadores de expiração dos DTOs mudam com ela.
+     */
+    @Transactional(readOnly = true)
+    public String versaoVisiveisPara(UsuarioAutenticado usuario) {
+        return versaoCompartilhadas() + "." + versaoPessoais(usuario);
+    }
+
+    /**
+     * Versão da listagem de entradas compartilhadas.
+     */
+    public String versaoCompartilhadas() {
+        return Long.toHexString(LocalDate.now().toEpochDay()) + "-" + Long.toHexString(cacheCompartilhados.getImpressao());
+    }
+
+    /**
+     * Versão da listagem de entradas pessoais do usuário.
+     */
+    @Transactional(readOnly = true)
+    public String versaoPessoais(UsuarioAutenticado usuario) {
+        VersaoListagemProjecao versao = acessoRepositorio.findVersaoPessoais(usuario.id());
+        long ultimaAlteracao = versao.ultimaAlteracao() != null
+                ? versao.ultimaAlteracao().toInstant(ZoneOffset.UTC).toEpochMilli()
+                : 0L;
+        return Long.toHexString(LocalDate.now().toEpochDay()) + "-" + Long.toHexString(versao.quantidade()) + "-" + Long.toHexString(ultimaAlteracao);
+    }
+
+    /**
+     * Percorre todas as entradas visíveis para o usuário, entregando uma a uma ao consumidor.
+     * Pessoais e compartilhadas vêm de dois cursores, cada um sobre o seu índice, intercalados por ID: um único
+     * filtro "proprietário OR compartilhada" faria o banco varrer a tabela.
+     */
+    @Transactional(readOnly = true)
+    public void percorrerVisiveisPara(UsuarioAutenticado usuario, Consumer<EntradaAcessoDto> consumidor) {
+        try (Stream<EntradaAcessoResumoProjecao> pessoais = acessoRepositorio.streamPessoais(usuario.id());
+             Stream<EntradaAcessoResumoProjecao> compartilhadas = acessoRepositorio.streamCompartilhadas()) {
+            intercalarPorId(pessoais.iterator(), compartilhadas.iterator(), entrada -> consumidor.accept(toDto(entrada)));
+        }
+    }
+
+    /**
+     * Percorre todas as entradas compartilhadas, entregando uma a uma ao consumidor.
+     */
+    @Transactional(readOnly = true)
+    public void percorrerCompartilhadas(Consumer<EntradaAcessoDto> consumidor) {
+        try (Stream<EntradaAcessoResumoProjecao> entradas = acessoRepositorio.streamCompartilhadas()) {
+            percorrer(entradas, consumidor);
+        }
+    }
+
+    /**
+     * Percorre todas as entradas pessoais do usuário, entregando uma a uma ao consumidor.
+     */
+    @Transactional(readOnly = true)
+    public void percorrerPessoais(UsuarioAutenticado usuario, Consumer<EntradaAcessoDto> consumidor) {
+        try (Stream<EntradaAcessoResumoProjecao> entradas = acessoRepositorio.streamPessoais(usuario.id())) {
+            percorrer(entradas, consumidor);
+        }
     }
 
     /**
-     * Revela a senha descriptografada (operação auditada).
+     * Revela a senha descriptografada. A senha só é devolvida depois que a revelação foi gravada em disco no log
+     * de auditoria; se o registro falhar, a revelação é recusada.
+     *
+     * A entrada é lida numa transação de escrita (primário), e não na réplica: uma réplica atrasada revelaria a
+     * senha anterior a uma alteração. A transação termina antes da espera pela auditoria, sem reter a conexão.
      */
-    public RevelarSenhaDto revelarSenha(Long id, String emailUsuario) {
-        EntradaAcesso entrada = buscarEntidadePorId(id);
-        Usuario usuario = usuarioServico.buscarEntidadePorEmail(emailUsuario);
+    public RevelarSenhaDto revelarSenha(Long id, UsuarioAutenticado usuario) {
+        EntradaAcesso entrada = transactionTemplate.execute(status -> buscarEntidadePorId(id));
 
         // ** Regra de Negócio: Verifica se o usuário pode ver **
-        if (entrada.getTipoVisibilidade() == TipoVisibilidade.PESSOAL && !entrada.getProprietario().getEmail().equals(emailUsuario) && !usuario.isAdmin()) {
+        // O ID do proprietário vem da própria linha da entrada (getId() não inicializa o proxy)
+        if (entrada.getTipoVisibilidade() == TipoVisibilidade.PESSOAL && !usuario.isProprietario(entrada.getProprietario().getId()) && !usuario.isAdmin()) {
             throw new ExcecaoNaoAutorizado("Você não tem permissão para visualizar este acesso pessoal.");
         }
 
         // Descriptografa a senha
         String senhaPlana = servicoCriptografia.descriptografar(entrada.getSenhaCriptografada());
 
-        log.warn("AUDITORIA: Usuário {} revelou a senha do acesso ID: {}", emailUsuario, id);
+        auditoriaServico.registrarDuravel(OperacaoAuditadaEvento.de(OperacaoAuditadaEvento.Tipo.SENHA_REVELADA, usuario, id));
+        log.warn("AUDITORIA: Usuário {} revelou a senha do acesso ID: {}", usuario.email(), id);
 
         return new RevelarSenhaDto(senhaPlana, "Senha revelada com sucesso (operação auditada).");
     }
@@ -169,29 +276,143 @@ public class EntradaAcessoServico {
      * Exclui (soft delete) uma entrada de acesso.
      */
     @Transactional
-    public void excluir(Long id, String emailUsuario) {
-        EntradaAcesso entrada = buscarEntidadePorId(id);
-        Usuario usuario = usuarioServico.buscarEntidadePorEmail(emailUsuario);
+    public void excluir(Long id, UsuarioAutenticado usuario) {
+        EntradaAcesso entrada = buscarEntidadeComProprietarioPorId(id);
 
         // ** Regra de Negócio: Apenas proprietário ou ADMIN pode excluir **
-        if (!entrada.getProprietario().getEmail().equals(emailUsuario) && !usuario.isAdmin()) {
+        if (!usuario.isProprietario(entrada.getProprietario().getId()) && !usuario.isAdmin()) {
             throw new ExcecaoNaoAutorizado("Você não tem permissão para excluir este acesso.");
         }
 
         entrada.setAtivo(false); // Soft delete
         acessoRepositorio.save(entrada);
-        log.info("Acesso ID {} excluído (soft delete) pelo usuário {}", id, emailUsuario);
+        eventPublisher.publishEvent(EntradaAcessoAlteradaEvento.de(entrada));
+        eventPublisher.publishEvent(OperacaoAuditadaEvento.de(OperacaoAuditadaEvento.Tipo.ENTRADA_EXCLUIDA, usuario, id));
+        log.info("Acesso ID {} excluído (soft delete) pelo usuário {}", id, usuario.email());
     }
 
     /**
-     * Busca entradas por título (busca parcial) visíveis para o usuário.
+     * Busca entradas por texto parcial (título, URL, login ou descrição) visíveis para o usuário, das mais
+     * para as menos similares. Usa o índice de trigramas; consultas curtas demais para o índice vão ao banco.
      */
-    public List<EntradaAcessoDto> buscarPorTitulo(String titulo, String emailUsuario) {
-        return acessoRepositorio.findByTituloParcialVisivelParaUsuario(titulo, emailUsuario).stream()
+    @Transactional(readOnly = true)
+    public List<EntradaAcessoDto> buscarPorTexto(String texto, UsuarioAutenticado usuario) {
+        if (!indiceBusca.podeAtender(texto)) {
+            return acessoRepositorio.findByTextoParcialVisivelParaUsuario(texto, usuario.id(), PageRequest.of(0, limiteBusca)).stream()
+                    .map(this::toDto)
+                    .collect(Collectors.toList());
+        }
+
+        List<Long> ids = indiceBusca.buscar(texto, usuario.email(), limiteBusca);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // O banco é a fonte da verdade: descarta o que o índice ainda não refletiu (ex: alterações de outras instâncias)
+        Map<Long, EntradaAcessoResumoProjecao> entradas = acessoRepositorio.findResumosAtivosByIdIn(ids).stream()
+                .filter(entrada -> entrada.tipoVisibilidade() == TipoVisibilidade.COMPARTILHADA || usuario.isProprietario(entrada.proprietarioId()))
+                .collect(Collectors.toMap(EntradaAcessoResumoProjecao::id, Function.identity()));
+        return ids.stream()
+                .map(entradas::get)
+                .filter(Objects::nonNull)
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Lista as entradas visíveis para o usuário que correspondem à URL de uma página (preenchimento automático):
+     * primeiro as cadastradas para o mesmo host, depois as de outros hosts do mesmo domínio.
+     */
+    @Transactional(readOnly = true)
+    public List<AutopreenchimentoDto> buscarParaAutopreenchimento(String url, UsuarioAutenticado usuario) {
+        if (!indiceHosts.isPronto()) {
+            throw new ExcecaoServicoIndisponivel("O índice de preenchimento automático ainda está sendo construído.");
+        }
+        List<AutopreenchimentoDto> candidatos = indiceHosts.buscar(url, usuario.id(), limiteBusca);
+        if (candidatos.isEmpty()) {
+            return List.of();
+        }
+
+        // Como na busca por texto, o banco confirma o que o índice devolveu (ex: entrada excluída ou tornada
+        // pessoal por outra instância) e fornece título, login e URL atuais; a ordem do índice é mantida
+        Map<Long, EntradaAcessoResumoProjecao> entradas = acessoRepositorio.findResumosAtivosByIdIn(
+                        candidatos.stream().map(AutopreenchimentoDto::id).toList()).stream()
+                .filter(entrada -> entrada.tipoVisibilidade() == TipoVisibilidade.COMPARTILHADA || usuario.isProprietario(entrada.proprietarioId()))
+                .collect(Collectors.toMap(EntradaAcessoResumoProjecao::id, Function.identity()));
+        return candidatos.stream()
+                .filter(candidato -> entradas.containsKey(candidato.id()))
+                .map(candidato -> {
+                    EntradaAcessoResumoProjecao entrada = entradas.get(candidato.id());
+                    return new AutopreenchimentoDto(entrada.id(), entrada.titulo(), entrada.login(), entrada.url(), candidato.correspondencia());
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Monta a página a partir das linhas buscadas. A consulta traz uma linha além do tamanho da página
+     * apenas para saber se existe próxima página, sem uma consulta de contagem.
+     */
+    private PaginaDto<EntradaAcessoDto> paginar(List<EntradaAcessoResumoProjecao> linhas, int tamanhoPagina) {
+        boolean haMais = linhas.size() > tamanhoPagina;
+        List<EntradaAcessoResumoProjecao> pagina = haMais ? linhas.subList(0, tamanhoPagina) : linhas;
+        Long proximoCursor = haMais ? pagina.get(pagina.size() - 1).id() : null;
+        return new PaginaDto<>(pagina.stream().map(this::toDto).collect(Collectors.toList()), proximoCursor);
+    }
+
+    /**
+     * Intercala duas listas ordenadas por ID (sem IDs em comum) mantendo a ordem, até o limite.
+     */
+    private static List<EntradaAcessoResumoProjecao> intercalarPorId(List<EntradaAcessoResumoProjecao> a,
+                                                                     List<EntradaAcessoResumoProjecao> b, int limite) {
+        List<EntradaAcessoResumoProjecao> resultado = new ArrayList<>(Math.min(limite, a.size() + b.size()));
+        int i = 0;
+        int j = 0;
+        while (resultado.size() < limite && (i < a.size() || j < b.size())) {
+            if (j >= b.size() || (i < a.size() && a.get(i).id() < b.get(j).id())) {
+                resultado.add(a.get(i++));
+            } else {
+                resultado.add(b.get(j++));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Intercala dois cursores ordenados por ID (sem IDs em comum), entregando as entradas em ordem ao consumidor.
+     */
+    private static void intercalarPorId(Iterator<EntradaAcessoResumoProjecao> a, Iterator<EntradaAcessoResumoProjecao> b,
+                                        Consumer<EntradaAcessoResumoProjecao> consumidor) {
+        EntradaAcessoResumoProjecao atualA = a.hasNext() ? a.next() : null;
+        EntradaAcessoResumoProjecao atualB = b.hasNext() ? b.next() : null;
+        while (atualA != null || atualB != null) {
+            if (atualB == null || (atualA != null && atualA.id() < atualB.id())) {
+                consumidor.accept(atualA);
+                atualA = a.hasNext() ? a.next() : null;
+            } else {
+                consumidor.accept(atualB);
+                atualB = b.hasNext() ? b.next() : null;
+            }
+        }
+    }
+
+    /**
+     * As projeções não são entidades gerenciadas: nada se acumula no contexto de persistência enquanto o cursor avança.
+     */
+    private void percorrer(Stream<EntradaAcessoResumoProjecao> entradas, Consumer<EntradaAcessoDto> consumidor) {
+        entradas.map(this::toDto).forEach(consumidor);
+    }
+
+    private int tamanhoPagina(Integer tamanho) {
+        if (tamanho == null || tamanho <= 0) {
+            return tamanhoPaginaPadrao;
+        }
+        return Math.min(tamanho, tamanhoPaginaMaximo);
+    }
+
+    private static long cursorInicial(Long cursor) {
+        return cursor != null ? cursor : 0L;
+    }
+
     /**
      * Busca a entidade EntradaAcesso pelo ID.
      */
@@ -201,16 +422,36 @@ public class EntradaAcessoServico {
                 .orElseThrow(() -> new ExcecaoNaoEncontrado("Entrada de acesso não encontrada com ID: " + id));
     }
 
+    /**
+     * Busca a entidade EntradaAcesso ativa pelo ID já com o proprietário (usado pelo evento de alteração e pelo DTO).
+     */
+    private EntradaAcesso buscarEntidadeComProprietarioPorId(Long id) {
+        return acessoRepositorio.findAtivaComProprietarioById(id)
+                .orElseThrow(() -> new ExcecaoNaoEncontrado("Entrada de acesso não encontrada com ID: " + id));
+    }
+
     /**
      * Converte Entidade para DTO, calculando status de expiração.
      */
     private EntradaAcessoDto toDto(EntradaAcesso entrada) {
-        LocalDate hoje = LocalDate.now();
         LocalDate dataExpiracao = entrada.getDataExpiracao();
+        return EntradaAcessoDto.fromEntity(entrada, isExpirada(dataExpiracao), isProximaExpiracao(dataExpiracao));
+    }
+
+    /**
+     * Converte a projeção de leitura para DTO, calculando status de expiração.
+     */
+    private EntradaAcessoDto toDto(EntradaAcessoResumoProjecao entrada) {
+        LocalDate dataExpiracao = entrada.dataExpiracao();
+        return EntradaAcessoDto.fromProjecao(entrada, isExpirada(dataExpiracao), isProximaExpiracao(dataExpiracao));
+    }
 
-        boolean expirada = dataExpiracao != null && dataExpiracao.isBefore(hoje);
-        boolean proximaExpiracao = dataExpiracao != null && dataExpiracao.isAfter(hoje) && dataExpiracao.isBefore(hoje.plusDays(diasAlertaExpiracao));
+    private static boolean isExpirada(LocalDate dataExpiracao) {
+        return dataExpiracao != null && dataExpiracao.isBefore(LocalDate.now());
+    }
 
-        return EntradaAcessoDto.fromEntity(entrada, expirada, proximaExpiracao);
+    private boolean isProximaExpiracao(LocalDate dataExpiracao) {
+        LocalDate hoje = LocalDate.now();
+        return dataExpiracao != null && dataExpiracao.isAfter(hoje) && dataExpiracao.isBefore(hoje.plusDays(diasAlertaExpiracao));
     }
 }
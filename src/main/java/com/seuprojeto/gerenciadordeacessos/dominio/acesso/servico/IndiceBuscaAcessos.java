@@ -0,0 +1,82 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.evento.EntradaAcessoAlteradaEvento;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso.TipoVisibilidade;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.repositorio.EntradaAcessoRepositorio;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Índice de busca textual das entradas de acesso, mantido em memória.
+ * Responsabilidade Única: Atender a busca parcial por título, URL, login e descrição sem varrer a tabela.
+ *
+ * O índice é construído a partir do banco na inicialização e reconstruído periodicamente (o que também
+ * reflete alterações feitas por outras instâncias e descarta documentos removidos). Entre reconstruções,
+ * é atualizado incrementalmente após o commit de cada alteração de entrada.
+ */
+@Service
+public class IndiceBuscaAcessos extends IndiceEntradasEmMemoria<IndiceTrigramas> {
+
+    public IndiceBuscaAcessos(EntradaAcessoRepositorio acessoRepositorio, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        super(acessoRepositorio, transactionTemplate);
+        Gauge.builder("acessos.busca.documentos", this, servico -> servico.indice() != null ? servico.indice().quantidadeDocumentos() : 0)
+                .description("Entradas presentes no índice de busca")
+                .register(meterRegistry);
+        Gauge.builder("acessos.busca.trigramas", this, servico -> servico.indice() != null ? servico.indice().quantidadeTrigramas() : 0)
+                .description("Trigramas distintos no índice de busca")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifica se o índice pode atender a consulta (já construído e com ao menos um trigrama).
+     */
+    public boolean podeAtender(String consulta) {
+        return indice() != null && IndiceTrigramas.tamanhoNormalizado(consulta) >= 3;
+    }
+
+    /**
+     * Busca os IDs das entradas visíveis para o usuário que correspondem à consulta, da mais para a menos similar.
+     */
+    public List<Long> buscar(String consulta, String emailUsuario, int limite) {
+        return indice().buscar(consulta, emailUsuario, limite);
+    }
+
+    @Scheduled(fixedDelayString = "${acessos.busca.intervalo-reconstrucao-ms:600000}", initialDelayString = "${acessos.busca.atraso-inicial-ms:0}")
+    public void reconstruir() {
+        reconstruirIndice();
+    }
+
+    /**
+     * Aplica uma alteração de entrada somente após o commit, para nunca indexar dados revertidos.
+     */
+    @TransactionalEventListener
+    public void aoAlterarEntrada(EntradaAcessoAlteradaEvento evento) {
+        registrarAlteracao(evento);
+    }
+
+    @Override
+    protected IndiceTrigramas criarIndice() {
+        return new IndiceTrigramas();
+    }
+
+    @Override
+    protected void aplicar(IndiceTrigramas indice, EntradaAcessoAlteradaEvento alteracao) {
+        if (!alteracao.ativo()) {
+            indice.remover(alteracao.id());
+            return;
+        }
+        indice.indexar(alteracao.id(), alteracao.proprietarioEmail(), alteracao.tipoVisibilidade() == TipoVisibilidade.COMPARTILHADA,
+                alteracao.titulo(), alteracao.url(), alteracao.login(), alteracao.descricao());
+    }
+
+    @Override
+    protected String descrever(IndiceTrigramas indice) {
+        return indice.quantidadeDocumentos() + " entradas, " + indice.quantidadeTrigramas() + " trigramas";
+    }
+}
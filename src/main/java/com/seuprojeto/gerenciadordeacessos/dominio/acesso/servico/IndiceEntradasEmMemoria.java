@@ -0,0 +1,99 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.evento.EntradaAcessoAlteradaEvento;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoResumoProjecao;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.repositorio.EntradaAcessoRepositorio;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Base dos índices em memória derivados das entradas de acesso.
+ * Responsabilidade Única: Construir o índice a partir do banco, trocá-lo atomicamente e manter as
+ * alterações confirmadas (commit) aplicadas, inclusive as que chegam durante uma reconstrução.
+ *
+ * @param <T> Estrutura do índice; deve ser segura para leitura concorrente com as alterações.
+ */
+@Slf4j
+abstract class IndiceEntradasEmMemoria<T> {
+
+    private final EntradaAcessoRepositorio acessoRepositorio;
+    private final TransactionTemplate transactionTemplate;
+
+    // null até a primeira construção terminar
+    private volatile T indice;
+
+    // Alterações recebidas durante uma reconstrução, reaplicadas no novo índice antes da troca
+    private final Object monitorReconstrucao = new Object();
+    private List<EntradaAcessoAlteradaEvento> alteracoesDuranteReconstrucao;
+
+    protected IndiceEntradasEmMemoria(EntradaAcessoRepositorio acessoRepositorio, TransactionTemplate transactionTemplate) {
+        this.acessoRepositorio = acessoRepositorio;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    protected abstract T criarIndice();
+
+    /**
+     * Aplica o estado de uma entrada ao índice (inserção, substituição ou remoção se inativa).
+     */
+    protected abstract void aplicar(T indice, EntradaAcessoAlteradaEvento alteracao);
+
+    /**
+     * Resumo do índice para o log de reconstrução.
+     */
+    protected abstract String descrever(T indice);
+
+    /**
+     * O índice atual, ou null se ainda não foi construído.
+     */
+    protected T indice() {
+        return indice;
+    }
+
+    /**
+     * Constrói um novo índice a partir das entradas ativas e o coloca no lugar do atual.
+     */
+    protected void reconstruirIndice() {
+        long inicio = System.currentTimeMillis();
+        synchronized (monitorReconstrucao) {
+            alteracoesDuranteReconstrucao = new ArrayList<>();
+        }
+        try {
+            T novo = criarIndice();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<EntradaAcessoResumoProjecao> entradas = acessoRepositorio.streamAtivos()) {
+                    entradas.forEach(entrada -> aplicar(novo, EntradaAcessoAlteradaEvento.de(entrada)));
+                }
+            });
+
+            synchronized (monitorReconstrucao) {
+                alteracoesDuranteReconstrucao.forEach(alteracao -> aplicar(novo, alteracao));
+                indice = novo;
+            }
+            log.info("{} reconstruído: {} em {} ms.", getClass().getSimpleName(), descrever(novo), System.currentTimeMillis() - inicio);
+        } finally {
+            synchronized (monitorReconstrucao) {
+                alteracoesDuranteReconstrucao = null;
+            }
+        }
+    }
+
+    /**
+     * Registra uma alteração confirmada no índice atual (e na reconstrução em andamento, se houver).
+     */
+    protected void registrarAlteracao(EntradaAcessoAlteradaEvento alteracao) {
+        synchronized (monitorReconstrucao) {
+            if (alteracoesDuranteReconstrucao != null) {
+                alteracoesDuranteReconstrucao.add(alteracao);
+            }
+            T atual = indice;
+            if (atual != null) {
+                aplicar(atual, alteracao);
+            }
+        }
+    }
+}
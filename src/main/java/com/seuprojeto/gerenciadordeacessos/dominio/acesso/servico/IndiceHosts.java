@@ -0,0 +1,246 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.AutopreenchimentoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.AutopreenchimentoDto.Correspondencia;
+
+import java.net.IDN;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice das entradas de acesso pelo host da URL cadastrada.
+ * Responsabilidade Única: Encontrar as credenciais de uma página pelo host exato e pelo domínio registrável.
+ *
+ * As chaves são hosts normalizados e invertidos (app.exemplo.com -> com.exemplo.app) em um mapa ordenado:
+ * todos os hosts de um domínio ficam contíguos e são obtidos com uma única varredura por prefixo.
+ */
+final class IndiceHosts {
+
+    // Segundos níveis usados sob TLDs de país (ex: com.br, gov.br, co.uk, com.au)
+    private static final Set<String> SEGUNDOS_NIVEIS_PUBLICOS = Set.of(
+            "com", "net", "org", "gov", "edu", "mil", "co", "ac", "nom", "adv", "eng", "med", "art", "blog", "ind", "inf");
+
+    private final ReentrantReadWriteLock bloqueio = new ReentrantReadWriteLock();
+    private final TreeMap<String, Set<Long>> idsPorHost = new TreeMap<>();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+
+    /**
+     * Dados de uma entrada necessários para selecionar e ordenar os candidatos (confirmados depois no banco).
+     */
+    record Documento(long id, String hostInvertido, long proprietarioId, boolean compartilhada,
+                     String titulo, String login, String url) {
+    }
+
+    /**
+     * Insere ou substitui o documento de uma entrada. Entradas cuja URL não tem host válido não são indexadas.
+     */
+    void indexar(long id, String url, long proprietarioId, boolean compartilhada, String titulo, String login) {
+        String hostInvertido = hostInvertido(url);
+        bloqueio.writeLock().lock();
+        try {
+            removerSemBloqueio(id);
+            if (hostInvertido == null) {
+                return;
+            }
+            documentos.put(id, new Documento(id, hostInvertido, proprietarioId, compartilhada, titulo, login, url));
+            idsPorHost.computeIfAbsent(hostInvertido, host -> new LinkedHashSet<>()).add(id);
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove o documento de uma entrada, se existir.
+     */
+    void remover(long id) {
+        bloqueio.writeLock().lock();
+        try {
+            removerSemBloqueio(id);
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca as entradas visíveis para o usuário cadastradas para o host da URL (primeiro) ou para
+     * outro host do mesmo domínio registrável (em seguida), cada grupo ordenado por título.
+     */
+    List<AutopreenchimentoDto> buscar(String url, long idUsuario, int limite) {
+        String host = hostInvertido(url);
+        if (host == null) {
+            return List.of();
+        }
+        String dominio = dominioRegistravel(host);
+
+        bloqueio.readLock().lock();
+        try {
+            List<Documento> mesmoHost = new ArrayList<>();
+            List<Documento> mesmoDominio = new ArrayList<>();
+            coletar(idsPorHost.get(host), idUsuario, mesmoHost);
+            if (!dominio.equals(host)) {
+                coletar(idsPorHost.get(dominio), idUsuario, mesmoDominio);
+            }
+            // Subdomínios: todas as chaves que começam com "dominio." (a chave do próprio host já foi coletada)
+            for (Map.Entry<String, Set<Long>> hosts : idsPorHost.subMap(dominio + ".", true, dominio + ".\uffff", false).entrySet()) {
+                if (!hosts.getKey().equals(host)) {
+                    coletar(hosts.getValue(), idUsuario, mesmoDominio);
+                }
+            }
+
+            Comparator<Documento> porTitulo = Comparator.comparing(Documento::titulo, String.CASE_INSENSITIVE_ORDER);
+            mesmoHost.sort(porTitulo);
+            mesmoDominio.sort(porTitulo);
+
+            List<AutopreenchimentoDto> resultado = new ArrayList<>(Math.min(limite, mesmoHost.size() + mesmoDominio.size()));
+            for (Documento documento : mesmoHost) {
+                if (resultado.size() == limite) {
+                    return resultado;
+                }
+                resultado.add(toDto(documento, Correspondencia.HOST));
+            }
+            for (Documento documento : mesmoDominio) {
+                if (resultado.size() == limite) {
+                    return resultado;
+                }
+                resultado.add(toDto(documento, Correspondencia.DOMINIO));
+            }
+            return resultado;
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+
+    int quantidadeDocumentos() {
+        bloqueio.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+
+    int quantidadeHosts() {
+        bloqueio.readLock().lock();
+        try {
+            return idsPorHost.size();
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+
+    /**
+     * Normaliza o host da URL (minúsculas, ASCII/punycode, sem "www." e sem ponto final) e inverte seus rótulos.
+     * URLs sem esquema são tratadas como http. Retorna null se não houver host válido.
+     */
+    static String hostInvertido(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        String texto = url.strip();
+        if (!texto.contains("://")) {
+            texto = "http://" + texto;
+        }
+        String host;
+        try {
+            host = URI.create(texto).getHost();
+            if (host == null) {
+                return null;
+            }
+            host = IDN.toASCII(host).toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (host.endsWith(".")) {
+            host = host.substring(0, host.length() - 1);
+        }
+        if (host.startsWith("www.")) {
+            host = host.substring(4);
+        }
+        if (host.isEmpty()) {
+            return null;
+        }
+
+        // Endereços IP são usados como estão (não têm rótulos a inverter nem domínio)
+        String[] rotulos = host.split("\\.");
+        if (host.startsWith("[") || ehEnderecoIpv4(rotulos)) {
+            return host;
+        }
+        StringBuilder invertido = new StringBuilder(host.length());
+        for (int i = rotulos.length - 1; i >= 0; i--) {
+            invertido.append(rotulos[i]);
+            if (i > 0) {
+                invertido.append('.');
+            }
+        }
+        return invertido.toString();
+    }
+
+    /**
+     * Domínio registrável (invertido) de um host invertido. Heurística sem lista pública de sufixos:
+     * dois rótulos (com.exemplo), ou três quando o TLD é de país e o segundo nível é genérico (br.com.exemplo).
+     */
+    static String dominioRegistravel(String hostInvertido) {
+        if (hostInvertido.startsWith("[") || ehEnderecoIpv4(hostInvertido.split("\\."))) {
+            return hostInvertido;
+        }
+        String[] rotulos = hostInvertido.split("\\.");
+        int quantidade = 2;
+        if (rotulos.length >= 3 && rotulos[0].length() == 2 && SEGUNDOS_NIVEIS_PUBLICOS.contains(rotulos[1])) {
+            quantidade = 3;
+        }
+        if (rotulos.length <= quantidade) {
+            return hostInvertido;
+        }
+        return String.join(".", Arrays.copyOf(rotulos, quantidade));
+    }
+
+    private static boolean ehEnderecoIpv4(String[] rotulos) {
+        if (rotulos.length != 4) {
+            return false;
+        }
+        for (String rotulo : rotulos) {
+            if (rotulo.isEmpty() || rotulo.length() > 3 || !rotulo.chars().allMatch(Character::isDigit)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void coletar(Set<Long> ids, long idUsuario, List<Documento> destino) {
+        if (ids == null) {
+            return;
+        }
+        for (Long id : ids) {
+            Documento documento = documentos.get(id);
+            if (documento.compartilhada() || documento.proprietarioId() == idUsuario) {
+                destino.add(documento);
+            }
+        }
+    }
+
+    private void removerSemBloqueio(long id) {
+        Documento anterior = documentos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        Set<Long> ids = idsPorHost.get(anterior.hostInvertido());
+        ids.remove(id);
+        if (ids.isEmpty()) {
+            idsPorHost.remove(anterior.hostInvertido());
+        }
+    }
+
+    private static AutopreenchimentoDto toDto(Documento documento, Correspondencia correspondencia) {
+        return new AutopreenchimentoDto(documento.id(), documento.titulo(), documento.login(), documento.url(), correspondencia);
+    }
+}
@@ -0,0 +1,82 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.AutopreenchimentoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.evento.EntradaAcessoAlteradaEvento;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso.TipoVisibilidade;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.repositorio.EntradaAcessoRepositorio;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Índice das entradas de acesso por host, mantido em memória para o preenchimento automático.
+ * Responsabilidade Única: Encontrar, sem varrer a tabela, as credenciais candidatas para uma página.
+ *
+ * Segue o mesmo ciclo do índice de busca: construção na inicialização, reconstrução periódica e
+ * atualização incremental após o commit de cada alteração de entrada.
+ */
+@Service
+public class IndiceHostsAcessos extends IndiceEntradasEmMemoria<IndiceHosts> {
+
+    public IndiceHostsAcessos(EntradaAcessoRepositorio acessoRepositorio, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        super(acessoRepositorio, transactionTemplate);
+        Gauge.builder("acessos.hosts.documentos", this, servico -> servico.indice() != null ? servico.indice().quantidadeDocumentos() : 0)
+                .description("Entradas presentes no índice de hosts")
+                .register(meterRegistry);
+        Gauge.builder("acessos.hosts.hosts", this, servico -> servico.indice() != null ? servico.indice().quantidadeHosts() : 0)
+                .description("Hosts distintos no índice de hosts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifica se o índice já foi construído.
+     */
+    public boolean isPronto() {
+        return indice() != null;
+    }
+
+    /**
+     * Busca as entradas visíveis para o usuário que correspondem à URL: mesmo host primeiro, depois mesmo domínio.
+     */
+    public List<AutopreenchimentoDto> buscar(String url, Long idUsuario, int limite) {
+        return indice().buscar(url, idUsuario, limite);
+    }
+
+    @Scheduled(fixedDelayString = "${acessos.busca.intervalo-reconstrucao-ms:600000}", initialDelayString = "${acessos.busca.atraso-inicial-ms:0}")
+    public void reconstruir() {
+        reconstruirIndice();
+    }
+
+    /**
+     * Aplica uma alteração de entrada somente após o commit, para nunca indexar dados revertidos.
+     */
+    @TransactionalEventListener
+    public void aoAlterarEntrada(EntradaAcessoAlteradaEvento evento) {
+        registrarAlteracao(evento);
+    }
+
+    @Override
+    protected IndiceHosts criarIndice() {
+        return new IndiceHosts();
+    }
+
+    @Override
+    protected void aplicar(IndiceHosts indice, EntradaAcessoAlteradaEvento alteracao) {
+        if (!alteracao.ativo()) {
+            indice.remover(alteracao.id());
+            return;
+        }
+        indice.indexar(alteracao.id(), alteracao.url(), alteracao.proprietarioId(),
+                alteracao.tipoVisibilidade() == TipoVisibilidade.COMPARTILHADA, alteracao.titulo(), alteracao.login());
+    }
+
+    @Override
+    protected String descrever(IndiceHosts indice) {
+        return indice.quantidadeDocumentos() + " entradas, " + indice.quantidadeHosts() + " hosts";
+    }
+}
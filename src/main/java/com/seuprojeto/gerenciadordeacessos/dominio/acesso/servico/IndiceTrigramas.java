@@ -0,0 +1,265 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas sobre o texto das entradas de acesso.
+ * Responsabilidade Única: Encontrar, sem varrer a tabela, as entradas cujo texto contém a consulta.
+ *
+ * A interseção dos postings dos trigramas da consulta produz os candidatos; cada candidato é então conferido
+ * contra o texto normalizado do documento (que fica em memória), descartando os que têm todos os trigramas
+ * sem conter a consulta como substring (ex: "abc bcd" para a consulta "abcd").
+ *
+ * Cada documento recebe um ordinal sequencial e as listas de postings são arrays de int ordenados.
+ * Alterações nunca reescrevem postings: o ordinal antigo é marcado como removido e o documento é
+ * reinserido com um novo ordinal (sempre o maior), o que mantém as listas ordenadas com inserções
+ * apenas no final. Ordinais removidos são descartados na próxima reconstrução completa.
+ */
+final class IndiceTrigramas {
+
+    // Separa campos diferentes para que nenhum trigrama atravesse dois campos
+    private static final char SEPARADOR_CAMPOS = '\u0001';
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    private final ReentrantReadWriteLock bloqueio = new ReentrantReadWriteLock();
+
+    private final Map<Long, Postings> postingsPorTrigrama = new HashMap<>();
+    private final Map<Long, Integer> ordinalPorId = new HashMap<>();
+    private final Map<String, String> emailsCanonicos = new HashMap<>();
+    private final BitSet ativos = new BitSet();
+
+    private long[] idsPorOrdinal = new long[CAPACIDADE_INICIAL];
+    private String[] proprietarioPorOrdinal = new String[CAPACIDADE_INICIAL];
+    private boolean[] compartilhadaPorOrdinal = new boolean[CAPACIDADE_INICIAL];
+    private int[] trigramasPorOrdinal = new int[CAPACIDADE_INICIAL];
+    private String[] textoPorOrdinal = new String[CAPACIDADE_INICIAL];
+    private int proximoOrdinal;
+
+    /**
+     * Insere ou substitui o documento de uma entrada.
+     */
+    void indexar(long id, String proprietarioEmail, boolean compartilhada, String... campos) {
+        String texto = normalizar(campos);
+        long[] trigramas = trigramasDistintos(texto);
+        bloqueio.writeLock().lock();
+        try {
+            removerSemBloqueio(id);
+            int ordinal = proximoOrdinal++;
+            garantirCapacidade(ordinal);
+            idsPorOrdinal[ordinal] = id;
+            proprietarioPorOrdinal[ordinal] = emailsCanonicos.computeIfAbsent(proprietarioEmail, email -> email);
+            compartilhadaPorOrdinal[ordinal] = compartilhada;
+            trigramasPorOrdinal[ordinal] = trigramas.length;
+            textoPorOrdinal[ordinal] = texto;
+            ativos.set(ordinal);
+            ordinalPorId.put(id, ordinal);
+            for (long trigrama : trigramas) {
+                postingsPorTrigrama.computeIfAbsent(trigrama, t -> new Postings()).adicionar(ordinal);
+            }
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove o documento de uma entrada, se existir.
+     */
+    void remover(long id) {
+        bloqueio.writeLock().lock();
+        try {
+            removerSemBloqueio(id);
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca as entradas visíveis para o usuário cujo texto contém a consulta (após a normalização).
+     * O ranking favorece documentos em que a consulta cobre a maior parte do texto (similaridade de trigramas);
+     * no empate, a entrada indexada antes vem primeiro.
+     * @return IDs das entradas, da mais para a menos similar.
+     */
+    List<Long> buscar(String consulta, String emailUsuario, int limite) {
+        String consultaNormalizada = normalizar(consulta);
+        long[] trigramasConsulta = trigramasDistintos(consultaNormalizada);
+        if (trigramasConsulta.length == 0) {
+            return List.of();
+        }
+
+        bloqueio.readLock().lock();
+        try {
+            Postings[] listas = new Postings[trigramasConsulta.length];
+            for (int i = 0; i < trigramasConsulta.length; i++) {
+                listas[i] = postingsPorTrigrama.get(trigramasConsulta[i]);
+                if (listas[i] == null) {
+                    return List.of();
+                }
+            }
+            // A interseção parte da lista mais curta; as demais são consultadas por busca binária
+            Arrays.sort(listas, (a, b) -> Integer.compare(a.tamanho, b.tamanho));
+
+            // Heap dos piores resultados no topo, limitado ao tamanho da resposta
+            PriorityQueue<int[]> melhores = new PriorityQueue<>(limite + 1,
+                    (a, b) -> a[1] != b[1] ? Integer.compare(b[1], a[1]) : Integer.compare(b[0], a[0]));
+            Postings menor = listas[0];
+            candidatos:
+            for (int i = 0; i < menor.tamanho; i++) {
+                int ordinal = menor.ordinais[i];
+                if (!ativos.get(ordinal) || !visivel(ordinal, emailUsuario)) {
+                    continue;
+                }
+                for (int j = 1; j < listas.length; j++) {
+                    if (!listas[j].contem(ordinal)) {
+                        continue candidatos;
+                    }
+                }
+                if (!textoPorOrdinal[ordinal].contains(consultaNormalizada)) {
+                    continue;
+                }
+                melhores.add(new int[]{ordinal, trigramasPorOrdinal[ordinal]});
+                if (melhores.size() > limite) {
+                    melhores.poll();
+                }
+            }
+
+            Long[] ids = new Long[melhores.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = idsPorOrdinal[melhores.poll()[0]];
+            }
+            return Arrays.asList(ids);
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+
+    int quantidadeDocumentos() {
+        bloqueio.readLock().lock();
+        try {
+            return ordinalPorId.size();
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+
+    int quantidadeTrigramas() {
+        bloqueio.readLock().lock();
+        try {
+            return postingsPorTrigrama.size();
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+
+    /**
+     * Quantidade de caracteres úteis da consulta após a normalização (consultas curtas não geram trigramas).
+     */
+    static int tamanhoNormalizado(String consulta) {
+        return normalizar(consulta).length();
+    }
+
+    private boolean visivel(int ordinal, String emailUsuario) {
+        return compartilhadaPorOrdinal[ordinal] || proprietarioPorOrdinal[ordinal].equals(emailUsuario);
+    }
+
+    private void removerSemBloqueio(long id) {
+        Integer ordinal = ordinalPorId.remove(id);
+        if (ordinal != null) {
+            ativos.clear(ordinal);
+            proprietarioPorOrdinal[ordinal] = null;
+            textoPorOrdinal[ordinal] = null;
+        }
+    }
+
+    private void garantirCapacidade(int ordinal) {
+        if (ordinal < idsPorOrdinal.length) {
+            return;
+        }
+        int novaCapacidade = idsPorOrdinal.length * 2;
+        idsPorOrdinal = Arrays.copyOf(idsPorOrdinal, novaCapacidade);
+        proprietarioPorOrdinal = Arrays.copyOf(proprietarioPorOrdinal, novaCapacidade);
+        compartilhadaPorOrdinal = Arrays.copyOf(compartilhadaPorOrdinal, novaCapacidade);
+        trigramasPorOrdinal = Arrays.copyOf(trigramasPorOrdinal, novaCapacidade);
+        textoPorOrdinal = Arrays.copyOf(textoPorOrdinal, novaCapacidade);
+    }
+
+    /**
+     * Minúsculas, sem acentos, apenas letras e dígitos; qualquer outro caractere vira um espaço (sem repetições).
+     */
+    private static String normalizar(String... campos) {
+        StringBuilder texto = new StringBuilder();
+        for (String campo : campos) {
+            String normalizado = normalizarCampo(campo);
+            if (normalizado.isEmpty()) {
+                continue;
+            }
+            if (!texto.isEmpty()) {
+                texto.append(SEPARADOR_CAMPOS);
+            }
+            texto.append(normalizado);
+        }
+        return texto.toString();
+    }
+
+    private static String normalizarCampo(String campo) {
+        if (campo == null) {
+            return "";
+        }
+        String decomposto = Normalizer.normalize(campo, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        StringBuilder texto = new StringBuilder(decomposto.length());
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                texto.append(c);
+            } else if (!texto.isEmpty() && texto.charAt(texto.length() - 1) != ' ') {
+                texto.append(' ');
+            }
+        }
+        return texto.toString().strip();
+    }
+
+    private static long[] trigramasDistintos(String texto) {
+        if (texto.length() < 3) {
+            return new long[0];
+        }
+        long[] trigramas = new long[texto.length() - 2];
+        int quantidade = 0;
+        for (int i = 0; i + 2 < texto.length(); i++) {
+            char a = texto.charAt(i), b = texto.charAt(i + 1), c = texto.charAt(i + 2);
+            if (a == SEPARADOR_CAMPOS || b == SEPARADOR_CAMPOS || c == SEPARADOR_CAMPOS) {
+                continue;
+            }
+            trigramas[quantidade++] = ((long) a << 32) | ((long) b << 16) | c;
+        }
+        return Arrays.stream(trigramas, 0, quantidade).distinct().toArray();
+    }
+
+    /**
+     * Lista de ordinais ordenada e crescente, armazenada em um array de int.
+     */
+    private static final class Postings {
+        private int[] ordinais = new int[4];
+        private int tamanho;
+
+        void adicionar(int ordinal) {
+            if (tamanho == ordinais.length) {
+                ordinais = Arrays.copyOf(ordinais, tamanho + (tamanho >> 1));
+            }
+            ordinais[tamanho++] = ordinal;
+        }
+
+        boolean contem(int ordinal) {
+            return Arrays.binarySearch(ordinais, 0, tamanho, ordinal) >= 0;
+        }
+    }
+}
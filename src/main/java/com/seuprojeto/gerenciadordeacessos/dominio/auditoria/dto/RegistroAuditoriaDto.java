@@ -0,0 +1,24 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.auditoria.dto;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.auditoria.evento.OperacaoAuditadaEvento;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de um registro do log de auditoria.
+ * @param sequencia Número de sequência do registro (crescente, usado como cursor de paginação).
+ * @param instante Instante em que o registro foi gravado.
+ * @param tipo Tipo da operação.
+ * @param idUsuario ID do usuário que executou a operação.
+ * @param emailUsuario Email do usuário que executou a operação.
+ * @param idEntrada ID da entrada de acesso afetada.
+ */
+public record RegistroAuditoriaDto(
+        long sequencia,
+        LocalDateTime instante,
+        OperacaoAuditadaEvento.Tipo tipo,
+        Long idUsuario,
+        String emailUsuario,
+        Long idEntrada
+) {
+}
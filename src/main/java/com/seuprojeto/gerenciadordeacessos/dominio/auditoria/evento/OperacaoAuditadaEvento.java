@@ -0,0 +1,53 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.auditoria.evento;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.UsuarioAutenticado;
+
+/**
+ * Evento de uma operação sobre credenciais que deve constar no log de auditoria.
+ * Alterações são publicadas dentro da transação e registradas após o commit; a revelação de senha é registrada
+ * diretamente (e de forma durável) antes da resposta.
+ * @param tipo Tipo da operação.
+ * @param idUsuario ID do usuário que executou a operação.
+ * @param emailUsuario Email do usuário que executou a operação.
+ * @param idEntrada ID da entrada de acesso afetada.
+ */
+public record OperacaoAuditadaEvento(
+        Tipo tipo,
+        Long idUsuario,
+        String emailUsuario,
+        Long idEntrada
+) {
+
+    /**
+     * Tipos de operação auditados. O código é o valor gravado nos segmentos e nunca deve ser reutilizado.
+     */
+    public enum Tipo {
+        SENHA_REVELADA(1),
+        ENTRADA_CRIADA(2),
+        ENTRADA_ATUALIZADA(3),
+        ENTRADA_EXCLUIDA(4);
+
+        private final int codigo;
+
+        Tipo(int codigo) {
+            this.codigo = codigo;
+        }
+
+        public int getCodigo() {
+            return codigo;
+        }
+
+        public static Tipo deCodigo(int codigo) {
+            for (Tipo tipo : values()) {
+                if (tipo.codigo == codigo) {
+                    return tipo;
+                }
+            }
+            throw new IllegalArgumentException("Tipo de operação auditada desconhecido: " + codigo);
+        }
+    }
+
+    public static OperacaoAuditadaEvento de(Tipo tipo, UsuarioAutenticado usuario, Long idEntrada) {
+        return new OperacaoAuditadaEvento(tipo, usuario.id(), usuario.email(), idEntrada);
+    }
+}
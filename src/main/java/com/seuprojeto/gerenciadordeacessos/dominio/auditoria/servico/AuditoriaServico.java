@@ -0,0 +1,354 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.auditoria.servico;
+
+import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoNegocio;
+import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoServicoIndisponivel;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.PaginaDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.auditoria.dto.RegistroAuditoriaDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.auditoria.evento.OperacaoAuditadaEvento;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Log de auditoria das operações sobre credenciais (revelação de senha, criação, alteração e exclusão).
+ * Responsabilidade Única: Registrar as operações de forma durável e somente por anexação, e consultá-las.
+ *
+ * As operações entram em uma fila sem bloqueio e uma única thread as grava em lote nos segmentos mapeados em
+ * memória, forçando cada lote em disco de uma vez (group commit): com muitas operações simultâneas, um único
+ * flush confirma todas. A revelação de senha só responde depois que o seu registro foi confirmado; as alterações
+ * são enfileiradas após o commit da transação, sem esperar o disco.
+ *
+ * Ao encher, o segmento é encerrado e outro é criado; segmentos cujo último registro é anterior ao período de
+ * retenção são apagados.
+ *
+ * O log é local à instância: sequências e consultas cobrem apenas os registros gravados por ela. Com várias
+ * instâncias sobre o mesmo volume, cada uma deve ter o próprio nome (auditoria.instancia), que separa os
+ * segmentos em subdiretórios; nunca duas instâncias gravam no mesmo segmento.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditoriaServico {
+
+    // Espera máxima da thread de gravação sem operações (as inclusões a acordam antes)
+    private static final long ESPERA_OCIOSA_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final Pattern NOME_INSTANCIA = Pattern.compile("[A-Za-z0-9._-]+");
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auditoria.diretorio:${java.io.tmpdir}/gerenciador-acessos/auditoria}")
+    private Path diretorio;
+
+    @Value("${auditoria.instancia:}")
+    private String instancia;
+
+    @Value("${auditoria.tamanho-segmento:64MB}")
+    private DataSize tamanhoSegmento;
+
+    @Value("${auditoria.intervalo-indice:128}")
+    private int intervaloIndice;
+
+    @Value("${auditoria.lote-maximo:1000}")
+    private int loteMaximo;
+
+    @Value("${auditoria.fila-maxima:100000}")
+    private int filaMaxima;
+
+    @Value("${auditoria.timeout-confirmacao:PT2S}")
+    private Duration timeoutConfirmacao;
+
+    @Value("${auditoria.retencao:P365D}")
+    private Duration retencao;
+
+    @Value("${auditoria.consulta.tamanho-padrao:50}")
+    private int tamanhoPaginaPadrao;
+
+    @Value("${auditoria.consulta.tamanho-maximo:500}")
+    private int tamanhoPaginaMaximo;
+
+    private final ConcurrentLinkedQueue<Pendente> fila = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendentes = new AtomicInteger();
+    private final List<SegmentoAuditoria> segmentos = new CopyOnWriteArrayList<>();
+    private volatile boolean executando;
+    private Thread gravador;
+    private Timer tempoConfirmacao;
+    private Counter descartados;
+
+    // Estado da thread de gravação
+    private SegmentoAuditoria atual;
+    private long ultimaSequencia;
+    private long ultimoInstante;
+
+    @PostConstruct
+    void inicializar() throws IOException {
+        if (tamanhoSegmento.toBytes() < 64 * 1024 || tamanhoSegmento.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalStateException("auditoria.tamanho-segmento deve estar entre 64KB e 2GB.");
+        }
+        if (!instancia.isBlank()) {
+            if (!NOME_INSTANCIA.matcher(instancia).matches() || instancia.equals(".") || instancia.equals("..")) {
+                throw new IllegalStateException("auditoria.instancia deve conter apenas letras, dígitos, '.', '_' ou '-'.");
+            }
+            diretorio = diretorio.resolve(instancia);
+        }
+        Files.createDirectories(diretorio);
+
+        List<Path> arquivos;
+        try (Stream<Path> listagem = Files.list(diretorio)) {
+            arquivos = listagem
+                    .filter(arquivo -> arquivo.getFileName().toString().matches(SegmentoAuditoria.PREFIXO + "[0-9]{20}\\" + SegmentoAuditoria.SUFIXO))
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i < arquivos.size(); i++) {
+            segmentos.add(SegmentoAuditoria.abrir(arquivos.get(i), intervaloIndice, i == arquivos.size() - 1));
+        }
+        if (segmentos.isEmpty()) {
+            atual = SegmentoAuditoria.criar(diretorio, 1, (int) tamanhoSegmento.toBytes(), intervaloIndice);
+            sincronizarDiretorio();
+            segmentos.add(atual);
+        } else {
+            atual = segmentos.get(segmentos.size() - 1);
+        }
+        ultimaSequencia = atual.getUltimaSequencia();
+        ultimoInstante = atual.getUltimoInstante();
+        log.info("Log de auditoria aberto em {}: {} segmentos, última sequência {}.", diretorio, segmentos.size(), ultimaSequencia);
+
+        this.tempoConfirmacao = Timer.builder("auditoria.confirmacao")
+                .description("Gravação e flush em disco de um lote de registros de auditoria")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.descartados = Counter.builder("auditoria.registros.descartados").register(meterRegistry);
+        Gauge.builder("auditoria.fila", pendentes, AtomicInteger::get).register(meterRegistry);
+
+        executando = true;
+        gravador = new Thread(this::gravar, "auditoria-gravacao");
+        gravador.setDaemon(true);
+        gravador.start();
+    }
+
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        // A thread de gravação esvazia a fila antes de terminar
+        executando = false;
+        LockSupport.unpark(gravador);
+        gravador.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Enfileira uma alteração confirmada. Se a fila estiver cheia, o registro é descartado (e contabilizado).
+     */
+    @TransactionalEventListener
+    public void aoOperar(OperacaoAuditadaEvento evento) {
+        if (!enfileirar(new Pendente(evento, null))) {
+            descartados.increment();
+            log.error("Fila de auditoria cheia: registro descartado ({} do usuário {} na entrada {}).",
+                    evento.tipo(), evento.emailUsuario(), evento.idEntrada());
+        }
+    }
+
+    /**
+     * Registra a operação e aguarda a confirmação em disco.
+     * @return Sequência do registro.
+     * @throws ExcecaoServicoIndisponivel se a operação não puder ser registrada a tempo (a operação não deve prosseguir).
+     */
+    public long registrarDuravel(OperacaoAuditadaEvento evento) {
+        CompletableFuture<Long> confirmacao = new CompletableFuture<>();
+        if (!enfileirar(new Pendente(evento, confirmacao))) {
+            throw new ExcecaoServicoIndisponivel("O log de auditoria está sobrecarregado. Tente novamente em instantes.");
+        }
+        try {
+            return confirmacao.get(timeoutConfirmacao.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcecaoServicoIndisponivel("Não foi possível registrar a operação no log de auditoria.");
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("Falha ao registrar {} do usuário {} na entrada {} no log de auditoria.", evento.tipo(), evento.emailUsuario(), evento.idEntrada(), e);
+            throw new ExcecaoServicoIndisponivel("Não foi possível registrar a operação no log de auditoria.");
+        }
+    }
+
+    /**
+     * Consulta uma página dos registros desta instância (em ordem de gravação), filtrando por usuário, entrada e período.
+     */
+    public PaginaDto<RegistroAuditoriaDto> consultar(Long idUsuario, Long idEntrada, LocalDateTime desde, LocalDateTime ate,
+                                                     Long cursor, Integer tamanho) {
+        if (desde != null && ate != null && desde.isAfter(ate)) {
+            throw new ExcecaoNegocio("O início do período deve ser anterior ao fim.");
+        }
+        int tamanhoPagina = tamanho == null || tamanho <= 0 ? tamanhoPaginaPadrao : Math.min(tamanho, tamanhoPaginaMaximo);
+        SegmentoAuditoria.Filtro filtro = new SegmentoAuditoria.Filtro(idUsuario, idEntrada,
+                desde != null ? epochMilli(desde) : Long.MIN_VALUE,
+                ate != null ? epochMilli(ate) : Long.MAX_VALUE,
+                cursor != null ? cursor : 0L);
+
+        List<RegistroAuditoriaDto> linhas = new ArrayList<>(tamanhoPagina + 1);
+        for (SegmentoAuditoria segmento : segmentos) {
+            if (segmento.getUltimaSequencia() <= filtro.aposSequencia() || segmento.getUltimoInstante() < filtro.desde()) {
+                continue;
+            }
+            if (segmento.getPrimeiroInstante() > filtro.ate() || !segmento.consultar(filtro, linhas, tamanhoPagina + 1)) {
+                break;
+            }
+        }
+
+        boolean haMais = linhas.size() > tamanhoPagina;
+        List<RegistroAuditoriaDto> pagina = haMais ? linhas.subList(0, tamanhoPagina) : linhas;
+        return new PaginaDto<>(pagina, haMais ? pagina.get(pagina.size() - 1).sequencia() : null);
+    }
+
+    /**
+     * Apaga os segmentos encerrados cujo último registro é anterior ao período de retenção.
+     */
+    @Scheduled(fixedDelayString = "${auditoria.intervalo-limpeza-ms:3600000}", initialDelayString = "${auditoria.intervalo-limpeza-ms:3600000}")
+    public void removerExpirados() {
+        long limite = System.currentTimeMillis() - retencao.toMillis();
+        List<SegmentoAuditoria> existentes = List.copyOf(segmentos);
+        // O último segmento é o ativo e nunca é removido
+        for (SegmentoAuditoria segmento : existentes.subList(0, existentes.size() - 1)) {
+            if (segmento.getUltimoInstante() >= limite) {
+                break;
+            }
+            segmentos.remove(segmento);
+            try {
+                // Consultas em andamento continuam lendo o mapeamento até terminar
+                Files.deleteIfExists(segmento.getArquivo());
+                log.info("Segmento de auditoria {} removido (retenção de {}).", segmento.getArquivo().getFileName(), retencao);
+            } catch (IOException e) {
+                log.warn("Não foi possível remover o segmento de auditoria {}.", segmento.getArquivo(), e);
+            }
+        }
+    }
+
+    private boolean enfileirar(Pendente pendente) {
+        if (!executando) {
+            return false;
+        }
+        if (pendentes.incrementAndGet() > filaMaxima) {
+            pendentes.decrementAndGet();
+            return false;
+        }
+        fila.offer(pendente);
+        LockSupport.unpark(gravador);
+        return true;
+    }
+
+    /**
+     * Laço da thread de gravação: retira da fila tudo o que já chegou (até o lote máximo), anexa ao segmento
+     * e confirma o lote com um único flush.
+     */
+    private void gravar() {
+        List<Pendente> lote = new ArrayList<>(loteMaximo);
+        long[] sequencias = new long[loteMaximo];
+        while (executando || !fila.isEmpty()) {
+            Pendente pendente;
+            while (lote.size() < loteMaximo && (pendente = fila.poll()) != null) {
+                lote.add(pendente);
+            }
+            if (lote.isEmpty()) {
+                LockSupport.parkNanos(this, ESPERA_OCIOSA_NANOS);
+                continue;
+            }
+            pendentes.addAndGet(-lote.size());
+
+            long inicio = System.nanoTime();
+            try {
+                for (int i = 0; i < lote.size(); i++) {
+                    sequencias[i] = anexar(lote.get(i).evento());
+                }
+                atual.confirmar();
+                tempoConfirmacao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                for (int i = 0; i < lote.size(); i++) {
+                    if (lote.get(i).confirmacao() != null) {
+                        lote.get(i).confirmacao().complete(sequencias[i]);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Falha ao gravar {} registros de auditoria.", lote.size(), e);
+                descartados.increment(lote.size());
+                for (Pendente falha : lote) {
+                    if (falha.confirmacao() != null) {
+                        falha.confirmacao().completeExceptionally(e);
+                    }
+                }
+            }
+            lote.clear();
+        }
+    }
+
+    private long anexar(OperacaoAuditadaEvento evento) throws IOException {
+        byte[] email = evento.emailUsuario() != null ? evento.emailUsuario().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (email.length > SegmentoAuditoria.TAMANHO_MAXIMO_EMAIL) {
+            email = Arrays.copyOf(email, SegmentoAuditoria.TAMANHO_MAXIMO_EMAIL);
+        }
+        if (!atual.cabe(SegmentoAuditoria.tamanhoRegistro(email.length))) {
+            rolar();
+        }
+        // Sequência e instante nunca diminuem (mesmo se o relógio voltar): as consultas dependem da ordenação
+        ultimaSequencia++;
+        ultimoInstante = Math.max(ultimoInstante, System.currentTimeMillis());
+        atual.escrever(ultimaSequencia, ultimoInstante, evento.tipo(), evento.idUsuario(), evento.idEntrada(), email);
+        return ultimaSequencia;
+    }
+
+    private void rolar() throws IOException {
+        atual.confirmar();
+        SegmentoAuditoria novo = SegmentoAuditoria.criar(diretorio, ultimaSequencia + 1, (int) tamanhoSegmento.toBytes(), intervaloIndice);
+        sincronizarDiretorio();
+        segmentos.add(novo);
+        atual = novo;
+        log.info("Novo segmento de auditoria: {}.", novo.getArquivo().getFileName());
+    }
+
+    /**
+     * Torna durável a criação de um segmento (a entrada do arquivo no diretório).
+     */
+    private void sincronizarDiretorio() {
+        try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException | UncheckedIOException e) {
+            // Nem todas as plataformas permitem abrir diretórios
+            log.debug("Não foi possível sincronizar o diretório de auditoria {}.", diretorio, e);
+        }
+    }
+
+    private static long epochMilli(LocalDateTime dataHora) {
+        return dataHora.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Pendente(OperacaoAuditadaEvento evento, CompletableFuture<Long> confirmacao) {
+    }
+}
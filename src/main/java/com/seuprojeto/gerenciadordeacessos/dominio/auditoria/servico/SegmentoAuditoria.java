@@ -0,0 +1,412 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.auditoria.servico;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.auditoria.dto.RegistroAuditoriaDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.auditoria.evento.OperacaoAuditadaEvento;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Segmento do log de auditoria: um arquivo de tamanho fixo mapeado em memória, onde os registros são apenas anexados.
+ * Responsabilidade Única: Gravar, recuperar e consultar os registros de um arquivo do log.
+ *
+ * Formato: cabeçalho "GAAU" + versão (int) + primeira sequência (long), seguido dos registros
+ * [tamanho da carga (int)][CRC32C da carga (int)][carga]. A carga contém sequência, instante (epoch ms), código
+ * do tipo (byte), ID do usuário, ID da entrada e o email (tamanho em short + UTF-8). Um tamanho 0 marca o fim:
+ * o arquivo é criado já com o tamanho final e zerado, então a gravação nunca altera o tamanho do arquivo.
+ *
+ * Apenas a thread de gravação escreve; consultas leem em paralelo somente até a posição confirmada (forçada em
+ * disco). O índice esparso guarda, a cada bloco de registros, o instante, a sequência e a posição do primeiro
+ * registro, mais máscaras (64 bits) dos usuários e entradas do bloco: a consulta posiciona-se por busca binária
+ * e salta os blocos que certamente não contêm o usuário ou a entrada procurados.
+ */
+@Slf4j
+final class SegmentoAuditoria {
+
+    static final String PREFIXO = "auditoria-";
+    static final String SUFIXO = ".seg";
+    static final int TAMANHO_MAXIMO_EMAIL = 1024;
+
+    private static final int MAGICO = 0x47414155; // "GAAU"
+    private static final int VERSAO = 1;
+    private static final int TAMANHO_CABECALHO = 16;
+    private static final int TAMANHO_CABECALHO_REGISTRO = 8;
+    private static final int TAMANHO_FIXO_CARGA = 8 + 8 + 1 + 8 + 8 + 2;
+    private static final int BLOCOS_INICIAIS = 64;
+    private static final long SEM_ID = 0L;
+
+    private final Path arquivo;
+    private final long primeiraSequencia;
+    private final MappedByteBuffer buffer;
+    private final int intervaloIndice;
+
+    // Estado da thread de gravação
+    private int posicao = TAMANHO_CABECALHO;
+    private int blocos;
+    private int registrosNoBloco;
+    private long ultimaSequencia;
+    private long primeiroInstante;
+    private long ultimoInstante;
+
+    // Estado publicado para as consultas a cada confirmação (posicaoConfirmada é escrita por último)
+    private volatile IndiceEsparso indice = new IndiceEsparso(BLOCOS_INICIAIS);
+    private volatile int blocosConfirmados;
+    private volatile long ultimaSequenciaConfirmada;
+    private volatile long primeiroInstanteConfirmado;
+    private volatile long ultimoInstanteConfirmado;
+    private volatile int posicaoConfirmada = TAMANHO_CABECALHO;
+
+    private SegmentoAuditoria(Path arquivo, long primeiraSequencia, MappedByteBuffer buffer, int intervaloIndice) {
+        this.arquivo = arquivo;
+        this.primeiraSequencia = primeiraSequencia;
+        this.buffer = buffer;
+        this.intervaloIndice = intervaloIndice;
+        this.ultimaSequencia = primeiraSequencia - 1;
+        this.ultimaSequenciaConfirmada = primeiraSequencia - 1;
+    }
+
+    /**
+     * Cria um segmento vazio com o tamanho informado.
+     */
+    static SegmentoAuditoria criar(Path diretorio, long primeiraSequencia, int tamanho, int intervaloIndice) throws IOException {
+        Path arquivo = diretorio.resolve(nomeArquivo(primeiraSequencia));
+        MappedByteBuffer buffer;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            preencherComZeros(canal, tamanho);
+            buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanho);
+        }
+        buffer.putInt(0, MAGICO);
+        buffer.putInt(4, VERSAO);
+        buffer.putLong(8, primeiraSequencia);
+        buffer.force(0, TAMANHO_CABECALHO);
+        return new SegmentoAuditoria(arquivo, primeiraSequencia, buffer, intervaloIndice);
+    }
+
+    /**
+     * Abre um segmento existente, reconstruindo o índice esparso. Um registro incompleto ou corrompido encerra a
+     * leitura; no segmento ativo (o último) ele é descartado para que a gravação continue a partir dali.
+     */
+    static SegmentoAuditoria abrir(Path arquivo, int intervaloIndice, boolean ativo) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (canal.size() < TAMANHO_CABECALHO || canal.size() > Integer.MAX_VALUE) {
+                throw new IOException("Segmento de auditoria com tamanho inválido: " + arquivo);
+            }
+            buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, canal.size());
+        }
+        if (buffer.getInt(0) != MAGICO || buffer.getInt(4) != VERSAO) {
+            throw new IOException("Arquivo não é um segmento de auditoria suportado: " + arquivo);
+        }
+
+        SegmentoAuditoria segmento = new SegmentoAuditoria(arquivo, buffer.getLong(8), buffer, intervaloIndice);
+        segmento.recuperar(ativo);
+        return segmento;
+    }
+
+    /**
+     * Grava os zeros de fato (em vez de um arquivo esparso): os blocos do disco ficam alocados desde a criação e
+     * cada flush posterior grava apenas dados, sem alterar metadados do sistema de arquivos.
+     */
+    private static void preencherComZeros(FileChannel canal, int tamanho) throws IOException {
+        ByteBuffer zeros = ByteBuffer.allocateDirect(1024 * 1024);
+        long posicao = 0;
+        while (posicao < tamanho) {
+            zeros.clear().limit((int) Math.min(zeros.capacity(), tamanho - posicao));
+            posicao += canal.write(zeros, posicao);
+        }
+        canal.force(true);
+    }
+
+    static String nomeArquivo(long primeiraSequencia) {
+        return PREFIXO + String.format("%020d", primeiraSequencia) + SUFIXO;
+    }
+
+    /**
+     * Tamanho ocupado no segmento por um registro com email do tamanho informado.
+     */
+    static int tamanhoRegistro(int tamanhoEmail) {
+        return TAMANHO_CABECALHO_REGISTRO + TAMANHO_FIXO_CARGA + tamanhoEmail;
+    }
+
+    boolean cabe(int tamanhoRegistro) {
+        return posicao + tamanhoRegistro <= buffer.capacity();
+    }
+
+    boolean isVazio() {
+        return posicao == TAMANHO_CABECALHO;
+    }
+
+    /**
+     * Anexa um registro (ainda não confirmado). A sequência e o instante devem ser crescentes.
+     */
+    void escrever(long sequencia, long instante, OperacaoAuditadaEvento.Tipo tipo, Long idUsuario, Long idEntrada, byte[] email) {
+        int tamanhoCarga = TAMANHO_FIXO_CARGA + email.length;
+        int carga = posicao + TAMANHO_CABECALHO_REGISTRO;
+        long usuario = idUsuario != null ? idUsuario : SEM_ID;
+        long entrada = idEntrada != null ? idEntrada : SEM_ID;
+
+        buffer.putLong(carga, sequencia);
+        buffer.putLong(carga + 8, instante);
+        buffer.put(carga + 16, (byte) tipo.getCodigo());
+        buffer.putLong(carga + 17, usuario);
+        buffer.putLong(carga + 25, entrada);
+        buffer.putShort(carga + 33, (short) email.length);
+        buffer.put(carga + TAMANHO_FIXO_CARGA, email);
+        buffer.putInt(posicao + 4, crc(carga, tamanhoCarga));
+        buffer.putInt(posicao, tamanhoCarga);
+
+        indexar(posicao, sequencia, instante, usuario, entrada);
+        posicao = carga + tamanhoCarga;
+    }
+
+    /**
+     * Força em disco os registros anexados desde a última confirmação e os torna visíveis às consultas.
+     */
+    void confirmar() {
+        int confirmada = posicaoConfirmada;
+        if (posicao == confirmada) {
+            return;
+        }
+        buffer.force(confirmada, posicao - confirmada);
+        blocosConfirmados = blocos;
+        ultimaSequenciaConfirmada = ultimaSequencia;
+        primeiroInstanteConfirmado = primeiroInstante;
+        ultimoInstanteConfirmado = ultimoInstante;
+        posicaoConfirmada = posicao;
+    }
+
+    /**
+     * Adiciona à lista os registros confirmados que atendem ao filtro, em ordem de sequência.
+     * @return false se a consulta terminou (limite atingido ou registros posteriores ao fim do período).
+     */
+    boolean consultar(Filtro filtro, List<RegistroAuditoriaDto> resultado, int limite) {
+        int fim = posicaoConfirmada;
+        int n = blocosConfirmados;
+        IndiceEsparso indiceAtual = indice;
+
+        int inicio = Math.max(ultimoBlocoAntes(indiceAtual.instantes, filtro.desde(), n),
+                ultimoBlocoAntes(indiceAtual.sequencias, filtro.aposSequencia() + 1, n));
+        for (int b = inicio; b < n; b++) {
+            if (indiceAtual.instantes[b] > filtro.ate()) {
+                return false;
+            }
+            if (!filtro.podeConter(indiceAtual.mascarasUsuarios[b], indiceAtual.mascarasEntradas[b])) {
+                continue;
+            }
+            int fimBloco = b + 1 < n ? Math.min(indiceAtual.posicoes[b + 1], fim) : fim;
+            for (int pos = indiceAtual.posicoes[b]; pos < fimBloco; pos += TAMANHO_CABECALHO_REGISTRO + buffer.getInt(pos)) {
+                int carga = pos + TAMANHO_CABECALHO_REGISTRO;
+                long instante = buffer.getLong(carga + 8);
+                if (instante > filtro.ate()) {
+                    return false;
+                }
+                if (instante >= filtro.desde()
+                        && buffer.getLong(carga) > filtro.aposSequencia()
+                        && filtro.aceita(buffer.getLong(carga + 17), buffer.getLong(carga + 25))) {
+                    resultado.add(ler(carga));
+                    if (resultado.size() >= limite) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    Path getArquivo() {
+        return arquivo;
+    }
+
+    long getPrimeiraSequencia() {
+        return primeiraSequencia;
+    }
+
+    long getUltimaSequencia() {
+        return ultimaSequenciaConfirmada;
+    }
+
+    long getPrimeiroInstante() {
+        return primeiroInstanteConfirmado;
+    }
+
+    long getUltimoInstante() {
+        return ultimoInstanteConfirmado;
+    }
+
+    private void recuperar(boolean ativo) {
+        int pos = TAMANHO_CABECALHO;
+        String problema = null;
+        while (pos + TAMANHO_CABECALHO_REGISTRO <= buffer.capacity()) {
+            int tamanhoCarga = buffer.getInt(pos);
+            if (tamanhoCarga == 0) {
+                break;
+            }
+            int carga = pos + TAMANHO_CABECALHO_REGISTRO;
+            if (tamanhoCarga < TAMANHO_FIXO_CARGA || tamanhoCarga > buffer.capacity() - carga) {
+                problema = "tamanho de registro inválido";
+                break;
+            }
+            if (crc(carga, tamanhoCarga) != buffer.getInt(pos + 4)) {
+                problema = "CRC inválido";
+                break;
+            }
+            long sequencia = buffer.getLong(carga);
+            if (sequencia != ultimaSequencia + 1) {
+                problema = "sequência fora de ordem";
+                break;
+            }
+            indexar(pos, sequencia, buffer.getLong(carga + 8), buffer.getLong(carga + 17), buffer.getLong(carga + 25));
+            pos = carga + tamanhoCarga;
+        }
+        posicao = pos;
+        posicaoConfirmada = TAMANHO_CABECALHO;
+
+        if (problema != null) {
+            if (ativo) {
+                // Gravação interrompida no meio: descarta o final do arquivo para continuar a partir do último registro válido
+                log.warn("Segmento de auditoria {}: {} na posição {}; o restante do arquivo foi descartado.", arquivo.getFileName(), problema, pos);
+                for (int i = pos; i < buffer.capacity(); i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                buffer.force(pos, buffer.capacity() - pos);
+            } else {
+                log.warn("Segmento de auditoria {}: {} na posição {}; registros posteriores ignorados.", arquivo.getFileName(), problema, pos);
+            }
+        }
+        confirmar();
+        if (!ativo) {
+            // Segmento encerrado: nenhuma gravação posterior
+            posicao = buffer.capacity();
+        }
+    }
+
+    private void indexar(int pos, long sequencia, long instante, long idUsuario, long idEntrada) {
+        IndiceEsparso atual = indice;
+        if (registrosNoBloco == 0) {
+            if (blocos == atual.instantes.length) {
+                atual = atual.ampliado();
+                indice = atual;
+            }
+            atual.instantes[blocos] = instante;
+            atual.sequencias[blocos] = sequencia;
+            atual.posicoes[blocos] = pos;
+            blocos++;
+        }
+        atual.mascarasUsuarios[blocos - 1] |= bit(idUsuario);
+        atual.mascarasEntradas[blocos - 1] |= bit(idEntrada);
+        registrosNoBloco = (registrosNoBloco + 1) % intervaloIndice;
+
+        if (ultimaSequencia < primeiraSequencia) {
+            primeiroInstante = instante;
+        }
+        ultimaSequencia = sequencia;
+        ultimoInstante = instante;
+    }
+
+    private RegistroAuditoriaDto ler(int carga) {
+        byte[] email = new byte[buffer.getShort(carga + 33)];
+        buffer.get(carga + TAMANHO_FIXO_CARGA, email);
+        long idUsuario = buffer.getLong(carga + 17);
+        long idEntrada = buffer.getLong(carga + 25);
+        return new RegistroAuditoriaDto(
+                buffer.getLong(carga),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong(carga + 8)), ZoneId.systemDefault()),
+                OperacaoAuditadaEvento.Tipo.deCodigo(buffer.get(carga + 16)),
+                idUsuario != SEM_ID ? idUsuario : null,
+                new String(email, StandardCharsets.UTF_8),
+                idEntrada != SEM_ID ? idEntrada : null
+        );
+    }
+
+    private int crc(int inicio, int tamanho) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(inicio, tamanho));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Maior bloco cujo primeiro valor é menor que o informado (0 se nenhum): a partir dele podem existir registros
+     * com valor maior ou igual.
+     */
+    private static int ultimoBlocoAntes(long[] valores, long valor, int n) {
+        int resultado = 0;
+        int inicio = 0;
+        int fim = n - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (valores[meio] < valor) {
+                resultado = meio;
+                inicio = meio + 1;
+            } else {
+                fim = meio - 1;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Bit da máscara de um ID (hash de Fibonacci: espalha IDs sequenciais pelos 64 bits).
+     */
+    private static long bit(long id) {
+        return 1L << ((id * 0x9E3779B97F4A7C15L) >>> 58);
+    }
+
+    /**
+     * Critérios de uma consulta. Instantes em epoch ms; IDs nulos não filtram.
+     */
+    record Filtro(Long idUsuario, Long idEntrada, long desde, long ate, long aposSequencia) {
+
+        boolean podeConter(long mascaraUsuarios, long mascaraEntradas) {
+            return (idUsuario == null || (mascaraUsuarios & bit(idUsuario)) != 0)
+                    && (idEntrada == null || (mascaraEntradas & bit(idEntrada)) != 0);
+        }
+
+        boolean aceita(long idUsuarioRegistro, long idEntradaRegistro) {
+            return (idUsuario == null || idUsuario == idUsuarioRegistro)
+                    && (idEntrada == null || idEntrada == idEntradaRegistro);
+        }
+    }
+
+    /**
+     * Arrays do índice esparso. Ao crescer, é copiado e republicado: uma consulta sempre enxerga um array com
+     * todos os blocos confirmados.
+     */
+    private static final class IndiceEsparso {
+        private final long[] instantes;
+        private final long[] sequencias;
+        private final int[] posicoes;
+        private final long[] mascarasUsuarios;
+        private final long[] mascarasEntradas;
+
+        private IndiceEsparso(int capacidade) {
+            this(new long[capacidade], new long[capacidade], new int[capacidade], new long[capacidade], new long[capacidade]);
+        }
+
+        private IndiceEsparso(long[] instantes, long[] sequencias, int[] posicoes, long[] mascarasUsuarios, long[] mascarasEntradas) {
+            this.instantes = instantes;
+            this.sequencias = sequencias;
+            this.posicoes = posicoes;
+            this.mascarasUsuarios = mascarasUsuarios;
+            this.mascarasEntradas = mascarasEntradas;
+        }
+
+        private IndiceEsparso ampliado() {
+            int capacidade = instantes.length * 2;
+            return new IndiceEsparso(Arrays.copyOf(instantes, capacidade), Arrays.copyOf(sequencias, capacidade),
+                    Arrays.copyOf(posicoes, capacidade), Arrays.copyOf(mascarasUsuarios, capacidade),
+                    Arrays.copyOf(mascarasEntradas, capacidade));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.backup.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de um arquivo de backup disponível no diretório de backups.
+ * @param nome Nome do arquivo.
+ * @param bytes Tamanho do arquivo.
+ * @param modificadoEm Data da última modificação.
+ */
+public record ArquivoBackupDto(
+        String nome,
+        long bytes,
+        LocalDateTime modificadoEm
+) {
+}
@@ -0,0 +1,18 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.backup.dto;
+
+/**
+ * DTO com o resultado de um backup gravado em arquivo local.
+ * @param arquivo Nome do arquivo no diretório de backups.
+ * @param linhas Entradas exportadas.
+ * @param blocos Blocos gravados.
+ * @param bytes Tamanho do arquivo.
+ * @param cifragem ORIGINAL (senhas como no banco) ou CHAVE_BACKUP (reenvolvidas sob a chave de backup).
+ */
+public record ResultadoBackupDto(
+        String arquivo,
+        long linhas,
+        int blocos,
+        long bytes,
+        String cifragem
+) {
+}
@@ -0,0 +1,18 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.backup.dto;
+
+/**
+ * DTO com o resultado de uma restauração.
+ * @param blocos Blocos lidos e verificados.
+ * @param linhas Entradas lidas do backup.
+ * @param restauradas Entradas gravadas (com novos IDs).
+ * @param ignoradas Entradas não restauradas (proprietário inexistente, senha ilegível ou recusada pelo banco).
+ * @param erro Motivo da interrupção, se o arquivo estiver truncado ou corrompido ou o banco falhar (os blocos anteriores permanecem).
+ */
+public record ResultadoRestauracaoDto(
+        int blocos,
+        long linhas,
+        long restauradas,
+        long ignoradas,
+        String erro
+) {
+}
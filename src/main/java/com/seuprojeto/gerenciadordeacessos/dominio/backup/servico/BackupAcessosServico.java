@@ -0,0 +1,354 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.backup.servico;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoNaoEncontrado;
+import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoNegocio;
+import com.seuprojeto.gerenciadordeacessos.core.seguranca.ResultadoCriptografia;
+import com.seuprojeto.gerenciadordeacessos.core.seguranca.ServicoCriptografia;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.evento.EntradaAcessoAlteradaEvento;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoBackupProjecao;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.repositorio.EntradaAcessoRepositorio;
+import com.seuprojeto.gerenciadordeacessos.dominio.backup.dto.ArquivoBackupDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.backup.dto.ResultadoBackupDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.backup.dto.ResultadoRestauracaoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.backup.servico.CabecalhoBackup.Cifragem;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico.UsuarioServico;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Serviço de backup e restauração das entradas de acesso.
+ * Responsabilidade Única: Exportar e restaurar o cofre inteiro com memória constante.
+ *
+ * A exportação percorre as entradas ativas com um cursor (stream com fetch size) e grava blocos comprimidos e
+ * com checksum (ver {@link EscritorBackup}) direto na resposta HTTP ou em um arquivo local. As senhas nunca são
+ * decifradas no arquivo: seguem como estão no banco ou são reenvolvidas sob a chave de backup, o que permite
+ * restaurar em uma instalação com outro chaveiro. A restauração lê o mesmo formato bloco a bloco.
+ * Em ambos os sentidos, no máximo um bloco está em memória.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BackupAcessosServico {
+
+    private static final String EXTENSAO = ".gabk";
+    private static final DateTimeFormatter FORMATO_NOME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    // Apenas nomes gerados por este serviço: impede acessar arquivos fora do diretório de backups
+    private static final Pattern NOME_VALIDO = Pattern.compile("backup-acessos-[0-9-]+\\.gabk");
+
+    private final EntradaAcessoRepositorio acessoRepositorio;
+    private final UsuarioServico usuarioServico;
+    private final ServicoCriptografia servicoCriptografia;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${backup.diretorio:${java.io.tmpdir}/gerenciador-acessos/backups}")
+    private Path diretorio;
+
+    @Value("${backup.tamanho-bloco:1000}")
+    private int tamanhoBloco;
+
+    private TransactionTemplate transacaoLeitura;
+
+    @PostConstruct
+    void inicializar() throws IOException {
+        Files.createDirectories(diretorio);
+        this.transacaoLeitura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.transacaoLeitura.setReadOnly(true);
+    }
+
+    /**
+     * Valida a cifragem solicitada antes de iniciar uma exportação (depois de iniciada, a resposta já foi enviada).
+     */
+    public void verificarCifragem(boolean chaveBackup) {
+        if (chaveBackup && !servicoCriptografia.possuiChaveBackup()) {
+            throw new ExcecaoNegocio("Nenhuma chave de backup configurada (criptografia.chave-backup).");
+        }
+    }
+
+    /**
+     * @return Um nome de arquivo de backup para a data atual.
+     */
+    public String novoNomeArquivo() {
+        return "backup-acessos-" + LocalDateTime.now().format(FORMATO_NOME) + EXTENSAO;
+    }
+
+    /**
+     * Exporta todas as entradas ativas para o destino informado (que não é fechado).
+     * Uma falha ao reenvolver qualquer senha interrompe a exportação: um backup incompleto não é gerado em silêncio.
+     * @param chaveBackup Se true, as senhas são reenvolvidas sob a chave de backup.
+     */
+    public ResultadoBackupDto exportar(OutputStream destino, boolean chaveBackup) throws IOException {
+        verificarCifragem(chaveBackup);
+        CabecalhoBackup cabecalho = new CabecalhoBackup(
+                LocalDateTime.now(),
+                chaveBackup ? Cifragem.CHAVE_BACKUP : Cifragem.ORIGINAL,
+                chaveBackup ? servicoCriptografia.impressaoChaveBackup() : null,
+                tamanhoBloco);
+        EscritorBackup escritor = new EscritorBackup(destino, objectMapper, cabecalho);
+
+        try {
+            transacaoLeitura.executeWithoutResult(status -> {
+                try (Stream<EntradaAcessoBackupProjecao> registros = acessoRepositorio.streamBackup()) {
+                    Iterator<EntradaAcessoBackupProjecao> iterador = registros.iterator();
+                    List<EntradaAcessoBackupProjecao> bloco = new ArrayList<>(tamanhoBloco);
+                    while (iterador.hasNext()) {
+                        bloco.add(iterador.next());
+                        if (bloco.size() == tamanhoBloco) {
+                            escritor.escreverBloco(prepararBloco(bloco, chaveBackup));
+                            bloco = new ArrayList<>(tamanhoBloco);
+                        }
+                    }
+                    escritor.escreverBloco(prepararBloco(bloco, chaveBackup));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        escritor.concluir();
+
+        log.info("Backup exportado: {} entradas em {} blocos (cifragem {}).", escritor.getLinhas(), escritor.getBlocos(), cabecalho.cifragem());
+        return new ResultadoBackupDto(null, escritor.getLinhas(), escritor.getBlocos(), 0, cabecalho.cifragem().name());
+    }
+
+    /**
+     * Exporta para um novo arquivo no diretório de backups. O arquivo é gravado com um nome temporário,
+     * sincronizado com o disco e só então renomeado: um backup listado está sempre completo.
+     */
+    public ResultadoBackupDto exportarParaArquivo(boolean chaveBackup) {
+        verificarCifragem(chaveBackup);
+        String nome = novoNomeArquivo();
+        Path destino = diretorio.resolve(nome);
+        Path parcial = diretorio.resolve(nome + ".parcial");
+
+        ResultadoBackupDto resultado;
+        try {
+            try (FileChannel canal = FileChannel.open(parcial, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                resultado = exportar(Channels.newOutputStream(canal), chaveBackup);
+                canal.force(true);
+            }
+            Files.move(parcial, destino, StandardCopyOption.ATOMIC_MOVE);
+            return new ResultadoBackupDto(nome, resultado.linhas(), resultado.blocos(), Files.size(destino), resultado.cifragem());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o arquivo de backup " + nome + ".", e);
+        } finally {
+            excluirSilenciosamente(parcial);
+        }
+    }
+
+    /**
+     * Lista os arquivos de backup disponíveis, do mais recente para o mais antigo.
+     */
+    public List<ArquivoBackupDto> listarArquivos() {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos
+                    .filter(arquivo -> NOME_VALIDO.matcher(arquivo.getFileName().toString()).matches())
+                    .map(this::paraDto)
+                    .sorted(Comparator.comparing(ArquivoBackupDto::nome).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao listar o diretório de backups.", e);
+        }
+    }
+
+    /**
+     * @return O caminho de um arquivo de backup existente.
+     */
+    public Path arquivo(String nome) {
+        if (nome == null || !NOME_VALIDO.matcher(nome).matches()) {
+            throw new ExcecaoNaoEncontrado("Arquivo de backup não encontrado: " + nome);
+        }
+        Path arquivo = diretorio.resolve(nome);
+        if (!Files.isRegularFile(arquivo)) {
+            throw new ExcecaoNaoEncontrado("Arquivo de backup não encontrado: " + nome);
+        }
+        return arquivo;
+    }
+
+    /**
+     * Restaura as entradas de um arquivo de backup existente.
+     */
+    public ResultadoRestauracaoDto restaurarArquivo(String nome) {
+        try (InputStream origem = Files.newInputStream(arquivo(nome))) {
+            return restaurar(origem);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o arquivo de backup " + nome + ".", e);
+        }
+    }
+
+    /**
+     * Restaura as entradas lidas do backup, bloco a bloco; cada bloco é gravado em uma transação.
+     * As entradas recebem novos IDs (a restauração acrescenta, não substitui). Entradas cujo proprietário não
+     * existe nesta instalação, ou que o banco recusa, são ignoradas. Se o arquivo estiver truncado ou corrompido,
+     * ou o banco falhar fora da gravação de uma entrada, os blocos anteriores permanecem gravados e o motivo é
+     * devolvido no resultado.
+     */
+    public ResultadoRestauracaoDto restaurar(InputStream origem) {
+        LeitorBackup leitor;
+        try {
+            leitor = new LeitorBackup(origem, objectMapper);
+        } catch (IOException e) {
+            throw new ExcecaoNegocio("Arquivo de backup inválido: " + e.getMessage());
+        }
+
+        boolean envolvido = leitor.getCabecalho().cifragem() == Cifragem.CHAVE_BACKUP;
+        if (envolvido) {
+            verificarCifragem(true);
+            if (!servicoCriptografia.impressaoChaveBackup().equals(leitor.getCabecalho().impressaoChave())) {
+                throw new ExcecaoNegocio("O backup foi gerado com uma chave de backup diferente da configurada.");
+            }
+        }
+
+        Map<String, Optional<Usuario>> proprietarios = new HashMap<>();
+        long restauradas = 0;
+        String erro = null;
+        try {
+            List<EntradaAcessoBackupProjecao> bloco;
+            while ((bloco = leitor.proximoBloco()) != null) {
+                restauradas += restaurarBloco(bloco, envolvido, proprietarios);
+            }
+        } catch (IOException e) {
+            log.warn("Restauração interrompida após {} blocos: {}", leitor.getBlocos(), e.getMessage());
+            erro = "Arquivo de backup inválido: " + e.getMessage();
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Restauração interrompida após {} blocos por uma falha do banco de dados.", leitor.getBlocos(), e);
+            erro = "Falha no banco de dados: " + e.getMessage();
+        }
+
+        log.info("Backup restaurado: {} de {} entradas lidas em {} blocos.", restauradas, leitor.getLinhas(), leitor.getBlocos());
+        return new ResultadoRestauracaoDto(leitor.getBlocos(), leitor.getLinhas(), restauradas, leitor.getLinhas() - restauradas, erro);
+    }
+
+    private long restaurarBloco(List<EntradaAcessoBackupProjecao> bloco, boolean envolvido, Map<String, Optional<Usuario>> proprietarios) {
+        List<ResultadoCriptografia> senhas = envolvido
+                ? servicoCriptografia.desenvolverDeBackupLote(bloco.stream().map(EntradaAcessoBackupProjecao::senhaCriptografada).toList())
+                : null;
+
+        List<EntradaAcesso> entradas = new ArrayList<>(bloco.size());
+        List<Long> idsOrigem = new ArrayList<>(bloco.size());
+        for (int i = 0; i < bloco.size(); i++) {
+            EntradaAcessoBackupProjecao registro = bloco.get(i);
+            Optional<Usuario> proprietario = proprietarios.computeIfAbsent(
+                    registro.proprietarioEmail(), usuarioServico::buscarEntidadeOpcionalPorEmail);
+            if (proprietario.isEmpty()) {
+                log.warn("Entrada ID {} do backup ignorada: proprietário {} não encontrado.", registro.id(), registro.proprietarioEmail());
+                continue;
+            }
+            String senhaCriptografada = registro.senhaCriptografada();
+            if (senhas != null) {
+                if (!senhas.get(i).isSucesso()) {
+                    log.warn("Entrada ID {} do backup ignorada: senha ilegível com a chave de backup.", registro.id(), senhas.get(i).erro());
+                    continue;
+                }
+                senhaCriptografada = senhas.get(i).valor();
+            }
+            entradas.add(EntradaAcesso.builder()
+                    .titulo(registro.titulo())
+                    .descricao(registro.descricao())
+                    .url(registro.url())
+                    .login(registro.login())
+                    .senhaCriptografada(senhaCriptografada)
+                    .tipoVisibilidade(registro.tipoVisibilidade())
+                    .proprietario(proprietario.get())
+                    .dataExpiracao(registro.dataExpiracao())
+                    .build());
+            idsOrigem.add(registro.id());
+        }
+
+        if (entradas.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> salvar(entradas));
+            return entradas.size();
+        } catch (DataAccessException | TransactionException e) {
+            // Uma entrada recusada pelo banco desfaz o bloco inteiro: regrava entrada a entrada para isolá-la
+            log.warn("Bloco do backup recusado pelo banco; gravando as {} entradas individualmente.", entradas.size(), e);
+            long gravadas = 0;
+            for (int i = 0; i < entradas.size(); i++) {
+                EntradaAcesso entrada = entradas.get(i);
+                entrada.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> salvar(List.of(entrada)));
+                    gravadas++;
+                } catch (DataAccessException | TransactionException ex) {
+                    log.warn("Entrada ID {} do backup ignorada: recusada pelo banco de dados.", idsOrigem.get(i), ex);
+                }
+            }
+            return gravadas;
+        }
+    }
+
+    private void salvar(List<EntradaAcesso> entradas) {
+        acessoRepositorio.saveAll(entradas);
+        entradas.forEach(entrada -> eventPublisher.publishEvent(EntradaAcessoAlteradaEvento.de(entrada)));
+    }
+
+    private List<EntradaAcessoBackupProjecao> prepararBloco(List<EntradaAcessoBackupProjecao> bloco, boolean chaveBackup) {
+        if (!chaveBackup || bloco.isEmpty()) {
+            return bloco;
+        }
+        List<ResultadoCriptografia> senhas = servicoCriptografia.envolverParaBackupLote(
+                bloco.stream().map(EntradaAcessoBackupProjecao::senhaCriptografada).toList());
+        List<EntradaAcessoBackupProjecao> preparado = new ArrayList<>(bloco.size());
+        for (int i = 0; i < bloco.size(); i++) {
+            if (!senhas.get(i).isSucesso()) {
+                throw new IllegalStateException("Não foi possível reenvolver a senha do acesso ID " + bloco.get(i).id() + ".", senhas.get(i).erro());
+            }
+            preparado.add(bloco.get(i).comSenha(senhas.get(i).valor()));
+        }
+        return preparado;
+    }
+
+    private ArquivoBackupDto paraDto(Path arquivo) {
+        try {
+            return new ArquivoBackupDto(arquivo.getFileName().toString(), Files.size(arquivo),
+                    LocalDateTime.ofInstant(Files.getLastModifiedTime(arquivo).toInstant(), ZoneId.systemDefault()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void excluirSilenciosamente(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível excluir o arquivo temporário {}.", arquivo, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.backup.servico;
+
+import java.time.LocalDateTime;
+
+/**
+ * Metadados gravados no início de cada arquivo de backup.
+ * @param criadoEm Data de geração.
+ * @param cifragem Como as senhas foram gravadas.
+ * @param impressaoChave Identificador da chave de backup (apenas para CHAVE_BACKUP).
+ * @param tamanhoBloco Quantidade máxima de entradas por bloco.
+ */
+record CabecalhoBackup(
+        LocalDateTime criadoEm,
+        Cifragem cifragem,
+        String impressaoChave,
+        int tamanhoBloco
+) {
+
+    enum Cifragem {
+        ORIGINAL, // Envelopes do chaveiro, como armazenados no banco
+        CHAVE_BACKUP // Reenvolvidas sob a chave de backup
+    }
+}
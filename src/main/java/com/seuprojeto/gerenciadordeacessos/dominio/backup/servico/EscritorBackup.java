@@ -0,0 +1,102 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.backup.servico;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoBackupProjecao;
+import lombok.Getter;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Escreve o formato de arquivo de backup, um bloco por vez.
+ *
+ * Formato (inteiros em big-endian):
+ * - Cabeçalho: "GABK", versão do formato (1 byte), tamanho (int) e JSON do {@link CabecalhoBackup}.
+ * - Blocos: linhas (int, maior que zero), tamanho comprimido (int), CRC32C do conteúdo descomprimido (int) e
+ *   o conteúdo em GZIP: uma {@link EntradaAcessoBackupProjecao} em JSON por linha.
+ * - Rodapé: 0 (int), total de linhas (long) e total de blocos (int), que detectam um arquivo truncado.
+ *
+ * Cada bloco é comprimido e verificado de forma independente, permitindo ler e restaurar em stream.
+ */
+final class EscritorBackup {
+
+    static final byte[] ASSINATURA = {'G', 'A', 'B', 'K'};
+    static final int VERSAO_FORMATO = 1;
+
+    private final DataOutputStream saida;
+    private final ObjectWriter escritorRegistros;
+    private final Buffer conteudo = new Buffer();
+    private final ByteArrayOutputStream comprimido = new ByteArrayOutputStream(64 * 1024);
+
+    @Getter
+    private long linhas;
+    @Getter
+    private int blocos;
+
+    EscritorBackup(OutputStream destino, ObjectMapper objectMapper, CabecalhoBackup cabecalho) throws IOException {
+        this.saida = new DataOutputStream(new BufferedOutputStream(destino, 64 * 1024));
+        this.escritorRegistros = objectMapper.writerFor(EntradaAcessoBackupProjecao.class);
+
+        byte[] json = objectMapper.writeValueAsBytes(cabecalho);
+        saida.write(ASSINATURA);
+        saida.writeByte(VERSAO_FORMATO);
+        saida.writeInt(json.length);
+        saida.write(json);
+    }
+
+    void escreverBloco(List<EntradaAcessoBackupProjecao> registros) throws IOException {
+        if (registros.isEmpty()) {
+            return;
+        }
+        conteudo.reset();
+        for (EntradaAcessoBackupProjecao registro : registros) {
+            escritorRegistros.writeValue(conteudo, registro);
+            conteudo.write('\n');
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(conteudo.dados(), 0, conteudo.size());
+
+        comprimido.reset();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(comprimido, 64 * 1024)) {
+            gzip.write(conteudo.dados(), 0, conteudo.size());
+        }
+
+        saida.writeInt(registros.size());
+        saida.writeInt(comprimido.size());
+        saida.writeInt((int) crc.getValue());
+        comprimido.writeTo(saida);
+        linhas += registros.size();
+        blocos++;
+    }
+
+    /**
+     * Escreve o rodapé e esvazia o buffer; o destino não é fechado.
+     */
+    void concluir() throws IOException {
+        saida.writeInt(0);
+        saida.writeLong(linhas);
+        saida.writeInt(blocos);
+        saida.flush();
+    }
+
+    /**
+     * Expõe o array interno para calcular o checksum e comprimir sem copiar o bloco.
+     */
+    private static final class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(256 * 1024);
+        }
+
+        byte[] dados() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.backup.servico;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoBackupProjecao;
+import lombok.Getter;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Lê o formato de arquivo de backup (ver {@link EscritorBackup}) um bloco por vez, verificando o checksum
+ * de cada bloco antes de entregá-lo.
+ */
+final class LeitorBackup {
+
+    // Limites contra arquivos corrompidos ou maliciosos (cabeçalhos de tamanho absurdo, bombas de compressão)
+    private static final int TAMANHO_MAXIMO_CABECALHO = 64 * 1024;
+    private static final int TAMANHO_MAXIMO_BLOCO = 64 * 1024 * 1024;
+
+    private final DataInputStream entrada;
+    private final ObjectReader leitorRegistros;
+
+    @Getter
+    private final CabecalhoBackup cabecalho;
+    @Getter
+    private long linhas;
+    @Getter
+    private int blocos;
+    private boolean fim;
+
+    LeitorBackup(InputStream origem, ObjectMapper objectMapper) throws IOException {
+        this.entrada = new DataInputStream(new BufferedInputStream(origem, 64 * 1024));
+        this.leitorRegistros = objectMapper.readerFor(EntradaAcessoBackupProjecao.class);
+        try {
+            if (!Arrays.equals(entrada.readNBytes(EscritorBackup.ASSINATURA.length), EscritorBackup.ASSINATURA)) {
+                throw new IOException("não é um arquivo de backup.");
+            }
+            int versao = entrada.readUnsignedByte();
+            if (versao != EscritorBackup.VERSAO_FORMATO) {
+                throw new IOException("versão de formato não suportada: " + versao + ".");
+            }
+            int tamanho = entrada.readInt();
+            if (tamanho <= 0 || tamanho > TAMANHO_MAXIMO_CABECALHO) {
+                throw new IOException("cabeçalho inválido.");
+            }
+            this.cabecalho = objectMapper.readValue(lerExatamente(tamanho), CabecalhoBackup.class);
+        } catch (EOFException e) {
+            throw new IOException("arquivo truncado no cabeçalho.", e);
+        }
+    }
+
+    /**
+     * @return As entradas do próximo bloco, ou null ao chegar ao rodapé (já conferido).
+     * @throws IOException se o arquivo estiver truncado ou algum bloco estiver corrompido.
+     */
+    List<EntradaAcessoBackupProjecao> proximoBloco() throws IOException {
+        if (fim) {
+            return null;
+        }
+        int numero = blocos + 1;
+        try {
+            int quantidade = entrada.readInt();
+            if (quantidade == 0) {
+                long totalLinhas = entrada.readLong();
+                int totalBlocos = entrada.readInt();
+                if (totalLinhas != linhas || totalBlocos != blocos) {
+                    throw new IOException("rodapé indica " + totalLinhas + " linhas em " + totalBlocos
+                            + " blocos, mas foram lidas " + linhas + " em " + blocos + ".");
+                }
+                fim = true;
+                return null;
+            }
+            int tamanho = entrada.readInt();
+            int crcEsperado = entrada.readInt();
+            if (quantidade < 0 || tamanho <= 0 || tamanho > TAMANHO_MAXIMO_BLOCO) {
+                throw new IOException("bloco " + numero + " com cabeçalho inválido.");
+            }
+
+            byte[] conteudo;
+            try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(lerExatamente(tamanho)))) {
+                conteudo = gzip.readNBytes(TAMANHO_MAXIMO_BLOCO + 1);
+            } catch (ZipException e) {
+                throw new IOException("bloco " + numero + " corrompido (" + e.getMessage() + ").", e);
+            }
+            if (conteudo.length > TAMANHO_MAXIMO_BLOCO) {
+                throw new IOException("bloco " + numero + " excede o tamanho máximo descomprimido.");
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(conteudo);
+            if ((int) crc.getValue() != crcEsperado) {
+                throw new IOException("checksum do bloco " + numero + " não confere (arquivo corrompido).");
+            }
+
+            List<EntradaAcessoBackupProjecao> registros = leitorRegistros.<EntradaAcessoBackupProjecao>readValues(conteudo).readAll();
+            if (registros.size() != quantidade) {
+                throw new IOException("bloco " + numero + " contém " + registros.size() + " linhas, esperadas " + quantidade + ".");
+            }
+            linhas += quantidade;
+            blocos++;
+            return registros;
+        } catch (EOFException e) {
+            throw new IOException("arquivo truncado no bloco " + numero + ".", e);
+        }
+    }
+
+    private byte[] lerExatamente(int tamanho) throws IOException {
+        byte[] dados = entrada.readNBytes(tamanho);
+        if (dados.length < tamanho) {
+            throw new EOFException();
+        }
+        return dados;
+    }
+}
@@ -0,0 +1,26 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.importacao.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO com o andamento de uma importação de acessos.
+ * @param id ID da importação.
+ * @param status AGUARDANDO (sem arquivo), EM_ANDAMENTO, CONCLUIDA ou FALHOU.
+ * @param linhasLidas Registros lidos do arquivo até o momento.
+ * @param importadas Registros gravados.
+ * @param rejeitadas Registros rejeitados (detalhados no arquivo de erros).
+ * @param criadaEm Data de criação da importação.
+ * @param concluidaEm Data de término, nula enquanto não terminar.
+ * @param erro Motivo da interrupção, quando o status for FALHOU.
+ */
+public record ProgressoImportacaoDto(
+        String id,
+        String status,
+        long linhasLidas,
+        long importadas,
+        long rejeitadas,
+        LocalDateTime criadaEm,
+        LocalDateTime concluidaEm,
+        String erro
+) {
+}
@@ -0,0 +1,98 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.importacao.servico;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.importacao.dto.ProgressoImportacaoDto;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Estado de uma importação, atualizado pelas etapas do pipeline e lido pela consulta de progresso.
+ * A cópia persistida fica na tabela importacoes (RegistroImportacoes).
+ */
+@Getter
+final class Importacao {
+
+    enum Status {
+        AGUARDANDO,
+        EM_ANDAMENTO,
+        CONCLUIDA,
+        FALHOU
+    }
+
+    private final String id;
+    private final String emailUsuario;
+    private final Path arquivoErros;
+    private final LocalDateTime criadaEm;
+
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.AGUARDANDO);
+    private final AtomicLong linhasLidas = new AtomicLong();
+    private final AtomicLong importadas = new AtomicLong();
+    private final AtomicLong rejeitadas = new AtomicLong();
+    private volatile LocalDateTime concluidaEm;
+    private volatile String erro;
+
+    Importacao(String id, String emailUsuario, Path arquivoErros) {
+        this.id = id;
+        this.emailUsuario = emailUsuario;
+        this.arquivoErros = arquivoErros;
+        this.criadaEm = LocalDateTime.now();
+    }
+
+    /**
+     * Estado lido do registro persistido.
+     */
+    Importacao(String id, String emailUsuario, Path arquivoErros, LocalDateTime criadaEm, Status status, long linhasLidas,
+               long importadas, long rejeitadas, LocalDateTime concluidaEm, String erro) {
+        this.id = id;
+        this.emailUsuario = emailUsuario;
+        this.arquivoErros = arquivoErros;
+        this.criadaEm = criadaEm;
+        this.status.set(status);
+        this.linhasLidas.set(linhasLidas);
+        this.importadas.set(importadas);
+        this.rejeitadas.set(rejeitadas);
+        this.concluidaEm = concluidaEm;
+        this.erro = erro;
+    }
+
+    /**
+     * Marca o início do envio do arquivo; cada importação recebe um único arquivo.
+     */
+    boolean iniciar() {
+        return status.compareAndSet(Status.AGUARDANDO, Status.EM_ANDAMENTO);
+    }
+
+    /**
+     * Desfaz o início quando a importação não chegou a ser processada (ex: limite de importações simultâneas).
+     */
+    void liberar() {
+        status.compareAndSet(Status.EM_ANDAMENTO, Status.AGUARDANDO);
+    }
+
+    /**
+     * Registra o motivo da interrupção; apenas o primeiro é mantido.
+     */
+    void falhar(String motivo) {
+        if (erro == null) {
+            erro = motivo;
+        }
+    }
+
+    void concluir() {
+        concluidaEm = LocalDateTime.now();
+        status.set(erro == null ? Status.CONCLUIDA : Status.FALHOU);
+    }
+
+    boolean isTerminada() {
+        Status atual = status.get();
+        return atual == Status.CONCLUIDA || atual == Status.FALHOU;
+    }
+
+    ProgressoImportacaoDto toDto() {
+        return new ProgressoImportacaoDto(id, status.get().name(), linhasLidas.get(), importadas.get(), rejeitadas.get(),
+                criadaEm, concluidaEm, erro);
+    }
+}
@@ -0,0 +1,500 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.importacao.servico;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoNaoEncontrado;
+import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoNegocio;
+import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoServicoIndisponivel;
+import com.seuprojeto.gerenciadordeacessos.core.seguranca.ServicoCriptografia;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.CriarEntradaAcessoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.evento.EntradaAcessoAlteradaEvento;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso.TipoVisibilidade;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.repositorio.EntradaAcessoRepositorio;
+import com.seuprojeto.gerenciadordeacessos.dominio.importacao.dto.ProgressoImportacaoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico.UsuarioServico;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de importação de acessos a partir de arquivos CSV ou JSON (exportações de outros gerenciadores).
+ * Responsabilidade Única: Importar arquivos de qualquer tamanho com memória constante.
+ *
+ * O pipeline tem três etapas:
+ * 1. Leitura (thread da requisição): o arquivo é lido registro a registro direto do corpo da requisição e
+ *    agrupado em blocos.
+ * 2. Validação e criptografia: cada bloco é processado em paralelo em um pool dedicado.
+ * 3. Gravação (uma thread por importação): os blocos são gravados, na ordem do arquivo, em transações com
+ *    inserts em lote; registros rejeitados vão para o arquivo de erros.
+ *
+ * Entre a leitura e a gravação há uma fila limitada: quando a gravação atrasa, a leitura espera (e, com ela, o
+ * envio do arquivo pelo cliente). No máximo (fila + 2) blocos de uma importação estão em memória.
+ *
+ * O registro de cada importação (status, contadores e arquivo de erros) fica no banco (RegistroImportacoes):
+ * criação, envio do arquivo e consultas podem cair em instâncias diferentes. Apenas as importações em
+ * processamento nesta instância ficam também em memória, com os contadores ao vivo.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportacaoAcessosServico {
+
+    public enum Formato {
+        CSV,
+        JSON
+    }
+
+    // Marca o fim do arquivo na fila de gravação
+    private static final Future<LoteValidado> FIM = CompletableFuture.completedFuture(null);
+
+    private final EntradaAcessoRepositorio acessoRepositorio;
+    private final UsuarioServico usuarioServico;
+    private final ServicoCriptografia servicoCriptografia;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final RegistroImportacoes registroImportacoes;
+
+    @Value("${acessos.importacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${acessos.importacao.fila:4}")
+    private int capacidadeFila;
+
+    @Value("${acessos.importacao.threads:0}")
+    private int threads;
+
+    @Value("${acessos.importacao.simultaneas:2}")
+    private int simultaneas;
+
+    @Value("${acessos.importacao.retencao:PT1H}")
+    private Duration retencao;
+
+    @Value("${acessos.importacao.diretorio:${java.io.tmpdir}/gerenciador-acessos/importacoes}")
+    private Path diretorio;
+
+    // Importações com arquivo sendo processado nesta instância
+    private final Map<String, Importacao> importacoes = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executorValidacao;
+    private ThreadPoolExecutor executorGravacao;
+    private Counter linhasImportadas;
+    private Counter linhasRejeitadas;
+
+    @PostConstruct
+    void inicializar() throws IOException {
+        Files.createDirectories(diretorio);
+
+        int threadsValidacao = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // Fila sem limite próprio: o número de blocos pendentes já é limitado pela fila de cada importação
+        this.executorValidacao = new ThreadPoolExecutor(threadsValidacao, threadsValidacao, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), fabricaThreads("importacao-validacao-"));
+        this.executorValidacao.allowCoreThreadTimeOut(true);
+        // Sem fila: acima do limite de importações simultâneas a submissão é rejeitada (503)
+        this.executorGravacao = new ThreadPoolExecutor(simultaneas, simultaneas, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), fabricaThreads("importacao-gravacao-"));
+        this.executorGravacao.allowCoreThreadTimeOut(true);
+
+        this.linhasImportadas = Counter.builder("acessos.importacao.linhas").tag("resultado", "importada").register(meterRegistry);
+        this.linhasRejeitadas = Counter.builder("acessos.importacao.linhas").tag("resultado", "rejeitada").register(meterRegistry);
+        Gauge.builder("acessos.importacao.em-andamento", executorGravacao, ThreadPoolExecutor::getActiveCount)
+                .description("Importações com arquivo sendo processado")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executorGravacao.shutdownNow();
+        executorValidacao.shutdownNow();
+    }
+
+    /**
+     * Cria uma importação aguardando o arquivo. O ID permite acompanhar o progresso enquanto o arquivo é enviado.
+     */
+    public ProgressoImportacaoDto criar(String emailUsuario) {
+        String id = UUID.randomUUID().toString();
+        Importacao importacao = new Importacao(id, emailUsuario, diretorio.resolve("importacao-" + id + "-erros.csv"));
+        registroImportacoes.inserir(importacao);
+        return importacao.toDto();
+    }
+
+    /**
+     * Consulta o progresso de uma importação do usuário.
+     */
+    public ProgressoImportacaoDto consultar(String id, String emailUsuario) {
+        return buscar(id, emailUsuario).toDto();
+    }
+
+    /**
+     * Retorna o arquivo de erros (CSV "linha,erro") de uma importação terminada.
+     */
+    public Path arquivoErros(String id, String emailUsuario) {
+        Importacao importacao = buscar(id, emailUsuario);
+        if (!importacao.isTerminada()) {
+            throw new ExcecaoNegocio("O arquivo de erros fica disponível quando a importação termina.");
+        }
+        if (!Files.exists(importacao.getArquivoErros())) {
+            throw new ExcecaoNaoEncontrado("Arquivo de erros não encontrado para a importação: " + id);
+        }
+        return importacao.getArquivoErros();
+    }
+
+    /**
+     * Processa o arquivo da importação, lendo-o diretamente da entrada, e retorna o resultado final.
+     * Blocos já gravados permanecem se a importação for interrompida por um arquivo malformado.
+     */
+    public ProgressoImportacaoDto importar(String id, String emailUsuario, Formato formato, InputStream entrada) {
+        Importacao importacao = buscar(id, emailUsuario);
+        Usuario proprietario = usuarioServico.buscarEntidadePorEmail(emailUsuario);
+        // A condição no banco vale para todas as instâncias; a local, para a cópia em memória
+        if (!registroImportacoes.iniciar(id) || !importacao.iniciar()) {
+            throw new ExcecaoNegocio("Esta importação já recebeu um arquivo.");
+        }
+        importacoes.put(id, importacao);
+
+        BlockingQueue<Future<LoteValidado>> fila = new ArrayBlockingQueue<>(capacidadeFila);
+        Future<?> gravacao;
+        try {
+            // A gravação herda o usuário autenticado para os campos de auditoria
+            gravacao = executorGravacao.submit(new DelegatingSecurityContextRunnable(() -> gravar(importacao, fila)));
+        } catch (RejectedExecutionException e) {
+            importacoes.remove(id);
+            importacao.liberar();
+            registroImportacoes.liberar(id);
+            throw new ExcecaoServicoIndisponivel("Limite de importações simultâneas atingido. Tente novamente em instantes.");
+        }
+
+        log.info("Importação {} iniciada pelo usuário {} (formato {}).", id, emailUsuario, formato);
+        try (LeitorImportacao leitor = formato == Formato.CSV ? new LeitorCsv(entrada) : new LeitorJson(objectMapper.getFactory(), entrada)) {
+            List<LinhaImportacao> bloco = new ArrayList<>(tamanhoLote);
+            LinhaImportacao linha;
+            while (importacao.getErro() == null && (linha = leitor.proxima()) != null) {
+                importacao.getLinhasLidas().incrementAndGet();
+                bloco.add(linha);
+                if (bloco.size() == tamanhoLote) {
+                    enfileirar(fila, validarEmParalelo(bloco, proprietario), gravacao, importacao);
+                    bloco = new ArrayList<>(tamanhoLote);
+                }
+            }
+            if (!bloco.isEmpty() && importacao.getErro() == null) {
+                enfileirar(fila, validarEmParalelo(bloco, proprietario), gravacao, importacao);
+            }
+        } catch (IOException e) {
+            importacao.falhar("Falha na leitura do arquivo: " + e.getMessage());
+        } finally {
+            enfileirar(fila, FIM, gravacao, importacao);
+            aguardar(gravacao, importacao);
+            importacao.concluir();
+            persistir(importacao);
+            importacoes.remove(id);
+        }
+
+        log.info("Importação {} terminada: {} registros lidos, {} importados, {} rejeitados{}.", id,
+                importacao.getLinhasLidas().get(), importacao.getImportadas().get(), importacao.getRejeitadas().get(),
+                importacao.getErro() != null ? " (interrompida: " + importacao.getErro() + ")" : "");
+        return importacao.toDto();
+    }
+
+    /**
+     * Remove as importações terminadas (ou nunca iniciadas) há mais tempo que a retenção, com seus arquivos de erros.
+     * Também remove as que ficaram em andamento sem atualização por esse tempo (instância encerrada durante o envio);
+     * as em processamento nesta instância são renovadas antes. Pode rodar em várias instâncias ao mesmo tempo.
+     */
+    @Scheduled(fixedDelayString = "${acessos.importacao.intervalo-limpeza-ms:600000}")
+    public void limparExpiradas() {
+        registroImportacoes.renovar(importacoes.keySet());
+        LocalDateTime limite = LocalDateTime.now().minus(retencao);
+        for (Importacao importacao : registroImportacoes.buscarSemAtualizacaoDesde(limite)) {
+            if (registroImportacoes.excluirSemAtualizacaoDesde(importacao.getId(), limite)) {
+                excluirArquivo(importacao.getArquivoErros());
+            }
+        }
+    }
+
+    private Importacao buscar(String id, String emailUsuario) {
+        // Em processamento nesta instância: contadores ao vivo; nos demais casos, o registro do banco
+        Importacao importacao = importacoes.get(id);
+        if (importacao == null) {
+            importacao = registroImportacoes.buscar(id).orElse(null);
+        }
+        // Importações de outros usuários não são reveladas
+        if (importacao == null || !importacao.getEmailUsuario().equals(emailUsuario)) {
+            throw new ExcecaoNaoEncontrado("Importação não encontrada: " + id);
+        }
+        return importacao;
+    }
+
+    /**
+     * Grava o progresso no registro. Uma falha aqui não interrompe a importação: o registro é regravado no próximo
+     * bloco e ao término.
+     */
+    private void persistir(Importacao importacao) {
+        try {
+            registroImportacoes.atualizar(importacao);
+        } catch (DataAccessException e) {
+            log.warn("Falha ao gravar o progresso da importação {}: {}", importacao.getId(), e.getMessage());
+        }
+    }
+
+    private Future<LoteValidado> validarEmParalelo(List<LinhaImportacao> bloco, Usuario proprietario) {
+        return executorValidacao.submit(() -> validar(bloco, proprietario));
+    }
+
+    /**
+     * Etapa paralela: converte, valida (mesmas regras da criação individual) e criptografa um bloco.
+     */
+    private LoteValidado validar(List<LinhaImportacao> bloco, Usuario proprietario) {
+        List<EntradaValidada> entradas = new ArrayList<>(bloco.size());
+        List<ErroLinha> erros = new ArrayList<>();
+        for (LinhaImportacao linha : bloco) {
+            CriarEntradaAcessoDto dto;
+            try {
+                dto = linha.paraDto();
+            } catch (IllegalArgumentException e) {
+                erros.add(new ErroLinha(linha.numero(), e.getMessage()));
+                continue;
+            }
+
+            Set<ConstraintViolation<CriarEntradaAcessoDto>> violacoes = validator.validate(dto);
+            if (!violacoes.isEmpty()) {
+                erros.add(new ErroLinha(linha.numero(), violacoes.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(" "))));
+                continue;
+            }
+            // ** Regra de Negócio: Apenas ADMIN pode criar acessos COMPARTILHADOS **
+            if (dto.tipoVisibilidade() == TipoVisibilidade.COMPARTILHADA && !proprietario.isAdmin()) {
+                erros.add(new ErroLinha(linha.numero(), "Apenas administradores podem criar acessos compartilhados."));
+                continue;
+            }
+
+            String senhaCriptografada;
+            try {
+                senhaCriptografada = servicoCriptografia.criptografar(dto.senha());
+            } catch (RuntimeException e) {
+                log.error("Falha ao criptografar a senha da linha {} da importação.", linha.numero(), e);
+                erros.add(new ErroLinha(linha.numero(), "Falha ao criptografar a senha."));
+                continue;
+            }
+
+            entradas.add(new EntradaValidada(linha.numero(), EntradaAcesso.builder()
+                    .titulo(dto.titulo())
+                    .descricao(dto.descricao())
+                    .url(dto.url())
+                    .login(dto.login())
+                    .senhaCriptografada(senhaCriptografada)
+                    .tipoVisibilidade(dto.tipoVisibilidade())
+                    .proprietario(proprietario)
+                    .dataExpiracao(dto.dataExpiracao())
+                    .build()));
+        }
+        return new LoteValidado(entradas, erros);
+    }
+
+    /**
+     * Etapa de gravação: consome a fila na ordem do arquivo até o marcador de fim. Após uma falha, continua
+     * consumindo (e descartando) para nunca bloquear a leitura.
+     */
+    private void gravar(Importacao importacao, BlockingQueue<Future<LoteValidado>> fila) {
+        BufferedWriter erros = abrirArquivoErros(importacao);
+        try {
+            while (true) {
+                Future<LoteValidado> pendente = fila.take();
+                if (pendente == FIM) {
+                    return;
+                }
+                if (importacao.getErro() != null) {
+                    pendente.cancel(false);
+                    continue;
+                }
+                try {
+                    LoteValidado lote = pendente.get();
+                    for (ErroLinha erro : lote.erros()) {
+                        registrarErro(importacao, erros, erro.linha(), erro.mensagem());
+                    }
+                    gravarLote(importacao, lote.entradas(), erros);
+                    persistir(importacao);
+                } catch (ExecutionException | RuntimeException e) {
+                    log.error("Falha ao processar um bloco da importação {}.", importacao.getId(), e);
+                    importacao.falhar("Falha ao processar a importação.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            importacao.falhar("Importação interrompida.");
+        } finally {
+            fechar(erros, importacao);
+        }
+    }
+
+    private void gravarLote(Importacao importacao, List<EntradaValidada> entradas, BufferedWriter erros) {
+        if (entradas.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> salvar(entradas.stream().map(EntradaValidada::entrada).toList()));
+            importacao.getImportadas().addAndGet(entradas.size());
+            linhasImportadas.increment(entradas.size());
+        } catch (DataAccessException | TransactionException e) {
+            // Um registro recusado pelo banco desfaz o bloco inteiro: regrava registro a registro para isolá-lo
+            log.warn("Bloco da importação {} recusado pelo banco; gravando os {} registros individualmente.", importacao.getId(), entradas.size(), e);
+            for (EntradaValidada entrada : entradas) {
+                entrada.entrada().setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> salvar(List.of(entrada.entrada())));
+                    importacao.getImportadas().incrementAndGet();
+                    linhasImportadas.increment();
+                } catch (DataAccessException | TransactionException ex) {
+                    log.debug("Linha {} da importação {} recusada pelo banco.", entrada.linha(), importacao.getId(), ex);
+                    registrarErro(importacao, erros, entrada.linha(), "Registro recusado pelo banco de dados (verifique o tamanho dos campos).");
+                }
+            }
+        }
+    }
+
+    private void salvar(List<EntradaAcesso> entradas) {
+        acessoRepositorio.saveAll(entradas);
+        entradas.forEach(entrada -> eventPublisher.publishEvent(EntradaAcessoAlteradaEvento.de(entrada)));
+    }
+
+    private void registrarErro(Importacao importacao, BufferedWriter erros, long linha, String mensagem) {
+        importacao.getRejeitadas().incrementAndGet();
+        linhasRejeitadas.increment();
+        if (erros == null) {
+            return;
+        }
+        try {
+            erros.write(linha + "," + campoCsv(mensagem));
+            erros.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String campoCsv(String valor) {
+        return "\"" + valor.replace("\"", "\"\"") + "\"";
+    }
+
+    private BufferedWriter abrirArquivoErros(Importacao importacao) {
+        try {
+            BufferedWriter erros = Files.newBufferedWriter(importacao.getArquivoErros());
+            erros.write("linha,erro");
+            erros.newLine();
+            return erros;
+        } catch (IOException e) {
+            log.error("Não foi possível criar o arquivo de erros da importação {}.", importacao.getId(), e);
+            importacao.falhar("Não foi possível criar o arquivo de erros.");
+            return null;
+        }
+    }
+
+    private void fechar(BufferedWriter erros, Importacao importacao) {
+        if (erros == null) {
+            return;
+        }
+        try {
+            erros.close();
+        } catch (IOException e) {
+            log.error("Falha ao fechar o arquivo de erros da importação {}.", importacao.getId(), e);
+            importacao.falhar("Falha ao gravar o arquivo de erros.");
+        }
+    }
+
+    /**
+     * Entrega um bloco à gravação, esperando enquanto a fila estiver cheia (backpressure).
+     */
+    private void enfileirar(BlockingQueue<Future<LoteValidado>> fila, Future<LoteValidado> lote, Future<?> gravacao, Importacao importacao) {
+        try {
+            while (!fila.offer(lote, 1, TimeUnit.SECONDS)) {
+                if (gravacao.isDone()) {
+                    lote.cancel(false);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lote.cancel(false);
+            importacao.falhar("Importação interrompida.");
+        }
+    }
+
+    private void aguardar(Future<?> gravacao, Importacao importacao) {
+        try {
+            gravacao.get();
+        } catch (ExecutionException e) {
+            log.error("Falha na gravação da importação {}.", importacao.getId(), e.getCause());
+            importacao.falhar("Falha ao processar a importação.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            importacao.falhar("Importação interrompida.");
+        }
+    }
+
+    private static void excluirArquivo(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível excluir o arquivo {}.", arquivo, e);
+        }
+    }
+
+    private static ThreadFactory fabricaThreads(String prefixo) {
+        AtomicInteger contador = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefixo + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record EntradaValidada(long linha, EntradaAcesso entrada) {
+    }
+
+    private record ErroLinha(long linha, String mensagem) {
+    }
+
+    private record LoteValidado(List<EntradaValidada> entradas, List<ErroLinha> erros) {
+    }
+}
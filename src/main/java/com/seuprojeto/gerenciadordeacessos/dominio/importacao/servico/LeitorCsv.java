@@ -0,0 +1,138 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.importacao.servico;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Leitor de CSV (RFC 4180) em UTF-8: primeira linha com os nomes das colunas, campos separados por vírgula,
+ * aspas duplas para campos com vírgulas, quebras de linha ou aspas (escapadas como "").
+ */
+final class LeitorCsv implements LeitorImportacao {
+
+    // Limita a memória de um registro malformado (ex: aspas nunca fechadas)
+    private static final int TAMANHO_MAXIMO_REGISTRO = 64 * 1024;
+    private static final int NENHUM = -2;
+
+    private final Reader leitor;
+    private List<String> cabecalho;
+    private long linhaAtual = 1;
+    private int devolvido = NENHUM;
+
+    LeitorCsv(InputStream entrada) {
+        this.leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public LinhaImportacao proxima() throws IOException {
+        if (cabecalho == null) {
+            List<String> nomes = lerRegistro();
+            if (nomes == null) {
+                return null;
+            }
+            cabecalho = nomes.stream()
+                    .map(nome -> nome.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT))
+                    .toList();
+        }
+
+        while (true) {
+            long linhaRegistro = linhaAtual;
+            List<String> valores = lerRegistro();
+            if (valores == null) {
+                return null;
+            }
+            if (valores.size() == 1 && valores.get(0).isBlank()) {
+                continue; // Linha em branco
+            }
+            Map<String, String> campos = new HashMap<>();
+            for (int i = 0; i < Math.min(valores.size(), cabecalho.size()); i++) {
+                campos.put(cabecalho.get(i), valores.get(i));
+            }
+            return new LinhaImportacao(linhaRegistro, campos);
+        }
+    }
+
+    private List<String> lerRegistro() throws IOException {
+        long linhaInicio = linhaAtual;
+        int c = ler();
+        if (c == -1) {
+            return null;
+        }
+        devolver(c);
+
+        List<String> valores = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        int tamanho = 0;
+        while (true) {
+            c = ler();
+            if (++tamanho > TAMANHO_MAXIMO_REGISTRO) {
+                throw new IOException("Linha " + linhaInicio + ": registro excede " + TAMANHO_MAXIMO_REGISTRO + " caracteres.");
+            }
+            if (entreAspas) {
+                if (c == -1) {
+                    throw new IOException("Linha " + linhaInicio + ": aspas não fechadas.");
+                } else if (c == '"') {
+                    int seguinte = ler();
+                    if (seguinte == '"') {
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                        devolver(seguinte);
+                    }
+                } else {
+                    if (c == '\n') {
+                        linhaAtual++;
+                    }
+                    campo.append((char) c);
+                }
+            } else if (c == -1) {
+                valores.add(campo.toString());
+                return valores;
+            } else if (c == '"' && campo.isEmpty()) {
+                entreAspas = true;
+            } else if (c == ',') {
+                valores.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int seguinte = ler();
+                    if (seguinte != '\n') {
+                        devolver(seguinte);
+                    }
+                }
+                linhaAtual++;
+                valores.add(campo.toString());
+                return valores;
+            } else {
+                campo.append((char) c);
+            }
+        }
+    }
+
+    private int ler() throws IOException {
+        if (devolvido != NENHUM) {
+            int c = devolvido;
+            devolvido = NENHUM;
+            return c;
+        }
+        return leitor.read();
+    }
+
+    private void devolver(int c) {
+        devolvido = c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        leitor.close();
+    }
+}
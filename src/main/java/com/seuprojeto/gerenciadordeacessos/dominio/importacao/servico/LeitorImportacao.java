@@ -0,0 +1,17 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.importacao.servico;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Leitor sequencial dos registros de um arquivo de importação.
+ * Lê um registro por vez da entrada, sem carregar o arquivo em memória.
+ */
+interface LeitorImportacao extends Closeable {
+
+    /**
+     * @return O próximo registro, ou null ao fim do arquivo.
+     * @throws IOException se a leitura falhar ou o arquivo estiver malformado.
+     */
+    LinhaImportacao proxima() throws IOException;
+}
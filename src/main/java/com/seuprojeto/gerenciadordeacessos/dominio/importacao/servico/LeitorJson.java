@@ -0,0 +1,106 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.importacao.servico;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Leitor de JSON: aceita um array de objetos ou objetos em sequência (NDJSON).
+ * O parser avança objeto a objeto; apenas o registro atual é materializado.
+ *
+ * Como no CSV, um registro não pode passar de 64 KB: o tamanho é conferido a cada token lido, e nenhuma string
+ * é decodificada além desse limite (StreamReadConstraints).
+ */
+final class LeitorJson implements LeitorImportacao {
+
+    private static final int TAMANHO_MAXIMO_REGISTRO = 64 * 1024;
+
+    private final JsonFactory fabrica;
+    private final JsonParser parser;
+    private boolean iniciado;
+    private boolean emArray;
+    private long registro;
+    private long inicioRegistro;
+
+    LeitorJson(JsonFactory fabrica, InputStream entrada) throws IOException {
+        this.fabrica = fabrica.copy().setStreamReadConstraints(StreamReadConstraints.builder()
+                .maxStringLength(TAMANHO_MAXIMO_REGISTRO)
+                .build());
+        this.parser = this.fabrica.createParser(entrada);
+    }
+
+    @Override
+    public LinhaImportacao proxima() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (!iniciado) {
+            iniciado = true;
+            if (token == JsonToken.START_ARRAY) {
+                emArray = true;
+                token = parser.nextToken();
+            }
+        }
+        if (token == null || (emArray && token == JsonToken.END_ARRAY)) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Registro " + (registro + 1) + ": esperado um objeto JSON.");
+        }
+
+        registro++;
+        inicioRegistro = parser.currentTokenLocation().getByteOffset();
+        Map<String, String> campos = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String nome = parser.currentName().toLowerCase(Locale.ROOT);
+            JsonToken valor = parser.nextToken();
+            verificarTamanho();
+            if (valor.isStructStart()) {
+                campos.put(nome, valorAninhado());
+            } else if (valor != JsonToken.VALUE_NULL) {
+                campos.put(nome, parser.getText());
+            }
+        }
+        verificarTamanho();
+        return new LinhaImportacao(registro, campos);
+    }
+
+    /**
+     * Objeto ou array dentro do registro, mantido como texto JSON.
+     */
+    private String valorAninhado() throws IOException {
+        StringWriter texto = new StringWriter();
+        try (JsonGenerator gerador = fabrica.createGenerator(texto)) {
+            int profundidade = 0;
+            do {
+                JsonToken token = parser.currentToken();
+                if (token.isStructStart()) {
+                    profundidade++;
+                } else if (token.isStructEnd()) {
+                    profundidade--;
+                }
+                gerador.copyCurrentEvent(parser);
+                verificarTamanho();
+            } while (profundidade > 0 && parser.nextToken() != null);
+        }
+        return texto.toString();
+    }
+
+    private void verificarTamanho() throws IOException {
+        if (parser.currentLocation().getByteOffset() - inicioRegistro > TAMANHO_MAXIMO_REGISTRO) {
+            throw new IOException("Registro " + registro + ": registro excede " + TAMANHO_MAXIMO_REGISTRO + " bytes.");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
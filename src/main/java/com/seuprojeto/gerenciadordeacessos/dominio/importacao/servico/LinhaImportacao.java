@@ -0,0 +1,66 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.importacao.servico;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.CriarEntradaAcessoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso.TipoVisibilidade;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Registro lido de um arquivo de importação, com os campos indexados pelo nome da coluna em minúsculas.
+ * Aceita tanto os nomes da API quanto os usados pelas exportações de outros gerenciadores de senha.
+ * @param numero Linha (CSV) ou posição do registro (JSON) no arquivo, usada no arquivo de erros.
+ * @param campos Valores por nome de coluna.
+ */
+record LinhaImportacao(long numero, Map<String, String> campos) {
+
+    /**
+     * Converte o registro no DTO de criação; sem visibilidade informada, a entrada é PESSOAL.
+     * @throws IllegalArgumentException se a visibilidade ou a data de expiração forem inválidas.
+     */
+    CriarEntradaAcessoDto paraDto() {
+        return new CriarEntradaAcessoDto(
+                campo("titulo", "título", "name", "title", "nome"),
+                campo("descricao", "descrição", "notes", "notas", "extra"),
+                campo("url", "login_uri", "uri", "site"),
+                campo("login", "username", "login_username", "usuario", "usuário"),
+                campo("senha", "password", "login_password"),
+                visibilidade(campo("tipovisibilidade", "tipo_visibilidade", "visibilidade")),
+                dataExpiracao(campo("dataexpiracao", "data_expiracao", "expiracao"))
+        );
+    }
+
+    private String campo(String... nomes) {
+        for (String nome : nomes) {
+            String valor = campos.get(nome);
+            if (valor != null && !valor.isBlank()) {
+                return valor.trim();
+            }
+        }
+        return null;
+    }
+
+    private static TipoVisibilidade visibilidade(String valor) {
+        if (valor == null) {
+            return TipoVisibilidade.PESSOAL;
+        }
+        try {
+            return TipoVisibilidade.valueOf(valor.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Tipo de visibilidade inválido: " + valor + ".");
+        }
+    }
+
+    private static LocalDate dataExpiracao(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data de expiração inválida: " + valor + " (use AAAA-MM-DD).");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.importacao.servico;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Registro das importações na tabela importacoes, compartilhado entre as instâncias.
+ * Responsabilidade Única: Persistir o status, os contadores e o local do arquivo de erros de cada importação.
+ *
+ * A instância que processa o arquivo grava o progresso a cada bloco; as demais respondem às consultas a partir
+ * da tabela. A passagem de AGUARDANDO para EM_ANDAMENTO é condicional no banco, de modo que uma importação recebe
+ * um único arquivo mesmo com envios simultâneos em instâncias diferentes.
+ */
+@Component
+@RequiredArgsConstructor
+class RegistroImportacoes {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 255;
+
+    private static final RowMapper<Importacao> MAPEADOR = (rs, linha) -> new Importacao(
+            rs.getString("id"),
+            rs.getString("email_usuario"),
+            Path.of(rs.getString("arquivo_erros")),
+            rs.getTimestamp("criada_em").toLocalDateTime(),
+            Importacao.Status.valueOf(rs.getString("status")),
+            rs.getLong("linhas_lidas"),
+            rs.getLong("importadas"),
+            rs.getLong("rejeitadas"),
+            rs.getTimestamp("concluida_em") != null ? rs.getTimestamp("concluida_em").toLocalDateTime() : null,
+            rs.getString("erro"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    void inserir(Importacao importacao) {
+        jdbcTemplate.update(
+                "INSERT INTO importacoes (id, email_usuario, status, linhas_lidas, importadas, rejeitadas, arquivo_erros, criada_em, atualizada_em) "
+                        + "VALUES (?, ?, ?, 0, 0, 0, ?, ?, ?)",
+                importacao.getId(), importacao.getEmailUsuario(), importacao.getStatus().get().name(),
+                importacao.getArquivoErros().toString(), Timestamp.valueOf(importacao.getCriadaEm()), Timestamp.valueOf(importacao.getCriadaEm()));
+    }
+
+    Optional<Importacao> buscar(String id) {
+        return jdbcTemplate.query("SELECT * FROM importacoes WHERE id = ?", MAPEADOR, id).stream().findFirst();
+    }
+
+    /**
+     * Marca o início do envio do arquivo se a importação ainda estiver aguardando.
+     * @return false se outra requisição (em qualquer instância) já iniciou a importação.
+     */
+    boolean iniciar(String id) {
+        return jdbcTemplate.update("UPDATE importacoes SET status = ?, atualizada_em = ? WHERE id = ? AND status = ?",
+                Importacao.Status.EM_ANDAMENTO.name(), Timestamp.valueOf(LocalDateTime.now()), id, Importacao.Status.AGUARDANDO.name()) > 0;
+    }
+
+    /**
+     * Desfaz o início quando a importação não chegou a ser processada.
+     */
+    void liberar(String id) {
+        jdbcTemplate.update("UPDATE importacoes SET status = ?, atualizada_em = ? WHERE id = ? AND status = ?",
+                Importacao.Status.AGUARDANDO.name(), Timestamp.valueOf(LocalDateTime.now()), id, Importacao.Status.EM_ANDAMENTO.name());
+    }
+
+    /**
+     * Grava o status, os contadores e o erro atuais.
+     */
+    void atualizar(Importacao importacao) {
+        jdbcTemplate.update(
+                "UPDATE importacoes SET status = ?, linhas_lidas = ?, importadas = ?, rejeitadas = ?, erro = ?, concluida_em = ?, atualizada_em = ? "
+                        + "WHERE id = ?",
+                importacao.getStatus().get().name(), importacao.getLinhasLidas().get(), importacao.getImportadas().get(),
+                importacao.getRejeitadas().get(), limitar(importacao.getErro()),
+                importacao.getConcluidaEm() != null ? Timestamp.valueOf(importacao.getConcluidaEm()) : null,
+                Timestamp.valueOf(LocalDateTime.now()), importacao.getId());
+    }
+
+    /**
+     * Renova as importações em processamento nesta instância, para que a limpeza não as trate como abandonadas.
+     */
+    void renovar(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("UPDATE importacoes SET atualizada_em = ? WHERE id = ?",
+                ids.stream().map(id -> new Object[]{agora, id}).toList());
+    }
+
+    /**
+     * Importações sem atualização desde o limite: terminadas, nunca iniciadas ou abandonadas por uma instância encerrada.
+     */
+    List<Importacao> buscarSemAtualizacaoDesde(LocalDateTime limite) {
+        return jdbcTemplate.query("SELECT * FROM importacoes WHERE atualizada_em < ?", MAPEADOR, Timestamp.valueOf(limite));
+    }
+
+    /**
+     * Exclui a importação se ela continuar sem atualização desde o limite (pode ter sido renovada nesse meio tempo).
+     * @return true se o registro foi excluído por esta chamada.
+     */
+    boolean excluirSemAtualizacaoDesde(String id, LocalDateTime limite) {
+        return jdbcTemplate.update("DELETE FROM importacoes WHERE id = ? AND atualizada_em < ?", id, Timestamp.valueOf(limite)) > 0;
+    }
+
+    private static String limitar(String erro) {
+        return erro != null && erro.length() > TAMANHO_MAXIMO_ERRO ? erro.substring(0, TAMANHO_MAXIMO_ERRO) : erro;
+    }
+}
@@ -0,0 +1,44 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.job.modelo;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade para persistir o progresso de jobs longos, permitindo retomá-los após reinícios.
+ */
+@Entity
+@Table(name = "checkpoints_job")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckpointJob {
+
+    @Id
+    @Column(length = 100)
+    private String nome;
+
+    @Column(name = "ultimo_id", nullable = false)
+    private Long ultimoId;
+
+    @Column(nullable = false)
+    private Long processados;
+
+    @Column(nullable = false)
+    private Long alterados;
+
+    @Column(name = "versao_alvo")
+    private Integer versaoAlvo;
+
+    @Column(nullable = false)
+    private Boolean concluido;
+
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+}
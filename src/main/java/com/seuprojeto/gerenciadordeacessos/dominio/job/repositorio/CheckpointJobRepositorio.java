@@ -0,0 +1,13 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.job.repositorio;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.job.modelo.CheckpointJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório para a entidade CheckpointJob.
+ * Responsabilidade Única: Acesso a dados de CheckpointJob.
+ */
+@Repository
+public interface CheckpointJobRepositorio extends JpaRepository<CheckpointJob, String> {
+}
@@ -3,6 +3,7 @@ package com.seuprojeto.gerenciadordeacessos.dominio.notificacao.servico;
 import com.seuprojeto.gerenciadordeacessos.dominio.notificacao.dto.NotificacaoDto;
 import org.springframework.stereotype.Service;
 
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
@@ -20,6 +21,10 @@ public class NotificacaoServico {
 
     private final CopyOnWriteArrayList<NotificacaoDto> notificacoes = new CopyOnWriteArrayList<>();
     private final AtomicLong idGenerator = new AtomicLong(0);
+    private final AtomicLong versao = new AtomicLong(0);
+
+    // A lista vive na memória de cada instância: a versão só é comparável dentro da mesma instância
+    private final String instancia = Long.toHexString(new SecureRandom().nextLong());
 
     public enum TipoNotificacao {
         ALERTA,
@@ -37,6 +42,7 @@ public class NotificacaoServico {
                 LocalDateTime.now()
         );
         notificacoes.add(novaNotificacao);
+        versao.incrementAndGet();
     }
 
     /**
@@ -48,11 +54,20 @@ public class NotificacaoServico {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Versão atual da lista, alterada a cada inclusão ou remoção.
+     */
+    public String getVersao() {
+        return instancia + "-" + Long.toHexString(versao.get());
+    }
+
     /**
      * Remove uma notificação pelo ID.
      */
     public void removerNotificacao(Long id) {
-        notificacoes.removeIf(n -> n.id().equals(id));
+        if (notificacoes.removeIf(n -> n.id().equals(id))) {
+            versao.incrementAndGet();
+        }
     }
 
     /**
@@ -60,5 +75,6 @@ public class NotificacaoServico {
      */
     public void limparTodas() {
         notificacoes.clear();
+        versao.incrementAndGet();
     }
 }
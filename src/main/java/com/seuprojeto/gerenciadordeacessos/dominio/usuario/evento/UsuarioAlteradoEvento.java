@@ -0,0 +1,31 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.usuario.evento;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+
+/**
+ * Evento publicado quando um usuário é criado ou alterado.
+ * Consumido após o commit da transação pelas estruturas em memória derivadas dos usuários (CacheUsuarios e
+ * TabelaVersoesSeguranca): antes do commit, uma leitura concorrente recarregaria a linha anterior.
+ * @param id ID do usuário.
+ * @param email Email.
+ * @param versaoSeguranca Versão de segurança.
+ * @param role Perfil.
+ * @param ativo Indica se o usuário está ativo.
+ */
+public record UsuarioAlteradoEvento(
+        Long id,
+        String email,
+        int versaoSeguranca,
+        Usuario.Role role,
+        boolean ativo
+) {
+    public static UsuarioAlteradoEvento de(Usuario usuario) {
+        return new UsuarioAlteradoEvento(
+                usuario.getId(),
+                usuario.getEmail(),
+                usuario.getVersaoSegurancaOuPadrao(),
+                usuario.getRole(),
+                Boolean.TRUE.equals(usuario.getAtivo())
+        );
+    }
+}
@@ -40,6 +40,11 @@ public class Usuario extends BaseAuditoria implements UserDetails {
     @Column(nullable = false)
     private Role role;
 
+    // Incrementada a cada mudança que deve invalidar tokens emitidos (desativação, troca de perfil, etc.)
+    @Column(name = "versao_seguranca")
+    @Builder.Default
+    private Integer versaoSeguranca = 0;
+
     public enum Role {
         ROLE_USER,
         ROLE_ADMIN
@@ -49,6 +54,10 @@ public class Usuario extends BaseAuditoria implements UserDetails {
         return this.role == Role.ROLE_ADMIN;
     }
 
+    public int getVersaoSegurancaOuPadrao() {
+        return versaoSeguranca != null ? versaoSeguranca : 0;
+    }
+
     // --- Implementação UserDetails ---
 
     @Override
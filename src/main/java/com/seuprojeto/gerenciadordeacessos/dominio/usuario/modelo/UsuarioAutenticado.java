@@ -0,0 +1,38 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo;
+
+import java.security.Principal;
+
+/**
+ * Principal leve do usuário autenticado, resolvido uma vez por requisição pelo FiltroJwt (a partir das claims
+ * do token ou do usuário carregado) e recebido pelos serviços. As verificações de permissão comparam o ID e o
+ * perfil, sem consultar o banco nem carregar o proprietário das entradas.
+ * @param id ID do usuário.
+ * @param email Email do usuário (usado como login).
+ * @param role Perfil de acesso do usuário.
+ */
+public record UsuarioAutenticado(
+        Long id,
+        String email,
+        Usuario.Role role
+) implements Principal {
+
+    public static UsuarioAutenticado de(Usuario usuario) {
+        return new UsuarioAutenticado(usuario.getId(), usuario.getEmail(), usuario.getRole());
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public boolean isAdmin() {
+        return role == Usuario.Role.ROLE_ADMIN;
+    }
+
+    /**
+     * Indica se o usuário é o proprietário identificado pelo ID.
+     */
+    public boolean isProprietario(Long idProprietario) {
+        return id.equals(idProprietario);
+    }
+}
@@ -0,0 +1,18 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.usuario.projecao;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+
+/**
+ * Projeção com os dados necessários para validar tokens sem carregar a entidade Usuario.
+ * @param id ID do usuário.
+ * @param versaoSeguranca Versão de segurança atual.
+ * @param role Perfil atual do usuário.
+ * @param ativo Indica se o usuário está ativo.
+ */
+public record VersaoSegurancaProjecao(
+        Long id,
+        Integer versaoSeguranca,
+        Usuario.Role role,
+        Boolean ativo
+) {
+}
@@ -1,9 +1,13 @@
 package com.seuprojeto.gerenciadordeacessos.dominio.usuario.repositorio;
 
 import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.projecao.VersaoSegurancaProjecao;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -22,4 +26,16 @@ public interface UsuarioRepositorio extends JpaRepository<Usuario, Long> {
      * Verifica se um email já está cadastrado.
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Lista a versão de segurança, o perfil e o status de todos os usuários.
+     */
+    @Query("SELECT new com.seuprojeto.gerenciadordeacessos.dominio.usuario.projecao.VersaoSegurancaProjecao(u.id, u.versaoSeguranca, u.role, u.ativo) FROM Usuario u")
+    List<VersaoSegurancaProjecao> findVersoesSeguranca();
+
+    /**
+     * Busca a versão de segurança, o perfil e o status de um usuário.
+     */
+    @Query("SELECT new com.seuprojeto.gerenciadordeacessos.dominio.usuario.projecao.VersaoSegurancaProjecao(u.id, u.versaoSeguranca, u.role, u.ativo) FROM Usuario u WHERE u.id = :id")
+    Optional<VersaoSegurancaProjecao> findVersaoSegurancaById(@Param("id") Long id);
 }
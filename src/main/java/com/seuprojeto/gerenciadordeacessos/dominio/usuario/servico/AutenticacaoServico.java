@@ -1,29 +1,34 @@
 package com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico;
 
+import com.seuprojeto.gerenciadordeacessos.core.seguranca.HashSenha;
+import com.seuprojeto.gerenciadordeacessos.core.seguranca.ListaRevogacaoTokens;
 import com.seuprojeto.gerenciadordeacessos.core.seguranca.ServicoToken;
 import com.seuprojeto.gerenciadordeacessos.dominio.usuario.dto.LoginRequisicaoDto;
 import com.seuprojeto.gerenciadordeacessos.dominio.usuario.dto.LoginRespostaDto;
 import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
 /**
  * Serviço de Lógica de Negócio para Autenticação.
  * Responsabilidade Única: Gerenciar o processo de login e geração de token.
+ * O usuário é carregado uma única vez e o BCrypt roda no pool limitado do HashSenha.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AutenticacaoServico {
 
-    private final AuthenticationManager authenticationManager;
+    private final HashSenha hashSenha;
     private final ServicoToken servicoToken;
     private final UsuarioServico usuarioServico;
+    private final ListaRevogacaoTokens listaRevogacaoTokens;
 
     /**
      * Autentica o usuário e gera o token JWT.
@@ -31,17 +36,28 @@ public class AutenticacaoServico {
     public LoginRespostaDto autenticar(LoginRequisicaoDto dto) {
         log.info("Tentativa de autenticação para o usuário: {}", dto.email());
 
-        // 1. Autentica o usuário via Spring Security
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(dto.email(), dto.senha())
-        );
+        // 1. Carrega o usuário (uma única vez) e verifica a senha no pool de login
+        Usuario usuario = usuarioServico.buscarEntidadeOpcionalPorEmail(dto.email()).orElse(null);
+        String hashArmazenado = usuario != null ? usuario.getSenha() : null;
 
-        // 2. Obtém os detalhes do usuário autenticado
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        Usuario usuario = usuarioServico.buscarEntidadePorEmail(userDetails.getUsername());
+        if (!hashSenha.verificarNoPoolDeLogin(dto.senha(), hashArmazenado)) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (!usuario.isEnabled()) {
+            throw new DisabledException("User is disabled");
+        }
 
-        // 3. Gera o token JWT
-        String token = servicoToken.gerarToken(userDetails);
+        // 2. Atualiza o hash se ele foi gerado com um custo menor que o configurado (rehash-on-login)
+        if (hashSenha.precisaAtualizar(hashArmazenado)) {
+            usuarioServico.atualizarHashSenha(usuario.getId(), hashSenha.gerarHashNoPoolDeLogin(dto.senha()));
+        }
+
+        // 3. Gera o token JWT, com as claims que permitem autenticar sem consultar o banco
+        String token = servicoToken.gerarToken(Map.of(
+                ServicoToken.CLAIM_ID_USUARIO, usuario.getId(),
+                ServicoToken.CLAIM_ROLE, usuario.getRole().name(),
+                ServicoToken.CLAIM_VERSAO_SEGURANCA, usuario.getVersaoSegurancaOuPadrao()
+        ), usuario);
 
         log.info("Autenticação bem-sucedida para o usuário: {}", usuario.getEmail());
 
@@ -52,4 +68,13 @@ public class AutenticacaoServico {
                 usuario.getRole().name()
         );
     }
+
+    /**
+     * Encerra a sessão revogando o token informado até a sua expiração natural.
+     */
+    public void logout(String token) {
+        Claims claims = servicoToken.extrairClaimsVerificadas(token);
+        listaRevogacaoTokens.revogarToken(claims.getId(), claims.getExpiration());
+        log.info("Logout realizado para o usuário: {}", claims.getSubject());
+    }
 }
@@ -0,0 +1,81 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.evento.UsuarioAlteradoEvento;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.repositorio.UsuarioRepositorio;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache de usuários por email, limitado por tamanho e por tempo de vida.
+ * Responsabilidade Única: Evitar consultas repetidas à tabela de usuários durante a mesma requisição e entre requisições.
+ *
+ * As entidades em cache estão desanexadas (detached) e são compartilhadas entre threads: devem ser tratadas
+ * como somente leitura. Alterações devem ser feitas em uma instância carregada do repositório e publicar um
+ * UsuarioAlteradoEvento: a invalidação acontece após o commit. Uma carga concorrente ainda em andamento nesse
+ * momento termina antes da invalidação (o Caffeine serializa as duas pela chave) e é descartada por ela.
+ *
+ * A carga roda numa transação de escrita própria para ler do primário mesmo com a réplica habilitada: o cache é
+ * compartilhado entre requisições, e um usuário lido de uma réplica atrasada logo após a invalidação voltaria
+ * ao cache desatualizado até o fim do TTL.
+ */
+@Service
+public class CacheUsuarios {
+
+    private final UsuarioRepositorio usuarioRepositorio;
+    private final TransactionTemplate transacaoCarga;
+    private final Cache<String, Usuario> cache;
+
+    public CacheUsuarios(
+            UsuarioRepositorio usuarioRepositorio,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${usuarios.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${usuarios.cache.ttl:PT5M}") Duration ttl
+    ) {
+        this.usuarioRepositorio = usuarioRepositorio;
+        this.transacaoCarga = new TransactionTemplate(transactionManager);
+        this.transacaoCarga.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "usuarios");
+    }
+
+    /**
+     * Busca o usuário pelo email, consultando o banco apenas em caso de ausência no cache.
+     * Emails inexistentes não são armazenados.
+     */
+    public Optional<Usuario> buscarPorEmail(String email) {
+        return Optional.ofNullable(cache.get(email, chave ->
+                transacaoCarga.execute(status -> usuarioRepositorio.findByEmail(chave).orElse(null))));
+    }
+
+    /**
+     * Remove o usuário do cache após uma alteração.
+     */
+    public void invalidar(String email) {
+        cache.invalidate(email);
+    }
+
+    /**
+     * Invalida o usuário alterado depois que a alteração foi confirmada.
+     */
+    @TransactionalEventListener
+    public void aoAlterarUsuario(UsuarioAlteradoEvento evento) {
+        invalidar(evento.email());
+    }
+}
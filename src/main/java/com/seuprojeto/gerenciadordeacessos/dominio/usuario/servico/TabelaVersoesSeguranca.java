@@ -0,0 +1,93 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.evento.UsuarioAlteradoEvento;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.projecao.VersaoSegurancaProjecao;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.repositorio.UsuarioRepositorio;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabela em memória das versões de segurança e perfis dos usuários.
+ * Responsabilidade Única: Permitir validar tokens stateless (sem consultar o banco) rejeitando
+ * tokens de usuários desativados, cujo perfil mudou ou cuja versão de segurança mudou após a emissão.
+ *
+ * Existe apenas no modo stateless (jwt.stateless.habilitado). É atualizada após o commit de cada alteração
+ * (UsuarioAlteradoEvento) e recarregada periodicamente, para refletir mudanças feitas por outras instâncias ou diretamente no banco.
+ */
+@Service
+@ConditionalOnProperty(name = "jwt.stateless.habilitado", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class TabelaVersoesSeguranca {
+
+    // Usuários inativos (ou inexistentes) são registrados com este estado, que nunca aceita um token
+    private static final EstadoSeguranca INATIVO = new EstadoSeguranca(-1, null);
+
+    private final UsuarioRepositorio usuarioRepositorio;
+
+    private final Map<Long, EstadoSeguranca> estados = new ConcurrentHashMap<>();
+
+    /**
+     * Carrega a tabela completa na inicialização e, depois, periodicamente.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.stateless.intervalo-recarga-ms:60000}", initialDelayString = "${jwt.stateless.intervalo-recarga-ms:60000}")
+    public void recarregar() {
+        for (VersaoSegurancaProjecao projecao : usuarioRepositorio.findVersoesSeguranca()) {
+            registrar(projecao);
+        }
+        log.debug("Tabela de versões de segurança recarregada: {} usuários.", estados.size());
+    }
+
+    /**
+     * Registra o estado de um usuário depois que a alteração foi confirmada.
+     */
+    @TransactionalEventListener
+    public void aoAlterarUsuario(UsuarioAlteradoEvento evento) {
+        estados.put(evento.id(), evento.ativo() ? new EstadoSeguranca(evento.versaoSeguranca(), evento.role()) : INATIVO);
+    }
+
+    /**
+     * Verifica se um token emitido com a versão e o perfil informados ainda é aceito para o usuário.
+     * Um usuário rebaixado (ou promovido) tem o token recusado, pois o perfil da claim deixou de ser o atual.
+     * Usuários ainda não conhecidos pela tabela são carregados individualmente (uma única vez); IDs inexistentes
+     * (ex: usuário excluído) ficam registrados como inativos, para não voltarem ao banco a cada requisição.
+     */
+    public boolean tokenAceito(Long idUsuario, int versaoToken, Usuario.Role roleToken) {
+        EstadoSeguranca estado = estados.get(idUsuario);
+        if (estado == null) {
+            estado = usuarioRepositorio.findVersaoSegurancaById(idUsuario)
+                    .map(TabelaVersoesSeguranca::estadoDe)
+                    .orElse(INATIVO);
+            // Não sobrescreve um estado registrado durante a consulta (ex: alteração confirmada nesse meio tempo)
+            EstadoSeguranca registrado = estados.putIfAbsent(idUsuario, estado);
+            if (registrado != null) {
+                estado = registrado;
+            }
+        }
+        return estado != INATIVO && estado.versao() == versaoToken && estado.role() == roleToken;
+    }
+
+    private void registrar(VersaoSegurancaProjecao projecao) {
+        estados.put(projecao.id(), estadoDe(projecao));
+    }
+
+    private static EstadoSeguranca estadoDe(VersaoSegurancaProjecao projecao) {
+        return Boolean.TRUE.equals(projecao.ativo())
+                ? new EstadoSeguranca(projecao.versaoSeguranca() != null ? projecao.versaoSeguranca() : 0, projecao.role())
+                : INATIVO;
+    }
+
+    private record EstadoSeguranca(int versao, Usuario.Role role) {
+    }
+}
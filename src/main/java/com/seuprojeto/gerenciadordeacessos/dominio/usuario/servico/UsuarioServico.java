@@ -3,16 +3,20 @@ package com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico;
 import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoNegocio;
 import com.seuprojeto.gerenciadordeacessos.core.exception.ExcecaoNaoEncontrado;
 import com.seuprojeto.gerenciadordeacessos.core.seguranca.HashSenha;
+import com.seuprojeto.gerenciadordeacessos.core.seguranca.ListaRevogacaoTokens;
 import com.seuprojeto.gerenciadordeacessos.dominio.usuario.dto.RegistrarUsuarioDto;
 import com.seuprojeto.gerenciadordeacessos.dominio.usuario.dto.UsuarioDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.evento.UsuarioAlteradoEvento;
 import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
 import com.seuprojeto.gerenciadordeacessos.dominio.usuario.repositorio.UsuarioRepositorio;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +30,9 @@ public class UsuarioServico {
 
     private final UsuarioRepositorio usuarioRepositorio;
     private final HashSenha hashSenha;
+    private final CacheUsuarios cacheUsuarios;
+    private final ListaRevogacaoTokens listaRevogacaoTokens;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Registra um novo usuário no sistema.
@@ -48,6 +55,8 @@ public class UsuarioServico {
         novoUsuario.setAtivo(true);
 
         Usuario salvo = usuarioRepositorio.save(novoUsuario);
+        // CacheUsuarios e TabelaVersoesSeguranca são atualizados após o commit
+        eventPublisher.publishEvent(UsuarioAlteradoEvento.de(salvo));
         log.info("Usuário registrado com sucesso: {}", salvo.getEmail());
         return UsuarioDto.fromEntity(salvo);
     }
@@ -55,6 +64,7 @@ public class UsuarioServico {
     /**
      * Busca um usuário pelo ID.
      */
+    @Transactional(readOnly = true)
     public UsuarioDto buscarPorId(Long id) {
         Usuario usuario = usuarioRepositorio.findById(id)
                 .orElseThrow(() -> new ExcecaoNaoEncontrado("Usuário não encontrado com ID: " + id));
@@ -64,6 +74,7 @@ public class UsuarioServico {
     /**
      * Lista todos os usuários ativos.
      */
+    @Transactional(readOnly = true)
     public List<UsuarioDto> listarTodos() {
         return usuarioRepositorio.findAll().stream()
                 .filter(Usuario::getAtivo)
@@ -72,10 +83,45 @@ public class UsuarioServico {
     }
 
     /**
-     * Busca a entidade Usuario pelo email.
+     * Substitui o hash da senha do usuário (ex: atualização do custo BCrypt no login).
+     */
+    @Transactional
+    public void atualizarHashSenha(Long id, String novoHash) {
+        Usuario usuario = usuarioRepositorio.findById(id)
+                .orElseThrow(() -> new ExcecaoNaoEncontrado("Usuário não encontrado com ID: " + id));
+        usuario.setSenha(novoHash);
+        usuarioRepositorio.save(usuario);
+        eventPublisher.publishEvent(UsuarioAlteradoEvento.de(usuario));
+        log.info("Hash de senha atualizado para o custo configurado: {}", usuario.getEmail());
+    }
+
+    /**
+     * Revoga todos os tokens já emitidos para o usuário (ex: credencial comprometida).
+     * Além da lista de revogação, incrementa a versão de segurança: no modo stateless, os tokens emitidos com a
+     * versão anterior deixam de ser aceitos pela TabelaVersoesSeguranca de todas as instâncias.
+     */
+    @Transactional
+    public void revogarTokens(Long id) {
+        Usuario usuario = usuarioRepositorio.findById(id)
+                .orElseThrow(() -> new ExcecaoNaoEncontrado("Usuário não encontrado com ID: " + id));
+        usuario.setVersaoSeguranca(usuario.getVersaoSegurancaOuPadrao() + 1);
+        Usuario salvo = usuarioRepositorio.save(usuario);
+        eventPublisher.publishEvent(UsuarioAlteradoEvento.de(salvo));
+        listaRevogacaoTokens.revogarTodosDoUsuario(salvo.getEmail(), System.currentTimeMillis());
+    }
+
+    /**
+     * Busca a entidade Usuario pelo email (via CacheUsuarios; a instância retornada é somente leitura).
      */
     public Usuario buscarEntidadePorEmail(String email) {
-        return usuarioRepositorio.findByEmail(email)
+        return cacheUsuarios.buscarPorEmail(email)
                 .orElseThrow(() -> new ExcecaoNaoEncontrado("Usuário não encontrado com email: " + email));
     }
+
+    /**
+     * Busca a entidade Usuario pelo email sem lançar exceção quando ausente (via CacheUsuarios).
+     */
+    public Optional<Usuario> buscarEntidadeOpcionalPorEmail(String email) {
+        return cacheUsuarios.buscarPorEmail(email);
+    }
 }
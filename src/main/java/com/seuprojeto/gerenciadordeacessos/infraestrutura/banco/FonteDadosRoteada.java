@@ -0,0 +1,100 @@
+package com.seuprojeto.gerenciadordeacessos.infraestrutura.banco;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * DataSource que encaminha as transações somente leitura para a réplica e todo o resto para o primário.
+ * Responsabilidade Única: Escolher o pool de cada conexão física.
+ *
+ * A escolha depende da transação corrente, por isso este DataSource deve ficar atrás de um
+ * LazyConnectionDataSourceProxy: a conexão física só é obtida no primeiro comando, quando a transação (e o seu
+ * readOnly) já foi iniciada.
+ *
+ * Leitura das próprias escritas: depois que um usuário confirma uma transação de escrita, as leituras dele vão
+ * ao primário durante uma janela curta, cobrindo o atraso da replicação. Os demais usuários continuam na réplica.
+ * Requisições anônimas não abrem nem usam a janela (não há como distinguir um visitante de outro).
+ *
+ * A janela é guardada na memória de cada instância: com várias instâncias atrás de um balanceador sem afinidade,
+ * a leitura seguinte à escrita pode cair em outra instância e ir à réplica. Nesse caso é preciso afinidade de
+ * sessão no balanceador (ex: pelo usuário do token) ou aceitar leituras atrasadas até o fim da replicação.
+ */
+public class FonteDadosRoteada extends AbstractRoutingDataSource {
+
+    public enum Destino {
+        PRIMARIO,
+        REPLICA
+    }
+
+    // Usuários com escrita confirmada dentro da janela (a entrada expira sozinha ao fim dela)
+    private final Cache<String, Boolean> escritasRecentes;
+
+    private final Counter leiturasReplica;
+    private final Counter leiturasPrimarioAposEscrita;
+    private final Counter escritas;
+
+    public FonteDadosRoteada(DataSource primario, DataSource replica, Duration janelaLeituraPropria, MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+        this.escritasRecentes = Caffeine.newBuilder()
+                .expireAfterWrite(janelaLeituraPropria)
+                .maximumSize(100_000)
+                .build();
+
+        this.leiturasReplica = Counter.builder("banco.roteamento").tag("destino", "replica")
+                .description("Conexões obtidas por destino").register(meterRegistry);
+        this.leiturasPrimarioAposEscrita = Counter.builder("banco.roteamento").tag("destino", "primario-leitura-propria")
+                .description("Conexões obtidas por destino").register(meterRegistry);
+        this.escritas = Counter.builder("banco.roteamento").tag("destino", "primario")
+                .description("Conexões obtidas por destino").register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String usuario = usuarioAtual();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            escritas.increment();
+            registrarEscrita(usuario);
+            return Destino.PRIMARIO;
+        }
+        if (usuario != null && escritasRecentes.getIfPresent(usuario) != null) {
+            leiturasPrimarioAposEscrita.increment();
+            return Destino.PRIMARIO;
+        }
+        leiturasReplica.increment();
+        return Destino.REPLICA;
+    }
+
+    /**
+     * Abre a janela de leitura das próprias escritas do usuário quando a transação de escrita for confirmada.
+     */
+    private void registrarEscrita(String usuario) {
+        if (usuario == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                escritasRecentes.put(usuario, Boolean.TRUE);
+            }
+        });
+    }
+
+    private static String usuarioAtual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)
+                ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.seuprojeto.gerenciadordeacessos.infraestrutura.ratelimit;
+
+import com.seuprojeto.gerenciadordeacessos.config.ConfiguracaoRateLimiting;
+
+/**
+ * Armazenamento dos buckets de rate limiting.
+ * Responsabilidade Única: Consumir um token do bucket identificado pela política e pela chave.
+ *
+ * A implementação é escolhida por rate-limit.armazenamento: "local" (memória da instância)
+ * ou "jdbc" (estado compartilhado entre instâncias no banco de dados).
+ */
+public interface ArmazenamentoBuckets {
+
+    ConsumoRateLimit consumir(ConfiguracaoRateLimiting.Politica politica, String chave);
+}
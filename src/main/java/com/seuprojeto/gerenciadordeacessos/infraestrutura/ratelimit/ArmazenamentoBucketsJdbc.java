@@ -0,0 +1,196 @@
+package com.seuprojeto.gerenciadordeacessos.infraestrutura.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.seuprojeto.gerenciadordeacessos.config.ConfiguracaoRateLimiting;
+import com.seuprojeto.gerenciadordeacessos.config.PropriedadesRateLimiting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Armazenamento dos buckets compartilhado entre instâncias, na tabela rate_limit_buckets (criada pelas migrações).
+ * Responsabilidade Única: Aplicar o limite configurado ao cluster inteiro, e não a cada instância.
+ *
+ * Cada linha guarda os tokens restantes da janela atual e é atualizada por compare-and-swap na coluna
+ * versao. Para manter o banco fora do caminho da maioria das requisições, cada instância arrenda um
+ * lote de tokens (no máximo 1/20 da capacidade) e os consome localmente; um bucket esgotado também
+ * fica registrado localmente até o fim da janela. O desvio é limitado: tokens arrendados e não usados
+ * por uma instância (no máximo um lote por instância e janela) não são aproveitados pelas outras,
+ * mas o limite configurado nunca é ultrapassado.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.armazenamento", havingValue = "jdbc")
+@Slf4j
+public class ArmazenamentoBucketsJdbc implements ArmazenamentoBuckets {
+
+    private static final int TENTATIVAS_CAS = 5;
+    private static final long DIVISOR_LOTE = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, Concessao> concessoes;
+    private final long loteMaximo;
+    private final Duration maiorPeriodo;
+    private final Counter arrendamentos;
+
+    public ArmazenamentoBucketsJdbc(
+            JdbcTemplate jdbcTemplate,
+            PropriedadesRateLimiting propriedades,
+            @Value("${rate-limit.buckets.maximo:100000}") long maximoBuckets,
+            @Value("${rate-limit.distribuido.lote-maximo:50}") long loteMaximo,
+            MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.loteMaximo = Math.max(1, loteMaximo);
+        this.maiorPeriodo = propriedades.maiorPeriodo();
+        this.concessoes = Caffeine.newBuilder()
+                .maximumSize(maximoBuckets)
+                .expireAfterAccess(maiorPeriodo.isZero() ? Duration.ofMinutes(1) : maiorPeriodo)
+                .build();
+
+        Gauge.builder("rate-limit.buckets", concessoes, Cache::estimatedSize)
+                .description("Quantidade de buckets de rate limiting em memória")
+                .register(meterRegistry);
+        this.arrendamentos = Counter.builder("rate-limit.distribuido.arrendamentos")
+                .description("Acessos ao banco para arrendar lotes de tokens")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ConsumoRateLimit consumir(ConfiguracaoRateLimiting.Politica politica, String chave) {
+        String chaveBucket = politica.nome() + '|' + chave;
+        Concessao concessao = concessoes.get(chaveBucket, k -> new Concessao());
+
+        // O bloqueio é por chave: só requisições do mesmo bucket aguardam um arrendamento em andamento
+        synchronized (concessao) {
+            long agora = System.currentTimeMillis();
+            if (agora >= concessao.fimJanela) {
+                // Tokens arrendados valem apenas para a janela em que foram obtidos
+                concessao.tokens = 0;
+                concessao.esgotado = false;
+            }
+
+            if (concessao.tokens == 0 && !concessao.esgotado) {
+                try {
+                    arrendar(chaveBucket, politica, agora, concessao);
+                } catch (DataAccessException e) {
+                    // A indisponibilidade do banco não deve derrubar a API: a requisição é permitida
+                    log.warn("Rate limiting distribuído indisponível para o bucket {}: {}", chaveBucket, e.getMessage());
+                    return new ConsumoRateLimit(true, 0, 0);
+                }
+            }
+
+            if (concessao.tokens > 0) {
+                concessao.tokens--;
+                return new ConsumoRateLimit(true, concessao.tokens + concessao.restantesGlobal, 0);
+            }
+            long nanosParaRecarga = TimeUnit.MILLISECONDS.toNanos(Math.max(0, concessao.fimJanela - agora));
+            return new ConsumoRateLimit(false, 0, nanosParaRecarga);
+        }
+    }
+
+    /**
+     * Remove buckets cuja janela terminou há tempo suficiente para estarem cheios novamente.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.distribuido.intervalo-limpeza-ms:600000}", initialDelayString = "${rate-limit.distribuido.intervalo-limpeza-ms:600000}")
+    public void limparBucketsExpirados() {
+        long limite = System.currentTimeMillis() - 2 * maiorPeriodo.toMillis();
+        int removidos = jdbcTemplate.update("DELETE FROM rate_limit_buckets WHERE inicio_janela < ?", limite);
+        log.debug("Rate limiting distribuído: {} buckets expirados removidos.", removidos);
+    }
+
+    /**
+     * Retira um lote de tokens do bucket compartilhado, criando-o ou iniciando uma nova janela se necessário.
+     */
+    private void arrendar(String chaveBucket, ConfiguracaoRateLimiting.Politica politica, long agora, Concessao concessao) {
+        long periodoMs = politica.periodo().toMillis();
+        long lote = Math.min(loteMaximo, Math.max(1, politica.capacidade() / DIVISOR_LOTE));
+
+        for (int tentativa = 0; tentativa < TENTATIVAS_CAS; tentativa++) {
+            arrendamentos.increment();
+            List<EstadoBucket> estados = jdbcTemplate.query(
+                    "SELECT tokens, inicio_janela, versao FROM rate_limit_buckets WHERE chave = ?",
+                    (rs, i) -> new EstadoBucket(rs.getLong(1), rs.getLong(2), rs.getLong(3)),
+                    chaveBucket);
+
+            if (estados.isEmpty()) {
+                long arrendados = Math.min(lote, politica.capacidade());
+                try {
+                    jdbcTemplate.update("INSERT INTO rate_limit_buckets (chave, tokens, inicio_janela, versao) VALUES (?, ?, ?, 0)",
+                            chaveBucket, politica.capacidade() - arrendados, agora);
+                } catch (DuplicateKeyException e) {
+                    continue; // Outra instância criou o bucket; relê o estado
+                }
+                concessao.registrar(arrendados, politica.capacidade() - arrendados, agora + periodoMs);
+                return;
+            }
+
+            EstadoBucket estado = estados.get(0);
+            long inicioJanela = estado.inicioJanela();
+            long tokens = estado.tokens();
+            if (agora - inicioJanela >= periodoMs) {
+                // Recarga por intervalo: a cada período completo o bucket volta à capacidade total
+                inicioJanela += ((agora - inicioJanela) / periodoMs) * periodoMs;
+                tokens = politica.capacidade();
+            }
+
+            long arrendados = Math.min(lote, tokens);
+            if (arrendados == 0) {
+                concessao.registrarEsgotado(inicioJanela + periodoMs);
+                return;
+            }
+
+            int atualizados = jdbcTemplate.update(
+                    "UPDATE rate_limit_buckets SET tokens = ?, inicio_janela = ?, versao = versao + 1 WHERE chave = ? AND versao = ?",
+                    tokens - arrendados, inicioJanela, chaveBucket, estado.versao());
+            if (atualizados == 1) {
+                concessao.registrar(arrendados, tokens - arrendados, inicioJanela + periodoMs);
+                return;
+            }
+        }
+
+        // Disputa intensa pelo mesmo bucket em todas as tentativas: trata como esgotado por um instante
+        log.debug("Rate limiting distribuído: compare-and-swap não convergiu para o bucket {}.", chaveBucket);
+        concessao.registrarEsgotado(agora + TimeUnit.SECONDS.toMillis(1));
+    }
+
+    private record EstadoBucket(long tokens, long inicioJanela, long versao) {
+    }
+
+    /**
+     * Tokens arrendados por esta instância para um bucket, válidos até o fim da janela.
+     * Acessada somente sob o bloqueio da própria instância.
+     */
+    private static final class Concessao {
+        private long tokens;
+        private long restantesGlobal;
+        private long fimJanela;
+        private boolean esgotado;
+
+        void registrar(long tokens, long restantesGlobal, long fimJanela) {
+            this.tokens = tokens;
+            this.restantesGlobal = restantesGlobal;
+            this.fimJanela = fimJanela;
+            this.esgotado = false;
+        }
+
+        void registrarEsgotado(long fimJanela) {
+            this.tokens = 0;
+            this.restantesGlobal = 0;
+            this.fimJanela = fimJanela;
+            this.esgotado = true;
+        }
+    }
+}
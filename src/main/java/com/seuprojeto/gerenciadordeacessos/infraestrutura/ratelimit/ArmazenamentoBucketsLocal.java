@@ -0,0 +1,62 @@
+package com.seuprojeto.gerenciadordeacessos.infraestrutura.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.seuprojeto.gerenciadordeacessos.config.ConfiguracaoRateLimiting;
+import com.seuprojeto.gerenciadordeacessos.config.PropriedadesRateLimiting;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Armazenamento dos buckets na memória da instância, usando Bucket4j.
+ * Responsabilidade Única: Manter os buckets por política e chave em um cache limitado.
+ *
+ * Buckets ociosos por mais tempo que o maior período de recarga são descartados (um bucket recriado
+ * começa cheio, exatamente como o descartado estaria) e o total de entradas tem um teto, de modo que
+ * uma varredura de IPs não faz o heap crescer sem limite.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.armazenamento", havingValue = "local", matchIfMissing = true)
+public class ArmazenamentoBucketsLocal implements ArmazenamentoBuckets {
+
+    private final Cache<String, Bucket> cacheBuckets;
+
+    public ArmazenamentoBucketsLocal(
+            PropriedadesRateLimiting propriedades,
+            @Value("${rate-limit.buckets.maximo:100000}") long maximoBuckets,
+            @Value("${rate-limit.buckets.expiracao-ociosa:PT2M}") Duration expiracaoOciosa,
+            MeterRegistry meterRegistry
+    ) {
+        Duration maiorPeriodo = propriedades.maiorPeriodo();
+        this.cacheBuckets = Caffeine.newBuilder()
+                .maximumSize(maximoBuckets)
+                .expireAfterAccess(expiracaoOciosa.compareTo(maiorPeriodo) >= 0 ? expiracaoOciosa : maiorPeriodo)
+                .build();
+
+        Gauge.builder("rate-limit.buckets", cacheBuckets, Cache::estimatedSize)
+                .description("Quantidade de buckets de rate limiting em memória")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ConsumoRateLimit consumir(ConfiguracaoRateLimiting.Politica politica, String chave) {
+        Bucket bucket = cacheBuckets.get(politica.nome() + '|' + chave, k -> criarNovoBucket(politica));
+        ConsumptionProbe consumo = bucket.tryConsumeAndReturnRemaining(1);
+        return new ConsumoRateLimit(consumo.isConsumed(), consumo.getRemainingTokens(), consumo.getNanosToWaitForRefill());
+    }
+
+    private Bucket criarNovoBucket(ConfiguracaoRateLimiting.Politica politica) {
+        return Bucket.builder()
+                .addLimit(Bandwidth.classic(politica.capacidade(), Refill.intervally(politica.capacidade(), politica.periodo())))
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.seuprojeto.gerenciadordeacessos.infraestrutura.ratelimit;
+
+/**
+ * Resultado de uma tentativa de consumo de um bucket de rate limiting.
+ *
+ * @param consumido        se a requisição foi permitida.
+ * @param restantes        tokens ainda disponíveis (estimativa no modo distribuído).
+ * @param nanosParaRecarga tempo até haver token disponível, quando a requisição foi rejeitada.
+ */
+public record ConsumoRateLimit(boolean consumido, long restantes, long nanosParaRecarga) {
+}
@@ -1,30 +1,50 @@
 package com.seuprojeto.gerenciadordeacessos.infraestrutura.seguranca;
 
+import com.seuprojeto.gerenciadordeacessos.core.seguranca.ListaRevogacaoTokens;
 import com.seuprojeto.gerenciadordeacessos.core.seguranca.ServicoToken;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.UsuarioAutenticado;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico.TabelaVersoesSeguranca;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Filtro JWT.
  * Responsabilidade Única: Interceptar requisições, extrair o token JWT e autenticar o usuário.
+ * No modo stateless (jwt.stateless.habilitado), a autenticação é montada apenas a partir das claims do token,
+ * sem consultar o banco; a TabelaVersoesSeguranca rejeita tokens de usuários desativados ou alterados.
+ *
+ * Tokens inválidos (malformados, forjados, expirados ou de usuários inexistentes) nunca interrompem a cadeia:
+ * a requisição segue como anônima, passa pelo FiltroRateLimiting (limitada pelo IP) e é barrada pelas
+ * regras de autorização.
  */
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class FiltroJwt extends OncePerRequestFilter {
 
     private final ServicoToken servicoToken;
     private final UsuarioDetailsServiceImpl userDetailsService;
+    private final ObjectProvider<TabelaVersoesSeguranca> tabelaVersoesSeguranca; // Presente apenas com jwt.stateless.habilitado
+    private final ListaRevogacaoTokens listaRevogacaoTokens;
 
     @Override
     protected void doFilterInternal(
@@ -34,6 +54,7 @@ public class FiltroJwt extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
+        final Claims claims;
         final String emailUsuario;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -42,23 +63,70 @@ public class FiltroJwt extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        emailUsuario = servicoToken.extrairEmail(jwt);
+        try {
+            // Decodifica e verifica o token uma única vez (ou o obtém do cache de tokens verificados)
+            claims = servicoToken.extrairClaimsVerificadas(jwt);
+            emailUsuario = claims.getSubject();
 
-        if (emailUsuario != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(emailUsuario);
-
-            if (servicoToken.validarToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            // Tokens revogados seguem como requisição anônima (e são barrados pelas regras de autorização)
+            if (emailUsuario != null && SecurityContextHolder.getContext().getAuthentication() == null
+                    && !listaRevogacaoTokens.revogado(claims)) {
+                TabelaVersoesSeguranca tabela = tabelaVersoesSeguranca.getIfAvailable();
+                if (tabela != null && possuiClaimsStateless(claims)) {
+                    autenticarPorClaims(claims, tabela, request);
+                } else {
+                    autenticarPorUsuario(claims, emailUsuario, request);
+                }
             }
+        } catch (JwtException | IllegalArgumentException | UsernameNotFoundException e) {
+            // IllegalArgumentException: token vazio ou claim de perfil desconhecida
+            log.debug("Token JWT rejeitado, requisição segue como anônima: {}", e.getMessage());
         }
         filterChain.doFilter(request, response);
     }
+
+    private void autenticarPorUsuario(Claims claims, String emailUsuario, HttpServletRequest request) {
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(emailUsuario);
+
+        if (servicoToken.validarClaims(claims, userDetails)) {
+            // O principal é sempre o UsuarioAutenticado, como no modo stateless (a entidade fica no CacheUsuarios)
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    UsuarioAutenticado.de((Usuario) userDetails),
+                    null,
+                    userDetails.getAuthorities()
+            );
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+    }
+
+    private boolean possuiClaimsStateless(Claims claims) {
+        return claims.get(ServicoToken.CLAIM_ID_USUARIO) != null
+                && claims.get(ServicoToken.CLAIM_ROLE) != null
+                && claims.get(ServicoToken.CLAIM_VERSAO_SEGURANCA) != null;
+    }
+
+    private void autenticarPorClaims(Claims claims, TabelaVersoesSeguranca tabela, HttpServletRequest request) {
+        Long idUsuario = claims.get(ServicoToken.CLAIM_ID_USUARIO, Number.class).longValue();
+        int versaoSeguranca = claims.get(ServicoToken.CLAIM_VERSAO_SEGURANCA, Number.class).intValue();
+        Usuario.Role role = Usuario.Role.valueOf(claims.get(ServicoToken.CLAIM_ROLE, String.class));
+
+        // O perfil da claim precisa ser o atual: tokens de usuários rebaixados deixam de ser aceitos
+        if (!servicoToken.validarClaims(claims) || !tabela.tokenAceito(idUsuario, versaoSeguranca, role)) {
+            return;
+        }
+
+        UsuarioAutenticado principal = new UsuarioAutenticado(idUsuario, claims.getSubject(), role);
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                List.of(new SimpleGrantedAuthority(role.name()))
+        );
+        authToken.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request)
+        );
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
@@ -1,55 +1,83 @@
 package com.seuprojeto.gerenciadordeacessos.infraestrutura.seguranca;
 
 import com.seuprojeto.gerenciadordeacessos.config.ConfiguracaoRateLimiting;
-import io.github.bucket4j.Bucket;
+import com.seuprojeto.gerenciadordeacessos.infraestrutura.ratelimit.ConsumoRateLimit;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Filtro de Rate Limiting (Limitação de Taxa).
- * Responsabilidade Única: Interceptar requisições e aplicar a limitação de taxa por IP.
+ * Responsabilidade Única: Interceptar requisições e aplicar a política de limitação correspondente,
+ * por usuário autenticado ou por IP. Executa após o FiltroJwt para conhecer o usuário.
  */
 @Component
 @RequiredArgsConstructor
 public class FiltroRateLimiting extends OncePerRequestFilter {
 
+    private static final String HEADER_LIMITE = "X-RateLimit-Limit";
+    private static final String HEADER_RESTANTE = "X-RateLimit-Remaining";
+
     private final ConfiguracaoRateLimiting configuracaoRateLimiting;
+    private final ResolvedorIpCliente resolvedorIpCliente;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        // Ignora endpoints públicos (autenticação, swagger, static)
-        String path = request.getRequestURI();
-        if (path.startsWith("/api/auth") || path.startsWith("/swagger-ui") || path.startsWith("/v3/api-docs") || path.startsWith("/h2-console") || path.startsWith("/index.html") || path.startsWith("/app.js")) {
+        PathContainer rota = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+
+        // Ignora endpoints configurados (swagger, console, static)
+        if (configuracaoRateLimiting.isIgnorada(rota)) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        // Obtém o IP do cliente (considerando proxies)
-        String ipCliente = Optional.ofNullable(request.getHeader("X-Forwarded-For"))
-                .map(header -> header.split(",")[0].trim())
-                .orElse(request.getRemoteAddr());
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        ConfiguracaoRateLimiting.Politica politica = configuracaoRateLimiting.resolverPolitica(rota, request.getMethod(), autenticacao);
+        if (politica == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-        Bucket bucket = configuracaoRateLimiting.resolverBucket(ipCliente);
+        ConsumoRateLimit consumo = configuracaoRateLimiting.consumir(politica, resolverChave(politica, autenticacao, request));
 
-        if (bucket.tryConsume(1)) {
+        response.setHeader(HEADER_LIMITE, String.valueOf(politica.capacidade()));
+        response.setHeader(HEADER_RESTANTE, String.valueOf(consumo.restantes()));
+
+        if (consumo.consumido()) {
             // Requisição permitida
             filterChain.doFilter(request, response);
         } else {
             // Requisição bloqueada
+            configuracaoRateLimiting.registrarRejeicao();
+            long segundosEspera = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(consumo.nanosParaRecarga() + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundosEspera));
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             response.getWriter().write("Limite de requisições excedido. Tente novamente em breve.");
             response.getWriter().flush();
         }
     }
+
+    private String resolverChave(ConfiguracaoRateLimiting.Politica politica, Authentication autenticacao, HttpServletRequest request) {
+        boolean autenticado = autenticacao != null && autenticacao.isAuthenticated() && !(autenticacao instanceof AnonymousAuthenticationToken);
+        if (politica.porUsuario() && autenticado) {
+            return "u:" + autenticacao.getName();
+        }
+        // Obtém o IP do cliente (considerando apenas proxies confiáveis)
+        return "ip:" + resolvedorIpCliente.resolver(request);
+    }
 }
@@ -0,0 +1,67 @@
+package com.seuprojeto.gerenciadordeacessos.infraestrutura.seguranca;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Resolvedor do IP do cliente.
+ * Responsabilidade Única: Determinar o IP real do cliente, confiando no X-Forwarded-For
+ * somente quando a conexão vem de um proxy configurado (rate-limit.proxies-confiaveis).
+ */
+@Component
+public class ResolvedorIpCliente {
+
+    private final List<IpAddressMatcher> proxiesConfiaveis;
+
+    public ResolvedorIpCliente(@Value("${rate-limit.proxies-confiaveis:}") String[] proxiesConfiaveis) {
+        this.proxiesConfiaveis = Arrays.stream(proxiesConfiaveis)
+                .map(String::trim)
+                .filter(cidr -> !cidr.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    /**
+     * Resolve o IP do cliente. O X-Forwarded-For é percorrido da direita para a esquerda (do proxy
+     * mais próximo ao mais distante) e o primeiro endereço que não é um proxy confiável é o do cliente.
+     */
+    public String resolver(HttpServletRequest request) {
+        String ipConexao = request.getRemoteAddr();
+        if (!confiavel(ipConexao)) {
+            return ipConexao;
+        }
+
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor == null || forwardedFor.isBlank()) {
+            return ipConexao;
+        }
+
+        String[] saltos = forwardedFor.split(",");
+        for (int i = saltos.length - 1; i >= 0; i--) {
+            String ip = saltos[i].trim();
+            if (!ip.isEmpty() && !confiavel(ip)) {
+                return ip;
+            }
+        }
+        return ipConexao;
+    }
+
+    private boolean confiavel(String ip) {
+        for (IpAddressMatcher proxy : proxiesConfiaveis) {
+            try {
+                if (proxy.matches(ip)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // Valor que não é um endereço IP (ex: cabeçalho forjado): nunca é confiável
+                return false;
+            }
+        }
+        return false;
+    }
+}
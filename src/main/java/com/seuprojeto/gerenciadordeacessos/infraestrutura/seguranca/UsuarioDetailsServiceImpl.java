@@ -1,6 +1,6 @@
 package com.seuprojeto.gerenciadordeacessos.infraestrutura.seguranca;
 
-import com.seuprojeto.gerenciadordeacessos.dominio.usuario.repositorio.UsuarioRepositorio;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico.CacheUsuarios;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -9,17 +9,17 @@ import org.springframework.stereotype.Service;
 
 /**
  * Implementação do UserDetailsService do Spring Security.
- * Responsabilidade Única: Carregar o usuário pelo email para autenticação.
+ * Responsabilidade Única: Carregar o usuário pelo email para autenticação (via CacheUsuarios).
  */
 @Service
 @RequiredArgsConstructor
 public class UsuarioDetailsServiceImpl implements UserDetailsService {
 
-    private final UsuarioRepositorio usuarioRepositorio;
+    private final CacheUsuarios cacheUsuarios;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return usuarioRepositorio.findByEmail(email)
+        return cacheUsuarios.buscarPorEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + email));
     }
 }
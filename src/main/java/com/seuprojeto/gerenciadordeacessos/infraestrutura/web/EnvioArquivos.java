@@ -0,0 +1,61 @@
+package com.seuprojeto.gerenciadordeacessos.infraestrutura.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Envio de arquivos locais grandes na resposta HTTP.
+ * Responsabilidade Única: Transferir o arquivo sem copiá-lo pelo heap da aplicação.
+ *
+ * Com o conector NIO do Tomcat, o arquivo é entregue ao sendfile do container: depois que o controller retorna,
+ * o kernel copia o arquivo do page cache direto para o socket. Sem esse suporte (ex.: HTTPS ou outro container),
+ * usa FileChannel.transferTo para o stream da resposta.
+ */
+@Component
+@Slf4j
+public class EnvioArquivos {
+
+    private static final String SENDFILE_SUPORTADO = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_ARQUIVO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIM = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Escreve o arquivo como anexo na resposta.
+     */
+    public void enviar(Path arquivo, String contentType, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path caminho = arquivo.toRealPath();
+        long tamanho = Files.size(caminho);
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + caminho.getFileName() + "\"");
+        response.setContentLengthLong(tamanho);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPORTADO))) {
+            request.setAttribute(SENDFILE_ARQUIVO, caminho.toString());
+            request.setAttribute(SENDFILE_INICIO, 0L);
+            request.setAttribute(SENDFILE_FIM, tamanho);
+            log.debug("Enviando {} ({} bytes) via sendfile.", caminho.getFileName(), tamanho);
+            return;
+        }
+
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ)) {
+            WritableByteChannel destino = Channels.newChannel(response.getOutputStream());
+            long posicao = 0;
+            while (posicao < tamanho) {
+                posicao += canal.transferTo(posicao, tamanho - posicao, destino);
+            }
+        }
+        response.flushBuffer();
+    }
+}
@@ -0,0 +1,49 @@
+package com.seuprojeto.gerenciadordeacessos.infraestrutura.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Respostas GET condicionais com ETag fraco.
+ * Responsabilidade Única: Responder 304 (Not Modified) quando a versão do recurso não mudou,
+ * sem montar nem serializar o corpo.
+ *
+ * A versão deve ser barata de calcular (contador ou agregado) e mudar sempre que o corpo mudar. Ela é lida
+ * antes do corpo: uma escrita concorrente pode tornar o corpo mais novo que o ETag, nunca o contrário.
+ */
+@Component
+@RequiredArgsConstructor
+public class RespostasCondicionais {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Responde 304 se o If-None-Match da requisição corresponde à versão atual; caso contrário, monta o corpo
+     * e o devolve com o ETag da versão.
+     * @param recurso Nome do recurso, usado como tag das métricas.
+     * @return null quando a resposta 304 já foi preparada na requisição.
+     */
+    public <T> ResponseEntity<T> responder(String recurso, WebRequest request, Supplier<String> versao, Supplier<T> corpo) {
+        String etag = "W/\"" + versao.get() + "\"";
+        if (request.checkNotModified(etag)) {
+            contador(recurso, "acerto").increment();
+            return null;
+        }
+        contador(recurso, request.getHeader("If-None-Match") != null ? "falha" : "sem-etag").increment();
+        return ResponseEntity.ok().eTag(etag).body(corpo.get());
+    }
+
+    private Counter contador(String recurso, String resultado) {
+        return Counter.builder("http.etag")
+                .description("Requisições condicionais por recurso e resultado da validação do ETag")
+                .tag("recurso", recurso)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
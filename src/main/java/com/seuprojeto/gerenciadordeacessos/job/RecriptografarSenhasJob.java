@@ -0,0 +1,185 @@
+package com.seuprojeto.gerenciadordeacessos.job;
+
+import com.seuprojeto.gerenciadordeacessos.core.seguranca.ResultadoCriptografia;
+import com.seuprojeto.gerenciadordeacessos.core.seguranca.ServicoCriptografia;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.SenhaCifradaProjecao;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.repositorio.EntradaAcessoRepositorio;
+import com.seuprojeto.gerenciadordeacessos.dominio.job.modelo.CheckpointJob;
+import com.seuprojeto.gerenciadordeacessos.dominio.job.repositorio.CheckpointJobRepositorio;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Job Agendado para recriptografar as senhas com a chave ativa após uma rotação de chaves.
+ * Responsabilidade Única: Migrar, em background, as senhas cifradas com versões antigas de chave.
+ *
+ * A tabela é percorrida em páginas por ID (keyset), cada página é gravada em uma transação curta
+ * e o checkpoint é salvo junto, permitindo retomar o processo após reinícios.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecriptografarSenhasJob {
+
+    private static final String NOME_JOB = "recriptografar-senhas";
+
+    private final EntradaAcessoRepositorio acessoRepositorio;
+    private final CheckpointJobRepositorio checkpointRepositorio;
+    private final ServicoCriptografia servicoCriptografia;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${job.recriptografia.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${job.recriptografia.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${job.recriptografia.pausa-entre-lotes-ms:200}")
+    private long pausaEntreLotesMs;
+
+    private final AtomicBoolean emExecucao = new AtomicBoolean(false);
+    private final AtomicLong processados = new AtomicLong();
+    private final AtomicLong alterados = new AtomicLong();
+
+    @PostConstruct
+    void registrarMetricas() {
+        Gauge.builder("criptografia.recriptografia.processados", processados, AtomicLong::get)
+                .description("Entradas verificadas pela recriptografia em andamento")
+                .register(meterRegistry);
+        Gauge.builder("criptografia.recriptografia.alterados", alterados, AtomicLong::get)
+                .description("Entradas recriptografadas com a chave ativa")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executa (ou retoma) a recriptografia periodicamente. Termina rapidamente quando não há trabalho pendente.
+     */
+    @Scheduled(fixedDelayString = "${job.recriptografia.intervalo-ms:300000}", initialDelayString = "${job.recriptografia.atraso-inicial-ms:60000}")
+    public void recriptografar() {
+        if (!habilitado || !emExecucao.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executar();
+        } finally {
+            emExecucao.set(false);
+        }
+    }
+
+    private void executar() {
+        int versaoAtiva = servicoCriptografia.getVersaoAtiva();
+        CheckpointJob checkpoint = checkpointRepositorio.findById(NOME_JOB).orElseGet(() -> novoCheckpoint(versaoAtiva));
+
+        // Uma nova rotação de chave reinicia a varredura
+        if (checkpoint.getVersaoAlvo() == null || checkpoint.getVersaoAlvo() != versaoAtiva) {
+            checkpoint = novoCheckpoint(versaoAtiva);
+        } else if (checkpoint.getConcluido()) {
+            return;
+        }
+
+        log.info("JOB: Iniciando recriptografia para a chave versão {} a partir do ID {}.", versaoAtiva, checkpoint.getUltimoId());
+        processados.set(checkpoint.getProcessados());
+        alterados.set(checkpoint.getAlterados());
+
+        while (true) {
+            List<SenhaCifradaProjecao> lote = acessoRepositorio.findSenhasCifradasAposId(
+                    checkpoint.getUltimoId(), PageRequest.of(0, tamanhoLote));
+
+            if (lote.isEmpty()) {
+                checkpoint.setConcluido(true);
+                salvarCheckpoint(checkpoint);
+                log.info("JOB: Recriptografia concluída. {} entradas verificadas, {} recriptografadas.",
+                        checkpoint.getProcessados(), checkpoint.getAlterados());
+                return;
+            }
+
+            processarLote(lote, checkpoint);
+            log.info("JOB: Recriptografia em andamento: {} entradas verificadas, {} recriptografadas (último ID {}).",
+                    checkpoint.getProcessados(), checkpoint.getAlterados(), checkpoint.getUltimoId());
+
+            if (!pausar()) {
+                return;
+            }
+        }
+    }
+
+    private void processarLote(List<SenhaCifradaProjecao> lote, CheckpointJob checkpoint) {
+        List<SenhaCifradaProjecao> pendentes = lote.stream()
+                .filter(entrada -> servicoCriptografia.precisaRecriptografar(entrada.senhaCriptografada()))
+                .toList();
+
+        List<ResultadoCriptografia> resultados = servicoCriptografia.recriptografarLote(
+                pendentes.stream().map(SenhaCifradaProjecao::senhaCriptografada).toList());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            long alteradosLote = 0;
+            for (int i = 0; i < pendentes.size(); i++) {
+                SenhaCifradaProjecao entrada = pendentes.get(i);
+                ResultadoCriptografia resultado = resultados.get(i);
+                if (!resultado.isSucesso()) {
+                    log.error("JOB: Falha ao recriptografar o acesso ID {}.", entrada.id(), resultado.erro());
+                    continue;
+                }
+                // Se a senha foi alterada pelo usuário desde a leitura, ela já está com a chave ativa
+                alteradosLote += acessoRepositorio.substituirSenhaCriptografada(
+                        entrada.id(), entrada.senhaCriptografada(), resultado.valor());
+            }
+
+            checkpoint.setUltimoId(lote.get(lote.size() - 1).id());
+            checkpoint.setProcessados(checkpoint.getProcessados() + lote.size());
+            checkpoint.setAlterados(checkpoint.getAlterados() + alteradosLote);
+            salvarCheckpoint(checkpoint);
+        });
+
+        processados.set(checkpoint.getProcessados());
+        alterados.set(checkpoint.getAlterados());
+    }
+
+    private void salvarCheckpoint(CheckpointJob checkpoint) {
+        checkpoint.setAtualizadoEm(LocalDateTime.now());
+        checkpointRepositorio.save(checkpoint);
+    }
+
+    /**
+     * Limita a taxa de escrita para não competir com o tráfego normal.
+     * @return false se a thread foi interrompida (o checkpoint já está salvo).
+     */
+    private boolean pausar() {
+        if (pausaEntreLotesMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pausaEntreLotesMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("JOB: Recriptografia interrompida; será retomada do último checkpoint.");
+            return false;
+        }
+    }
+
+    private CheckpointJob novoCheckpoint(int versaoAlvo) {
+        return CheckpointJob.builder()
+                .nome(NOME_JOB)
+                .ultimoId(0L)
+                .processados(0L)
+                .alterados(0L)
+                .versaoAlvo(versaoAlvo)
+                .concluido(false)
+                .build();
+    }
+}
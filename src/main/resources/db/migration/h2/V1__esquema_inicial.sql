@@ -0,0 +1,51 @@
+-- Esquema inicial (H2, perfil dev). Espelha db/migration/postgresql/V1__esquema_inicial.sql.
+
+CREATE TABLE usuarios (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome             VARCHAR(100) NOT NULL,
+    email            VARCHAR(100) NOT NULL UNIQUE,
+    senha            VARCHAR(255) NOT NULL,
+    role             VARCHAR(255) NOT NULL CHECK (role IN ('ROLE_USER', 'ROLE_ADMIN')),
+    versao_seguranca INTEGER,
+    ativo            BOOLEAN,
+    criado_por       VARCHAR(255),
+    criado_em        TIMESTAMP(6),
+    atualizado_por   VARCHAR(255),
+    atualizado_em    TIMESTAMP(6)
+);
+
+CREATE TABLE entradas_acesso (
+    id                  BIGINT PRIMARY KEY,
+    titulo              VARCHAR(100) NOT NULL,
+    descricao           VARCHAR(255),
+    url                 VARCHAR(255) NOT NULL,
+    login               VARCHAR(100) NOT NULL,
+    senha_criptografada VARCHAR(512) NOT NULL,
+    tipo_visibilidade   VARCHAR(255) NOT NULL CHECK (tipo_visibilidade IN ('PESSOAL', 'COMPARTILHADA')),
+    proprietario_id     BIGINT NOT NULL REFERENCES usuarios (id),
+    data_expiracao      DATE,
+    ativo               BOOLEAN,
+    criado_por          VARCHAR(255),
+    criado_em           TIMESTAMP(6),
+    atualizado_por      VARCHAR(255),
+    atualizado_em       TIMESTAMP(6)
+);
+
+CREATE SEQUENCE entradas_acesso_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE checkpoints_job (
+    nome          VARCHAR(100) PRIMARY KEY,
+    ultimo_id     BIGINT NOT NULL,
+    processados   BIGINT NOT NULL,
+    alterados     BIGINT NOT NULL,
+    versao_alvo   INTEGER,
+    concluido     BOOLEAN NOT NULL,
+    atualizado_em TIMESTAMP(6)
+);
+
+CREATE TABLE rate_limit_buckets (
+    chave         VARCHAR(320) PRIMARY KEY,
+    tokens        BIGINT NOT NULL,
+    inicio_janela BIGINT NOT NULL,
+    versao        BIGINT NOT NULL
+);
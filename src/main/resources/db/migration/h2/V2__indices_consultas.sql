@@ -0,0 +1,14 @@
+-- Índices das consultas (H2, perfil dev). O H2 não tem índices parciais: as colunas do filtro
+-- (ativo, tipo_visibilidade) entram na chave. Ver db/migration/postgresql/V2__indices_consultas.sql.
+
+CREATE INDEX ix_entradas_acesso_pessoais_ativas ON entradas_acesso (proprietario_id, tipo_visibilidade, ativo, id);
+
+CREATE INDEX ix_entradas_acesso_compartilhadas_ativas ON entradas_acesso (tipo_visibilidade, ativo, id);
+
+CREATE INDEX ix_entradas_acesso_proprietario ON entradas_acesso (proprietario_id, tipo_visibilidade, atualizado_em);
+
+CREATE INDEX ix_entradas_acesso_atualizado_em ON entradas_acesso (atualizado_em);
+
+CREATE INDEX ix_entradas_acesso_expiracao_ativas ON entradas_acesso (ativo, data_expiracao);
+
+CREATE INDEX ix_rate_limit_buckets_inicio_janela ON rate_limit_buckets (inicio_janela);
@@ -0,0 +1,14 @@
+-- Revogações de tokens JWT (H2, perfil dev). Espelha db/migration/postgresql/V3__tokens_revogados.sql.
+
+CREATE TABLE tokens_revogados (
+    tipo          VARCHAR(10)  NOT NULL,
+    chave         VARCHAR(320) NOT NULL,
+    revogado_ate  BIGINT,
+    expira_em     BIGINT       NOT NULL,
+    registrado_em BIGINT       NOT NULL,
+    PRIMARY KEY (tipo, chave)
+);
+
+CREATE INDEX ix_tokens_revogados_registrado_em ON tokens_revogados (registrado_em);
+
+CREATE INDEX ix_tokens_revogados_expira_em ON tokens_revogados (expira_em);
@@ -0,0 +1,17 @@
+-- Registro das importações de acessos (H2, perfil dev). Espelha db/migration/postgresql/V4__importacoes.sql.
+
+CREATE TABLE importacoes (
+    id            VARCHAR(36)  PRIMARY KEY,
+    email_usuario VARCHAR(100) NOT NULL,
+    status        VARCHAR(20)  NOT NULL,
+    linhas_lidas  BIGINT       NOT NULL,
+    importadas    BIGINT       NOT NULL,
+    rejeitadas    BIGINT       NOT NULL,
+    erro          VARCHAR(255),
+    arquivo_erros VARCHAR(1024) NOT NULL,
+    criada_em     TIMESTAMP(6) NOT NULL,
+    atualizada_em TIMESTAMP(6) NOT NULL,
+    concluida_em  TIMESTAMP(6)
+);
+
+CREATE INDEX ix_importacoes_atualizada_em ON importacoes (atualizada_em);
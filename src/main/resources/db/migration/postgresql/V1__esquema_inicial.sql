@@ -0,0 +1,62 @@
+-- Esquema inicial.
+-- Bancos criados antes das migrações (ddl-auto) são adotados com baseline na versão 0: por isso os objetos
+-- usam IF NOT EXISTS e esta migração apenas completa o que faltar.
+
+CREATE TABLE IF NOT EXISTS usuarios (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome             VARCHAR(100) NOT NULL,
+    email            VARCHAR(100) NOT NULL UNIQUE,
+    senha            VARCHAR(255) NOT NULL,
+    role             VARCHAR(255) NOT NULL CHECK (role IN ('ROLE_USER', 'ROLE_ADMIN')),
+    versao_seguranca INTEGER,
+    ativo            BOOLEAN,
+    criado_por       VARCHAR(255),
+    criado_em        TIMESTAMP(6),
+    atualizado_por   VARCHAR(255),
+    atualizado_em    TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS entradas_acesso (
+    id                  BIGINT PRIMARY KEY,
+    titulo              VARCHAR(100) NOT NULL,
+    descricao           VARCHAR(255),
+    url                 VARCHAR(255) NOT NULL,
+    login               VARCHAR(100) NOT NULL,
+    senha_criptografada VARCHAR(512) NOT NULL,
+    tipo_visibilidade   VARCHAR(255) NOT NULL CHECK (tipo_visibilidade IN ('PESSOAL', 'COMPARTILHADA')),
+    proprietario_id     BIGINT NOT NULL REFERENCES usuarios (id),
+    data_expiracao      DATE,
+    ativo               BOOLEAN,
+    criado_por          VARCHAR(255),
+    criado_em           TIMESTAMP(6),
+    atualizado_por      VARCHAR(255),
+    atualizado_em       TIMESTAMP(6)
+);
+
+-- IDs alocados em blocos de 50 pela aplicação (allocationSize da entidade): INCREMENT BY deve ser igual
+CREATE SEQUENCE IF NOT EXISTS entradas_acesso_seq START WITH 1 INCREMENT BY 50;
+
+-- Em bancos adotados, a tabela pode ter IDs gerados antes da sequência: posiciona o próximo bloco após o maior
+-- ID existente, sem nunca recuar uma sequência já em uso
+SELECT setval('entradas_acesso_seq',
+              GREATEST((SELECT COALESCE(MAX(id), 0) FROM entradas_acesso) + 50,
+                       (SELECT last_value + CASE WHEN is_called THEN 50 ELSE 0 END FROM entradas_acesso_seq)),
+              false);
+
+CREATE TABLE IF NOT EXISTS checkpoints_job (
+    nome          VARCHAR(100) PRIMARY KEY,
+    ultimo_id     BIGINT NOT NULL,
+    processados   BIGINT NOT NULL,
+    alterados     BIGINT NOT NULL,
+    versao_alvo   INTEGER,
+    concluido     BOOLEAN NOT NULL,
+    atualizado_em TIMESTAMP(6)
+);
+
+-- Rate limiting distribuído (rate-limit.armazenamento=jdbc)
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    chave         VARCHAR(320) PRIMARY KEY,
+    tokens        BIGINT NOT NULL,
+    inicio_janela BIGINT NOT NULL,
+    versao        BIGINT NOT NULL
+);
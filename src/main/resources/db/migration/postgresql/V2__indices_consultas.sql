@@ -0,0 +1,33 @@
+-- Índices alinhados às consultas do EntradaAcessoRepositorio.
+-- Quase todas as consultas filtram ativo = true e um tipo de visibilidade: índices parciais guardam apenas
+-- essas linhas, ficando menores que a tabela e já ordenados por ID (paginação por cursor e streams).
+
+-- Entradas pessoais de um usuário, em ordem de ID (findPessoaisAposId, streamPessoais)
+CREATE INDEX IF NOT EXISTS ix_entradas_acesso_pessoais_ativas
+    ON entradas_acesso (proprietario_id, id)
+    WHERE ativo AND tipo_visibilidade = 'PESSOAL';
+
+-- Entradas compartilhadas, em ordem de ID (findCompartilhadasAtivas, streamCompartilhadas)
+CREATE INDEX IF NOT EXISTS ix_entradas_acesso_compartilhadas_ativas
+    ON entradas_acesso (id)
+    WHERE ativo AND tipo_visibilidade = 'COMPARTILHADA';
+
+-- Versão da listagem pessoal, que inclui inativas (findVersaoPessoais); também indexa a chave estrangeira
+CREATE INDEX IF NOT EXISTS ix_entradas_acesso_proprietario
+    ON entradas_acesso (proprietario_id, tipo_visibilidade, atualizado_em);
+
+-- Alterações recentes, para a recarga incremental do cache de compartilhadas
+-- (findCompartilhadasAtivasAlteradasDesde, findIdsNaoCompartilhadosAlteradosDesde)
+CREATE INDEX IF NOT EXISTS ix_entradas_acesso_atualizado_em
+    ON entradas_acesso (atualizado_em);
+
+-- Senhas expirando (findExpirandoAte)
+CREATE INDEX IF NOT EXISTS ix_entradas_acesso_expiracao_ativas
+    ON entradas_acesso (data_expiracao)
+    WHERE ativo AND data_expiracao IS NOT NULL;
+
+-- Limpeza de janelas expiradas do rate limiting distribuído
+CREATE INDEX IF NOT EXISTS ix_rate_limit_buckets_inicio_janela
+    ON rate_limit_buckets (inicio_janela);
+
+ANALYZE entradas_acesso;
@@ -0,0 +1,17 @@
+-- Revogações de tokens JWT, compartilhadas entre as instâncias e preservadas entre reinícios.
+-- tipo TOKEN: chave = jti, vale até a expiração do token.
+-- tipo USUARIO: chave = email, revoga os tokens emitidos até revogado_ate; vale até revogado_ate + validade do token.
+-- Instantes em epoch ms. registrado_em permite a sincronização incremental; expira_em, a limpeza.
+
+CREATE TABLE IF NOT EXISTS tokens_revogados (
+    tipo          VARCHAR(10)  NOT NULL,
+    chave         VARCHAR(320) NOT NULL,
+    revogado_ate  BIGINT,
+    expira_em     BIGINT       NOT NULL,
+    registrado_em BIGINT       NOT NULL,
+    PRIMARY KEY (tipo, chave)
+);
+
+CREATE INDEX IF NOT EXISTS ix_tokens_revogados_registrado_em ON tokens_revogados (registrado_em);
+
+CREATE INDEX IF NOT EXISTS ix_tokens_revogados_expira_em ON tokens_revogados (expira_em);
@@ -0,0 +1,19 @@
+-- Registro das importações de acessos, compartilhado entre as instâncias: o progresso pode ser consultado e o
+-- arquivo enviado em qualquer instância, não só na que criou a importação. arquivo_erros aponta para
+-- acessos.importacao.diretorio (um volume compartilhado quando há mais de uma instância).
+
+CREATE TABLE IF NOT EXISTS importacoes (
+    id            VARCHAR(36)  PRIMARY KEY,
+    email_usuario VARCHAR(100) NOT NULL,
+    status        VARCHAR(20)  NOT NULL,
+    linhas_lidas  BIGINT       NOT NULL,
+    importadas    BIGINT       NOT NULL,
+    rejeitadas    BIGINT       NOT NULL,
+    erro          VARCHAR(255),
+    arquivo_erros VARCHAR(1024) NOT NULL,
+    criada_em     TIMESTAMP(6) NOT NULL,
+    atualizada_em TIMESTAMP(6) NOT NULL,
+    concluida_em  TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS ix_importacoes_atualizada_em ON importacoes (atualizada_em);
@@ -1,6 +1,8 @@
 const API_BASE_URL = '/api';
 let authToken = localStorage.getItem('authToken');
 let userRole = localStorage.getItem('userRole');
+// Últimas respostas GET por URL, revalidadas com If-None-Match (o servidor responde 304 se nada mudou)
+const respostasEmCache = new Map();
 
 const app = {
     // --- Funções de Utilidade ---
@@ -12,6 +14,27 @@ const app = {
         setTimeout(() => element.style.display = 'none', 5000);
     },
 
+    // GET condicional: reaproveita a resposta anterior quando o servidor responde 304
+    async fetchCondicional(url) {
+        const emCache = respostasEmCache.get(url);
+        const headers = { 'Authorization': `Bearer ${authToken}` };
+        if (emCache) {
+            headers['If-None-Match'] = emCache.etag;
+        }
+
+        const response = await fetch(url, { headers });
+        if (response.status === 304 && emCache) {
+            return { ok: true, dados: emCache.dados, naoModificado: true };
+        }
+
+        const dados = await response.json();
+        const etag = response.headers.get('ETag');
+        if (response.ok && etag) {
+            respostasEmCache.set(url, { etag, dados });
+        }
+        return { ok: response.ok, dados, naoModificado: false };
+    },
+
     // --- Funções de Autenticação ---
     updateUI() {
         const authSection = document.getElementById('auth-section');
@@ -71,8 +94,17 @@ const app = {
     },
 
     logout() {
+        // Revoga o token no servidor; a sessão local é encerrada mesmo se a chamada falhar
+        if (authToken) {
+            fetch(`${API_BASE_URL}/auth/logout`, {
+                method: 'POST',
+                headers: { 'Authorization': `Bearer ${authToken}` }
+            }).catch(error => console.error('Erro ao revogar token:', error));
+        }
+
         authToken = null;
         userRole = null;
+        respostasEmCache.clear();
         localStorage.removeItem('authToken');
         localStorage.removeItem('userName');
         localStorage.removeItem('userRole');
@@ -82,19 +114,29 @@ const app = {
     },
 
     // --- Funções de Acessos (CRUD) ---
-    async fetchAcessos() {
+    // Sem cursor, recarrega a lista do início; com cursor, acrescenta a próxima página
+    async fetchAcessos(cursor = null) {
         if (!authToken) return;
 
         try {
-            const response = await fetch(`${API_BASE_URL}/acessos`, {
-                headers: { 'Authorization': `Bearer ${authToken}` }
-            });
+            const url = cursor ? `${API_BASE_URL}/acessos?cursor=${cursor}` : `${API_BASE_URL}/acessos`;
+            const response = await this.fetchCondicional(url);
+            // A versão cobre a lista inteira: se a primeira página não mudou, as já carregadas também não
+            if (response.naoModificado && !cursor) {
+                return;
+            }
 
-            const acessos = await response.json();
+            const pagina = response.dados;
             const listElement = document.getElementById('acessos-list');
-            listElement.innerHTML = '';
+            const maisButton = document.getElementById('acessos-mais');
+            if (!cursor) {
+                listElement.innerHTML = '';
+            }
 
             if (response.ok) {
+                const acessos = pagina.itens;
+                maisButton.style.display = pagina.proximoCursor ? 'inline-block' : 'none';
+                maisButton.onclick = () => this.fetchAcessos(pagina.proximoCursor);
                 acessos.forEach(acesso => {
                     const item = document.createElement('div');
                     item.className = 'acesso-item';
@@ -119,7 +161,8 @@ const app = {
                     listElement.appendChild(item);
                 });
             } else {
-                listElement.innerHTML = `<p class="message error">${acessos.mensagem || 'Erro ao carregar acessos.'}</p>`;
+                maisButton.style.display = 'none';
+                listElement.innerHTML = `<p class="message error">${pagina.mensagem || 'Erro ao carregar acessos.'}</p>`;
             }
         } catch (error) {
             this.showMessage('acesso-message', 'Erro de conexão ao buscar acessos.');
@@ -220,11 +263,12 @@ const app = {
         if (!authToken) return;
 
         try {
-            const response = await fetch(`${API_BASE_URL}/notificacoes`, {
-                headers: { 'Authorization': `Bearer ${authToken}` }
-            });
+            const response = await this.fetchCondicional(`${API_BASE_URL}/notificacoes`);
+            if (response.naoModificado) {
+                return;
+            }
 
-            const notificacoes = await response.json();
+            const notificacoes = response.dados;
             const listElement = document.getElementById('notificacoes-list');
             listElement.innerHTML = '';
 
@@ -0,0 +1,45 @@
+package com.seuprojeto.gerenciadordeacessos;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * StatementInspector de teste (registrado no perfil "teste").
+ * Responsabilidade Única: Registrar o SQL emitido pelo Hibernate entre iniciar() e parar().
+ */
+public class ContadorSql implements StatementInspector {
+
+    private static final Queue<String> COMANDOS = new ConcurrentLinkedQueue<>();
+    private static volatile boolean ativo;
+
+    @Override
+    public String inspect(String sql) {
+        if (ativo) {
+            COMANDOS.add(sql.toLowerCase(Locale.ROOT));
+        }
+        return sql;
+    }
+
+    public static void iniciar() {
+        COMANDOS.clear();
+        ativo = true;
+    }
+
+    public static List<String> parar() {
+        ativo = false;
+        return List.copyOf(COMANDOS);
+    }
+
+    /**
+     * Quantidade de SELECTs registrados cuja tabela principal (cláusula FROM) é a informada.
+     */
+    public static long selectsEm(List<String> comandos, String tabela) {
+        return comandos.stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from " + tabela + " "))
+                .count();
+    }
+}
@@ -0,0 +1,44 @@
+package com.seuprojeto.gerenciadordeacessos;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+import java.util.function.UnaryOperator;
+
+/**
+ * Execução dos benchmarks JMH a partir do JUnit (mvn test -Pbenchmark).
+ * Responsabilidade Única: Padronizar fork, aquecimento, medição e profiler de alocação dos benchmarks.
+ *
+ * O GCProfiler acrescenta "gc.alloc.rate.norm" (bytes alocados por operação) a cada resultado.
+ */
+public final class ExecutorBenchmarks {
+
+    private ExecutorBenchmarks() {
+    }
+
+    public static Collection<RunResult> executar(Class<?> benchmark) throws RunnerException {
+        return executar(benchmark, UnaryOperator.identity());
+    }
+
+    /**
+     * Executa os métodos @Benchmark da classe, permitindo ajustar as opções padrão (ex: parâmetros, modo).
+     */
+    public static Collection<RunResult> executar(Class<?> benchmark, UnaryOperator<ChainedOptionsBuilder> ajuste) throws RunnerException {
+        ChainedOptionsBuilder opcoes = new OptionsBuilder()
+                .include(benchmark.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .shouldFailOnError(true);
+        return new Runner(ajuste.apply(opcoes).build()).run();
+    }
+}
@@ -0,0 +1,66 @@
+package com.seuprojeto.gerenciadordeacessos;
+
+import com.seuprojeto.gerenciadordeacessos.core.seguranca.ServicoToken;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.repositorio.UsuarioRepositorio;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Base dos testes de integração: aplicação completa sobre o H2 do perfil dev, com MockMvc.
+ * Responsabilidade Única: Criar usuários e tokens para os testes.
+ *
+ * O contexto (e o banco em memória) é compartilhado entre as classes de teste: cada teste cria os próprios
+ * usuários, com emails únicos, e só enxerga as entradas desses usuários.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "teste"})
+public abstract class TesteIntegracao {
+
+    // BCrypt (custo 10) de "admin123"
+    protected static final String HASH_SENHA_PADRAO = "$2a$10$ZmV6nJQkXdSw0ho7FSTrWuGE.6p2W7Cz7NvEGKiIX2WO74SBvQUam";
+    protected static final String SENHA_PADRAO = "admin123";
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected UsuarioRepositorio usuarioRepositorio;
+
+    @Autowired
+    protected ServicoToken servicoToken;
+
+    protected Usuario criarUsuario(Usuario.Role role) {
+        String id = UUID.randomUUID().toString().substring(0, 8);
+        Usuario usuario = Usuario.builder()
+                .nome("Teste " + id)
+                .email("teste-" + id + "@teste.com")
+                .senha(HASH_SENHA_PADRAO)
+                .role(role)
+                .build();
+        usuario.setAtivo(true);
+        return usuarioRepositorio.save(usuario);
+    }
+
+    /**
+     * Token equivalente ao emitido pelo login (mesmas claims).
+     */
+    protected String token(Usuario usuario) {
+        return servicoToken.gerarToken(Map.of(
+                ServicoToken.CLAIM_ID_USUARIO, usuario.getId(),
+                ServicoToken.CLAIM_ROLE, usuario.getRole().name(),
+                ServicoToken.CLAIM_VERSAO_SEGURANCA, usuario.getVersaoSegurancaOuPadrao()
+        ), usuario);
+    }
+
+    protected String bearer(Usuario usuario) {
+        return "Bearer " + token(usuario);
+    }
+}
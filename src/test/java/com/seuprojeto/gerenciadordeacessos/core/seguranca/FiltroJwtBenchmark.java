@@ -0,0 +1,121 @@
+package com.seuprojeto.gerenciadordeacessos.core.seguranca;
+
+import com.seuprojeto.gerenciadordeacessos.ExecutorBenchmarks;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico.TabelaVersoesSeguranca;
+import com.seuprojeto.gerenciadordeacessos.infraestrutura.seguranca.FiltroJwt;
+import com.seuprojeto.gerenciadordeacessos.infraestrutura.seguranca.UsuarioDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Benchmark do custo por requisição do FiltroJwt com e sem o CacheTokensVerificados.
+ * Sem o cache, cada requisição decodifica o token e verifica a assinatura HMAC; com o cache, a partir da
+ * segunda requisição com o mesmo token o custo é um SHA-256 e uma consulta ao Caffeine.
+ *
+ * O usuário vem de um UserDetailsService simulado (stubOnly, sem registro das chamadas): o caminho do banco
+ * não entra na medição.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=FiltroJwtBenchmark
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FiltroJwtBenchmark {
+
+    private static final String CHAVE_JWT = "Y2hhdmUtZGUtdGVzdGUtY29tLTMyLWJ5dGVzLTAxMjM=";
+    private static final FilterChain CADEIA_VAZIA = (requisicao, resposta) -> { };
+
+    @Param({"true", "false"})
+    public boolean comCache;
+
+    private FiltroJwt filtro;
+    private String cabecalho;
+
+    @Test
+    void executar() throws RunnerException {
+        ExecutorBenchmarks.executar(FiltroJwtBenchmark.class);
+    }
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void preparar() {
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        CacheTokensVerificados cache = comCache
+                ? new CacheTokensVerificados(10_000, registro)
+                : new SemCache(registro);
+        ServicoToken servicoToken = new ServicoToken(cache);
+        ReflectionTestUtils.setField(servicoToken, "chaveSecreta", CHAVE_JWT);
+        ReflectionTestUtils.setField(servicoToken, "validadeToken", 3_600_000L);
+        servicoToken.inicializar();
+
+        Usuario usuario = Usuario.builder()
+                .nome("Benchmark")
+                .email("benchmark@teste.com")
+                .senha("x")
+                .role(Usuario.Role.ROLE_USER)
+                .build();
+        usuario.setAtivo(true);
+        UsuarioDetailsServiceImpl usuarios = mock(UsuarioDetailsServiceImpl.class, withSettings().stubOnly());
+        when(usuarios.loadUserByUsername(usuario.getEmail())).thenReturn(usuario);
+        ObjectProvider<TabelaVersoesSeguranca> semTabela = mock(ObjectProvider.class, withSettings().stubOnly());
+
+        ListaRevogacaoTokens revogacoes = new ListaRevogacaoTokens(null, 100_000, 0.01, 3_600_000L, registro);
+        filtro = new FiltroJwt(servicoToken, usuarios, semTabela, revogacoes);
+        cabecalho = "Bearer " + servicoToken.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public Object filtrar() throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest requisicao = new MockHttpServletRequest("GET", "/api/acessos");
+        requisicao.addHeader("Authorization", cabecalho);
+        filtro.doFilter(requisicao, new MockHttpServletResponse(), CADEIA_VAZIA);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    /**
+     * Cache que nunca guarda nada: toda requisição verifica o token, como antes do CacheTokensVerificados.
+     */
+    static final class SemCache extends CacheTokensVerificados {
+
+        SemCache(SimpleMeterRegistry registro) {
+            super(1, registro);
+        }
+
+        @Override
+        public Claims buscar(String token) {
+            return null;
+        }
+
+        @Override
+        public void armazenar(String token, Claims claims) {
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.seuprojeto.gerenciadordeacessos.core.seguranca;
+
+import com.seuprojeto.gerenciadordeacessos.ExecutorBenchmarks;
+import com.seuprojeto.gerenciadordeacessos.config.PropriedadesCriptografia;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Benchmark de ServicoCriptografia: operações por segundo e bytes alocados por operação (gc.alloc.rate.norm).
+ * Os métodos "antes" executam a implementação original (chave derivada, SecureRandom e Cipher criados a cada
+ * chamada, cópias via ByteBuffer), mantida aqui apenas como referência de comparação.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+public class ServicoCriptografiaBenchmark {
+
+    private static final String CHAVE = "0123456789abcdef0123456789abcdef";
+    private static final String SENHA = "S3nh@-de-exemplo-com-32-caracter";
+
+    private ServicoCriptografia servico;
+    private String cifradoDepois;
+    private String cifradoAntes;
+
+    @Test
+    void executar() throws RunnerException {
+        ExecutorBenchmarks.executar(ServicoCriptografiaBenchmark.class);
+    }
+
+    @Setup
+    public void preparar() {
+        servico = new ServicoCriptografia(new PropriedadesCriptografia());
+        ReflectionTestUtils.setField(servico, "chaveSecreta", CHAVE);
+        servico.inicializarChaves();
+        cifradoDepois = servico.criptografar(SENHA);
+        cifradoAntes = ImplementacaoOriginal.criptografar(SENHA);
+    }
+
+    @Benchmark
+    public String criptografarAntes() {
+        return ImplementacaoOriginal.criptografar(SENHA);
+    }
+
+    @Benchmark
+    public String criptografarDepois() {
+        return servico.criptografar(SENHA);
+    }
+
+    @Benchmark
+    public String descriptografarAntes() {
+        return ImplementacaoOriginal.descriptografar(cifradoAntes);
+    }
+
+    @Benchmark
+    public String descriptografarDepois() {
+        return servico.descriptografar(cifradoDepois);
+    }
+
+    /**
+     * Cópia fiel do caminho por chamada anterior à reutilização de chave e Cipher.
+     */
+    static final class ImplementacaoOriginal {
+
+        private static final int TAG_LENGTH_BIT = 128;
+        private static final int IV_LENGTH_BYTE = 12;
+
+        private ImplementacaoOriginal() {
+        }
+
+        private static SecretKeySpec getSecretKeySpec() {
+            byte[] keyBytes = CHAVE.getBytes(StandardCharsets.UTF_8);
+            if (keyBytes.length < 32) {
+                keyBytes = Base64.getDecoder().decode(CHAVE);
+            }
+            return new SecretKeySpec(keyBytes, "AES");
+        }
+
+        static String criptografar(String textoPlano) {
+            try {
+                byte[] iv = new byte[IV_LENGTH_BYTE];
+                new SecureRandom().nextBytes(iv);
+                Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+                cipher.init(Cipher.ENCRYPT_MODE, getSecretKeySpec(), new GCMParameterSpec(TAG_LENGTH_BIT, iv));
+                byte[] cipherText = cipher.doFinal(textoPlano.getBytes(StandardCharsets.UTF_8));
+                ByteBuffer byteBuffer = ByteBuffer.allocate(IV_LENGTH_BYTE + cipherText.length);
+                byteBuffer.put(iv);
+                byteBuffer.put(cipherText);
+                return Base64.getEncoder().encodeToString(byteBuffer.array());
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        static String descriptografar(String textoCifrado) {
+            try {
+                ByteBuffer byteBuffer = ByteBuffer.wrap(Base64.getDecoder().decode(textoCifrado));
+                byte[] iv = new byte[IV_LENGTH_BYTE];
+                byteBuffer.get(iv);
+                byte[] cipherTextWithTag = new byte[byteBuffer.remaining()];
+                byteBuffer.get(cipherTextWithTag);
+                Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+                cipher.init(Cipher.DECRYPT_MODE, getSecretKeySpec(), new GCMParameterSpec(TAG_LENGTH_BIT, iv));
+                return new String(cipher.doFinal(cipherTextWithTag), StandardCharsets.UTF_8);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.seuprojeto.gerenciadordeacessos.core.seguranca;
+
+import com.seuprojeto.gerenciadordeacessos.ExecutorBenchmarks;
+import com.seuprojeto.gerenciadordeacessos.config.PropriedadesCriptografia;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark das operações em lote de ServicoCriptografia: 100 mil senhas por operação, variando o número de
+ * threads do pool (criptografia.lote.threads). Com escala próxima da linear, o tempo por lote cai na proporção
+ * das threads até o número de núcleos da máquina; acima disso deve ficar estável.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=ServicoCriptografiaLoteBenchmark
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ServicoCriptografiaLoteBenchmark {
+
+    private static final String CHAVE = "0123456789abcdef0123456789abcdef";
+    private static final int ENTRADAS = 100_000;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private ServicoCriptografia servico;
+    private List<String> textosPlanos;
+    private List<String> textosCifrados;
+
+    @Test
+    void executar() throws RunnerException {
+        ExecutorBenchmarks.executar(ServicoCriptografiaLoteBenchmark.class);
+    }
+
+    @Setup
+    public void preparar() {
+        servico = new ServicoCriptografia(new PropriedadesCriptografia());
+        ReflectionTestUtils.setField(servico, "chaveSecreta", CHAVE);
+        ReflectionTestUtils.setField(servico, "threadsLote", threads);
+        ReflectionTestUtils.setField(servico, "tamanhoBlocoLote", 256);
+        servico.inicializarChaves();
+        servico.inicializarExecutorLote();
+
+        textosPlanos = new ArrayList<>(ENTRADAS);
+        for (int i = 0; i < ENTRADAS; i++) {
+            textosPlanos.add("senha-" + i + "-S3nh@-de-exemplo");
+        }
+        textosCifrados = servico.criptografarLote(textosPlanos).stream().map(ResultadoCriptografia::valor).toList();
+    }
+
+    @TearDown
+    public void encerrar() {
+        servico.encerrarExecutorLote();
+    }
+
+    @Benchmark
+    public List<ResultadoCriptografia> criptografarLote() {
+        return servico.criptografarLote(textosPlanos);
+    }
+
+    @Benchmark
+    public List<ResultadoCriptografia> descriptografarLote() {
+        return servico.descriptografarLote(textosCifrados);
+    }
+}
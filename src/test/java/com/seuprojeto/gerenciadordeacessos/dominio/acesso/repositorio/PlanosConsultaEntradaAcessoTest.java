@@ -0,0 +1,235 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.repositorio;
+
+import com.seuprojeto.gerenciadordeacessos.ContadorSql;
+import com.seuprojeto.gerenciadordeacessos.TesteIntegracao;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico.EntradaAcessoServico;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.UsuarioAutenticado;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes dos planos de execução das consultas do EntradaAcessoRepositorio.
+ * Responsabilidade Única: Garantir que nenhuma consulta de entradas_acesso percorre a tabela inteira sem necessidade.
+ *
+ * O SQL é o que o Hibernate emite para cada método (registrado pelo ContadorSql). O EXPLAIN roda em um H2 separado,
+ * com o esquema do Flyway e alguns milhares de linhas analisadas (ANALYZE), para que o otimizador escolha entre
+ * índice e varredura com estatísticas reais sem misturar dados com os demais testes.
+ *
+ * Além do tableScan, conta como varredura percorrer um índice só pela condição "ATIVO = TRUE": quase todas as
+ * linhas a satisfazem, e o H2 escolhe esse caminho para as consultas sem filtro seletivo.
+ */
+class PlanosConsultaEntradaAcessoTest extends TesteIntegracao {
+
+    private static final String URL_PLANOS = "jdbc:h2:mem:planos;DB_CLOSE_DELAY=-1";
+    private static final int USUARIOS = 200;
+    private static final int ENTRADAS = 20_000;
+
+    // Comentário do H2 com o índice escolhido para entradas_acesso: "/* PUBLIC.<índice>: <condição> */"
+    private static final Pattern ACESSO_ENTRADAS = Pattern.compile("\"ENTRADAS_ACESSO\"(?: \"\\w+\")?\\s+/\\* PUBLIC\\.([\\w.]+)(?:: (.*?))? \\*/", Pattern.DOTALL);
+
+    /**
+     * Consultas que leem (ou podem ler) a tabela inteira por definição: exportação, reindexação e a busca LIKE,
+     * que só roda como fallback do índice de trigramas.
+     */
+    private static final Set<String> VARREDURA_PERMITIDA = Set.of(
+            "streamAtivos",
+            "streamBackup",
+            "findByTextoParcialVisivelParaUsuario");
+
+    private static Connection conexao;
+
+    @Autowired
+    private EntradaAcessoRepositorio repositorio;
+
+    @Autowired
+    private EntradaAcessoServico acessoServico;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void prepararBanco() throws SQLException {
+        Flyway.configure().dataSource(URL_PLANOS, "sa", "").locations("classpath:db/migration/h2").load().migrate();
+        conexao = DriverManager.getConnection(URL_PLANOS, "sa", "");
+        conexao.setAutoCommit(false);
+        try (PreparedStatement usuario = conexao.prepareStatement(
+                "INSERT INTO usuarios (id, nome, email, senha, role, ativo) VALUES (?, ?, ?, 'x', 'ROLE_USER', TRUE)")) {
+            for (int u = 1; u <= USUARIOS; u++) {
+                usuario.setLong(1, u);
+                usuario.setString(2, "Usuário " + u);
+                usuario.setString(3, "usuario" + u + "@planos.com");
+                usuario.addBatch();
+            }
+            usuario.executeBatch();
+        }
+        try (PreparedStatement entrada = conexao.prepareStatement(
+                "INSERT INTO entradas_acesso (id, titulo, url, login, senha_criptografada, tipo_visibilidade, proprietario_id, "
+                        + "data_expiracao, ativo, atualizado_em) VALUES (?, ?, ?, 'login', 'x', ?, ?, ?, ?, ?)")) {
+            LocalDateTime agora = LocalDateTime.now();
+            for (int i = 1; i <= ENTRADAS; i++) {
+                entrada.setLong(1, i);
+                entrada.setString(2, "Entrada " + i);
+                entrada.setString(3, "https://host" + i + ".com");
+                entrada.setString(4, i % 10 == 0 ? "COMPARTILHADA" : "PESSOAL");
+                entrada.setLong(5, 1 + i % USUARIOS);
+                entrada.setObject(6, i % 50 == 0 ? LocalDate.now().plusDays(i % 365) : null);
+                entrada.setBoolean(7, i % 20 != 0);
+                entrada.setObject(8, agora.minusMinutes(i));
+                entrada.addBatch();
+            }
+            entrada.executeBatch();
+        }
+        conexao.commit();
+        try (Statement comando = conexao.createStatement()) {
+            comando.execute("ANALYZE");
+        }
+    }
+
+    @AfterAll
+    static void encerrarBanco() throws SQLException {
+        try (Statement comando = conexao.createStatement()) {
+            comando.execute("DROP ALL OBJECTS");
+        }
+        conexao.close();
+    }
+
+    @Test
+    void todaConsultaDoRepositorioTemPlanoVerificadoOuVarreduraPermitida() {
+        Set<String> consultas = Arrays.stream(EntradaAcessoRepositorio.class.getDeclaredMethods())
+                .filter(metodo -> metodo.isAnnotationPresent(Query.class))
+                .map(Method::getName)
+                .collect(Collectors.toSet());
+
+        Set<String> cobertas = new HashSet<>(consultasVerificadas().keySet());
+        cobertas.addAll(VARREDURA_PERMITIDA);
+        assertThat(cobertas).containsExactlyInAnyOrderElementsOf(consultas);
+    }
+
+    @Test
+    void consultasNaoVarremEntradasAcesso() throws SQLException {
+        Map<String, String> condicoes = new LinkedHashMap<>();
+        for (Map.Entry<String, Consumer<EntradaAcessoRepositorio>> consulta : consultasVerificadas().entrySet()) {
+            condicoes.put(consulta.getKey(), condicaoIndice(explicar(sqlEmitido(consulta.getValue()))));
+        }
+
+        assertThat(condicoes).allSatisfy((metodo, condicao) ->
+                assertThat(condicao).as("condição do índice de entradas_acesso em %s", metodo).isNotBlank());
+    }
+
+    @Test
+    void consultasPermitidasVarremEntradasAcesso() throws SQLException {
+        // Confirma que o critério acima reconhece a varredura (e que a lista de permitidas não está sobrando)
+        assertThat(condicaoIndice(explicar(sqlEmitido(r -> r.streamAtivos().forEach(resumo -> { }))))).isBlank();
+    }
+
+    @Test
+    void transmissaoDasVisiveisUsaUmCursorIndexadoParaPessoaisEOutroParaCompartilhadas() throws SQLException {
+        UsuarioAutenticado usuario = UsuarioAutenticado.de(criarUsuario(Usuario.Role.ROLE_USER));
+        List<String> emitidos = sqlsEmitidos(() -> acessoServico.percorrerVisiveisPara(usuario, dto -> { }));
+
+        assertThat(emitidos).hasSize(2);
+        for (String sql : emitidos) {
+            assertThat(condicaoIndice(explicar(sql))).as("condição do índice de entradas_acesso em %s", sql).isNotBlank();
+        }
+    }
+
+    /**
+     * Métodos com plano verificado e uma chamada com parâmetros típicos de cada um.
+     */
+    private static Map<String, Consumer<EntradaAcessoRepositorio>> consultasVerificadas() {
+        Map<String, Consumer<EntradaAcessoRepositorio>> consultas = new LinkedHashMap<>();
+        consultas.put("findPessoaisAposId", r -> r.findPessoaisAposId(1L, 0L, PageRequest.of(0, 50)));
+        consultas.put("streamCompartilhadas", r -> r.streamCompartilhadas().forEach(resumo -> { }));
+        consultas.put("findVersaoPessoais", r -> r.findVersaoPessoais(1L));
+        consultas.put("streamPessoais", r -> r.streamPessoais(1L).forEach(resumo -> { }));
+        consultas.put("findResumosAtivosByIdIn", r -> r.findResumosAtivosByIdIn(List.of(1L, 2L, 3L)));
+        consultas.put("findCompartilhadasAtivas", EntradaAcessoRepositorio::findCompartilhadasAtivas);
+        consultas.put("findCompartilhadasAtivasAlteradasDesde", r -> r.findCompartilhadasAtivasAlteradasDesde(LocalDateTime.now().minusMinutes(1)));
+        consultas.put("findIdsNaoCompartilhadosAlteradosDesde", r -> r.findIdsNaoCompartilhadosAlteradosDesde(LocalDateTime.now().minusMinutes(1)));
+        consultas.put("findAtivasComProprietarioByIdIn", r -> r.findAtivasComProprietarioByIdIn(List.of(1L, 2L, 3L)));
+        consultas.put("findAtivaComProprietarioById", r -> r.findAtivaComProprietarioById(1L));
+        consultas.put("findResumoAtivoById", r -> r.findResumoAtivoById(1L));
+        consultas.put("findExpirandoAte", r -> r.findExpirandoAte(LocalDate.now().plusDays(7)));
+        consultas.put("findSenhasCifradasAposId", r -> r.findSenhasCifradasAposId(0L, PageRequest.of(0, 500)));
+        consultas.put("substituirSenhaCriptografada", r -> r.substituirSenhaCriptografada(1L, "atual", "nova"));
+        return consultas;
+    }
+
+    /**
+     * Executa a chamada em uma transação desfeita ao final e devolve o comando emitido sobre entradas_acesso.
+     */
+    private String sqlEmitido(Consumer<EntradaAcessoRepositorio> chamada) {
+        List<String> emitidos = sqlsEmitidos(() -> chamada.accept(repositorio));
+        assertThat(emitidos).hasSize(1);
+        return emitidos.get(0);
+    }
+
+    /**
+     * Executa a operação em uma transação desfeita ao final e devolve os comandos emitidos sobre entradas_acesso.
+     */
+    private List<String> sqlsEmitidos(Runnable operacao) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        ContadorSql.iniciar();
+        List<String> comandos;
+        try {
+            transacao.executeWithoutResult(status -> {
+                operacao.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            comandos = ContadorSql.parar();
+        }
+        return comandos.stream().filter(sql -> sql.contains("entradas_acesso")).toList();
+    }
+
+    /**
+     * Condição usada para percorrer o índice de entradas_acesso, sem "ATIVO = TRUE"; vazia quando o plano varre a tabela.
+     */
+    private static String condicaoIndice(String plano) {
+        Matcher acesso = ACESSO_ENTRADAS.matcher(plano);
+        assertThat(acesso.find()).as("acesso a entradas_acesso em %s", plano).isTrue();
+        if (acesso.group(1).endsWith(".TABLESCAN") || acesso.group(2) == null) {
+            return "";
+        }
+        return acesso.group(2).replace("ATIVO = TRUE", "").replaceAll("\\bAND\\b", "").strip();
+    }
+
+    private static String explicar(String sql) throws SQLException {
+        try (PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + sql);
+             ResultSet plano = explain.executeQuery()) {
+            plano.next();
+            return plano.getString(1).toUpperCase(Locale.ROOT);
+        }
+    }
+}
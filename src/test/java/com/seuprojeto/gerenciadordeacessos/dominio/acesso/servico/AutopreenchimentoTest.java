@@ -0,0 +1,87 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico;
+
+import com.seuprojeto.gerenciadordeacessos.TesteIntegracao;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.AutopreenchimentoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.AutopreenchimentoDto.Correspondencia;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.CriarEntradaAcessoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.EntradaAcessoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso.TipoVisibilidade;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.UsuarioAutenticado;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes do preenchimento automático com o índice de hosts desatualizado.
+ * Responsabilidade Única: Garantir que o banco confirma os candidatos do índice (existência, visibilidade e dados atuais).
+ *
+ * As alterações são feitas direto na tabela, sem evento: o índice local fica como ficaria com uma alteração
+ * feita por outra instância.
+ */
+class AutopreenchimentoTest extends TesteIntegracao {
+
+    @Autowired
+    private EntradaAcessoServico acessoServico;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UsuarioAutenticado admin;
+    private UsuarioAutenticado usuario;
+    private String dominio;
+
+    @BeforeEach
+    void preparar() {
+        admin = UsuarioAutenticado.de(criarUsuario(Usuario.Role.ROLE_ADMIN));
+        usuario = UsuarioAutenticado.de(criarUsuario(Usuario.Role.ROLE_USER));
+        dominio = "auto" + UUID.randomUUID().toString().substring(0, 8) + ".com";
+    }
+
+    @Test
+    void devolveHostAntesDoDominioComDadosDoBanco() {
+        EntradaAcessoDto app = criar("App", "https://app." + dominio + "/login", TipoVisibilidade.COMPARTILHADA, admin);
+        EntradaAcessoDto painel = criar("Painel", "https://painel." + dominio, TipoVisibilidade.PESSOAL, usuario);
+        jdbcTemplate.update("UPDATE entradas_acesso SET titulo = 'App renomeado', login = 'novo' WHERE id = ?", app.id());
+
+        assertThat(acessoServico.buscarParaAutopreenchimento("https://painel." + dominio + "/inicio", usuario))
+                .containsExactly(
+                        new AutopreenchimentoDto(painel.id(), "Painel", "login", "https://painel." + dominio, Correspondencia.HOST),
+                        new AutopreenchimentoDto(app.id(), "App renomeado", "novo", "https://app." + dominio + "/login", Correspondencia.DOMINIO));
+    }
+
+    @Test
+    void descartaEntradaExcluidaPorOutraInstancia() {
+        EntradaAcessoDto entrada = criar("Excluída", "https://app." + dominio, TipoVisibilidade.COMPARTILHADA, admin);
+        jdbcTemplate.update("UPDATE entradas_acesso SET ativo = FALSE WHERE id = ?", entrada.id());
+
+        assertThat(acessoServico.buscarParaAutopreenchimento("https://app." + dominio, usuario)).isEmpty();
+    }
+
+    @Test
+    void descartaEntradaTornadaPessoalPorOutraInstancia() {
+        EntradaAcessoDto entrada = criar("Restrita", "https://app." + dominio, TipoVisibilidade.COMPARTILHADA, admin);
+        jdbcTemplate.update("UPDATE entradas_acesso SET tipo_visibilidade = 'PESSOAL' WHERE id = ?", entrada.id());
+
+        assertThat(acessoServico.buscarParaAutopreenchimento("https://app." + dominio, usuario)).isEmpty();
+        assertThat(acessoServico.buscarParaAutopreenchimento("https://app." + dominio, admin))
+                .extracting(AutopreenchimentoDto::id)
+                .containsExactly(entrada.id());
+    }
+
+    @Test
+    void naoDevolveEntradaPessoalDeOutroUsuario() {
+        criar("Alheia", "https://app." + dominio, TipoVisibilidade.PESSOAL, admin);
+
+        assertThat(acessoServico.buscarParaAutopreenchimento("https://app." + dominio, usuario)).isEmpty();
+    }
+
+    private EntradaAcessoDto criar(String titulo, String url, TipoVisibilidade visibilidade, UsuarioAutenticado proprietario) {
+        return acessoServico.criar(new CriarEntradaAcessoDto(titulo, null, url, "login", "senha", visibilidade, null), proprietario);
+    }
+}
@@ -0,0 +1,51 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico;
+
+import com.seuprojeto.gerenciadordeacessos.TesteIntegracao;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.repositorio.EntradaAcessoRepositorio;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes da transação das cargas do CacheAcessosCompartilhados.
+ * Responsabilidade Única: Garantir que as cargas não herdam o readOnly da transação de quem lê (o que as levaria à réplica).
+ */
+class CacheAcessosCompartilhadosTest extends TesteIntegracao {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void cargaChamadaDeTransacaoSomenteLeituraRodaEmTransacaoDeEscrita() {
+        EntradaAcessoRepositorio repositorio = mock(EntradaAcessoRepositorio.class);
+        List<Boolean> somenteLeitura = new ArrayList<>();
+        when(repositorio.findCompartilhadasAtivas()).thenAnswer(invocacao -> {
+            somenteLeitura.add(TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            return List.of();
+        });
+        CacheAcessosCompartilhados cache = new CacheAcessosCompartilhados(
+                repositorio, transactionManager, Duration.ofMinutes(1), Duration.ofMinutes(10), new SimpleMeterRegistry());
+
+        TransactionTemplate transacaoLeitura = new TransactionTemplate(transactionManager);
+        transacaoLeitura.setReadOnly(true);
+        transacaoLeitura.executeWithoutResult(status -> {
+            cache.listarAposId(0, 10);
+            // A transação de quem lê continua somente leitura depois da carga
+            assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isTrue();
+        });
+
+        assertThat(somenteLeitura).containsExactly(false);
+    }
+}
@@ -0,0 +1,95 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico;
+
+import com.seuprojeto.gerenciadordeacessos.TesteIntegracao;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.CriarEntradaAcessoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso.TipoVisibilidade;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.UsuarioAutenticado;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark da criação de entradas: uma chamada de EntradaAcessoServico.criar por entrada (como antes do
+ * endpoint de lote) contra uma única chamada de EntradaAcessoLoteServico.criar com todas elas.
+ * Cada rodada cria as entradas de um usuário novo; a primeira rodada de cada caminho serve de aquecimento.
+ *
+ * Os parâmetros podem ser ajustados por propriedades de sistema: -Dlote.entradas, -Dlote.rodadas.
+ * Executar com: mvn test -Pbenchmark -Dtest=EntradaAcessoLoteBenchmark
+ */
+@Tag("benchmark")
+class EntradaAcessoLoteBenchmark extends TesteIntegracao {
+
+    private static final int ENTRADAS = Integer.getInteger("lote.entradas", 10_000);
+    private static final int RODADAS = Integer.getInteger("lote.rodadas", 3);
+
+    @Autowired
+    private EntradaAcessoServico acessoServico;
+
+    @Autowired
+    private EntradaAcessoLoteServico loteServico;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void criacaoIndividualContraLote() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Medicao individual = null;
+        Medicao lote = null;
+        for (int rodada = 0; rodada <= RODADAS; rodada++) {
+            UsuarioAutenticado usuarioIndividual = UsuarioAutenticado.de(criarUsuario(Usuario.Role.ROLE_USER));
+            List<CriarEntradaAcessoDto> dtosIndividual = dtos("individual");
+            Medicao atual = medir(estatisticas, () -> dtosIndividual.forEach(dto -> acessoServico.criar(dto, usuarioIndividual)));
+            individual = rodada == 0 ? null : Medicao.melhor(individual, atual);
+
+            UsuarioAutenticado usuarioLote = UsuarioAutenticado.de(criarUsuario(Usuario.Role.ROLE_USER));
+            List<CriarEntradaAcessoDto> dtosLote = dtos("lote");
+            atual = medir(estatisticas, () -> assertThat(loteServico.criar(dtosLote, usuarioLote).sucessos()).isEqualTo(ENTRADAS));
+            lote = rodada == 0 ? null : Medicao.melhor(lote, atual);
+        }
+
+        System.out.printf("""
+                        Criação de %d entradas (melhor de %d rodadas, %d processadores):
+                          individual (EntradaAcessoServico.criar): %.0f ms, %.0f entradas/s, %d statements preparados
+                          lote (EntradaAcessoLoteServico.criar):   %.0f ms, %.0f entradas/s, %d statements preparados
+                        """,
+                ENTRADAS, RODADAS, Runtime.getRuntime().availableProcessors(),
+                individual.millis(), ENTRADAS / (individual.millis() / 1000), individual.statements(),
+                lote.millis(), ENTRADAS / (lote.millis() / 1000), lote.statements());
+
+        // Com hibernate.jdbc.batch_size = 50, o lote prepara um insert por grupo de 50 entradas, e não um por entrada
+        assertThat(lote.statements()).as("statements preparados pelo lote").isLessThan(ENTRADAS / 10);
+        assertThat(individual.statements()).as("statements preparados pela criação individual").isGreaterThanOrEqualTo(ENTRADAS);
+    }
+
+    private static Medicao medir(Statistics estatisticas, Runnable operacao) {
+        estatisticas.clear();
+        long inicio = System.nanoTime();
+        operacao.run();
+        return new Medicao((System.nanoTime() - inicio) / 1e6, estatisticas.getPrepareStatementCount());
+    }
+
+    private static List<CriarEntradaAcessoDto> dtos(String prefixo) {
+        return IntStream.range(0, ENTRADAS)
+                .mapToObj(i -> new CriarEntradaAcessoDto(prefixo + " " + i, null, "https://" + prefixo + i + ".lote.com",
+                        "login" + i, "S3nh@-" + i, TipoVisibilidade.PESSOAL, null))
+                .toList();
+    }
+
+    private record Medicao(double millis, long statements) {
+
+        static Medicao melhor(Medicao anterior, Medicao atual) {
+            return anterior == null || atual.millis() < anterior.millis() ? atual : anterior;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico;
+
+import com.seuprojeto.gerenciadordeacessos.TesteIntegracao;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.CriarEntradaAcessoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.EntradaAcessoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso.TipoVisibilidade;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.UsuarioAutenticado;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Quantidade de comandos SQL das consultas de entradas (hibernate.generate_statistics, ativo no perfil de teste).
+ * Responsabilidade Única: Garantir que listagens e buscas emitem o mesmo número de comandos para 1 ou N resultados (sem N+1).
+ */
+class EntradaAcessoServicoConsultasTest extends TesteIntegracao {
+
+    private static final int N = 20;
+
+    @Autowired
+    private EntradaAcessoServico acessoServico;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+    private UsuarioAutenticado usuario;
+    private String termo;
+    private String termoUnico;
+    private List<EntradaAcessoDto> criadas;
+
+    @BeforeEach
+    void preparar() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Usuario admin = criarUsuario(Usuario.Role.ROLE_ADMIN);
+        usuario = UsuarioAutenticado.de(admin);
+        termo = "termo" + UUID.randomUUID().toString().substring(0, 8);
+        termoUnico = "unico" + UUID.randomUUID().toString().substring(0, 8);
+
+        // Pessoais e compartilhadas intercaladas, todas com o termo de busca no título; só a primeira com o termo único
+        criadas = IntStream.range(0, N + 1)
+                .mapToObj(i -> acessoServico.criar(new CriarEntradaAcessoDto(
+                        "Entrada " + termo + " " + i, i == 0 ? termoUnico : "Descrição " + i, "https://site" + i + ".teste.com", "login" + i,
+                        "senha" + i, i % 2 == 0 ? TipoVisibilidade.PESSOAL : TipoVisibilidade.COMPARTILHADA, null), usuario))
+                .toList();
+
+        // Aquece os caches (usuários e compartilhadas) para medir apenas as consultas da operação
+        acessoServico.listarVisiveisPara(usuario, null, N);
+    }
+
+    @Test
+    void listarVisiveisParaEmiteOsMesmosComandosPara1OuNEntradas() {
+        long um = comandos(() -> assertThat(acessoServico.listarVisiveisPara(usuario, null, 1).itens()).hasSize(1));
+        long varios = comandos(() -> assertThat(acessoServico.listarVisiveisPara(usuario, null, N).itens()).hasSize(N));
+
+        assertThat(varios).as("comandos para N resultados (1 resultado: %d)", um).isEqualTo(um);
+    }
+
+    @Test
+    void listarPessoaisEmiteOsMesmosComandosPara1OuNEntradas() {
+        long um = comandos(() -> assertThat(acessoServico.listarPessoais(usuario, null, 1).itens()).hasSize(1));
+        long varios = comandos(() -> assertThat(acessoServico.listarPessoais(usuario, null, N).itens()).hasSizeGreaterThan(1));
+
+        assertThat(varios).as("comandos para N resultados (1 resultado: %d)", um).isEqualTo(um);
+    }
+
+    @Test
+    void buscarPorIdEmiteUmComandoParaEntradaPessoalOuCompartilhada() {
+        long pessoal = comandos(() -> acessoServico.buscarPorId(criadas.get(0).id(), usuario));
+        long compartilhada = comandos(() -> acessoServico.buscarPorId(criadas.get(1).id(), usuario));
+
+        assertThat(pessoal).isEqualTo(1);
+        assertThat(compartilhada).as("comandos para entrada compartilhada (pessoal: %d)", pessoal).isEqualTo(pessoal);
+    }
+
+    @Test
+    void buscarPorTextoEmiteOsMesmosComandosPara1OuNResultados() {
+        long um = comandos(() -> assertThat(acessoServico.buscarPorTexto(termoUnico, usuario)).hasSize(1));
+        long varios = comandos(() -> assertThat(acessoServico.buscarPorTexto(termo, usuario)).hasSize(N + 1));
+
+        assertThat(varios).as("comandos para N resultados (1 resultado: %d)", um).isEqualTo(um);
+    }
+
+    private long comandos(Runnable operacao) {
+        estatisticas.clear();
+        operacao.run();
+        return estatisticas.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,199 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico;
+
+import com.seuprojeto.gerenciadordeacessos.ExecutorBenchmarks;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark da busca textual: IndiceTrigramas contra a consulta LIKE do EntradaAcessoRepositorio
+ * (findByTextoParcialVisivelParaUsuario, a mesma SQL sobre o esquema do Flyway no H2) com 10 mil, 100 mil e 1 milhão
+ * de entradas. Consultas: um termo raro (uma entrada) e um termo comum (cerca de 1 em cada 8 entradas), ambos com
+ * limite de 50 resultados, como em acessos.busca.limite.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=IndiceTrigramasBenchmark
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IndiceTrigramasBenchmark {
+
+    private static final int LIMITE = 50;
+    private static final int USUARIOS = 1_000;
+    private static final String EMAIL_USUARIO = "usuario1@benchmark.com";
+    private static final String[] PALAVRAS = {"servidor", "banco", "portal", "firewall", "roteador", "email", "backup", "vpn"};
+
+    // Mesma SQL que o Hibernate gera para findByTextoParcialVisivelParaUsuario
+    private static final String CONSULTA_LIKE = "SELECT e.id, e.titulo, e.descricao, e.url, e.login, e.tipo_visibilidade, p.id, p.email, "
+            + "p.nome, e.data_expiracao FROM entradas_acesso e JOIN usuarios p ON p.id = e.proprietario_id "
+            + "WHERE e.ativo = TRUE AND (e.proprietario_id = ? OR e.tipo_visibilidade = 'COMPARTILHADA') "
+            + "AND (LOWER(e.titulo) LIKE LOWER('%' || ? || '%') OR LOWER(e.url) LIKE LOWER('%' || ? || '%') "
+            + "OR LOWER(e.login) LIKE LOWER('%' || ? || '%') OR LOWER(e.descricao) LIKE LOWER('%' || ? || '%')) "
+            + "ORDER BY e.id OFFSET 0 ROWS FETCH FIRST ? ROWS ONLY";
+
+    @Param({"10000", "100000", "1000000"})
+    public int entradas;
+
+    private IndiceTrigramas indice;
+    private Connection conexao;
+    private PreparedStatement consultaLike;
+    private String termoRaro;
+    private String termoComum;
+
+    @Test
+    void executar() throws RunnerException {
+        ExecutorBenchmarks.executar(IndiceTrigramasBenchmark.class, opcoes -> opcoes.jvmArgsAppend("-Xmx3g"));
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        String url = "jdbc:h2:mem:busca" + entradas + ";DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").locations("classpath:db/migration/h2").load().migrate();
+        conexao = DriverManager.getConnection(url, "sa", "");
+        indice = new IndiceTrigramas();
+
+        try (PreparedStatement usuario = conexao.prepareStatement(
+                "INSERT INTO usuarios (id, nome, email, senha, role, ativo) VALUES (?, ?, ?, 'x', 'ROLE_USER', TRUE)")) {
+            for (int u = 1; u <= USUARIOS; u++) {
+                usuario.setLong(1, u);
+                usuario.setString(2, "Usuário " + u);
+                usuario.setString(3, "usuario" + u + "@benchmark.com");
+                usuario.addBatch();
+            }
+            usuario.executeBatch();
+        }
+
+        Random aleatorio = new Random(42);
+        conexao.setAutoCommit(false);
+        try (PreparedStatement entrada = conexao.prepareStatement(
+                "INSERT INTO entradas_acesso (id, titulo, descricao, url, login, senha_criptografada, tipo_visibilidade, "
+                        + "proprietario_id, ativo) VALUES (?, ?, ?, ?, ?, 'x', ?, ?, TRUE)")) {
+            for (int i = 1; i <= entradas; i++) {
+                // "id" + hexadecimal + "x" não aparece dentro de outro título (o termo raro corresponde a uma entrada)
+                String titulo = capitalizar(PALAVRAS[aleatorio.nextInt(PALAVRAS.length)]) + " " + codigo(i);
+                String descricao = "Acesso ao " + PALAVRAS[aleatorio.nextInt(PALAVRAS.length)] + " da filial " + aleatorio.nextInt(500);
+                String urlEntrada = "https://host" + aleatorio.nextInt(100_000) + ".empresa" + aleatorio.nextInt(50) + ".com.br";
+                String login = "login" + aleatorio.nextInt(10_000);
+                boolean compartilhada = aleatorio.nextInt(5) == 0;
+                String proprietario = "usuario" + (1 + aleatorio.nextInt(USUARIOS)) + "@benchmark.com";
+
+                entrada.setLong(1, i);
+                entrada.setString(2, titulo);
+                entrada.setString(3, descricao);
+                entrada.setString(4, urlEntrada);
+                entrada.setString(5, login);
+                entrada.setString(6, compartilhada ? "COMPARTILHADA" : "PESSOAL");
+                entrada.setLong(7, Long.parseLong(proprietario.substring(7, proprietario.indexOf('@'))));
+                entrada.addBatch();
+                indice.indexar(i, proprietario, compartilhada, titulo, urlEntrada, login, descricao);
+                if (i % 10_000 == 0) {
+                    entrada.executeBatch();
+                }
+            }
+            entrada.executeBatch();
+        }
+        conexao.commit();
+        try (Statement estatistica = conexao.createStatement()) {
+            estatistica.execute("ANALYZE");
+        }
+
+        consultaLike = conexao.prepareStatement(CONSULTA_LIKE);
+        // Entrada compartilhada (ou do usuário 1) para que o termo raro tenha exatamente um resultado visível
+        termoRaro = codigo(primeiraVisivel(aleatorio));
+        termoComum = "firewall";
+
+        // Os dois caminhos precisam devolver os mesmos resultados para o termo raro
+        if (!buscarIndice(termoRaro).equals(buscarLike(termoRaro)) || buscarIndice(termoRaro).size() != 1) {
+            throw new IllegalStateException("Índice e LIKE divergem para o termo " + termoRaro);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws SQLException {
+        try (Statement comando = conexao.createStatement()) {
+            comando.execute("DROP ALL OBJECTS");
+        }
+        conexao.close();
+    }
+
+    @Benchmark
+    public List<Long> indiceTermoRaro() {
+        return buscarIndice(termoRaro);
+    }
+
+    @Benchmark
+    public List<Long> indiceTermoComum() {
+        return buscarIndice(termoComum);
+    }
+
+    @Benchmark
+    public List<Long> likeTermoRaro() throws SQLException {
+        return buscarLike(termoRaro);
+    }
+
+    @Benchmark
+    public List<Long> likeTermoComum() throws SQLException {
+        return buscarLike(termoComum);
+    }
+
+    private List<Long> buscarIndice(String termo) {
+        return indice.buscar(termo, EMAIL_USUARIO, LIMITE);
+    }
+
+    private List<Long> buscarLike(String termo) throws SQLException {
+        consultaLike.setLong(1, 1);
+        for (int i = 2; i <= 5; i++) {
+            consultaLike.setString(i, termo);
+        }
+        consultaLike.setInt(6, LIMITE);
+        List<Long> ids = new ArrayList<>(LIMITE);
+        try (ResultSet linhas = consultaLike.executeQuery()) {
+            while (linhas.next()) {
+                ids.add(linhas.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    private int primeiraVisivel(Random aleatorio) throws SQLException {
+        try (PreparedStatement consulta = conexao.prepareStatement(
+                "SELECT MIN(id) FROM entradas_acesso WHERE id >= ? AND (proprietario_id = 1 OR tipo_visibilidade = 'COMPARTILHADA')")) {
+            consulta.setInt(1, 1 + aleatorio.nextInt(entradas / 2));
+            try (ResultSet linha = consulta.executeQuery()) {
+                linha.next();
+                return linha.getInt(1);
+            }
+        }
+    }
+
+    private static String codigo(int entrada) {
+        return "id" + Integer.toHexString(entrada * 7919) + "x";
+    }
+
+    private static String capitalizar(String palavra) {
+        return Character.toUpperCase(palavra.charAt(0)) + palavra.substring(1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes do IndiceTrigramas: correspondência por substring, visibilidade e ranking.
+ */
+class IndiceTrigramasTest {
+
+    private static final String DONO = "dono@teste.com";
+    private static final String OUTRO = "outro@teste.com";
+
+    private final IndiceTrigramas indice = new IndiceTrigramas();
+
+    @Test
+    void descartaCandidatosComTodosOsTrigramasSemConterAConsulta() {
+        // "abc bcd" tem os trigramas de "abcd" (abc, bcd), mas não contém "abcd"
+        indice.indexar(1, DONO, false, "abc bcd", null, null, null);
+        indice.indexar(2, DONO, false, "xabcdx", null, null, null);
+
+        assertThat(indice.buscar("abcd", DONO, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void naoCombinaTrechosDeCamposDiferentes() {
+        indice.indexar(1, DONO, false, "portal", "altura", null, null);
+
+        assertThat(indice.buscar("portal altura", DONO, 10)).isEmpty();
+        assertThat(indice.buscar("altura", DONO, 10)).containsExactly(1L);
+    }
+
+    @Test
+    void normalizaAcentosMaiusculasEPontuacao() {
+        indice.indexar(1, DONO, false, "Configuração", "https://Intranet.Empresa.com", "admin", null);
+
+        assertThat(indice.buscar("CONFIGURACAO", DONO, 10)).containsExactly(1L);
+        assertThat(indice.buscar("intranet.empresa", DONO, 10)).containsExactly(1L);
+    }
+
+    @Test
+    void respeitaAVisibilidade() {
+        indice.indexar(1, DONO, false, "servidor pessoal", null, null, null);
+        indice.indexar(2, DONO, true, "servidor compartilhado", null, null, null);
+
+        assertThat(indice.buscar("servidor", OUTRO, 10)).containsExactly(2L);
+        assertThat(indice.buscar("servidor", DONO, 10)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void ordenaPelaCoberturaDaConsultaELimita() {
+        indice.indexar(1, DONO, false, "banco de dados de produção do cliente", null, null, null);
+        indice.indexar(2, DONO, false, "banco", null, null, null);
+        indice.indexar(3, DONO, false, "banco de dados", null, null, null);
+
+        assertThat(indice.buscar("banco", DONO, 10)).containsExactly(2L, 3L, 1L);
+        assertThat(indice.buscar("banco", DONO, 2)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void reindexarSubstituiERemoverDescarta() {
+        indice.indexar(1, DONO, false, "antigo", null, null, null);
+        indice.indexar(1, DONO, false, "novo titulo", null, null, null);
+
+        assertThat(indice.buscar("antigo", DONO, 10)).isEmpty();
+        assertThat(indice.buscar("novo", DONO, 10)).containsExactly(1L);
+
+        indice.remover(1);
+        assertThat(indice.buscar("novo", DONO, 10)).isEmpty();
+        assertThat(indice.quantidadeDocumentos()).isZero();
+    }
+}
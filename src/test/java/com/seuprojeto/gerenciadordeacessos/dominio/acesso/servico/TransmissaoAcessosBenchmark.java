@@ -0,0 +1,116 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico;
+
+import com.seuprojeto.gerenciadordeacessos.TesteIntegracao;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de estresse da transmissão NDJSON (/api/acessos/stream) de um cofre grande.
+ * Responsabilidade Única: Mostrar que o uso da old gen não cresce com o número de entradas transmitidas.
+ *
+ * Semeia as entradas pessoais de um usuário direto no banco, lê a resposta de um servidor real linha a linha
+ * (sem acumular) e mede a old gen após GC a cada amostra: entradas materializadas em lista ou acumuladas no
+ * contexto de persistência seriam promovidas e fariam a old gen subir até o fim da resposta.
+ *
+ * O tamanho do cofre pode ser ajustado por -Dstream.entradas.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TransmissaoAcessosBenchmark extends TesteIntegracao {
+
+    private static final int ENTRADAS = Integer.getInteger("stream.entradas", 300_000);
+    private static final int AMOSTRAGEM = ENTRADAS / 10;
+    private static final int LOTE_INSERCAO = 5_000;
+    // IDs bem acima dos gerados pela sequência, para não colidir com as entradas criadas pelos demais testes
+    private static final long PRIMEIRO_ID = 1_000_000_000L;
+    private static final long TOLERANCIA_BYTES = 16L * 1024 * 1024;
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void oldGenEstavelDuranteATransmissao() throws Exception {
+        Usuario usuario = criarUsuario(Usuario.Role.ROLE_USER);
+        semear(usuario.getId());
+
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/acessos/stream"))
+                .header("Authorization", bearer(usuario))
+                .build();
+        HttpResponse<InputStream> resposta = HttpClient.newHttpClient().send(requisicao, HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(resposta.statusCode()).isEqualTo(200);
+
+        List<Long> oldGenPorAmostra = new ArrayList<>();
+        long linhas = 0;
+        long inicio = System.nanoTime();
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(resposta.body(), StandardCharsets.UTF_8))) {
+            while (leitor.readLine() != null) {
+                if (++linhas % AMOSTRAGEM == 0) {
+                    oldGenPorAmostra.add(oldGenAposGc());
+                }
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.printf("Transmissão NDJSON (%d entradas, %.1f s, %.0f entradas/s):%n", linhas, segundos, linhas / segundos);
+        for (int i = 0; i < oldGenPorAmostra.size(); i++) {
+            System.out.printf("  %,d entradas: old gen %.1f MB%n", (long) (i + 1) * AMOSTRAGEM, oldGenPorAmostra.get(i) / 1048576.0);
+        }
+
+        assertThat(linhas).isEqualTo(ENTRADAS);
+        // A primeira amostra já inclui o contexto, o banco semeado e os buffers da resposta: dali em diante, estável
+        long minimo = oldGenPorAmostra.stream().mapToLong(Long::longValue).min().orElseThrow();
+        long maximo = oldGenPorAmostra.stream().mapToLong(Long::longValue).max().orElseThrow();
+        assertThat(maximo - minimo).as("variação da old gen entre as amostras (bytes)").isLessThan(TOLERANCIA_BYTES);
+    }
+
+    private void semear(long proprietarioId) {
+        LocalDateTime agora = LocalDateTime.now();
+        for (int inicio = 0; inicio < ENTRADAS; inicio += LOTE_INSERCAO) {
+            List<Object[]> lote = new ArrayList<>(LOTE_INSERCAO);
+            for (int i = inicio; i < Math.min(ENTRADAS, inicio + LOTE_INSERCAO); i++) {
+                lote.add(new Object[]{PRIMEIRO_ID + i, "Entrada " + i, "https://host" + i + ".stream.com", "login" + i, proprietarioId, agora});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO entradas_acesso (id, titulo, url, login, senha_criptografada, tipo_visibilidade, "
+                    + "proprietario_id, ativo, atualizado_em) VALUES (?, ?, ?, ?, 'x', 'PESSOAL', ?, TRUE, ?)", lote);
+        }
+    }
+
+    /**
+     * Uso da geração antiga após um GC completo (ou do heap inteiro, se o coletor não expõe uma old gen).
+     */
+    private static long oldGenAposGc() {
+        System.gc();
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .filter(pool -> pool.getName().contains("Old Gen") || pool.getName().contains("Tenured"))
+                .map(MemoryPoolMXBean::getUsage)
+                .mapToLong(uso -> uso.getUsed())
+                .findFirst()
+                .orElseGet(() -> ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+    }
+}
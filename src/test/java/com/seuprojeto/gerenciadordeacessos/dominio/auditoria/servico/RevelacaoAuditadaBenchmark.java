@@ -0,0 +1,152 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.auditoria.servico;
+
+import com.seuprojeto.gerenciadordeacessos.TesteIntegracao;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.CriarEntradaAcessoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso.TipoVisibilidade;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico.EntradaAcessoServico;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.UsuarioAutenticado;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Benchmark da latência (p50/p99) da revelação de senha com e sem a confirmação em disco do registro de auditoria.
+ * As duas fases usam o mesmo servidor, os mesmos clientes e a mesma entrada; na fase "sem auditoria",
+ * AuditoriaServico.registrarDuravel responde na hora (como antes do log durável, que era só uma linha de log).
+ * Depois de um aquecimento, as fases se alternam (sem, com, sem, com...) para que o JIT não favoreça a última.
+ *
+ * Servidor real (porta aleatória) e clientes HTTP; os parâmetros podem ser ajustados por propriedades de sistema:
+ * -Drevelacao.clientes, -Drevelacao.segundos.
+ * Executar com: mvn test -Pbenchmark -Dtest=RevelacaoAuditadaBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RevelacaoAuditadaBenchmark extends TesteIntegracao {
+
+    private static final int CLIENTES = Integer.getInteger("revelacao.clientes", 16);
+    private static final int SEGUNDOS_AQUECIMENTO = 10;
+    private static final int SEGUNDOS_MEDICAO = Integer.getInteger("revelacao.segundos", 5);
+    private static final int RODADAS = 3;
+
+    @LocalServerPort
+    private int porta;
+
+    @SpyBean
+    private AuditoriaServico auditoriaServico;
+
+    @Autowired
+    private EntradaAcessoServico acessoServico;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .executor(Executors.newFixedThreadPool(8))
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void p99DaRevelacaoComESemAuditoriaDuravel() throws Exception {
+        Usuario usuario = criarUsuario(Usuario.Role.ROLE_USER);
+        Long id = acessoServico.criar(new CriarEntradaAcessoDto("Revelação", null, "https://revelacao.com", "login",
+                "S3nh@-revelada", TipoVisibilidade.PESSOAL, null), UsuarioAutenticado.de(usuario)).id();
+        HttpRequest revelar = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/acessos/" + id + "/revelar"))
+                .header("Authorization", bearer(usuario))
+                .build();
+
+        executar(revelar, SEGUNDOS_AQUECIMENTO, new Resultado());
+        Resultado semAuditoria = new Resultado();
+        Resultado comAuditoria = new Resultado();
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            doReturn(0L).when(auditoriaServico).registrarDuravel(any());
+            executar(revelar, SEGUNDOS_MEDICAO, semAuditoria);
+            doCallRealMethod().when(auditoriaServico).registrarDuravel(any());
+            executar(revelar, SEGUNDOS_MEDICAO, comAuditoria);
+        }
+
+        int segundos = RODADAS * SEGUNDOS_MEDICAO;
+        System.out.printf("""
+                        Revelação de senha (%d clientes, %d s por fase, %d processadores):
+                          sem auditoria durável: %.1f req/s, p50 %.2f ms, p99 %.2f ms
+                          com auditoria durável: %.1f req/s, p50 %.2f ms, p99 %.2f ms
+                        """,
+                CLIENTES, segundos, Runtime.getRuntime().availableProcessors(),
+                semAuditoria.duracoes.size() / (double) segundos, percentil(semAuditoria.duracoes, 50), percentil(semAuditoria.duracoes, 99),
+                comAuditoria.duracoes.size() / (double) segundos, percentil(comAuditoria.duracoes, 50), percentil(comAuditoria.duracoes, 99));
+
+        assertThat(semAuditoria.falhas).as("respostas diferentes de 200 sem auditoria").isZero();
+        assertThat(comAuditoria.falhas).as("respostas diferentes de 200 com auditoria").isZero();
+        assertThat(meterRegistry.get("auditoria.confirmacao").timer().count()).as("lotes confirmados em disco").isPositive();
+    }
+
+    private void executar(HttpRequest requisicao, int segundos, Resultado resultado) throws Exception {
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTES);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < CLIENTES; i++) {
+                tarefas.add(executor.submit(() -> repetir(requisicao, fim, resultado)));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Void repetir(HttpRequest requisicao, long fim, Resultado resultado) throws Exception {
+        while (System.nanoTime() < fim) {
+            long inicio = System.nanoTime();
+            int status = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+            resultado.registrar(status, System.nanoTime() - inicio);
+        }
+        return null;
+    }
+
+    private static double percentil(List<Long> duracoesNanos, int percentil) {
+        if (duracoesNanos.isEmpty()) {
+            return 0;
+        }
+        long[] ordenadas = duracoesNanos.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(ordenadas);
+        int indice = (int) Math.ceil(percentil / 100.0 * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1_000_000.0;
+    }
+
+    private static final class Resultado {
+        private final List<Long> duracoes = new ArrayList<>();
+        private int falhas;
+
+        synchronized void registrar(int status, long duracao) {
+            if (status == 200) {
+                duracoes.add(duracao);
+            } else {
+                falhas++;
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.backup.servico;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seuprojeto.gerenciadordeacessos.TesteIntegracao;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso.TipoVisibilidade;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.projecao.EntradaAcessoBackupProjecao;
+import com.seuprojeto.gerenciadordeacessos.dominio.backup.dto.ResultadoRestauracaoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes da restauração de backups.
+ * Responsabilidade Única: Garantir que uma entrada recusada pelo banco não descarta o restante do bloco.
+ */
+class BackupAcessosServicoTest extends TesteIntegracao {
+
+    @Autowired
+    private BackupAcessosServico backupServico;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void entradaRecusadaPeloBancoEIgnoradaEAsDemaisDoBlocoSaoRestauradas() throws IOException {
+        Usuario usuario = criarUsuario(Usuario.Role.ROLE_USER);
+        List<EntradaAcessoBackupProjecao> bloco = List.of(
+                registro(1L, "Primeira", usuario),
+                registro(2L, "T".repeat(150), usuario), // titulo é VARCHAR(100)
+                registro(3L, "Terceira", usuario));
+
+        ResultadoRestauracaoDto resultado = backupServico.restaurar(new ByteArrayInputStream(backup(bloco)));
+
+        assertThat(resultado.erro()).isNull();
+        assertThat(resultado.linhas()).isEqualTo(3);
+        assertThat(resultado.restauradas()).isEqualTo(2);
+        assertThat(resultado.ignoradas()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT titulo FROM entradas_acesso WHERE proprietario_id = ? ORDER BY id",
+                String.class, usuario.getId())).containsExactly("Primeira", "Terceira");
+    }
+
+    private byte[] backup(List<EntradaAcessoBackupProjecao> bloco) throws IOException {
+        ByteArrayOutputStream destino = new ByteArrayOutputStream();
+        EscritorBackup escritor = new EscritorBackup(destino, objectMapper,
+                new CabecalhoBackup(LocalDateTime.now(), CabecalhoBackup.Cifragem.ORIGINAL, null, bloco.size()));
+        escritor.escreverBloco(bloco);
+        escritor.concluir();
+        return destino.toByteArray();
+    }
+
+    private static EntradaAcessoBackupProjecao registro(long id, String titulo, Usuario proprietario) {
+        return new EntradaAcessoBackupProjecao(id, titulo, null, "https://site" + id + ".backup.com", "login" + id,
+                "senha-cifrada-" + id, TipoVisibilidade.PESSOAL, proprietario.getEmail(), null);
+    }
+}
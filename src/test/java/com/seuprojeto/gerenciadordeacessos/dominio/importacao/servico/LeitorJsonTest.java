@@ -0,0 +1,58 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.importacao.servico;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Testes do LeitorJson.
+ * Responsabilidade Única: Garantir a leitura registro a registro e o limite de tamanho de cada registro.
+ */
+class LeitorJsonTest {
+
+    @Test
+    void leCamposEscalaresEAninhadosDeUmArray() throws IOException {
+        try (LeitorJson leitor = leitor("[{\"Titulo\":\"Site\",\"senha\":123,\"notas\":null,\"extra\":{\"a\":[1,2]}},{\"titulo\":\"Outro\"}]")) {
+            LinhaImportacao primeira = leitor.proxima();
+            assertThat(primeira.numero()).isEqualTo(1);
+            assertThat(primeira.campos()).containsOnly(
+                    entry("titulo", "Site"),
+                    entry("senha", "123"),
+                    entry("extra", "{\"a\":[1,2]}"));
+            assertThat(leitor.proxima().campos()).containsEntry("titulo", "Outro");
+            assertThat(leitor.proxima()).isNull();
+        }
+    }
+
+    @Test
+    void registroComCampoMaiorQueOLimiteInterrompeALeitura() throws IOException {
+        String grande = "x".repeat(100 * 1024);
+        try (LeitorJson leitor = leitor("{\"titulo\":\"ok\"}\n{\"titulo\":\"" + grande + "\"}")) {
+            assertThat(leitor.proxima().campos()).containsEntry("titulo", "ok");
+            assertThatThrownBy(leitor::proxima).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    void registroComMuitosCamposPequenosTambemELimitado() throws IOException {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < 20_000; i++) {
+            json.append(i == 0 ? "" : ",").append("\"campo").append(i).append("\":\"valor\"");
+        }
+        json.append('}');
+        try (LeitorJson leitor = leitor(json.toString())) {
+            assertThatThrownBy(leitor::proxima).isInstanceOf(IOException.class).hasMessageContaining("Registro 1");
+        }
+    }
+
+    private static LeitorJson leitor(String json) throws IOException {
+        return new LeitorJson(new JsonFactory(), new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,118 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.importacao.servico;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seuprojeto.gerenciadordeacessos.TesteIntegracao;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes do registro das importações no banco.
+ * Responsabilidade Única: Garantir que o estado de uma importação não depende da memória da instância.
+ *
+ * As alterações feitas direto na tabela fazem o papel de outra instância.
+ */
+class RegistroImportacoesTest extends TesteIntegracao {
+
+    private static final String ROTA = "/api/acessos/importacoes";
+
+    @Autowired
+    private ImportacaoAcessosServico importacaoServico;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String bearer;
+
+    @BeforeEach
+    void preparar() {
+        bearer = bearer(criarUsuario(Usuario.Role.ROLE_USER));
+    }
+
+    @Test
+    void progressoEArquivoDeErrosVemDoRegistro() throws Exception {
+        String id = criarImportacao();
+        String csv = "titulo,url,login,senha\nPrimeira,https://a.com,ana,s1\nSem senha,https://b.com,bia,\nTerceira,https://c.com,caio,s3\n";
+
+        mockMvc.perform(put(ROTA + "/" + id).header("Authorization", bearer).contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONCLUIDA"));
+
+        Map<String, Object> registro = jdbcTemplate.queryForMap("SELECT * FROM importacoes WHERE id = ?", id);
+        assertThat(registro.get("STATUS")).isEqualTo("CONCLUIDA");
+        assertThat(registro.get("LINHAS_LIDAS")).isEqualTo(3L);
+        assertThat(registro.get("IMPORTADAS")).isEqualTo(2L);
+        assertThat(registro.get("REJEITADAS")).isEqualTo(1L);
+        assertThat(registro.get("CONCLUIDA_EM")).isNotNull();
+
+        mockMvc.perform(get(ROTA + "/" + id).header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONCLUIDA"))
+                .andExpect(jsonPath("$.importadas").value(2))
+                .andExpect(jsonPath("$.rejeitadas").value(1));
+        mockMvc.perform(get(ROTA + "/" + id + "/erros").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(content().string(startsWith("linha,erro")));
+    }
+
+    @Test
+    void importacaoIniciadaEmOutraInstanciaNaoRecebeOutroArquivo() throws Exception {
+        String id = criarImportacao();
+        jdbcTemplate.update("UPDATE importacoes SET status = 'EM_ANDAMENTO', linhas_lidas = 1500 WHERE id = ?", id);
+
+        mockMvc.perform(get(ROTA + "/" + id).header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("EM_ANDAMENTO"))
+                .andExpect(jsonPath("$.linhasLidas").value(1500));
+        mockMvc.perform(put(ROTA + "/" + id).header("Authorization", bearer).contentType("text/csv").content("titulo,url,login,senha\n"))
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void importacaoDeOutroUsuarioNaoEEncontrada() throws Exception {
+        String id = criarImportacao();
+
+        mockMvc.perform(get(ROTA + "/" + id).header("Authorization", bearer(criarUsuario(Usuario.Role.ROLE_USER))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void limpezaRemoveRegistrosSemAtualizacaoDentroDaRetencao() throws Exception {
+        String expirada = criarImportacao();
+        String recente = criarImportacao();
+        jdbcTemplate.update("UPDATE importacoes SET atualizada_em = ? WHERE id = ?", Timestamp.valueOf(LocalDateTime.now().minusDays(1)), expirada);
+
+        importacaoServico.limparExpiradas();
+
+        mockMvc.perform(get(ROTA + "/" + expirada).header("Authorization", bearer)).andExpect(status().isNotFound());
+        mockMvc.perform(get(ROTA + "/" + recente).header("Authorization", bearer)).andExpect(status().isOk());
+    }
+
+    private String criarImportacao() throws Exception {
+        String resposta = mockMvc.perform(post(ROTA).header("Authorization", bearer))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode progresso = objectMapper.readTree(resposta);
+        assertThat(progresso.get("status").asText()).isEqualTo("AGUARDANDO");
+        return progresso.get("id").asText();
+    }
+}
@@ -0,0 +1,112 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico;
+
+import com.seuprojeto.gerenciadordeacessos.ContadorSql;
+import com.seuprojeto.gerenciadordeacessos.TesteIntegracao;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Teste de carga do CacheUsuarios: consultas à tabela usuarios por requisição autenticada.
+ * Cada requisição passa pelo FiltroJwt (loadUserByUsername) e, nas escritas, pelo UsuarioServico.buscarEntidadePorEmail.
+ */
+class CacheUsuariosCargaTest extends TesteIntegracao {
+
+    private static final int THREADS = 8;
+    private static final int REQUISICOES_POR_THREAD = 50;
+
+    @Autowired
+    private CacheUsuarios cacheUsuarios;
+
+    @Autowired
+    private UsuarioServico usuarioServico;
+
+    @Test
+    void requisicoesAutenticadasNaoConsultamUsuariosComCacheAquecido() throws Exception {
+        // Um usuário por thread: sem cache, cargas simultâneas do mesmo email não se sobrepõem
+        List<Usuario> usuarios = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            usuarios.add(criarUsuario(Usuario.Role.ROLE_USER));
+        }
+
+        // Referência: cache esvaziado antes de cada requisição (o comportamento sem cache entre requisições)
+        ContadorSql.iniciar();
+        executarCarga(usuarios, true);
+        long semCache = ContadorSql.selectsEm(ContadorSql.parar(), "usuarios");
+
+        ContadorSql.iniciar();
+        executarCarga(usuarios, false);
+        long comCache = ContadorSql.selectsEm(ContadorSql.parar(), "usuarios");
+
+        int requisicoes = THREADS * REQUISICOES_POR_THREAD;
+        assertThat(semCache).as("consultas a usuarios sem cache (%d requisições)", requisicoes).isGreaterThanOrEqualTo(requisicoes);
+        // No máximo uma carga por usuário (cache frio após a referência); nenhuma depois disso
+        assertThat(comCache).as("consultas a usuarios com cache (%d requisições, %d sem cache)", requisicoes, semCache)
+                .isLessThanOrEqualTo(usuarios.size());
+    }
+
+    @Test
+    void alteracaoPeloUsuarioServicoInvalidaOCache() throws Exception {
+        Usuario usuario = criarUsuario(Usuario.Role.ROLE_USER);
+        String bearer = bearer(usuario);
+        mockMvc.perform(get("/api/acessos/pessoais").header("Authorization", bearer));
+
+        ContadorSql.iniciar();
+        mockMvc.perform(get("/api/acessos/pessoais").header("Authorization", bearer));
+        assertThat(ContadorSql.selectsEm(ContadorSql.parar(), "usuarios")).isZero();
+
+        usuarioServico.atualizarHashSenha(usuario.getId(), HASH_SENHA_PADRAO);
+
+        ContadorSql.iniciar();
+        mockMvc.perform(get("/api/acessos/pessoais").header("Authorization", bearer));
+        mockMvc.perform(get("/api/acessos/pessoais").header("Authorization", bearer));
+        assertThat(ContadorSql.selectsEm(ContadorSql.parar(), "usuarios")).isEqualTo(1);
+    }
+
+    /**
+     * Leituras e escritas intercaladas, em paralelo, uma thread por usuário.
+     */
+    private void executarCarga(List<Usuario> usuarios, boolean esvaziarCache) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Usuario usuario = usuarios.get(t);
+                String bearer = bearer(usuario);
+                tarefas.add(executor.submit((Callable<Void>) () -> {
+                    for (int i = 0; i < REQUISICOES_POR_THREAD; i++) {
+                        if (esvaziarCache) {
+                            cacheUsuarios.invalidar(usuario.getEmail());
+                        }
+                        RequestBuilder requisicao = i % 2 == 0
+                                ? get("/api/acessos/pessoais").header("Authorization", bearer)
+                                : post("/api/acessos").header("Authorization", bearer)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content("{\"titulo\":\"Carga " + i + "\",\"url\":\"https://carga.teste.com\",\"login\":\"l\",\"senha\":\"s\",\"tipoVisibilidade\":\"PESSOAL\"}");
+                        int status = mockMvc.perform(requisicao).andReturn().getResponse().getStatus();
+                        assertThat(status).isLessThan(300);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico;
+
+import com.seuprojeto.gerenciadordeacessos.TesteIntegracao;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark do login sob rajada: vazão, latências (p50/p99) e rejeições rápidas (503) do pool de BCrypt.
+ * Em paralelo, mede a latência de uma leitura autenticada barata, que não deve ser afetada pela rajada
+ * (o BCrypt não ocupa as threads do Tomcat).
+ *
+ * Servidor real (porta aleatória) e clientes HTTP; os parâmetros podem ser ajustados por propriedades de sistema:
+ * -Dlogin.clientes, -Dlogin.segundos.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoginBenchmark extends TesteIntegracao {
+
+    private static final int CLIENTES_LOGIN = Integer.getInteger("login.clientes", 64);
+    private static final int CLIENTES_LEITURA = 4;
+    private static final long INTERVALO_LEITURA_MS = 100; // Leituras em ritmo fixo: medem latência sem disputar a CPU
+    private static final int SEGUNDOS_AQUECIMENTO = 3;
+    private static final int SEGUNDOS_MEDICAO = Integer.getInteger("login.segundos", 15);
+
+    @LocalServerPort
+    private int porta;
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .executor(Executors.newFixedThreadPool(8))
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void rajadaDeLogins() throws Exception {
+        Usuario usuario = criarUsuario(Usuario.Role.ROLE_USER);
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + usuario.getEmail() + "\",\"senha\":\"" + SENHA_PADRAO + "\"}"))
+                .build();
+        HttpRequest leitura = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/acessos/pessoais?tamanho=1"))
+                .header("Authorization", bearer(usuario))
+                .build();
+
+        executar(login, leitura, SEGUNDOS_AQUECIMENTO);
+        Resultado resultado = executar(login, leitura, SEGUNDOS_MEDICAO);
+
+        System.out.printf("""
+                        Login (%d clientes, %d s, %d processadores):
+                          sucesso: %.1f logins/s, p50 %.1f ms, p99 %.1f ms
+                          rejeitados (503): %d, p99 %.1f ms
+                          outros status: %d
+                        Leitura autenticada durante a rajada (%d clientes): %.1f req/s, p50 %.2f ms, p99 %.2f ms
+                        """,
+                CLIENTES_LOGIN, SEGUNDOS_MEDICAO, Runtime.getRuntime().availableProcessors(),
+                resultado.sucesso.size() / (double) SEGUNDOS_MEDICAO, percentil(resultado.sucesso, 50), percentil(resultado.sucesso, 99),
+                resultado.rejeitados.size(), percentil(resultado.rejeitados, 99),
+                resultado.outros,
+                CLIENTES_LEITURA, resultado.leituras.size() / (double) SEGUNDOS_MEDICAO, percentil(resultado.leituras, 50), percentil(resultado.leituras, 99));
+    }
+
+    private Resultado executar(HttpRequest login, HttpRequest leitura, int segundos) throws Exception {
+        Resultado resultado = new Resultado();
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTES_LOGIN + CLIENTES_LEITURA);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < CLIENTES_LOGIN; i++) {
+                tarefas.add(executor.submit(() -> repetir(login, fim, resultado, true, 0)));
+            }
+            for (int i = 0; i < CLIENTES_LEITURA; i++) {
+                tarefas.add(executor.submit(() -> repetir(leitura, fim, resultado, false, INTERVALO_LEITURA_MS)));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return resultado;
+    }
+
+    private Void repetir(HttpRequest requisicao, long fim, Resultado resultado, boolean ehLogin, long intervaloMs) throws Exception {
+        while (System.nanoTime() < fim) {
+            long inicio = System.nanoTime();
+            int status = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+            long duracao = System.nanoTime() - inicio;
+            resultado.registrar(ehLogin, status, duracao);
+            long espera = intervaloMs - TimeUnit.NANOSECONDS.toMillis(duracao);
+            if (espera > 0) {
+                Thread.sleep(espera);
+            }
+        }
+        return null;
+    }
+
+    private static double percentil(List<Long> duracoesNanos, int percentil) {
+        if (duracoesNanos.isEmpty()) {
+            return 0;
+        }
+        long[] ordenadas = duracoesNanos.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(ordenadas);
+        int indice = (int) Math.ceil(percentil / 100.0 * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1_000_000.0;
+    }
+
+    private static final class Resultado {
+        private final List<Long> sucesso = new ArrayList<>();
+        private final List<Long> rejeitados = new ArrayList<>();
+        private final List<Long> leituras = new ArrayList<>();
+        private int outros;
+
+        synchronized void registrar(boolean ehLogin, int status, long duracao) {
+            if (!ehLogin) {
+                leituras.add(duracao);
+            } else if (status == 200) {
+                sucesso.add(duracao);
+            } else if (status == 503) {
+                rejeitados.add(duracao);
+            } else {
+                outros++;
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico;
+
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.evento.UsuarioAlteradoEvento;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.projecao.VersaoSegurancaProjecao;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.repositorio.UsuarioRepositorio;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes da TabelaVersoesSeguranca.
+ * Responsabilidade Única: Garantir as regras de aceitação de tokens stateless e a carga única por usuário.
+ */
+class TabelaVersoesSegurancaTest {
+
+    private final UsuarioRepositorio repositorio = mock(UsuarioRepositorio.class);
+    private final TabelaVersoesSeguranca tabela = new TabelaVersoesSeguranca(repositorio);
+
+    @Test
+    void idInexistenteConsultaOBancoUmaUnicaVez() {
+        when(repositorio.findVersaoSegurancaById(42L)).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(tabela.tokenAceito(42L, 0, Usuario.Role.ROLE_USER)).isFalse();
+        }
+
+        verify(repositorio, times(1)).findVersaoSegurancaById(42L);
+    }
+
+    @Test
+    void usuarioDesconhecidoECarregadoUmaUnicaVez() {
+        when(repositorio.findVersaoSegurancaById(7L))
+                .thenReturn(Optional.of(new VersaoSegurancaProjecao(7L, 3, Usuario.Role.ROLE_USER, true)));
+
+        assertThat(tabela.tokenAceito(7L, 3, Usuario.Role.ROLE_USER)).isTrue();
+        assertThat(tabela.tokenAceito(7L, 3, Usuario.Role.ROLE_USER)).isTrue();
+
+        verify(repositorio, times(1)).findVersaoSegurancaById(7L);
+    }
+
+    @Test
+    void versaoIncrementadaRecusaTokensAnteriores() {
+        Usuario usuario = Usuario.builder().id(9L).email("v@teste.com").role(Usuario.Role.ROLE_USER).versaoSeguranca(0).build();
+        usuario.setAtivo(true);
+        tabela.aoAlterarUsuario(UsuarioAlteradoEvento.de(usuario));
+        assertThat(tabela.tokenAceito(9L, 0, Usuario.Role.ROLE_USER)).isTrue();
+
+        usuario.setVersaoSeguranca(1);
+        tabela.aoAlterarUsuario(UsuarioAlteradoEvento.de(usuario));
+
+        assertThat(tabela.tokenAceito(9L, 0, Usuario.Role.ROLE_USER)).isFalse();
+        assertThat(tabela.tokenAceito(9L, 1, Usuario.Role.ROLE_USER)).isTrue();
+    }
+
+    @Test
+    void perfilDiferenteDoAtualERecusado() {
+        Usuario usuario = Usuario.builder().id(11L).email("p@teste.com").role(Usuario.Role.ROLE_USER).build();
+        usuario.setAtivo(true);
+        tabela.aoAlterarUsuario(UsuarioAlteradoEvento.de(usuario));
+
+        assertThat(tabela.tokenAceito(11L, 0, Usuario.Role.ROLE_ADMIN)).isFalse();
+    }
+}
@@ -0,0 +1,60 @@
+package com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico;
+
+import com.seuprojeto.gerenciadordeacessos.TesteIntegracao;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes do UsuarioServico.
+ * Responsabilidade Única: Garantir os efeitos das alterações de usuário sobre tokens e caches.
+ */
+class UsuarioServicoTest extends TesteIntegracao {
+
+    // Qualquer valor diferente do hash padrão: o teste só compara o que o cache devolve
+    private static final String OUTRO_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4T3Z5lJ8nE0T4pG3XjY1r6a";
+
+    @Autowired
+    private UsuarioServico usuarioServico;
+
+    @Autowired
+    private CacheUsuarios cacheUsuarios;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void cacheEInvalidadoSoDepoisDoCommit() {
+        Usuario usuario = criarUsuario(Usuario.Role.ROLE_USER);
+        cacheUsuarios.buscarPorEmail(usuario.getEmail());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            usuarioServico.atualizarHashSenha(usuario.getId(), OUTRO_HASH);
+            // Leitura concorrente antes do commit: recarrega (e guarda no cache) a linha ainda não alterada
+            assertThat(CompletableFuture.supplyAsync(() -> cacheUsuarios.buscarPorEmail(usuario.getEmail()).orElseThrow().getSenha()).join())
+                    .isEqualTo(HASH_SENHA_PADRAO);
+        });
+
+        assertThat(cacheUsuarios.buscarPorEmail(usuario.getEmail()).orElseThrow().getSenha()).isEqualTo(OUTRO_HASH);
+    }
+
+    @Test
+    void revogarTokensIncrementaAVersaoDeSegurancaERecusaOTokenAnterior() throws Exception {
+        Usuario usuario = criarUsuario(Usuario.Role.ROLE_USER);
+        String bearer = bearer(usuario);
+        mockMvc.perform(get("/api/acessos/pessoais").header("Authorization", bearer)).andExpect(status().isOk());
+
+        usuarioServico.revogarTokens(usuario.getId());
+
+        assertThat(usuarioRepositorio.findById(usuario.getId()).orElseThrow().getVersaoSeguranca()).isEqualTo(1);
+        mockMvc.perform(get("/api/acessos/pessoais").header("Authorization", bearer)).andExpect(status().is4xxClientError());
+    }
+}
@@ -0,0 +1,141 @@
+package com.seuprojeto.gerenciadordeacessos.infraestrutura.banco;
+
+import com.seuprojeto.gerenciadordeacessos.TesteIntegracao;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.dto.CriarEntradaAcessoDto;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.modelo.EntradaAcesso.TipoVisibilidade;
+import com.seuprojeto.gerenciadordeacessos.dominio.acesso.servico.EntradaAcessoServico;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.UsuarioAutenticado;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico.CacheUsuarios;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.servico.UsuarioServico;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes do roteamento entre primário e réplica (perfil replica-local).
+ * Responsabilidade Única: Garantir que as leituras que não toleram atraso da réplica vão ao primário.
+ *
+ * No perfil replica-local os dois bancos são independentes e a réplica fica vazia: uma leitura que chega à
+ * réplica não encontra os dados recém-criados no primário.
+ */
+@ActiveProfiles("replica-local")
+class FonteDadosRoteadaTest extends TesteIntegracao {
+
+    @Autowired
+    private CacheUsuarios cacheUsuarios;
+
+    @Autowired
+    private UsuarioServico usuarioServico;
+
+    @Autowired
+    private EntradaAcessoServico acessoServico;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void limparContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void leituraSomenteLeituraVaiParaAReplica() {
+        Usuario usuario = criarUsuario(Usuario.Role.ROLE_USER);
+        double replica = conexoes("replica");
+
+        assertThat(lerSomenteLeitura(usuario.getEmail())).isEmpty();
+        assertThat(conexoes("replica")).isGreaterThan(replica);
+    }
+
+    @Test
+    void cargaDoCacheDeUsuariosLeDoPrimarioMesmoDentroDeUmaTransacaoSomenteLeitura() {
+        Usuario usuario = criarUsuario(Usuario.Role.ROLE_USER);
+
+        Optional<Usuario> carregado = somenteLeitura().execute(status -> {
+            usuarioRepositorio.count(); // a transação externa já obteve a conexão da réplica
+            return cacheUsuarios.buscarPorEmail(usuario.getEmail());
+        });
+
+        assertThat(carregado).isPresent();
+    }
+
+    @Test
+    void revelacaoDeSenhaLeDoPrimario() {
+        Usuario usuario = criarUsuario(Usuario.Role.ROLE_USER);
+        UsuarioAutenticado autenticado = UsuarioAutenticado.de(usuario);
+        Long id = acessoServico.criar(new CriarEntradaAcessoDto("Roteada", null, "https://roteada.com", "login",
+                "S3nh@-roteada", TipoVisibilidade.PESSOAL, null), autenticado).id();
+
+        assertThat(acessoServico.revelarSenha(id, autenticado).senha()).isEqualTo("S3nh@-roteada");
+    }
+
+    @Test
+    void revogacaoDeTokensLeEGravaNoPrimario() {
+        Usuario usuario = criarUsuario(Usuario.Role.ROLE_USER);
+
+        usuarioServico.revogarTokens(usuario.getId());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT versao_seguranca FROM usuarios WHERE id = ?", Integer.class, usuario.getId()))
+                .isEqualTo(usuario.getVersaoSegurancaOuPadrao() + 1);
+    }
+
+    @Test
+    void escritaDeUsuarioAutenticadoMantemAsLeiturasDeleNoPrimario() {
+        autenticar(UsernamePasswordAuthenticationToken.authenticated("roteamento-" + System.nanoTime() + "@teste.com", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER")));
+        double leituraPropria = conexoes("primario-leitura-propria");
+
+        Usuario usuario = criarUsuario(Usuario.Role.ROLE_USER);
+
+        assertThat(lerSomenteLeitura(usuario.getEmail())).isPresent();
+        assertThat(conexoes("primario-leitura-propria")).isGreaterThan(leituraPropria);
+    }
+
+    @Test
+    void escritaAnonimaNaoAbreJanelaDeLeituraPropria() {
+        autenticar(new AnonymousAuthenticationToken("chave", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        Usuario usuario = criarUsuario(Usuario.Role.ROLE_USER);
+
+        assertThat(lerSomenteLeitura(usuario.getEmail())).isEmpty();
+    }
+
+    private Optional<Usuario> lerSomenteLeitura(String email) {
+        return somenteLeitura().execute(status -> usuarioRepositorio.findByEmail(email));
+    }
+
+    private TransactionTemplate somenteLeitura() {
+        TransactionTemplate somenteLeitura = new TransactionTemplate(transactionManager);
+        somenteLeitura.setReadOnly(true);
+        return somenteLeitura;
+    }
+
+    private double conexoes(String destino) {
+        return meterRegistry.get("banco.roteamento").tag("destino", destino).counter().count();
+    }
+
+    private static void autenticar(Authentication authentication) {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+}
@@ -0,0 +1,109 @@
+package com.seuprojeto.gerenciadordeacessos.infraestrutura.ratelimit;
+
+import com.seuprojeto.gerenciadordeacessos.GerenciadorDeAcessosApplication;
+import com.seuprojeto.gerenciadordeacessos.config.ConfiguracaoRateLimiting;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes do ArmazenamentoBucketsJdbc com duas instâncias da aplicação sobre o mesmo banco.
+ * Responsabilidade Única: Garantir que o limite vale para o cluster e que o desvio fica em um lote por instância.
+ *
+ * Cada instância é um contexto Spring completo (rate-limit.armazenamento=jdbc) apontando para o mesmo H2 em
+ * memória, como dois nós atrás de um balanceador; os buckets são consumidos diretamente pelo bean de cada uma.
+ */
+class ArmazenamentoBucketsJdbcClusterTest {
+
+    private static final String URL_COMPARTILHADA = "jdbc:h2:mem:rate_limit_cluster;DB_CLOSE_DELAY=-1";
+    private static final long CAPACIDADE = 1_000;
+    // min(rate-limit.distribuido.lote-maximo = 50, capacidade / 20)
+    private static final long LOTE = 50;
+    private static final int INSTANCIAS = 2;
+
+    private static final ConfiguracaoRateLimiting.Politica POLITICA = new ConfiguracaoRateLimiting.Politica(
+            "cluster", List.of(), Set.of(), Set.of(), false, CAPACIDADE, Duration.ofMinutes(10));
+
+    private static final List<ConfigurableApplicationContext> contextos = new ArrayList<>();
+    private static final List<ArmazenamentoBuckets> instancias = new ArrayList<>();
+
+    @BeforeAll
+    static void iniciarInstancias() {
+        for (int i = 0; i < INSTANCIAS; i++) {
+            ConfigurableApplicationContext contexto = new SpringApplicationBuilder(GerenciadorDeAcessosApplication.class)
+                    .run(
+                            "--spring.profiles.active=dev,teste",
+                            "--spring.datasource.url=" + URL_COMPARTILHADA,
+                            "--rate-limit.armazenamento=jdbc",
+                            "--server.port=0",
+                            "--spring.jmx.enabled=false",
+                            "--auditoria.diretorio=target/teste/cluster-" + i + "/auditoria",
+                            "--backup.diretorio=target/teste/cluster-" + i + "/backups",
+                            "--acessos.importacao.diretorio=target/teste/cluster-" + i + "/importacoes");
+            contextos.add(contexto);
+            instancias.add(contexto.getBean(ArmazenamentoBuckets.class));
+        }
+        assertThat(instancias).allSatisfy(instancia -> assertThat(instancia).isInstanceOf(ArmazenamentoBucketsJdbc.class));
+    }
+
+    @AfterAll
+    static void encerrarInstancias() {
+        contextos.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void limiteValeParaOClusterComConsumoConcorrente() throws Exception {
+        String chave = "concorrente";
+        ExecutorService executor = Executors.newFixedThreadPool(2 * INSTANCIAS);
+        try {
+            List<Future<Long>> permitidas = new ArrayList<>();
+            for (int t = 0; t < 2 * INSTANCIAS; t++) {
+                ArmazenamentoBuckets instancia = instancias.get(t % INSTANCIAS);
+                permitidas.add(executor.submit(() -> consumirAteRecusar(instancia, chave)));
+            }
+            long total = 0;
+            for (Future<Long> parcial : permitidas) {
+                total += parcial.get();
+            }
+
+            assertThat(total).isLessThanOrEqualTo(CAPACIDADE).isGreaterThanOrEqualTo(CAPACIDADE - INSTANCIAS * LOTE);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void loteOciosoDeUmaInstanciaEOUnicoDesvio() {
+        String chave = "ocioso";
+        // A primeira instância arrenda um lote e para de receber tráfego; a segunda consome todo o resto
+        assertThat(instancias.get(0).consumir(POLITICA, chave).consumido()).isTrue();
+        long permitidasSegunda = consumirAteRecusar(instancias.get(1), chave);
+
+        long total = 1 + permitidasSegunda;
+        assertThat(total).isLessThanOrEqualTo(CAPACIDADE).isGreaterThanOrEqualTo(CAPACIDADE - LOTE);
+
+        // Os tokens arrendados pela primeira continuam disponíveis só para ela, sem ultrapassar a capacidade
+        long permitidasPrimeira = consumirAteRecusar(instancias.get(0), chave);
+        assertThat(total + permitidasPrimeira).isEqualTo(CAPACIDADE);
+    }
+
+    private static long consumirAteRecusar(ArmazenamentoBuckets instancia, String chave) {
+        long permitidas = 0;
+        while (instancia.consumir(POLITICA, chave).consumido()) {
+            permitidas++;
+        }
+        return permitidas;
+    }
+}
@@ -0,0 +1,81 @@
+package com.seuprojeto.gerenciadordeacessos.infraestrutura.ratelimit;
+
+import com.seuprojeto.gerenciadordeacessos.config.ConfiguracaoRateLimiting;
+import com.seuprojeto.gerenciadordeacessos.config.PropriedadesRateLimiting;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de estresse do armazenamento local de buckets.
+ * Responsabilidade Única: Mostrar que uma varredura de chaves distintas (ex: IPs) não faz o heap crescer sem limite.
+ *
+ * Consome um token para 10 milhões de chaves distintas e mede o heap usado (após GC) a cada milhão:
+ * depois que o cache atinge o teto (rate-limit.buckets.maximo), o heap fica estável.
+ */
+@Tag("benchmark")
+class ArmazenamentoBucketsLocalBenchmark {
+
+    private static final long CHAVES = Long.getLong("buckets.chaves", 10_000_000L);
+    private static final long MAXIMO_BUCKETS = 100_000;
+    private static final long AMOSTRAGEM = 1_000_000;
+    private static final long TOLERANCIA_BYTES = 16L * 1024 * 1024;
+
+    private final MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    void heapEstavelComMilhoesDeChavesDistintas() {
+        ArmazenamentoBucketsLocal armazenamento = new ArmazenamentoBucketsLocal(
+                new PropriedadesRateLimiting(), MAXIMO_BUCKETS, Duration.ofMinutes(2), new SimpleMeterRegistry());
+        ConfiguracaoRateLimiting.Politica politica = new ConfiguracaoRateLimiting.Politica(
+                "estresse", List.of(), Set.of(), Set.of(), false, 10, Duration.ofMinutes(1));
+
+        List<Long> heapPorAmostra = new ArrayList<>();
+        long inicio = System.nanoTime();
+        for (long i = 1; i <= CHAVES; i++) {
+            assertThat(armazenamento.consumir(politica, endereco(i)).consumido()).isTrue();
+            if (i % AMOSTRAGEM == 0) {
+                heapPorAmostra.add(heapUsadoAposGc());
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.printf("Buckets locais (%d chaves distintas, teto %d, %.1f s, %.0f consumos/s):%n",
+                CHAVES, MAXIMO_BUCKETS, segundos, CHAVES / segundos);
+        for (int i = 0; i < heapPorAmostra.size(); i++) {
+            System.out.printf("  %,d chaves: heap usado %.1f MB%n", (i + 1) * AMOSTRAGEM, heapPorAmostra.get(i) / 1048576.0);
+        }
+
+        // A primeira amostra já está bem acima do teto: dali em diante o heap não pode crescer com as chaves
+        long minimo = heapPorAmostra.stream().mapToLong(Long::longValue).min().orElseThrow();
+        long maximo = heapPorAmostra.stream().mapToLong(Long::longValue).max().orElseThrow();
+        assertThat(maximo - minimo).isLessThan(TOLERANCIA_BYTES);
+    }
+
+    // Chaves no formato de um IPv4 (de 0.0.0.1 em diante), como as de uma varredura de IPs
+    private static String endereco(long i) {
+        return ((i >>> 24) & 0xff) + "." + ((i >>> 16) & 0xff) + "." + ((i >>> 8) & 0xff) + "." + (i & 0xff);
+    }
+
+    private long heapUsadoAposGc() {
+        // Dá tempo para a manutenção assíncrona do Caffeine aplicar as remoções pendentes
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,70 @@
+package com.seuprojeto.gerenciadordeacessos.infraestrutura.seguranca;
+
+import com.seuprojeto.gerenciadordeacessos.TesteIntegracao;
+import com.seuprojeto.gerenciadordeacessos.dominio.usuario.modelo.Usuario;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes do FiltroJwt com tokens inválidos.
+ * Responsabilidade Única: Garantir que tokens inválidos seguem como requisição anônima, passando pelo rate limiting.
+ */
+class FiltroJwtTest extends TesteIntegracao {
+
+    private static final String ROTA = "/api/acessos/pessoais";
+
+    @Test
+    void tokenMalformadoSegueComoAnonimo() throws Exception {
+        assertAnonimoLimitado("Bearer nao-e-um-jwt");
+    }
+
+    @Test
+    void tokenVazioSegueComoAnonimo() throws Exception {
+        assertAnonimoLimitado("Bearer ");
+    }
+
+    @Test
+    void tokenComAssinaturaForjadaSegueComoAnonimo() throws Exception {
+        String forjado = Jwts.builder()
+                .setSubject("admin@teste.com")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("outra-chave-qualquer-com-32-bytes".getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS256)
+                .compact();
+        assertAnonimoLimitado("Bearer " + forjado);
+    }
+
+    @Test
+    void tokenDeUsuarioInexistenteSegueComoAnonimo() throws Exception {
+        Usuario usuario = criarUsuario(Usuario.Role.ROLE_USER);
+        String token = token(usuario);
+        usuarioRepositorio.delete(usuario);
+
+        assertAnonimoLimitado("Bearer " + token);
+    }
+
+    @Test
+    void tokenValidoAutentica() throws Exception {
+        Usuario usuario = criarUsuario(Usuario.Role.ROLE_USER);
+        mockMvc.perform(get(ROTA).header("Authorization", bearer(usuario)))
+                .andExpect(status().isOk());
+    }
+
+    private void assertAnonimoLimitado(String authorization) throws Exception {
+        MvcResult resultado = mockMvc.perform(get(ROTA).header("Authorization", authorization)).andReturn();
+
+        assertThat(resultado.getResponse().getStatus()).isIn(401, 403);
+        assertThat(resultado.getResponse().getHeader("X-RateLimit-Remaining")).isNotNull();
+    }
+}